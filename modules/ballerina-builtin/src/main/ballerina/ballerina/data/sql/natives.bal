@@ -31,6 +31,11 @@ public struct Parameter {
 @Field {value:"maxLifetime: Maximum lifetime of a connection in the pool"}
 @Field {value:"validationTimeout:  Maximum amount of time that a connection will be tested for aliveness"}
 @Field {value:"leakDetectionThreshold: Amount of time that a connection can be out of the pool before a message is logged indicating a possible connection leak"}
+@Field {value:"updateBatchSize: Maximum number of concurrent updates with the same query which are executed together as a single batch. Updates are not batched unless this is greater than 1"}
+@Field {value:"updateBatchWindow: Maximum number of milliseconds an update waits for other updates with the same query, when update batching is enabled"}
+@Field {value:"fetchSize: Number of rows a select fetches from the database at a time. When set, selects read their results through a forward only, read only cursor, so that large results are streamed instead of being held in memory"}
+@Field {value:"resultCacheSize: Maximum number of select results cached by the query and the values of its parameters. Results are not cached unless this is greater than 0. A cached result is dropped as soon as an update modifies a table it was read from"}
+@Field {value:"resultCacheTTL: Maximum number of milliseconds a select result is cached for, when result caching is enabled"}
 @Field {value:"datasourceProperties: Data source specific properties which are used along with the dataSourceClassName"}
 public struct ConnectionProperties {
 	string url;
@@ -53,6 +58,11 @@ public struct ConnectionProperties {
 	int maxLifetime = -1;
 	int validationTimeout = -1;
 	int leakDetectionThreshold = -1;
+	int updateBatchSize = -1;
+	int updateBatchWindow = -1;
+	int fetchSize = -1;
+	int resultCacheSize = -1;
+	int resultCacheTTL = -1;
 	map datasourceProperties;
 }
 
@@ -204,5 +214,13 @@ public connector ClientConnector (DB dbType, string hostOrPath, int port, string
 	@Return { value:"Array of auto generated key values during the query execution" }
 	native action updateWithGeneratedKeys (string query, Parameter[] parameters, string[] keyColumns) (int, string[]);
 
+	@Description { value:"The getMetrics action implementation for SQL connector to read the connection pool and query metrics of the datasource."}
+	@Return { value:"Pool connection counts, and histograms of the connection acquire time, the execution time of each query, the fetched rows and the batch sizes" }
+	native action getMetrics () (json);
+
 }
 
+@Description { value:"Returns the connection pool and query metrics of all the open SQL datasources"}
+@Return { value:"Array of the metrics of each datasource" }
+public native function getDatasourceMetrics () (json);
+
@@ -137,6 +137,6 @@ public native function <File file> list () (File[], AccessDeniedError, IOError);
 
 @Description {value:"Function to return a ByteChannel related to the file. This ByteChannel can then be used to read/write from/to the file."}
 @Param { value: "file: The file to which a channel needs to be opened"}
-@Param {value:"accessMode: Specifies whether the file should be opened for reading or writing (r/w)"}
+@Param {value:"accessMode: Specifies whether the file should be opened for reading or writing (r/w), or for reading through memory mapped regions of the file (rm)"}
 @Return{value:"ByteChannel which will allow to perform I/O operations"}
 public native function <File file>  openChannel (string accessMode)(io:ByteChannel);
\ No newline at end of file
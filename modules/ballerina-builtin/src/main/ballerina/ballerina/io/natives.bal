@@ -20,8 +20,8 @@ public native function <ByteChannel channel> toCharacterChannel(string encoding)
 
 @Description {value:"Function to convert a CharacterChannel to TextRecordChannel"}
 @Param {value:"channel: The CharacterChannel to be converted"}
-@Param {value:"recordSeparator: Terminating expression to distinguish between records"}
-@Param {value:"fieldSeparator: Terminating expression to distinguish between fields"}
+@Param {value:"recordSeparator: Terminating sequence of characters which distinguishes records, matched literally"}
+@Param {value:"fieldSeparator: Sequence of characters which distinguishes fields, matched literally"}
 @Return {value:"TextRecordChannel converted from CharacterChannel"}
 public native function <CharacterChannel channel> toTextRecordChannel(string recordSeparator,
                                                                       string fieldSeparator)
@@ -80,6 +80,14 @@ public native function <ByteChannel channel> readAllBytes()(blob,int);
 @Return { value:"Number of bytes written"}
 public native function <ByteChannel channel> writeBytes(blob content,int startOffset) (int);
 
+@Description { value:"Function to transfer bytes to another channel, e.g. to copy a file, without reading those into memory"}
+@Param {value:"channel: The ByteChannel to transfer bytes from"}
+@Param { value:"position: Position of the source from which the bytes should be transferred" }
+@Param { value:"count: Number of bytes which should be transferred" }
+@Param { value:"destination: The ByteChannel to transfer bytes to" }
+@Return { value:"Number of bytes transferred"}
+public native function <ByteChannel channel> transfer(int position, int count, ByteChannel destination) (int);
+
 @Description { value:"Function to close a byte channel"}
 @Param {value:"channel: The ByteChannel to be closed"}
 public native function <ByteChannel channel> close();
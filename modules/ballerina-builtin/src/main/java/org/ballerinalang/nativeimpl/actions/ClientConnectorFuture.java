@@ -24,7 +24,7 @@ import org.ballerinalang.model.values.BValue;
 
 /**
  * {@code ClientConnectorFuture} This connector future will be provided to the ballerina side to get notifications
- * from client connections.
+ * from client connections. The future may be completed from a thread other than the one which listens to it.
  *
  * @since 0.94
  */
@@ -35,7 +35,7 @@ public class ClientConnectorFuture implements ConnectorFuture {
     private BallerinaConnectorException exception;
 
     @Override
-    public void setConnectorFutureListener(ConnectorFutureListener futureListener) {
+    public synchronized void setConnectorFutureListener(ConnectorFutureListener futureListener) {
         this.listener = futureListener;
         if (value != null) {
             listener.notifyReply(value);
@@ -51,7 +51,7 @@ public class ClientConnectorFuture implements ConnectorFuture {
         success = false;
     }
 
-    public void notifySuccess() {
+    public synchronized void notifySuccess() {
         if (listener != null) {
             listener.notifySuccess();
             return;
@@ -59,7 +59,7 @@ public class ClientConnectorFuture implements ConnectorFuture {
         this.success = true;
     }
 
-    public void notifyReply(BValue... value) {
+    public synchronized void notifyReply(BValue... value) {
         if (listener != null) {
             listener.notifyReply(value);
             return;
@@ -67,7 +67,7 @@ public class ClientConnectorFuture implements ConnectorFuture {
         this.value = value;
     }
 
-    public void notifyFailure(BallerinaConnectorException ex) {
+    public synchronized void notifyFailure(BallerinaConnectorException ex) {
         if (listener != null) {
             listener.notifyFailure(ex);
             return;
@@ -0,0 +1,420 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.nativeimpl.actions.data.sql;
+
+import org.ballerinalang.model.ColumnDefinition;
+import org.ballerinalang.model.DataIterator;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.nativeimpl.Utils;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLResultCache.CachedResult;
+import org.ballerinalang.nativeimpl.actions.data.sql.client.SQLDatasourceUtils;
+import org.ballerinalang.util.codegen.StructInfo;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@code CachedDataIterator} iterates the materialised rows of a result, which are read from the database up front,
+ * e.g. to be cached in the {@link SQLResultCache}.
+ * <p>
+ * A row holds a value per column, in the form the datatable operations expect: a string for the character and the
+ * CLOB types, a long for the integer types, a double for the floating point and the decimal types, a boolean, the
+ * content of a BLOB, or a {@link TemporalValue}. Results with other column types are not materialised. If only the
+ * first rows of a result were materialised, the remaining rows are read from the database as the iteration goes on.
+ *
+ * @since 0.95.8
+ */
+public class CachedDataIterator implements DataIterator {
+
+    private final List<ColumnDefinition> columnDefs;
+    private final int[] sqlTypes;
+    private final List<Object[]> rows;
+    private final Calendar utcCalendar;
+    private final BStructType bStructType;
+    private final StructInfo timeStructInfo;
+    private final StructInfo zoneStructInfo;
+    private int position = -1;
+    private Object[] currentRow;
+
+    // Result, and its resources, from which the rows beyond the materialised rows are read
+    private ResultSet rs;
+    private Statement stmt;
+    private Connection conn;
+    private SQLStatementCache statementCache;
+    private SQLDatasourceMetrics metrics;
+    private long tailRowCount;
+
+    public CachedDataIterator(CachedResult result, Calendar utcCalendar, BStructType structType,
+            StructInfo timeStructInfo, StructInfo zoneStructInfo) {
+        this.columnDefs = result.getColumnDefinitions();
+        this.sqlTypes = getSQLTypes(columnDefs);
+        this.rows = result.getRows();
+        this.utcCalendar = utcCalendar;
+        this.bStructType = structType;
+        this.timeStructInfo = timeStructInfo;
+        this.zoneStructInfo = zoneStructInfo;
+    }
+
+    /**
+     * Create an iterator which continues with the remaining rows of the given result set, once the materialised rows
+     * are iterated.
+     */
+    public CachedDataIterator(CachedResult result, Calendar utcCalendar, BStructType structType,
+            StructInfo timeStructInfo, StructInfo zoneStructInfo, Connection conn, Statement stmt, ResultSet rs,
+            SQLStatementCache statementCache, SQLDatasourceMetrics metrics) {
+        this(result, utcCalendar, structType, timeStructInfo, zoneStructInfo);
+        this.conn = conn;
+        this.stmt = stmt;
+        this.rs = rs;
+        this.statementCache = statementCache;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Check whether the rows of a result can be materialised.
+     *
+     * @param columnDefs column definitions of the result
+     * @return true if all the columns are of a type which can be materialised
+     */
+    public static boolean isMaterializable(List<ColumnDefinition> columnDefs) {
+        for (ColumnDefinition columnDef : columnDefs) {
+            if (!(columnDef instanceof SQLDataIterator.SQLColumnDefinition)) {
+                return false;
+            }
+            int sqlType = ((SQLDataIterator.SQLColumnDefinition) columnDef).getSqlType();
+            if (sqlType == Types.ARRAY || sqlType == Types.STRUCT || sqlType == Types.ROWID
+                    || SQLDatasourceUtils.getColumnType(sqlType) == TypeKind.NONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read the first rows of a result. The result is complete if it has fewer rows than the given maximum.
+     *
+     * @param rs          result set positioned before its first row
+     * @param columnDefs  column definitions of the result
+     * @param maxRows     maximum number of rows to be read
+     * @param utcCalendar calendar to read the time values with
+     * @return materialised rows
+     * @throws SQLException if a row could not be read
+     */
+    public static CachedResult readResult(ResultSet rs, List<ColumnDefinition> columnDefs, int maxRows,
+            Calendar utcCalendar) throws SQLException {
+        int[] sqlTypes = getSQLTypes(columnDefs);
+        List<Object[]> rows = new ArrayList<>();
+        long estimatedSize = 0;
+        while (rows.size() < maxRows && rs.next()) {
+            Object[] row = readRow(rs, sqlTypes, utcCalendar);
+            rows.add(row);
+            estimatedSize += estimateSize(row);
+        }
+        return new CachedResult(columnDefs, rows, estimatedSize);
+    }
+
+    @Override
+    public void close(boolean isInTransaction) {
+        if (rs != null) {
+            if (metrics != null) {
+                metrics.recordFetchedRows(rows.size() + tailRowCount);
+            }
+            SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, isInTransaction, statementCache);
+            rs = null;
+            stmt = null;
+            conn = null;
+        }
+        currentRow = null;
+    }
+
+    @Override
+    public boolean next() {
+        if (++position < rows.size()) {
+            currentRow = rows.get(position);
+            return true;
+        }
+        currentRow = null;
+        if (rs == null) {
+            return false;
+        }
+        try {
+            if (rs.next()) {
+                tailRowCount++;
+                currentRow = readRow(rs, sqlTypes, utcCalendar);
+                return true;
+            }
+            return false;
+        } catch (SQLException e) {
+            statementCache.onConnectionError(conn, e);
+            throw new BallerinaException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        Object value = currentRow[columnIndex - 1];
+        if (value instanceof TemporalValue) {
+            return ((TemporalValue) value).text;
+        }
+        return Objects.toString(value, null);
+    }
+
+    @Override
+    public long getInt(int columnIndex) {
+        Object value = currentRow[columnIndex - 1];
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+
+    @Override
+    public double getFloat(int columnIndex) {
+        Object value = currentRow[columnIndex - 1];
+        return value != null ? ((Number) value).doubleValue() : 0;
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) {
+        Object value = currentRow[columnIndex - 1];
+        return value != null && (Boolean) value;
+    }
+
+    @Override
+    public String getBlob(int columnIndex) {
+        return SQLDatasourceUtils.getBase64String((byte[]) currentRow[columnIndex - 1]);
+    }
+
+    @Override
+    public Object[] getStruct(int columnIndex) {
+        return null;
+    }
+
+    @Override
+    public Object[] getArray(int columnIndex) {
+        return null;
+    }
+
+    @Override
+    public BStruct generateNext() {
+        if (bStructType == null) {
+            throw new BallerinaException("the expected struct type is not specified in action");
+        }
+        BStruct bStruct = new BStruct(bStructType);
+        int longRegIndex = -1;
+        int doubleRegIndex = -1;
+        int stringRegIndex = -1;
+        int booleanRegIndex = -1;
+        int blobRegIndex = -1;
+        int refRegIndex = -1;
+        int index = 0;
+        try {
+            for (; index < sqlTypes.length; index++) {
+                Object value = currentRow[index];
+                switch (sqlTypes[index]) {
+                case Types.BLOB:
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                    bStruct.setBlobField(++blobRegIndex, value != null ? (byte[]) value : new byte[0]);
+                    break;
+                case Types.DATE:
+                case Types.TIME:
+                case Types.TIME_WITH_TIMEZONE:
+                case Types.TIMESTAMP:
+                case Types.TIMESTAMP_WITH_TIMEZONE:
+                    java.util.Date date = ((TemporalValue) value).value;
+                    int fieldType = bStructType.getStructFields()[index].getFieldType().getTag();
+                    if (fieldType == TypeTags.STRING_TAG) {
+                        bStruct.setStringField(++stringRegIndex, getTemporalString(sqlTypes[index], date));
+                    } else if (fieldType == TypeTags.STRUCT_TAG) {
+                        bStruct.setRefField(++refRegIndex, Utils.createTimeStruct(zoneStructInfo, timeStructInfo,
+                                date.getTime(), Constants.TIMEZONE_UTC));
+                    } else if (fieldType == TypeTags.INT_TAG) {
+                        bStruct.setIntField(++longRegIndex, date.getTime());
+                    }
+                    break;
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                    bStruct.setIntField(++longRegIndex, (Long) value);
+                    break;
+                case Types.REAL:
+                case Types.FLOAT:
+                    bStruct.setFloatField(++doubleRegIndex, (float) (double) (Double) value);
+                    break;
+                case Types.DOUBLE:
+                case Types.NUMERIC:
+                case Types.DECIMAL:
+                    bStruct.setFloatField(++doubleRegIndex, (Double) value);
+                    break;
+                case Types.BIT:
+                case Types.BOOLEAN:
+                    bStruct.setBooleanField(++booleanRegIndex, (Boolean) value ? 1 : 0);
+                    break;
+                default:
+                    bStruct.setStringField(++stringRegIndex, (String) value);
+                    break;
+                }
+            }
+        } catch (Throwable e) {
+            throw new BallerinaException(
+                    "error in retrieving next value for column: " + columnDefs.get(index).getName() + ": at index:"
+                            + (index + 1) + ":" + e.getMessage());
+        }
+        return bStruct;
+    }
+
+    @Override
+    public List<ColumnDefinition> getColumnDefinitions() {
+        return columnDefs;
+    }
+
+    @Override
+    public BStructType getStructType() {
+        return bStructType;
+    }
+
+    private static int[] getSQLTypes(List<ColumnDefinition> columnDefs) {
+        int[] sqlTypes = new int[columnDefs.size()];
+        for (int i = 0; i < sqlTypes.length; i++) {
+            sqlTypes[i] = ((SQLDataIterator.SQLColumnDefinition) columnDefs.get(i)).getSqlType();
+        }
+        return sqlTypes;
+    }
+
+    private static Object[] readRow(ResultSet rs, int[] sqlTypes, Calendar utcCalendar) throws SQLException {
+        Object[] row = new Object[sqlTypes.length];
+        for (int i = 0; i < sqlTypes.length; i++) {
+            int index = i + 1;
+            switch (sqlTypes[i]) {
+            case Types.CLOB:
+                row[i] = SQLDatasourceUtils.getString(rs.getClob(index));
+                break;
+            case Types.NCLOB:
+                row[i] = SQLDatasourceUtils.getString(rs.getNClob(index));
+                break;
+            case Types.BLOB:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                Blob blob = rs.getBlob(index);
+                row[i] = blob != null ? blob.getBytes(1L, (int) blob.length()) : null;
+                break;
+            case Types.DATE:
+                Date date = rs.getDate(index);
+                row[i] = new TemporalValue(rs.getString(index), date);
+                break;
+            case Types.TIME:
+            case Types.TIME_WITH_TIMEZONE:
+                Time time = rs.getTime(index, utcCalendar);
+                row[i] = new TemporalValue(rs.getString(index), time);
+                break;
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                Timestamp timestamp = rs.getTimestamp(index, utcCalendar);
+                row[i] = new TemporalValue(rs.getString(index), timestamp);
+                break;
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                row[i] = rs.getLong(index);
+                break;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                row[i] = rs.getDouble(index);
+                break;
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                BigDecimal decimal = rs.getBigDecimal(index);
+                row[i] = decimal != null ? decimal.doubleValue() : 0d;
+                break;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                row[i] = rs.getBoolean(index);
+                break;
+            default:
+                row[i] = rs.getString(index);
+                break;
+            }
+        }
+        return row;
+    }
+
+    private static String getTemporalString(int sqlType, java.util.Date value) {
+        switch (sqlType) {
+        case Types.DATE:
+            return SQLDatasourceUtils.getString((Date) value);
+        case Types.TIME:
+        case Types.TIME_WITH_TIMEZONE:
+            return SQLDatasourceUtils.getString((Time) value);
+        default:
+            return SQLDatasourceUtils.getString((Timestamp) value);
+        }
+    }
+
+    /**
+     * Approximate number of bytes held by a row, with the object headers and references counted as 16 and 8 bytes.
+     */
+    private static long estimateSize(Object[] row) {
+        long size = 16 + 8L * row.length;
+        for (Object value : row) {
+            if (value instanceof String) {
+                size += 40 + 2L * ((String) value).length();
+            } else if (value instanceof byte[]) {
+                size += 16 + ((byte[]) value).length;
+            } else if (value instanceof TemporalValue) {
+                String text = ((TemporalValue) value).text;
+                size += 64 + (text != null ? 40 + 2L * text.length() : 0);
+            } else if (value != null) {
+                size += 16;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * A date, time or timestamp value, along with its string form as given by the driver.
+     */
+    private static final class TemporalValue {
+
+        private final String text;
+        private final java.util.Date value;
+
+        TemporalValue(String text, java.util.Date value) {
+            this.text = text;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.actions.data.sql;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.util.JsonNode;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+/**
+ * Native function ballerina.data.sql:getDatasourceMetrics, which returns the metrics of all the open datasources,
+ * e.g. to be served by a metrics endpoint.
+ *
+ * @since 0.95.8
+ */
+@BallerinaFunction(
+        packageName = "ballerina.data.sql",
+        functionName = "getDatasourceMetrics",
+        returnType = {@ReturnType(type = TypeKind.JSON)},
+        isPublic = true
+)
+public class GetDatasourceMetrics extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        JsonNode metricsList = new JsonNode(JsonNode.Type.ARRAY);
+        for (SQLDatasourceMetrics metrics : SQLDatasourceMetrics.getRegisteredMetrics()) {
+            metricsList.add(metrics.toJSON());
+        }
+        return getBValues(new BJSON(metricsList));
+    }
+}
@@ -27,10 +27,8 @@ import org.ballerinalang.model.values.BBooleanArray;
 import org.ballerinalang.model.values.BFloatArray;
 import org.ballerinalang.model.values.BIntArray;
 import org.ballerinalang.model.values.BNewArray;
-import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStringArray;
 import org.ballerinalang.model.values.BStruct;
-import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.nativeimpl.Utils;
 import org.ballerinalang.nativeimpl.actions.data.sql.client.SQLDatasourceUtils;
 import org.ballerinalang.util.codegen.StructInfo;
@@ -40,14 +38,12 @@ import java.math.BigDecimal;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Connection;
-import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Struct;
-import java.sql.Time;
-import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 
@@ -61,17 +57,31 @@ public class SQLDataIterator implements DataIterator {
 
     private Connection conn;
     private Statement stmt;
+    private SQLStatementCache statementCache;
     private ResultSet rs;
     private Calendar utcCalendar;
     private List<ColumnDefinition> columnDefs;
     private BStructType bStructType;
     private StructInfo timeStructInfo;
     private StructInfo zoneStructInfo;
+    private ColumnReader[] columnReaders;
+    private SQLColumnDefinition[] readerColumns;
+    private SQLDatasourceMetrics metrics;
+    private long fetchedRowCount;
 
     public SQLDataIterator(Connection conn, Statement stmt, ResultSet rs, Calendar utcCalendar,
             List<ColumnDefinition> columnDefs, BStructType structType, StructInfo timeStructInfo,
             StructInfo zoneStructInfo) throws SQLException {
+        this(conn, stmt, rs, utcCalendar, columnDefs, structType, timeStructInfo, zoneStructInfo, null, null);
+    }
+
+    public SQLDataIterator(Connection conn, Statement stmt, ResultSet rs, Calendar utcCalendar,
+            List<ColumnDefinition> columnDefs, BStructType structType, StructInfo timeStructInfo,
+            StructInfo zoneStructInfo, SQLStatementCache statementCache, SQLDatasourceMetrics metrics)
+            throws SQLException {
         this.conn = conn;
+        this.statementCache = statementCache;
+        this.metrics = metrics;
         this.stmt = stmt;
         this.rs = rs;
         this.utcCalendar = utcCalendar;
@@ -83,7 +93,10 @@ public class SQLDataIterator implements DataIterator {
 
     @Override
     public void close(boolean isInTransaction) {
-        SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, isInTransaction);
+        if (rs != null && metrics != null) {
+            metrics.recordFetchedRows(fetchedRowCount);
+        }
+        SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, isInTransaction, statementCache);
         rs = null;
         stmt = null;
         conn = null;
@@ -95,8 +108,16 @@ public class SQLDataIterator implements DataIterator {
             return false;
         }
         try {
-            return rs.next();
+            if (rs.next()) {
+                fetchedRowCount++;
+                return true;
+            }
+            return false;
         } catch (SQLException e) {
+            // The statement cache is only given outside transactions
+            if (statementCache != null) {
+                statementCache.onConnectionError(conn, e);
+            }
             throw new BallerinaException(e.getMessage(), e);
         }
     }
@@ -183,7 +204,30 @@ public class SQLDataIterator implements DataIterator {
         if (bStructType == null) {
             throw new BallerinaException("the expected struct type is not specified in action");
         }
+        if (columnReaders == null) {
+            createColumnReaders();
+        }
         BStruct bStruct = new BStruct(bStructType);
+        int readerIndex = 0;
+        try {
+            for (; readerIndex < columnReaders.length; readerIndex++) {
+                columnReaders[readerIndex].read(bStruct);
+            }
+        }  catch (Throwable e) {
+            throw new BallerinaException(
+                    "error in retrieving next value for column: " + readerColumns[readerIndex].getName() +
+                            ": at index:" + (readerIndex + 1) + ":" + e.getMessage());
+        }
+        return bStruct;
+    }
+
+    /**
+     * Compile the mapping of the columns of the result set to the fields of the struct type. The SQL type of each
+     * column, and the struct field it is written to, are resolved once here instead of for every row.
+     */
+    private void createColumnReaders() {
+        List<ColumnReader> readers = new ArrayList<>(columnDefs.size());
+        List<SQLColumnDefinition> columns = new ArrayList<>(columnDefs.size());
         int longRegIndex = -1;
         int doubleRegIndex = -1;
         int stringRegIndex = -1;
@@ -191,144 +235,192 @@ public class SQLDataIterator implements DataIterator {
         int blobRegIndex = -1;
         int refRegIndex = -1;
         int index = 0;
-        String columnName = null;
-        try {
-            for (ColumnDefinition columnDef : columnDefs) {
-                if (columnDef instanceof SQLColumnDefinition) {
-                    SQLColumnDefinition def = (SQLColumnDefinition) columnDef;
-                    columnName = def.getName();
-                    int sqlType = def.getSqlType();
-                    ++index;
-                    switch (sqlType) {
-                    case Types.ARRAY:
-                        Array dataArray = rs.getArray(index);
-                        bStruct.setRefField(++refRegIndex, getDataArray(dataArray));
-                        break;
-                    case Types.CHAR:
-                    case Types.VARCHAR:
-                    case Types.LONGVARCHAR:
-                    case Types.NCHAR:
-                    case Types.NVARCHAR:
-                    case Types.LONGNVARCHAR:
-                        String sValue = rs.getString(index);
-                        bStruct.setStringField(++stringRegIndex, sValue);
-                        break;
-                    case Types.BLOB:
-                    case Types.BINARY:
-                    case Types.VARBINARY:
-                    case Types.LONGVARBINARY:
-                        Blob value = rs.getBlob(index);
-                        if (value != null) {
-                            bStruct.setBlobField(++blobRegIndex, value.getBytes(1L, (int) value.length()));
-                        } else {
-                            bStruct.setBlobField(++blobRegIndex, new byte[0]);
-                        }
-                        break;
-                    case Types.CLOB:
-                        String clobValue = SQLDatasourceUtils.getString((rs.getClob(index)));
-                        bStruct.setStringField(++stringRegIndex, clobValue);
-                        break;
-                    case Types.NCLOB:
-                        String nClobValue = SQLDatasourceUtils.getString(rs.getNClob(index));
-                        bStruct.setStringField(++stringRegIndex, nClobValue);
-                        break;
-                    case Types.DATE:
-                        Date date = rs.getDate(index);
-                        int fieldType = bStructType.getStructFields()[index - 1].getFieldType().getTag();
-                        if (fieldType == TypeTags.STRING_TAG) {
-                            String dateValue = SQLDatasourceUtils.getString(date);
-                            bStruct.setStringField(++stringRegIndex, dateValue);
-                        } else if (fieldType == TypeTags.STRUCT_TAG) {
-                            bStruct.setRefField(++refRegIndex, createTimeStruct(date.getTime()));
-                        } else if (fieldType == TypeTags.INT_TAG) {
-                            bStruct.setIntField(++longRegIndex, date.getTime());
-                        }
-                        break;
-                    case Types.TIME:
-                    case Types.TIME_WITH_TIMEZONE:
-                        Time time = rs.getTime(index, utcCalendar);
-                        fieldType = bStructType.getStructFields()[index - 1].getFieldType().getTag();
-                        if (fieldType == TypeTags.STRING_TAG) {
-                            String timeValue = SQLDatasourceUtils.getString(time);
-                            bStruct.setStringField(++stringRegIndex, timeValue);
-                        } else if (fieldType == TypeTags.STRUCT_TAG) {
-                            bStruct.setRefField(++refRegIndex, createTimeStruct(time.getTime()));
-                        } else if (fieldType == TypeTags.INT_TAG) {
-                            bStruct.setIntField(++longRegIndex, time.getTime());
-                        }
-                        break;
-                    case Types.TIMESTAMP:
-                    case Types.TIMESTAMP_WITH_TIMEZONE:
-                        Timestamp timestamp = rs.getTimestamp(index, utcCalendar);
-                        fieldType = bStructType.getStructFields()[index - 1].getFieldType().getTag();
-                        if (fieldType == TypeTags.STRING_TAG) {
-                            String timestmpValue = SQLDatasourceUtils.getString(timestamp);
-                            bStruct.setStringField(++stringRegIndex, timestmpValue);
-                        } else if (fieldType == TypeTags.STRUCT_TAG) {
-                            bStruct.setRefField(++refRegIndex, createTimeStruct(timestamp.getTime()));
-                        } else if (fieldType == TypeTags.INT_TAG) {
-                            bStruct.setIntField(++longRegIndex, timestamp.getTime());
-                        }
-                        break;
-                    case Types.ROWID:
-                        BValue strValue = new BString(new String(rs.getRowId(index).getBytes(), "UTF-8"));
-                        bStruct.setStringField(++stringRegIndex, strValue.stringValue());
-                        break;
-                    case Types.TINYINT:
-                    case Types.SMALLINT:
-                        long iValue = rs.getInt(index);
-                        bStruct.setIntField(++longRegIndex, iValue);
-                        break;
-                    case Types.INTEGER:
-                    case Types.BIGINT:
-                        long lValue = rs.getLong(index);
-                        bStruct.setIntField(++longRegIndex, lValue);
-                        break;
-                    case Types.REAL:
-                    case Types.FLOAT:
-                        double fValue = rs.getFloat(index);
-                        bStruct.setFloatField(++doubleRegIndex, fValue);
-                        break;
-                    case Types.DOUBLE:
-                        double dValue = rs.getDouble(index);
-                        bStruct.setFloatField(++doubleRegIndex, dValue);
-                        break;
-                    case Types.NUMERIC:
-                    case Types.DECIMAL:
-                        double decimalValue = 0;
-                        BigDecimal bigDecimalValue = rs.getBigDecimal(index);
-                        if (bigDecimalValue != null) {
-                            decimalValue = bigDecimalValue.doubleValue();
-                        }
-                        bStruct.setFloatField(++doubleRegIndex, decimalValue);
-                        break;
-                    case Types.BIT:
-                    case Types.BOOLEAN:
-                        boolean boolValue = rs.getBoolean(index);
-                        bStruct.setBooleanField(++booleanRegIndex, boolValue ? 1 : 0);
-                        break;
-                    case Types.STRUCT:
-                        Struct structdata = (Struct) rs.getObject(index);
-                        BType structFieldType = bStructType.getStructFields()[index - 1].getFieldType();
-                        fieldType = structFieldType.getTag();
-                        if (fieldType == TypeTags.STRUCT_TAG) {
-                            bStruct.setRefField(++refRegIndex,
-                                    createUserDefinedType(structdata, (BStructType) structFieldType));
-                        }
-                        break;
-                    default:
-                        throw new BallerinaException(
-                                "unsupported sql type " + sqlType + " found for the column " + columnName + " index:"
-                                        + index);
+        BStructType.StructField[] structFields = bStructType.getStructFields();
+        for (ColumnDefinition columnDef : columnDefs) {
+            if (!(columnDef instanceof SQLColumnDefinition)) {
+                continue;
+            }
+            SQLColumnDefinition def = (SQLColumnDefinition) columnDef;
+            String columnName = def.getName();
+            int sqlType = def.getSqlType();
+            int columnIndex = ++index;
+            ColumnReader reader;
+            switch (sqlType) {
+            case Types.ARRAY: {
+                int regIndex = ++refRegIndex;
+                reader = struct -> struct.setRefField(regIndex, getDataArray(rs.getArray(columnIndex)));
+                break;
+            }
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR: {
+                int regIndex = ++stringRegIndex;
+                reader = struct -> struct.setStringField(regIndex, rs.getString(columnIndex));
+                break;
+            }
+            case Types.BLOB:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY: {
+                int regIndex = ++blobRegIndex;
+                reader = struct -> {
+                    Blob value = rs.getBlob(columnIndex);
+                    if (value != null) {
+                        struct.setBlobField(regIndex, value.getBytes(1L, (int) value.length()));
+                    } else {
+                        struct.setBlobField(regIndex, new byte[0]);
                     }
+                };
+                break;
+            }
+            case Types.CLOB: {
+                int regIndex = ++stringRegIndex;
+                reader = struct -> struct.setStringField(regIndex,
+                        SQLDatasourceUtils.getString(rs.getClob(columnIndex)));
+                break;
+            }
+            case Types.NCLOB: {
+                int regIndex = ++stringRegIndex;
+                reader = struct -> struct.setStringField(regIndex,
+                        SQLDatasourceUtils.getString(rs.getNClob(columnIndex)));
+                break;
+            }
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIME_WITH_TIMEZONE:
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE: {
+                if (columnIndex > structFields.length) {
+                    reader = getMissingFieldReader(columnIndex);
+                    break;
+                }
+                int fieldType = structFields[columnIndex - 1].getFieldType().getTag();
+                TemporalReader temporalReader = getTemporalReader(sqlType, columnIndex);
+                if (fieldType == TypeTags.STRING_TAG) {
+                    reader = getTemporalStringReader(sqlType, columnIndex, ++stringRegIndex);
+                } else if (fieldType == TypeTags.STRUCT_TAG) {
+                    int regIndex = ++refRegIndex;
+                    reader = struct -> struct.setRefField(regIndex, createTimeStruct(temporalReader.read().getTime()));
+                } else if (fieldType == TypeTags.INT_TAG) {
+                    int regIndex = ++longRegIndex;
+                    reader = struct -> struct.setIntField(regIndex, temporalReader.read().getTime());
+                } else {
+                    reader = struct -> temporalReader.read();
                 }
+                break;
             }
-        }  catch (Throwable e) {
-            throw new BallerinaException(
-                    "error in retrieving next value for column: " + columnName + ": at index:" + index + ":" + e
-                            .getMessage());
+            case Types.ROWID: {
+                int regIndex = ++stringRegIndex;
+                reader = struct -> struct.setStringField(regIndex,
+                        new String(rs.getRowId(columnIndex).getBytes(), "UTF-8"));
+                break;
+            }
+            case Types.TINYINT:
+            case Types.SMALLINT: {
+                int regIndex = ++longRegIndex;
+                reader = struct -> struct.setIntField(regIndex, rs.getInt(columnIndex));
+                break;
+            }
+            case Types.INTEGER:
+            case Types.BIGINT: {
+                int regIndex = ++longRegIndex;
+                reader = struct -> struct.setIntField(regIndex, rs.getLong(columnIndex));
+                break;
+            }
+            case Types.REAL:
+            case Types.FLOAT: {
+                int regIndex = ++doubleRegIndex;
+                reader = struct -> struct.setFloatField(regIndex, rs.getFloat(columnIndex));
+                break;
+            }
+            case Types.DOUBLE: {
+                int regIndex = ++doubleRegIndex;
+                reader = struct -> struct.setFloatField(regIndex, rs.getDouble(columnIndex));
+                break;
+            }
+            case Types.NUMERIC:
+            case Types.DECIMAL: {
+                int regIndex = ++doubleRegIndex;
+                reader = struct -> {
+                    BigDecimal bigDecimalValue = rs.getBigDecimal(columnIndex);
+                    struct.setFloatField(regIndex, bigDecimalValue != null ? bigDecimalValue.doubleValue() : 0);
+                };
+                break;
+            }
+            case Types.BIT:
+            case Types.BOOLEAN: {
+                int regIndex = ++booleanRegIndex;
+                reader = struct -> struct.setBooleanField(regIndex, rs.getBoolean(columnIndex) ? 1 : 0);
+                break;
+            }
+            case Types.STRUCT: {
+                if (columnIndex > structFields.length) {
+                    reader = getMissingFieldReader(columnIndex);
+                    break;
+                }
+                BType structFieldType = structFields[columnIndex - 1].getFieldType();
+                if (structFieldType.getTag() == TypeTags.STRUCT_TAG) {
+                    int regIndex = ++refRegIndex;
+                    reader = struct -> struct.setRefField(regIndex,
+                            createUserDefinedType((Struct) rs.getObject(columnIndex), (BStructType) structFieldType));
+                } else {
+                    reader = struct -> rs.getObject(columnIndex);
+                }
+                break;
+            }
+            default:
+                // Reported when a row is read, hence an unsupported column does not fail a query without results
+                reader = struct -> {
+                    throw new BallerinaException(
+                            "unsupported sql type " + sqlType + " found for the column " + columnName + " index:"
+                                    + columnIndex);
+                };
+                break;
+            }
+            readers.add(reader);
+            columns.add(def);
+        }
+        readerColumns = columns.toArray(new SQLColumnDefinition[columns.size()]);
+        columnReaders = readers.toArray(new ColumnReader[readers.size()]);
+    }
+
+    /**
+     * Reader of a column which has no field in the struct type. As with the unsupported columns, it is reported when
+     * a row is read, through the same error as any other failure to read the row.
+     */
+    private static ColumnReader getMissingFieldReader(int columnIndex) {
+        return struct -> {
+            throw new BallerinaException("the struct type has no field for the column at index:" + columnIndex);
+        };
+    }
+
+    private ColumnReader getTemporalStringReader(int sqlType, int columnIndex, int regIndex) {
+        switch (sqlType) {
+        case Types.DATE:
+            return struct -> struct.setStringField(regIndex, SQLDatasourceUtils.getString(rs.getDate(columnIndex)));
+        case Types.TIME:
+        case Types.TIME_WITH_TIMEZONE:
+            return struct -> struct.setStringField(regIndex,
+                    SQLDatasourceUtils.getString(rs.getTime(columnIndex, utcCalendar)));
+        default:
+            return struct -> struct.setStringField(regIndex,
+                    SQLDatasourceUtils.getString(rs.getTimestamp(columnIndex, utcCalendar)));
+        }
+    }
+
+    private TemporalReader getTemporalReader(int sqlType, int columnIndex) {
+        switch (sqlType) {
+        case Types.DATE:
+            return () -> rs.getDate(columnIndex);
+        case Types.TIME:
+        case Types.TIME_WITH_TIMEZONE:
+            return () -> rs.getTime(columnIndex, utcCalendar);
+        default:
+            return () -> rs.getTimestamp(columnIndex, utcCalendar);
         }
-        return bStruct;
     }
 
     @Override
@@ -451,6 +543,24 @@ public class SQLDataIterator implements DataIterator {
         return struct;
     }
 
+    /**
+     * Reads a column of the current row into its field of a struct.
+     */
+    @FunctionalInterface
+    private interface ColumnReader {
+
+        void read(BStruct struct) throws Exception;
+    }
+
+    /**
+     * Reads a date, time or timestamp column of the current row.
+     */
+    @FunctionalInterface
+    private interface TemporalReader {
+
+        java.util.Date read() throws SQLException;
+    }
+
     /**
      * This represents a column definition for a column in a datatable.
      */
@@ -28,6 +28,8 @@ import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.File;
@@ -37,6 +39,11 @@ import java.sql.SQLException;
 import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.sql.XADataSource;
 
 /**
@@ -46,7 +53,26 @@ import javax.sql.XADataSource;
  */
 public class SQLDatasource implements BValue {
 
+    private static final int EXECUTOR_QUEUE_SIZE_PER_CONNECTION = 64;
+    private static final long EXECUTOR_KEEP_ALIVE_SECONDS = 60;
+    private static final long EXECUTOR_SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final int STATEMENT_CACHE_MAX_QUERIES = 256;
+    private static final int STATEMENT_CACHE_MAX_STATEMENTS_PER_CONNECTION = 64;
+    private static final long DEFAULT_UPDATE_BATCH_WINDOW_MILLIS = 2;
+    private static final long DEFAULT_RESULT_CACHE_TTL_MILLIS = 60 * 1000;
+    private static final int RESULT_CACHE_MAX_ROWS_PER_ENTRY = 1000;
+
     private HikariDataSource hikariDataSource;
+    private ThreadPoolExecutor executor;
+    private SQLStatementCache statementCache;
+    private SQLUpdateBatcher updateBatcher;
+    private int updateBatchSize = -1;
+    private long updateBatchWindow = -1;
+    private int fetchSize = -1;
+    private SQLResultCache resultCache;
+    private int resultCacheSize = -1;
+    private long resultCacheTTL = -1;
+    private SQLDatasourceMetrics metrics;
     private String databaseName;
     private String connectorId;
     private boolean xaConn;
@@ -61,6 +87,7 @@ public class SQLDatasource implements BValue {
             String dbName) {
         buildDataSource(options, dbType, hostOrPath, dbName, port, username, password);
         connectorId = UUID.randomUUID().toString();
+        metrics = new SQLDatasourceMetrics(hikariDataSource.getPoolName(), hikariDataSource);
         xaConn = isXADataSource();
         try (Connection con = getSQLConnection()) {
             databaseName = con.getMetaData().getDatabaseProductName().toLowerCase(Locale.ENGLISH);
@@ -68,12 +95,92 @@ public class SQLDatasource implements BValue {
             throw new BallerinaException(
                     "error in get connection: " + Constants.CONNECTOR_NAME + ": " + e.getMessage(), e);
         }
+        executor = createExecutor();
+        // Leaves room for the connections retired by the pool, whose statements linger until they are evicted
+        statementCache = new SQLStatementCache(STATEMENT_CACHE_MAX_QUERIES,
+                hikariDataSource.getMaximumPoolSize() * 2, STATEMENT_CACHE_MAX_STATEMENTS_PER_CONNECTION,
+                hikariDataSource::evictConnection);
+        metrics.setStatementCache(statementCache);
+        if (resultCacheSize > 0) {
+            resultCache = new SQLResultCache(resultCacheSize,
+                    resultCacheTTL != -1 ? resultCacheTTL : DEFAULT_RESULT_CACHE_TTL_MILLIS,
+                    RESULT_CACHE_MAX_ROWS_PER_ENTRY);
+            metrics.setResultCache(resultCache);
+        }
+        if (updateBatchSize > 1) {
+            updateBatcher = new SQLUpdateBatcher(updateBatchSize,
+                    updateBatchWindow != -1 ? updateBatchWindow : DEFAULT_UPDATE_BATCH_WINDOW_MILLIS, executor,
+                    ThreadPoolFactory.getInstance().getWorkerTimer());
+            metrics.setUpdateBatcher(updateBatcher);
+        }
+        SQLDatasourceMetrics.register(connectorId, metrics);
         return true;
     }
 
+    /**
+     * Get the connection pool and query metrics of this datasource.
+     *
+     * @return datasource metrics
+     */
+    public SQLDatasourceMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Get the batcher which executes the concurrent updates of the same query together, if update batching is
+     * enabled for this datasource.
+     *
+     * @return update batcher, or null if updates are not batched
+     */
+    public SQLUpdateBatcher getUpdateBatcher() {
+        return updateBatcher;
+    }
+
+    /**
+     * Get the cache of the select results of this datasource, if result caching is enabled.
+     *
+     * @return result cache, or null if results are not cached
+     */
+    public SQLResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Get the number of rows a select fetches from the database at a time.
+     *
+     * @return fetch size, or -1 if the default of the driver is used
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Get the cache of the processed queries and the prepared statements of this datasource.
+     *
+     * @return statement cache
+     */
+    public SQLStatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    /**
+     * Get the executor on which the database operations of this datasource are run, off the threads of the VM.
+     * There is a thread per connection of the pool, as any more threads would only wait for a connection. When the
+     * queue of the executor is full, the operation is run on the calling thread. Once the datasource is closed, the
+     * executor throws a {@link RejectedExecutionException}.
+     *
+     * @return executor for the database operations
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
     public Connection getSQLConnection() {
         try {
-           return  hikariDataSource.getConnection();
+            long startTime = System.nanoTime();
+            Connection conn = hikariDataSource.getConnection();
+            metrics.recordConnectionAcquire(System.nanoTime() - startTime);
+            return conn;
         } catch (SQLException e) {
             throw new BallerinaException(
                     "error in get connection: " + Constants.CONNECTOR_NAME + ": " + e.getMessage(), e);
@@ -99,9 +206,50 @@ public class SQLDatasource implements BValue {
     }
 
     public void closeConnectionPool() {
+        if (connectorId != null) {
+            SQLDatasourceMetrics.unregister(connectorId);
+        }
+        // The pending batches are executed before the executor is shut down, as the executor rejects those afterwards
+        if (updateBatcher != null) {
+            updateBatcher.close();
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(EXECUTOR_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+        if (resultCache != null) {
+            resultCache.clear();
+        }
         hikariDataSource.close();
     }
 
+    private ThreadPoolExecutor createExecutor() {
+        int poolSize = hikariDataSource.getMaximumPoolSize();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, EXECUTOR_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new ArrayBlockingQueue<>(poolSize * EXECUTOR_QUEUE_SIZE_PER_CONNECTION),
+                new BLangThreadFactory("sql-" + hikariDataSource.getPoolName()),
+                new ThreadPoolExecutor.CallerRunsPolicy() {
+                    @Override
+                    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+                        // The caller runs policy would discard the task silently once the executor is shut down
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("datasource " + hikariDataSource.getPoolName() +
+                                    " is closed");
+                        }
+                        super.rejectedExecution(task, executor);
+                    }
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     private void buildDataSource(BStruct options, String dbType, String hostOrPath, String dbName, int port,
             String username, String password) {
         try {
@@ -181,6 +329,11 @@ public class SQLDatasource implements BValue {
                 if (leakDetectionThreshold != -1) {
                     config.setLeakDetectionThreshold(leakDetectionThreshold);
                 }
+                updateBatchSize = (int) options.getIntField(7);
+                updateBatchWindow = options.getIntField(8);
+                fetchSize = (int) options.getIntField(9);
+                resultCacheSize = (int) options.getIntField(10);
+                resultCacheTTL = options.getIntField(11);
                 boolean autoCommit = options.getBooleanField(0) != 0;
                 config.setAutoCommit(autoCommit);
                 boolean isolateInternalQueries = options.getBooleanField(1) != 0;
@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.actions.data.sql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.ballerinalang.model.util.JsonNode;
+import org.ballerinalang.runtime.threadpool.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * {@code SQLDatasourceMetrics} records the connection pool and query metrics of a {@link SQLDatasource}, i.e. the
+ * connection acquire time, the execution time of each statement by its fingerprint, the number of rows fetched by
+ * each result and the size of each batch, along with the current connection counts of the pool. The counts of the
+ * statement cache, the result cache and the update batcher of the datasource are reported along with those.
+ * <p>
+ * The metrics of the open datasources are kept in a registry, from which those are read as JSON by the
+ * {@code ballerina.data.sql} package.
+ *
+ * @since 0.95.8
+ */
+public class SQLDatasourceMetrics {
+
+    /**
+     * Fingerprint under which the statements are recorded once the number of distinct fingerprints hits the limit.
+     */
+    public static final String OTHER_FINGERPRINT = "<other>";
+
+    private static final int MAX_FINGERPRINTS = 256;
+
+    // Distinct statements whose fingerprint is cached, e.g. statements which differ only by their literals
+    private static final int MAX_FINGERPRINTED_STATEMENTS = 1024;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w$.])\\d+(?:\\.\\d+)?(?:[eE][-+]?\\d+)?");
+
+    // A list of parameters, e.g. the parameters an array is expanded into
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Map<String, SQLDatasourceMetrics> REGISTRY = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    private final HikariDataSource hikariDataSource;
+
+    private final LatencyHistogram connectionAcquireTime = new LatencyHistogram();
+
+    private final Map<String, LatencyHistogram> executionTimes = new ConcurrentHashMap<>();
+
+    private final Map<String, LatencyHistogram> executionTimesByStatement = new ConcurrentHashMap<>();
+
+    private final CountHistogram fetchedRows = new CountHistogram();
+
+    private final CountHistogram batchSizes = new CountHistogram();
+
+    private volatile SQLStatementCache statementCache;
+
+    private volatile SQLUpdateBatcher updateBatcher;
+
+    private volatile SQLResultCache resultCache;
+
+    public SQLDatasourceMetrics(String name, HikariDataSource hikariDataSource) {
+        this.name = name;
+        this.hikariDataSource = hikariDataSource;
+    }
+
+    /**
+     * Add the metrics of a datasource to the registry.
+     *
+     * @param connectorId id of the datasource
+     * @param metrics     metrics of the datasource
+     */
+    public static void register(String connectorId, SQLDatasourceMetrics metrics) {
+        REGISTRY.put(connectorId, metrics);
+    }
+
+    /**
+     * Remove the metrics of a datasource from the registry, once the datasource is closed.
+     *
+     * @param connectorId id of the datasource
+     */
+    public static void unregister(String connectorId) {
+        REGISTRY.remove(connectorId);
+    }
+
+    /**
+     * Get the metrics of all the open datasources.
+     *
+     * @return metrics of each datasource
+     */
+    public static Collection<SQLDatasourceMetrics> getRegisteredMetrics() {
+        return Collections.unmodifiableCollection(REGISTRY.values());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void recordConnectionAcquire(long nanos) {
+        connectionAcquireTime.record(nanos);
+    }
+
+    /**
+     * Record the execution time of a statement, under the fingerprint of the statement.
+     *
+     * @param sql   statement as sent to the database
+     * @param nanos execution time in nanoseconds
+     */
+    public void recordExecution(String sql, long nanos) {
+        LatencyHistogram histogram = executionTimesByStatement.get(sql);
+        if (histogram == null) {
+            histogram = getExecutionHistogram(sql);
+        }
+        histogram.record(nanos);
+    }
+
+    public void recordFetchedRows(long rowCount) {
+        fetchedRows.record(rowCount);
+    }
+
+    public void recordBatchSize(int batchSize) {
+        batchSizes.record(batchSize);
+    }
+
+    /**
+     * Set the statement cache of the datasource, whose hit and miss counts are reported along with the metrics.
+     *
+     * @param statementCache statement cache of the datasource
+     */
+    public void setStatementCache(SQLStatementCache statementCache) {
+        this.statementCache = statementCache;
+    }
+
+    /**
+     * Set the update batcher of the datasource, whose batch counts are reported along with the metrics.
+     *
+     * @param updateBatcher update batcher of the datasource
+     */
+    public void setUpdateBatcher(SQLUpdateBatcher updateBatcher) {
+        this.updateBatcher = updateBatcher;
+    }
+
+    /**
+     * Set the result cache of the datasource, whose hit ratio, size and evictions are reported along with the
+     * metrics.
+     *
+     * @param resultCache result cache of the datasource
+     */
+    public void setResultCache(SQLResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public LatencyHistogram getConnectionAcquireTime() {
+        return connectionAcquireTime;
+    }
+
+    /**
+     * Get the execution time histogram of each statement fingerprint.
+     *
+     * @return histogram by fingerprint
+     */
+    public Map<String, LatencyHistogram> getExecutionTimes() {
+        return Collections.unmodifiableMap(executionTimes);
+    }
+
+    public CountHistogram getFetchedRows() {
+        return fetchedRows;
+    }
+
+    public CountHistogram getBatchSizes() {
+        return batchSizes;
+    }
+
+    /**
+     * Get the connection counts of the pool, i.e. the active, idle and total connections, and the number of
+     * threads waiting for a connection.
+     *
+     * @return active, idle, total and pending counts, which are all -1 if the pool is not running
+     */
+    public int[] getPoolCounts() {
+        HikariPoolMXBean pool = hikariDataSource.isClosed() ? null : hikariDataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return new int[] { -1, -1, -1, -1 };
+        }
+        return new int[] { pool.getActiveConnections(), pool.getIdleConnections(), pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection() };
+    }
+
+    /**
+     * Get the metrics as a JSON object.
+     *
+     * @return metrics of the datasource
+     */
+    public JsonNode toJSON() {
+        JsonNode metrics = new JsonNode(JsonNode.Type.OBJECT);
+        metrics.set("name", name);
+
+        int[] poolCounts = getPoolCounts();
+        JsonNode pool = new JsonNode(JsonNode.Type.OBJECT);
+        pool.set("active", poolCounts[0]);
+        pool.set("idle", poolCounts[1]);
+        pool.set("total", poolCounts[2]);
+        pool.set("pending", poolCounts[3]);
+        pool.set("maximumPoolSize", hikariDataSource.getMaximumPoolSize());
+        metrics.set("pool", pool);
+
+        metrics.set("connectionAcquireTime", toJSON(connectionAcquireTime));
+        JsonNode executionTimeList = new JsonNode(JsonNode.Type.ARRAY);
+        List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(executionTimes.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        for (Map.Entry<String, LatencyHistogram> entry : entries) {
+            JsonNode executionTime = toJSON(entry.getValue());
+            executionTime.set("query", entry.getKey());
+            executionTimeList.add(executionTime);
+        }
+        metrics.set("executionTime", executionTimeList);
+        metrics.set("fetchedRows", toJSON(fetchedRows));
+        metrics.set("batchSize", toJSON(batchSizes));
+
+        SQLStatementCache statementCache = this.statementCache;
+        if (statementCache != null) {
+            JsonNode statements = new JsonNode(JsonNode.Type.OBJECT);
+            statements.set("queryHits", statementCache.getQueryHitCount());
+            statements.set("queryMisses", statementCache.getQueryMissCount());
+            statements.set("statementHits", statementCache.getStatementHitCount());
+            statements.set("statementMisses", statementCache.getStatementMissCount());
+            metrics.set("statementCache", statements);
+        }
+        SQLUpdateBatcher updateBatcher = this.updateBatcher;
+        if (updateBatcher != null) {
+            JsonNode batches = new JsonNode(JsonNode.Type.OBJECT);
+            batches.set("batches", updateBatcher.getBatchCount());
+            batches.set("batchedUpdates", updateBatcher.getBatchedUpdateCount());
+            metrics.set("updateBatcher", batches);
+        }
+        SQLResultCache resultCache = this.resultCache;
+        if (resultCache != null) {
+            JsonNode results = new JsonNode(JsonNode.Type.OBJECT);
+            results.set("hits", resultCache.getHitCount());
+            results.set("misses", resultCache.getMissCount());
+            results.set("hitRatio", resultCache.getHitRatio());
+            results.set("entries", resultCache.getEntryCount());
+            results.set("estimatedSize", resultCache.getEstimatedSize());
+            results.set("evictions", resultCache.getEvictionCount());
+            results.set("invalidations", resultCache.getInvalidationCount());
+            metrics.set("resultCache", results);
+        }
+        return metrics;
+    }
+
+    /**
+     * Get the fingerprint of a statement, i.e. the statement with its literals replaced by parameters, its
+     * parameter lists collapsed into a single parameter and its whitespace normalised, so that the statements which
+     * differ only by their values share a fingerprint.
+     *
+     * @param sql statement
+     * @return fingerprint of the statement
+     */
+    public static String getFingerprint(String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMERIC_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = PARAMETER_LIST.matcher(fingerprint).replaceAll("?");
+        return WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+    }
+
+    private LatencyHistogram getExecutionHistogram(String sql) {
+        String fingerprint = getFingerprint(sql);
+        // The limits are checked without a lock, hence those may be exceeded slightly by concurrent statements
+        if (executionTimes.size() >= MAX_FINGERPRINTS && !executionTimes.containsKey(fingerprint)) {
+            fingerprint = OTHER_FINGERPRINT;
+        }
+        LatencyHistogram histogram = executionTimes.computeIfAbsent(fingerprint, key -> new LatencyHistogram());
+        if (executionTimesByStatement.size() < MAX_FINGERPRINTED_STATEMENTS) {
+            executionTimesByStatement.put(sql, histogram);
+        }
+        return histogram;
+    }
+
+    private static JsonNode toJSON(LatencyHistogram histogram) {
+        JsonNode json = new JsonNode(JsonNode.Type.OBJECT);
+        json.set("count", histogram.getCount());
+        json.set("meanMicros", TimeUnit.NANOSECONDS.toMicros(histogram.getMeanNanos()));
+        json.set("p50Micros", histogram.getPercentileMicros(50));
+        json.set("p99Micros", histogram.getPercentileMicros(99));
+        json.set("buckets", toJSON(histogram.getBucketUpperBoundsMicros(), histogram.getBucketCounts()));
+        return json;
+    }
+
+    private static JsonNode toJSON(CountHistogram histogram) {
+        JsonNode json = new JsonNode(JsonNode.Type.OBJECT);
+        json.set("count", histogram.getCount());
+        json.set("total", histogram.getTotal());
+        json.set("p50", histogram.getPercentile(50));
+        json.set("p99", histogram.getPercentile(99));
+        json.set("buckets", toJSON(histogram.getBucketUpperBounds(), histogram.getBucketCounts()));
+        return json;
+    }
+
+    /**
+     * Non empty buckets of a histogram, each with its upper bound, which is left out for the unbounded bucket.
+     */
+    private static JsonNode toJSON(long[] upperBounds, long[] counts) {
+        JsonNode buckets = new JsonNode(JsonNode.Type.ARRAY);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            JsonNode bucket = new JsonNode(JsonNode.Type.OBJECT);
+            if (upperBounds[i] != Long.MAX_VALUE) {
+                bucket.set("upperBound", upperBounds[i]);
+            }
+            bucket.set("count", counts[i]);
+            buckets.add(bucket);
+        }
+        return buckets;
+    }
+
+    /**
+     * Lock free histogram of counts, e.g. row counts and batch sizes, with exponentially growing buckets.
+     * <p>
+     * Bucket 0 counts the zeros and bucket {@code i} counts the values up to {@code 2^(i-1)}, while the last bucket
+     * counts everything above {@code 2^20}.
+     */
+    public static class CountHistogram {
+
+        private static final int BUCKET_COUNT = 23;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+
+        public void record(long value) {
+            int bucket = value <= 1 ? (int) Math.max(value, 0) : 65 - Long.numberOfLeadingZeros(value - 1);
+            buckets.incrementAndGet(Math.min(bucket, BUCKET_COUNT - 1));
+            count.increment();
+            total.add(value);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Sum of the recorded values, e.g. the number of rows fetched by all the results.
+         *
+         * @return total of the recorded values
+         */
+        public long getTotal() {
+            return total.sum();
+        }
+
+        /**
+         * Upper bound of each bucket. The last bucket has no upper bound.
+         *
+         * @return bucket upper bounds
+         */
+        public long[] getBucketUpperBounds() {
+            long[] bounds = new long[BUCKET_COUNT];
+            for (int i = 1; i < BUCKET_COUNT - 1; i++) {
+                bounds[i] = 1L << (i - 1);
+            }
+            bounds[BUCKET_COUNT - 1] = Long.MAX_VALUE;
+            return bounds;
+        }
+
+        public long[] getBucketCounts() {
+            long[] counts = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return counts;
+        }
+
+        /**
+         * Estimate a percentile of the recorded values, as the upper bound of the bucket it falls into.
+         *
+         * @param percentile percentile, between 0 and 100
+         * @return upper bound of the value, or 0 if nothing was recorded
+         */
+        public long getPercentile(double percentile) {
+            long[] counts = getBucketCounts();
+            long recorded = 0;
+            for (long c : counts) {
+                recorded += c;
+            }
+            if (recorded == 0) {
+                return 0;
+            }
+            long[] bounds = getBucketUpperBounds();
+            long rank = (long) Math.ceil(recorded * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return bounds[i];
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+}
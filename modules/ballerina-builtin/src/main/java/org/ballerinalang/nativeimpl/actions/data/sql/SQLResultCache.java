@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.actions.data.sql;
+
+import org.ballerinalang.model.ColumnDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@code SQLResultCache} caches the results of the selects run against a {@link SQLDatasource}, by the query and the
+ * values of its parameters.
+ * <p>
+ * An entry holds the materialised rows of a result, hence every hit is served as a new datatable without a round
+ * trip to the database. Entries expire after the time to live, and the least recently used entries are evicted once
+ * the cache is full. Each entry is tagged with the tables its query reads, and is invalidated as soon as an update
+ * of the datasource modifies one of those tables. Queries whose tables can not be determined are not cached, and
+ * statements whose tables can not be determined, e.g. stored procedure calls, invalidate the whole cache.
+ *
+ * @since 0.95.8
+ */
+public class SQLResultCache {
+
+    // A table name, which may be qualified with its schema and quoted
+    private static final String TABLE_NAME = "(?:[\\w$]+|\"[^\"]+\"|`[^`]+`|\\[[^\\]]+\\])" +
+            "(?:\\.(?:[\\w$]+|\"[^\"]+\"|`[^`]+`|\\[[^\\]]+\\]))*";
+
+    // Keywords which may follow a table name, hence are never taken as its alias
+    private static final String[] TABLE_FOLLOWING_KEYWORDS = {"WHERE", "ON", "USING", "GROUP", "ORDER", "HAVING",
+            "LIMIT", "UNION", "INNER", "LEFT", "RIGHT", "FULL", "CROSS", "NATURAL", "JOIN", "OUTER", "OFFSET", "FETCH",
+            "FOR", "WINDOW", "EXCEPT", "INTERSECT", "MINUS"};
+
+    private static final String ALIAS = "(?:\\s+(?:AS\\s+)?(?!(?:" + String.join("|", TABLE_FOLLOWING_KEYWORDS) +
+            ")\\b)\\w+)?";
+
+    private static final Pattern READ_TABLES = Pattern.compile(
+            "\\b(?:FROM|JOIN)\\s+(" + TABLE_NAME + ALIAS + "(?:\\s*,\\s*" + TABLE_NAME + ALIAS + ")*)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern MODIFIED_TABLE = Pattern.compile(
+            "^\\s*(?:INSERT\\s+INTO|REPLACE\\s+INTO|MERGE\\s+INTO|UPDATE|DELETE\\s+FROM|TRUNCATE\\s+TABLE)\\s+(" +
+                    TABLE_NAME + ")", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern IDENTIFIER = Pattern.compile(TABLE_NAME);
+
+    private static final Set<String> ALIAS_KEYWORDS = new HashSet<>(Arrays.asList(TABLE_FOLLOWING_KEYWORDS));
+
+    private final long timeToLiveMillis;
+
+    private final int maxRowsPerEntry;
+
+    private final Map<ResultKey, Entry> entries;
+
+    // Incremented on every invalidation, so that a result read before an invalidation is not cached after it
+    private long generation;
+
+    private long estimatedSize;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    public SQLResultCache(int maxEntries, long timeToLiveMillis, int maxRowsPerEntry) {
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.maxRowsPerEntry = maxRowsPerEntry;
+        this.entries = new LinkedHashMap<ResultKey, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ResultKey, Entry> eldest) {
+                if (size() <= maxEntries) {
+                    return false;
+                }
+                estimatedSize -= eldest.getValue().result.getEstimatedSize();
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get the cached result of a query.
+     *
+     * @param key query and the values of its parameters
+     * @return cached result, or null if there is no live entry for the query
+     */
+    public CachedResult get(ResultKey key) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiryTime - System.currentTimeMillis() > 0) {
+                hits.increment();
+                return entry.result;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                estimatedSize -= entry.result.getEstimatedSize();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Get the current generation of the cache, to be passed to {@link #put(ResultKey, CachedResult, long)} along
+     * with a result read afterwards.
+     *
+     * @return cache generation
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Cache the result of a query, unless the cache was invalidated since the result was read.
+     *
+     * @param key        query and the values of its parameters
+     * @param result     materialised result of the query
+     * @param generation generation of the cache before the query was run
+     */
+    public void put(ResultKey key, CachedResult result, long generation) {
+        Set<String> tables = getReadTables(key.sql);
+        if (tables.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (this.generation != generation) {
+                return;
+            }
+            Entry replaced = entries.put(key, new Entry(result, tables,
+                    System.currentTimeMillis() + timeToLiveMillis));
+            estimatedSize += result.getEstimatedSize();
+            if (replaced != null) {
+                estimatedSize -= replaced.result.getEstimatedSize();
+            }
+        }
+    }
+
+    /**
+     * Invalidate the entries which read any of the tables modified by the given statement.
+     *
+     * @param sql statement which modified the database
+     */
+    public void invalidate(String sql) {
+        invalidate(getModifiedTables(sql));
+    }
+
+    /**
+     * Invalidate the entries which read any of the given tables.
+     *
+     * @param tables upper case names of the modified tables, or null to invalidate all the entries
+     */
+    public void invalidate(Set<String> tables) {
+        synchronized (this) {
+            generation++;
+            for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+                Entry entry = iterator.next();
+                if (tables == null || !Collections.disjoint(entry.tables, tables)) {
+                    iterator.remove();
+                    estimatedSize -= entry.result.getEstimatedSize();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all the entries.
+     */
+    public void clear() {
+        synchronized (this) {
+            generation++;
+            entries.clear();
+            estimatedSize = 0;
+        }
+    }
+
+    /**
+     * Maximum number of rows of a result which is cached. Larger results are not cached.
+     *
+     * @return maximum row count of an entry
+     */
+    public int getMaxRowsPerEntry() {
+        return maxRowsPerEntry;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Ratio of the lookups served from the cache.
+     *
+     * @return hit ratio, or 0 if there were no lookups
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Approximate number of bytes held by the cached results.
+     *
+     * @return estimated memory use
+     */
+    public synchronized long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    /**
+     * Get the tables read by a query, e.g. to tag its cached result.
+     *
+     * @param sql query
+     * @return upper case names of the tables, which is empty if those could not be determined
+     */
+    public static Set<String> getReadTables(String sql) {
+        Set<String> tables = new HashSet<>();
+        Matcher matcher = READ_TABLES.matcher(sql);
+        while (matcher.find()) {
+            boolean tableExpected = true;
+            Matcher identifiers = IDENTIFIER.matcher(matcher.group(1));
+            int end = 0;
+            while (identifiers.find()) {
+                String separator = matcher.group(1).substring(end, identifiers.start());
+                end = identifiers.end();
+                if (separator.contains(",")) {
+                    tableExpected = true;
+                }
+                if ("AS".equalsIgnoreCase(identifiers.group())) {
+                    continue;
+                }
+                if (tableExpected) {
+                    tables.add(getTableName(identifiers.group()));
+                    tableExpected = false;
+                } else if (ALIAS_KEYWORDS.contains(identifiers.group().toUpperCase(Locale.ENGLISH))) {
+                    break;
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Get the tables modified by a statement, i.e. the table it inserts into, updates or deletes from, along with the
+     * tables it reads.
+     *
+     * @param sql statement
+     * @return upper case names of the tables, or null if those could not be determined
+     */
+    public static Set<String> getModifiedTables(String sql) {
+        Matcher matcher = MODIFIED_TABLE.matcher(sql);
+        if (!matcher.find()) {
+            return null;
+        }
+        Set<String> tables = getReadTables(sql);
+        tables.add(getTableName(matcher.group(1)));
+        return tables;
+    }
+
+    /**
+     * Name of a table without its schema and quotes, as the same table may be referred to with or without those.
+     */
+    private static String getTableName(String identifier) {
+        int separator = identifier.lastIndexOf('.');
+        String name = separator != -1 ? identifier.substring(separator + 1) : identifier;
+        return name.replaceAll("[\"`\\[\\]]", "").toUpperCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Query along with the SQL types and the values of its parameters.
+     */
+    public static final class ResultKey {
+
+        private final String sql;
+        private final String[] sqlTypes;
+        private final List<String> parameters;
+        private final int hash;
+
+        /**
+         * Create the key of a result.
+         *
+         * @param sql        query as sent to the database
+         * @param sqlTypes   SQL type each parameter is bound as, which is null for a null parameter
+         * @param parameters type and string form of the value of each parameter
+         */
+        public ResultKey(String sql, String[] sqlTypes, List<String> parameters) {
+            this.sql = sql;
+            this.sqlTypes = sqlTypes;
+            this.parameters = parameters;
+            int result = sql.hashCode();
+            result = 31 * result + Arrays.hashCode(sqlTypes);
+            this.hash = 31 * result + parameters.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ResultKey)) {
+                return false;
+            }
+            ResultKey other = (ResultKey) obj;
+            return hash == other.hash && sql.equals(other.sql) && Arrays.equals(sqlTypes, other.sqlTypes)
+                    && parameters.equals(other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Materialised rows of a result, along with its column definitions. A cached result is never modified, hence
+     * it is shared by all the datatables served from it.
+     */
+    public static final class CachedResult {
+
+        private final List<ColumnDefinition> columnDefs;
+        private final List<Object[]> rows;
+        private final long estimatedSize;
+
+        public CachedResult(List<ColumnDefinition> columnDefs, List<Object[]> rows, long estimatedSize) {
+            this.columnDefs = columnDefs;
+            this.rows = rows;
+            this.estimatedSize = estimatedSize;
+        }
+
+        public List<ColumnDefinition> getColumnDefinitions() {
+            return columnDefs;
+        }
+
+        public List<Object[]> getRows() {
+            return rows;
+        }
+
+        public long getEstimatedSize() {
+            return estimatedSize;
+        }
+    }
+
+    /**
+     * Cached result along with the tables it was read from and its expiry time.
+     */
+    private static class Entry {
+
+        private final CachedResult result;
+        private final Set<String> tables;
+        private final long expiryTime;
+
+        Entry(CachedResult result, Set<String> tables, long expiryTime) {
+            this.result = result;
+            this.tables = tables;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.nativeimpl.actions.data.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@code SQLStatementCache} caches the processed form of the queries run against a {@link SQLDatasource}, and the
+ * statements prepared for them on each connection of the pool.
+ * <p>
+ * A processed query is the query with its parameter arrays expanded, along with the binding plan of its parameters.
+ * It is looked up by the query text and the shape of its parameters. Prepared statements are kept per physical
+ * connection, since the pool closes the statements of a connection handle once the handle is returned. A statement
+ * is leased out while it is in use, e.g. while the result set of a select is being iterated, hence it is never used
+ * by two invocations at once. Both caches evict the least recently used entries.
+ * <p>
+ * As the statements run on the physical connection, the pool does not see the errors raised by those. Hence the
+ * callers report the errors through {@link #onConnectionError(Connection, SQLException)}, which discards the cached
+ * statements of the connection. A broken connection is evicted from the pool by {@link #evictIfBroken(Connection)},
+ * once it is handed back to the pool.
+ *
+ * @since 0.95.8
+ */
+public class SQLStatementCache {
+
+    /**
+     * Classes of the SQL states which mean the connection is no longer usable, i.e. connection exceptions, and the
+     * operator intervention states used by PostgreSQL when the server shuts down.
+     */
+    private static final String[] BROKEN_CONNECTION_SQL_STATES = {"08", "57P01", "57P02", "57P03", "JZ0C0", "JZ0C1"};
+
+    private static final int CONNECTION_VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final int maxStatementsPerConnection;
+
+    private final Consumer<Connection> connectionEvictor;
+
+    private final Map<QueryKey, ProcessedQuery> queries;
+
+    private final Map<Connection, Map<String, PreparedStatement>> statements;
+
+    private final Map<Statement, Lease> leases = new IdentityHashMap<>();
+
+    // Handles of the broken connections, which are evicted once handed back to the pool
+    private final Set<Connection> brokenConnections = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Statements evicted while holding the lock, which are closed once the lock is released
+    private final List<Statement> evictedStatements = new ArrayList<>();
+
+    private final LongAdder queryHits = new LongAdder();
+
+    private final LongAdder queryMisses = new LongAdder();
+
+    private final LongAdder statementHits = new LongAdder();
+
+    private final LongAdder statementMisses = new LongAdder();
+
+    /**
+     * Create a statement cache.
+     *
+     * @param maxQueries                 maximum number of processed queries
+     * @param maxConnections             maximum number of connections whose statements are cached
+     * @param maxStatementsPerConnection maximum number of statements cached per connection
+     * @param connectionEvictor          evicts a broken connection handle from the pool
+     */
+    public SQLStatementCache(int maxQueries, int maxConnections, int maxStatementsPerConnection,
+                             Consumer<Connection> connectionEvictor) {
+        this.maxStatementsPerConnection = maxStatementsPerConnection;
+        this.connectionEvictor = connectionEvictor;
+        this.queries = new LinkedHashMap<QueryKey, ProcessedQuery>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QueryKey, ProcessedQuery> eldest) {
+                return size() > maxQueries;
+            }
+        };
+        this.statements = new LinkedHashMap<Connection, Map<String, PreparedStatement>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Connection, Map<String, PreparedStatement>> eldest) {
+                if (size() <= maxConnections) {
+                    return false;
+                }
+                evictedStatements.addAll(eldest.getValue().values());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get the processed form of a query, processing it if it is not cached.
+     *
+     * @param key       query text and the shape of its parameters
+     * @param processor function which processes the query on a cache miss
+     * @return processed query
+     */
+    public ProcessedQuery getProcessedQuery(QueryKey key, Function<QueryKey, ProcessedQuery> processor) {
+        ProcessedQuery processedQuery;
+        synchronized (queries) {
+            processedQuery = queries.get(key);
+        }
+        if (processedQuery != null) {
+            queryHits.increment();
+            return processedQuery;
+        }
+
+        queryMisses.increment();
+        processedQuery = processor.apply(key);
+        synchronized (queries) {
+            queries.put(key, processedQuery);
+        }
+        return processedQuery;
+    }
+
+    /**
+     * Get a prepared statement for the given query on the given connection, reusing a statement prepared on the
+     * same physical connection if there is one. The statement has to be handed back with {@link #release(Statement)}
+     * instead of being closed. Statements of connections which are not in the auto commit mode are not cached,
+     * since those bypass the transaction bookkeeping of the pool.
+     *
+     * @param conn    connection borrowed from the pool
+     * @param sql     processed query
+     * @param factory function which prepares a new statement
+     * @return prepared statement with its parameters cleared
+     * @throws SQLException if the statement could not be prepared
+     */
+    public PreparedStatement prepareStatement(Connection conn, String sql, StatementFactory factory)
+            throws SQLException {
+        if (!conn.getAutoCommit()) {
+            return factory.prepare(conn, sql);
+        }
+
+        Connection physicalConn = conn.unwrap(Connection.class);
+        PreparedStatement stmt = null;
+        synchronized (this) {
+            Map<String, PreparedStatement> connStatements = statements.get(physicalConn);
+            if (connStatements != null) {
+                stmt = connStatements.remove(sql);
+            }
+        }
+        if (stmt != null && !stmt.isClosed()) {
+            statementHits.increment();
+            stmt.clearParameters();
+        } else {
+            statementMisses.increment();
+            stmt = factory.prepare(physicalConn, sql);
+        }
+        synchronized (this) {
+            leases.put(stmt, new Lease(physicalConn, sql));
+        }
+        return stmt;
+    }
+
+    /**
+     * Hand back a statement which is no longer in use. Its result sets should be closed already.
+     *
+     * @param stmt statement to be released
+     * @return true if the statement was leased from this cache, false if it should be closed by the caller
+     */
+    public boolean release(Statement stmt) {
+        synchronized (this) {
+            Lease lease = leases.remove(stmt);
+            if (lease == null) {
+                return false;
+            }
+            Map<String, PreparedStatement> connStatements = statements.get(lease.connection);
+            if (connStatements == null) {
+                connStatements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                        if (size() <= maxStatementsPerConnection) {
+                            return false;
+                        }
+                        evictedStatements.add(eldest.getValue());
+                        return true;
+                    }
+                };
+                statements.put(lease.connection, connStatements);
+            }
+            // The same query may have been leased twice on a connection, e.g. by nested selects
+            PreparedStatement replaced = connStatements.put(lease.sql, (PreparedStatement) stmt);
+            if (replaced != null) {
+                evictedStatements.add(replaced);
+            }
+        }
+        closeEvictedStatements();
+        return true;
+    }
+
+    /**
+     * Handle an error raised while a statement was run on a connection of the pool, outside a transaction. The
+     * cached statements of the connection are closed, and the statements of it which are leased out are closed
+     * once released rather than being cached again. If the connection is broken, e.g. if its socket was closed, it
+     * is marked to be evicted from the pool by {@link #evictIfBroken(Connection)}.
+     *
+     * @param conn  connection borrowed from the pool
+     * @param error error raised on the connection
+     */
+    public void onConnectionError(Connection conn, SQLException error) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            Connection physicalConn = conn.unwrap(Connection.class);
+            synchronized (this) {
+                Map<String, PreparedStatement> connStatements = statements.remove(physicalConn);
+                if (connStatements != null) {
+                    evictedStatements.addAll(connStatements.values());
+                }
+                leases.values().removeIf(lease -> lease.connection == physicalConn);
+            }
+        } catch (SQLException e) {
+            // The handle is closed already, hence its statements are not leased out
+        }
+        closeEvictedStatements();
+        if (isBroken(conn, error)) {
+            synchronized (this) {
+                brokenConnections.add(conn);
+            }
+        }
+    }
+
+    /**
+     * Evict a connection from the pool if an error reported on it showed it is broken. The connection should be
+     * handed back to the pool already, so that it is closed at once.
+     *
+     * @param conn connection handle
+     */
+    public void evictIfBroken(Connection conn) {
+        boolean broken;
+        synchronized (this) {
+            broken = brokenConnections.remove(conn);
+        }
+        if (broken) {
+            connectionEvictor.accept(conn);
+        }
+    }
+
+    /**
+     * Close all the cached statements.
+     */
+    public void clear() {
+        synchronized (this) {
+            statements.values().forEach(connStatements -> evictedStatements.addAll(connStatements.values()));
+            statements.clear();
+            leases.clear();
+            brokenConnections.clear();
+        }
+        synchronized (queries) {
+            queries.clear();
+        }
+        closeEvictedStatements();
+    }
+
+    public long getQueryHitCount() {
+        return queryHits.sum();
+    }
+
+    public long getQueryMissCount() {
+        return queryMisses.sum();
+    }
+
+    public long getStatementHitCount() {
+        return statementHits.sum();
+    }
+
+    public long getStatementMissCount() {
+        return statementMisses.sum();
+    }
+
+    private static boolean isBroken(Connection conn, SQLException error) {
+        for (SQLException e = error; e != null; e = e.getNextException()) {
+            String sqlState = e.getSQLState();
+            if (sqlState == null) {
+                continue;
+            }
+            for (String brokenState : BROKEN_CONNECTION_SQL_STATES) {
+                if (sqlState.startsWith(brokenState)) {
+                    return true;
+                }
+            }
+        }
+        // Drivers do not always set the SQL state, hence the connection is validated as well
+        try {
+            return !conn.isValid(CONNECTION_VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private void closeEvictedStatements() {
+        Statement[] evicted;
+        synchronized (this) {
+            if (evictedStatements.isEmpty()) {
+                return;
+            }
+            evicted = evictedStatements.toArray(new Statement[evictedStatements.size()]);
+            evictedStatements.clear();
+        }
+        for (Statement stmt : evicted) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                // The connection of the statement may have been closed by the pool already
+            }
+        }
+    }
+
+    /**
+     * Prepares a statement on a connection.
+     */
+    @FunctionalInterface
+    public interface StatementFactory {
+
+        PreparedStatement prepare(Connection conn, String sql) throws SQLException;
+    }
+
+    /**
+     * Query text along with the shape of its parameters, i.e. the SQL type, the direction and the number of values
+     * of each parameter. A null parameter has a null SQL type and a count of -1.
+     */
+    public static final class QueryKey {
+
+        private final String query;
+        private final String[] sqlTypes;
+        private final int[] directions;
+        private final int[] counts;
+        private final int hash;
+
+        public QueryKey(String query, String[] sqlTypes, int[] directions, int[] counts) {
+            this.query = query;
+            this.sqlTypes = sqlTypes;
+            this.directions = directions;
+            this.counts = counts;
+            int result = query.hashCode();
+            result = 31 * result + Arrays.hashCode(sqlTypes);
+            result = 31 * result + Arrays.hashCode(directions);
+            this.hash = 31 * result + Arrays.hashCode(counts);
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public String[] getSQLTypes() {
+            return sqlTypes;
+        }
+
+        public int[] getDirections() {
+            return directions;
+        }
+
+        public int[] getCounts() {
+            return counts;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof QueryKey)) {
+                return false;
+            }
+            QueryKey other = (QueryKey) obj;
+            return hash == other.hash && query.equals(other.query) && Arrays.equals(counts, other.counts)
+                    && Arrays.equals(directions, other.directions) && Arrays.equals(sqlTypes, other.sqlTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Query with its parameter arrays expanded, and the binding plan of its parameters, i.e. the upper case SQL type
+     * and the direction of each parameter.
+     */
+    public static final class ProcessedQuery {
+
+        private final String sql;
+        private final String[] sqlTypes;
+        private final int[] directions;
+
+        public ProcessedQuery(String sql, String[] sqlTypes, int[] directions) {
+            this.sql = sql;
+            this.sqlTypes = sqlTypes;
+            this.directions = directions;
+        }
+
+        public String getSQL() {
+            return sql;
+        }
+
+        public String getSQLType(int paramIndex) {
+            return sqlTypes[paramIndex];
+        }
+
+        public int getDirection(int paramIndex) {
+            return directions[paramIndex];
+        }
+    }
+
+    /**
+     * Physical connection and query of a leased statement.
+     */
+    private static class Lease {
+
+        private final Connection connection;
+        private final String sql;
+
+        Lease(Connection connection, String sql) {
+            this.connection = connection;
+            this.sql = sql;
+        }
+    }
+}
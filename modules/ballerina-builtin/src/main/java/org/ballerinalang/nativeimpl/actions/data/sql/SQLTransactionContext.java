@@ -22,6 +22,8 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
 import javax.transaction.xa.XAResource;
 
 /**
@@ -32,6 +34,9 @@ import javax.transaction.xa.XAResource;
 public class SQLTransactionContext implements BallerinaTransactionContext {
     private Connection conn;
     private XAResource xaResource;
+    private SQLResultCache resultCache;
+    private Set<String> modifiedTables = new HashSet<>();
+    private boolean allTablesModified;
 
     public SQLTransactionContext(Connection conn, XAResource resource) {
         this.conn = conn;
@@ -42,6 +47,22 @@ public class SQLTransactionContext implements BallerinaTransactionContext {
         return this.conn;
     }
 
+    /**
+     * Record the tables modified within the transaction, whose cached results are invalidated once the transaction
+     * is over. Results read by other transactions in the meantime may not reflect its changes.
+     *
+     * @param cache  result cache of the datasource
+     * @param tables modified tables, or null if those are not known
+     */
+    public void addModifiedTables(SQLResultCache cache, Set<String> tables) {
+        this.resultCache = cache;
+        if (tables == null) {
+            allTablesModified = true;
+        } else {
+            modifiedTables.addAll(tables);
+        }
+    }
+
     @Override
     public void commit() {
         try {
@@ -64,6 +85,10 @@ public class SQLTransactionContext implements BallerinaTransactionContext {
 
     @Override
     public void close() {
+        // Closed after the transaction is committed or rolled back, including the distributed transactions
+        if (resultCache != null) {
+            resultCache.invalidate(allTablesModified ? null : modifiedTables);
+        }
         try {
             if (!conn.isClosed()) {
                 conn.close();
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.actions.data.sql;
+
+import org.ballerinalang.model.values.BRefValueArray;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code SQLUpdateBatcher} groups the concurrent updates of a {@link SQLDatasource} which have the same query, and
+ * executes each group as a single JDBC batch in a single transaction.
+ * <p>
+ * A group is executed once it has {@code maxBatchSize} updates, or once its first update has waited for
+ * {@code windowMillis}, whichever comes first. Each update gets its own update count back. If a batch fails, e.g.
+ * as one of its updates violates a constraint, none of its updates are committed, hence the updates are then run
+ * one by one, so that each of them succeeds or fails just as it would without batching.
+ * <p>
+ * Once the batcher is closed, the pending batches are executed at once, and the updates submitted afterwards fail.
+ *
+ * @since 0.95.8
+ */
+public class SQLUpdateBatcher {
+
+    private final int maxBatchSize;
+
+    private final long windowMillis;
+
+    private final Executor executor;
+
+    private final ScheduledExecutorService timer;
+
+    private final Map<Object, Batch> pendingBatches = new HashMap<>();
+
+    // Guarded by pendingBatches
+    private boolean closed;
+
+    private final LongAdder batchCount = new LongAdder();
+
+    private final LongAdder batchedUpdateCount = new LongAdder();
+
+    public SQLUpdateBatcher(int maxBatchSize, long windowMillis, Executor executor, ScheduledExecutorService timer) {
+        if (maxBatchSize < 2 || windowMillis < 0) {
+            throw new IllegalArgumentException("batch size should be at least 2, and window should not be negative");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.windowMillis = windowMillis;
+        this.executor = executor;
+        this.timer = timer;
+    }
+
+    /**
+     * Add an update to the batch of its query.
+     *
+     * @param key        identity of the query, i.e. the queries which have equal keys can be executed as a batch
+     * @param parameters parameters of the update
+     * @param runner     executes a batch of the query, used if this update is the first of its batch
+     * @param callback   notified with the update count, or the failure, of this update, which is a
+     *                   {@link RejectedExecutionException} if the batcher is closed
+     */
+    public void submit(Object key, BRefValueArray parameters, BatchRunner runner, UpdateCallback callback) {
+        Batch fullBatch = null;
+        synchronized (pendingBatches) {
+            if (closed) {
+                callback.onFailure(new RejectedExecutionException("update batcher is closed"));
+                return;
+            }
+            Batch batch = pendingBatches.get(key);
+            if (batch == null) {
+                batch = new Batch(key, runner);
+                pendingBatches.put(key, batch);
+                Batch newBatch = batch;
+                batch.flushTask = timer.schedule(() -> flush(newBatch), windowMillis, TimeUnit.MILLISECONDS);
+            }
+            batch.parameters.add(parameters);
+            batch.callbacks.add(callback);
+            if (batch.parameters.size() >= maxBatchSize) {
+                pendingBatches.remove(key);
+                batch.flushTask.cancel(false);
+                fullBatch = batch;
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+    }
+
+    /**
+     * Close the batcher, executing the pending batches on the calling thread, so that those are done before the
+     * executor and the connection pool are shut down.
+     */
+    public void close() {
+        List<Batch> batches;
+        synchronized (pendingBatches) {
+            closed = true;
+            batches = new ArrayList<>(pendingBatches.values());
+            pendingBatches.clear();
+        }
+        for (Batch batch : batches) {
+            batch.flushTask.cancel(false);
+            batch.run();
+        }
+    }
+
+    /**
+     * Number of batches executed so far.
+     *
+     * @return batch count
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * Number of updates executed as a part of a batch so far.
+     *
+     * @return batched update count
+     */
+    public long getBatchedUpdateCount() {
+        return batchedUpdateCount.sum();
+    }
+
+    private void flush(Batch batch) {
+        synchronized (pendingBatches) {
+            // The batch may have been filled up, and dispatched, already
+            if (pendingBatches.get(batch.key) != batch) {
+                return;
+            }
+            pendingBatches.remove(batch.key);
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        try {
+            executor.execute(batch::run);
+        } catch (RejectedExecutionException e) {
+            // The executor is shut down after the pending batches are flushed, hence only a batch dispatched
+            // concurrently with closing the batcher ends up here
+            batch.callbacks.forEach(callback -> callback.onFailure(e));
+        }
+    }
+
+    /**
+     * Executes a batch of updates of a query.
+     */
+    @FunctionalInterface
+    public interface BatchRunner {
+
+        /**
+         * Execute the given updates as a single batch, committing either all or none of them. The runner should
+         * report the count of each update, failing the batch before committing it if those are not known, e.g. as
+         * the driver returns {@link Statement#SUCCESS_NO_INFO}, so that the updates are then run one by one.
+         *
+         * @param parameters parameters of each update
+         * @return update count of each update
+         * @throws SQLException if the batch could not be executed
+         */
+        int[] run(List<BRefValueArray> parameters) throws SQLException;
+    }
+
+    /**
+     * Receives the outcome of an update.
+     */
+    public interface UpdateCallback {
+
+        void onSuccess(int updateCount);
+
+        void onFailure(Throwable error);
+    }
+
+    /**
+     * Updates of a query waiting to be executed together.
+     */
+    private class Batch {
+
+        private final Object key;
+        private final BatchRunner runner;
+        private final List<BRefValueArray> parameters = new ArrayList<>();
+        private final List<UpdateCallback> callbacks = new ArrayList<>();
+        private ScheduledFuture<?> flushTask;
+
+        Batch(Object key, BatchRunner runner) {
+            this.key = key;
+            this.runner = runner;
+        }
+
+        void run() {
+            int size = parameters.size();
+            int[] counts;
+            try {
+                counts = runner.run(parameters);
+            } catch (Throwable e) {
+                if (size == 1) {
+                    callbacks.get(0).onFailure(e);
+                } else {
+                    runOneByOne();
+                }
+                return;
+            }
+            batchCount.increment();
+            batchedUpdateCount.add(size);
+            for (int i = 0; i < size; i++) {
+                notify(callbacks.get(i), i < counts.length ? counts[i] : Statement.EXECUTE_FAILED);
+            }
+        }
+
+        private void runOneByOne() {
+            for (int i = 0; i < parameters.size(); i++) {
+                UpdateCallback callback = callbacks.get(i);
+                int[] counts;
+                try {
+                    counts = runner.run(Collections.singletonList(parameters.get(i)));
+                } catch (Throwable e) {
+                    callback.onFailure(e);
+                    continue;
+                }
+                notify(callback, counts.length > 0 ? counts[0] : Statement.EXECUTE_FAILED);
+            }
+        }
+
+        /**
+         * Notify the outcome of an update which was committed as a part of a batch. The updates can not be run again
+         * then, hence an update without a count is reported as failed rather than with a made up count.
+         */
+        private void notify(UpdateCallback callback, int count) {
+            if (count >= 0) {
+                callback.onSuccess(count);
+            } else if (count == Statement.SUCCESS_NO_INFO) {
+                callback.onFailure(new SQLException("update count of the batched update is not known"));
+            } else {
+                callback.onFailure(new SQLException("batched update failed"));
+            }
+        }
+    }
+}
@@ -21,6 +21,8 @@ import org.ballerinalang.bre.BallerinaTransactionContext;
 import org.ballerinalang.bre.BallerinaTransactionManager;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.connector.api.AbstractNativeAction;
+import org.ballerinalang.connector.api.BallerinaConnectorException;
+import org.ballerinalang.connector.api.ConnectorFuture;
 import org.ballerinalang.model.ColumnDefinition;
 import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BStructType;
@@ -44,10 +46,20 @@ import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BTypeValue;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.nativeimpl.Utils;
+import org.ballerinalang.nativeimpl.actions.ClientConnectorFuture;
+import org.ballerinalang.nativeimpl.actions.data.sql.CachedDataIterator;
 import org.ballerinalang.nativeimpl.actions.data.sql.Constants;
 import org.ballerinalang.nativeimpl.actions.data.sql.SQLDataIterator;
 import org.ballerinalang.nativeimpl.actions.data.sql.SQLDatasource;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLDatasourceMetrics;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLResultCache;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLResultCache.CachedResult;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLResultCache.ResultKey;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLStatementCache;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLStatementCache.ProcessedQuery;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLStatementCache.QueryKey;
 import org.ballerinalang.nativeimpl.actions.data.sql.SQLTransactionContext;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLUpdateBatcher;
 import org.ballerinalang.natives.exceptions.ArgumentOutOfRangeException;
 import org.ballerinalang.util.DistributedTxManagerProvider;
 import org.ballerinalang.util.exceptions.BallerinaException;
@@ -77,6 +89,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.RejectedExecutionException;
 import javax.sql.XAConnection;
 import javax.transaction.TransactionManager;
 import javax.transaction.xa.XAResource;
@@ -94,6 +107,44 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         utcCalendar = Calendar.getInstance(TimeZone.getTimeZone(Constants.TIMEZONE_UTC));
     }
 
+    @Override
+    public boolean isNonBlockingAction() {
+        return true;
+    }
+
+    /**
+     * Run a database operation of the action. If the action is invoked in the non-blocking mode, the operation is
+     * run on the executor of the datasource and the returned future is completed from there. Otherwise, e.g. within
+     * a transaction whose connection is bound to the calling context, it is run on the calling thread.
+     *
+     * @param context    context of the action invocation
+     * @param datasource datasource the operation is run against
+     * @param operation  database operation, which sets the return values of the action
+     * @return future which is completed once the operation is done
+     */
+    protected ConnectorFuture submit(Context context, SQLDatasource datasource, Runnable operation) {
+        ClientConnectorFuture future = new ClientConnectorFuture();
+        if (context.nonBlockingContext == null) {
+            operation.run();
+            future.notifySuccess();
+            return future;
+        }
+
+        try {
+            datasource.getExecutor().execute(() -> {
+                try {
+                    operation.run();
+                    future.notifySuccess();
+                } catch (Throwable e) {
+                    future.notifyFailure(new BallerinaConnectorException(e.getMessage(), e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.notifyFailure(new BallerinaConnectorException(e.getMessage(), e));
+        }
+        return future;
+    }
+
     @Override
     public BValue getRefArgument(Context context, int index) {
         if (index > -1) {
@@ -108,16 +159,55 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         PreparedStatement stmt = null;
         ResultSet rs = null;
         boolean isInTransaction = context.isInTransaction();
+        SQLStatementCache statementCache = datasource.getStatementCache();
+        // Selects within a transaction have to see the changes of the transaction, hence they are not cached
+        SQLResultCache resultCache = isInTransaction ? null : datasource.getResultCache();
         try {
+            ProcessedQuery processedQuery = getProcessedQuery(statementCache, query, parameters);
+            ResultKey resultKey = null;
+            long cacheGeneration = 0;
+            if (resultCache != null) {
+                resultKey = getResultKey(processedQuery, parameters);
+                CachedResult cachedResult = resultCache.get(resultKey);
+                if (cachedResult != null) {
+                    context.getControlStack().getCurrentFrame().returnValues[0] = new BDataTable(
+                            new CachedDataIterator(cachedResult, utcCalendar, structType,
+                                    Utils.getTimeStructInfo(context), Utils.getTimeZoneStructInfo(context)));
+                    return;
+                }
+                cacheGeneration = resultCache.getGeneration();
+            }
             conn = getDatabaseConnection(context, datasource, isInTransaction);
-            String processedQuery = createProcessedQueryString(query, parameters);
-            stmt = getPreparedStatement(conn, datasource, processedQuery);
-            createProcessedStatement(conn, stmt, parameters);
+            /* The PostgreSQL driver reads the whole result at once, unless the query runs in a transaction. The
+               transaction is rolled back by the pool, once the connection is returned after the iteration. */
+            if (!isInTransaction && datasource.getFetchSize() > 0 && isPostgreSQL(datasource)) {
+                conn.setAutoCommit(false);
+            }
+            if (isInTransaction) {
+                stmt = getPreparedStatement(conn, datasource, processedQuery.getSQL());
+            } else {
+                stmt = statementCache.prepareStatement(conn, processedQuery.getSQL(),
+                        (c, sql) -> getPreparedStatement(c, datasource, sql));
+            }
+            createProcessedStatement(conn, stmt, parameters, processedQuery);
+            long startTime = System.nanoTime();
             rs = stmt.executeQuery();
+            datasource.getMetrics().recordExecution(processedQuery.getSQL(), System.nanoTime() - startTime);
+            if (resultCache != null) {
+                BDataTable dataTable = constructCachedDataTable(context, rs, stmt, conn, structType, statementCache,
+                        resultCache, resultKey, cacheGeneration, datasource.getMetrics());
+                if (dataTable != null) {
+                    context.getControlStack().getCurrentFrame().returnValues[0] = dataTable;
+                    return;
+                }
+            }
             context.getControlStack().getCurrentFrame().returnValues[0] = constructDataTable(context, rs, stmt, conn,
-                    structType);
+                    structType, isInTransaction ? null : statementCache, datasource.getMetrics());
         } catch (Throwable e) {
-            SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, isInTransaction);
+            if (!isInTransaction) {
+                reportConnectionError(statementCache, conn, e);
+            }
+            SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, isInTransaction, statementCache);
             throw new BallerinaException("execute query failed: " + e.getMessage(), e);
         }
     }
@@ -126,19 +216,141 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         Connection conn = null;
         PreparedStatement stmt = null;
         boolean isInTransaction = context.isInTransaction();
+        SQLStatementCache statementCache = datasource.getStatementCache();
         try {
             conn = getDatabaseConnection(context, datasource, isInTransaction);
-            String processedQuery = createProcessedQueryString(query, parameters);
-            stmt = conn.prepareStatement(processedQuery);
-            createProcessedStatement(conn, stmt, parameters);
+            ProcessedQuery processedQuery = getProcessedQuery(statementCache, query, parameters);
+            if (isInTransaction) {
+                stmt = conn.prepareStatement(processedQuery.getSQL());
+            } else {
+                stmt = statementCache.prepareStatement(conn, processedQuery.getSQL(), Connection::prepareStatement);
+            }
+            createProcessedStatement(conn, stmt, parameters, processedQuery);
+            long startTime = System.nanoTime();
             int count = stmt.executeUpdate();
+            datasource.getMetrics().recordExecution(processedQuery.getSQL(), System.nanoTime() - startTime);
+            invalidateCachedResults(context, datasource, query, isInTransaction);
             BInteger updatedCount = new BInteger(count);
             context.getControlStack().getCurrentFrame().returnValues[0] = updatedCount;
         } catch (SQLException e) {
+            if (!isInTransaction) {
+                statementCache.onConnectionError(conn, e);
+            }
             throw new BallerinaException("execute update failed: " + e.getMessage(), e);
         } finally {
-            SQLDatasourceUtils.cleanupConnection(null, stmt, conn, isInTransaction);
+            SQLDatasourceUtils.cleanupConnection(null, stmt, conn, isInTransaction, statementCache);
+        }
+    }
+
+    /**
+     * Run an update through the update batcher of the datasource, i.e. along with the concurrent updates of the same
+     * query. Must not be used within a transaction, as the batch is executed on a connection of its own.
+     *
+     * @param context    context of the action invocation
+     * @param datasource datasource with update batching enabled
+     * @param query      update query
+     * @param parameters parameters of the update
+     * @return future which is completed once the batch of the update is executed
+     */
+    protected ConnectorFuture executeBatchedUpdate(Context context, SQLDatasource datasource, String query,
+                                                   BRefValueArray parameters) {
+        ClientConnectorFuture future = new ClientConnectorFuture();
+        BValue[] returnValues = context.getControlStack().getCurrentFrame().returnValues;
+        QueryKey queryKey = getQueryKey(query, parameters);
+        ProcessedQuery processedQuery = datasource.getStatementCache().getProcessedQuery(queryKey,
+                this::processQuery);
+        // Updates whose parameters expand to the same query, with the same binding plan, are batched together.
+        // Those are keyed on the query key, as the processed query may be evicted from the cache and processed anew.
+        datasource.getUpdateBatcher().submit(queryKey, parameters,
+                paramsList -> executeUpdateBatch(datasource, processedQuery, paramsList),
+                new SQLUpdateBatcher.UpdateCallback() {
+                    @Override
+                    public void onSuccess(int updateCount) {
+                        returnValues[0] = new BInteger(updateCount);
+                        future.notifySuccess();
+                    }
+
+                    @Override
+                    public void onFailure(Throwable error) {
+                        String message = error instanceof SQLException ?
+                                "execute update failed: " + error.getMessage() : error.getMessage();
+                        future.notifyFailure(new BallerinaConnectorException(message, error));
+                    }
+                });
+        return future;
+    }
+
+    private int[] executeUpdateBatch(SQLDatasource datasource, ProcessedQuery processedQuery,
+                                     List<BRefValueArray> paramsList) throws SQLException {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        SQLStatementCache statementCache = datasource.getStatementCache();
+        // Whether the connection was switched out of the auto commit mode to execute the batch in a transaction
+        boolean inBatchTransaction = false;
+        // Whether the batch was executed, but failed as the driver did not report the update counts
+        boolean countsMissing = false;
+        SQLDatasourceMetrics metrics = datasource.getMetrics();
+        metrics.recordBatchSize(paramsList.size());
+        try {
+            conn = datasource.getSQLConnection();
+            if (paramsList.size() == 1) {
+                stmt = statementCache.prepareStatement(conn, processedQuery.getSQL(), Connection::prepareStatement);
+                createProcessedStatement(conn, stmt, paramsList.get(0), processedQuery);
+                long startTime = System.nanoTime();
+                int updatedCount = stmt.executeUpdate();
+                metrics.recordExecution(processedQuery.getSQL(), System.nanoTime() - startTime);
+                invalidateCachedResults(null, datasource, processedQuery.getSQL(), false);
+                return new int[] { updatedCount };
+            }
+            if (conn.getAutoCommit()) {
+                conn.setAutoCommit(false);
+                inBatchTransaction = true;
+            }
+            stmt = conn.prepareStatement(processedQuery.getSQL());
+            for (BRefValueArray params : paramsList) {
+                createProcessedStatement(conn, stmt, params, processedQuery);
+                stmt.addBatch();
+            }
+            long startTime = System.nanoTime();
+            int[] updatedCounts = stmt.executeBatch();
+            metrics.recordExecution(processedQuery.getSQL(), System.nanoTime() - startTime);
+            // A driver may report SUCCESS_NO_INFO instead of the count of an update, or stop at a failed update.
+            // The batch is rolled back then, so that the batcher runs its updates one by one to get their counts.
+            if (!hasUpdateCounts(updatedCounts, paramsList.size())) {
+                countsMissing = true;
+                throw new SQLException("batch did not return the update count of each update");
+            }
+            if (inBatchTransaction) {
+                conn.commit();
+            }
+            invalidateCachedResults(null, datasource, processedQuery.getSQL(), false);
+            return updatedCounts;
+        } catch (SQLException | RuntimeException e) {
+            if (!countsMissing) {
+                reportConnectionError(statementCache, conn, e);
+            }
+            if (inBatchTransaction) {
+                conn.rollback();
+            }
+            throw e;
+        } finally {
+            if (inBatchTransaction) {
+                setConnectionAutoCommit(conn, true);
+            }
+            SQLDatasourceUtils.cleanupConnection(null, stmt, conn, false, statementCache);
+        }
+    }
+
+    private static boolean hasUpdateCounts(int[] updatedCounts, int updateCount) {
+        if (updatedCounts.length < updateCount) {
+            return false;
+        }
+        for (int updatedCount : updatedCounts) {
+            if (updatedCount < 0) {
+                return false;
+            }
         }
+        return true;
     }
 
     protected void executeUpdateWithKeys(Context context, SQLDatasource datasource, String query,
@@ -149,7 +361,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         boolean isInTransaction = context.isInTransaction();
         try {
             conn = getDatabaseConnection(context, datasource, isInTransaction);
-            String processedQuery = createProcessedQueryString(query, parameters);
+            ProcessedQuery processedQuery = getProcessedQuery(datasource.getStatementCache(), query, parameters);
             int keyColumnCount = 0;
             if (keyColumns != null) {
                 keyColumnCount = (int) keyColumns.size();
@@ -159,12 +371,15 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
                 for (int i = 0; i < keyColumnCount; i++) {
                     columnArray[i] = keyColumns.get(i);
                 }
-                stmt = conn.prepareStatement(processedQuery, columnArray);
+                stmt = conn.prepareStatement(processedQuery.getSQL(), columnArray);
             } else {
-                stmt = conn.prepareStatement(processedQuery, Statement.RETURN_GENERATED_KEYS);
+                stmt = conn.prepareStatement(processedQuery.getSQL(), Statement.RETURN_GENERATED_KEYS);
             }
-            createProcessedStatement(conn, stmt, parameters);
+            createProcessedStatement(conn, stmt, parameters, processedQuery);
+            long startTime = System.nanoTime();
             int count = stmt.executeUpdate();
+            datasource.getMetrics().recordExecution(processedQuery.getSQL(), System.nanoTime() - startTime);
+            invalidateCachedResults(context, datasource, query, isInTransaction);
             BInteger updatedCount = new BInteger(count);
             context.getControlStack().getCurrentFrame().returnValues[0] = updatedCount;
             rs = stmt.getGeneratedKeys();
@@ -191,11 +406,15 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
            conn = getDatabaseConnection(context, datasource, isInTransaction);
             stmt = getPreparedCall(conn, datasource, query, parameters);
             createProcessedStatement(conn, stmt, parameters);
+            long startTime = System.nanoTime();
             rs = executeStoredProc(stmt);
+            datasource.getMetrics().recordExecution(query, System.nanoTime() - startTime);
+            // The tables modified by a stored procedure are not known, hence all the cached results are invalidated
+            invalidateCachedResults(context, datasource, query, isInTransaction);
             setOutParameters(stmt, parameters);
             if (rs != null) {
                 context.getControlStack().getCurrentFrame().returnValues[0] = constructDataTable(context, rs, stmt,
-                        conn, structType);
+                        conn, structType, null, datasource.getMetrics());
             } else {
                 SQLDatasourceUtils.cleanupConnection(null, stmt, conn, isInTransaction);
             }
@@ -226,7 +445,10 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
                 createProcessedStatement(conn, stmt, null);
                 stmt.addBatch();
             }
+            datasource.getMetrics().recordBatchSize(Math.max(paramArrayCount, 1));
+            long startTime = System.nanoTime();
             updatedCount = stmt.executeBatch();
+            datasource.getMetrics().recordExecution(query, System.nanoTime() - startTime);
             conn.commit();
         } catch (BatchUpdateException e) {
             updatedCount = e.getUpdateCounts();
@@ -235,6 +457,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         } finally {
             setConnectionAutoCommit(conn, true);
             SQLDatasourceUtils.cleanupConnection(null, stmt, conn, false);
+            invalidateCachedResults(context, datasource, query, false);
         }
         //After a command in a batch update fails to execute properly and a BatchUpdateException is thrown, the driver
         // may or may not continue to process the remaining commands in the batch. If the driver does not continue
@@ -251,6 +474,73 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         context.getControlStack().getCurrentFrame().returnValues[0] = countArray;
     }
 
+    /**
+     * Read the result of a select into memory, so that it can be cached. A result with more rows than a cache entry
+     * can hold is not cached, and its remaining rows are read as the datatable is iterated.
+     *
+     * @return datatable of the result, or null if its columns can not be read into memory
+     */
+    private BDataTable constructCachedDataTable(Context context, ResultSet rs, Statement stmt, Connection conn,
+            BStructType structType, SQLStatementCache statementCache, SQLResultCache resultCache,
+            ResultKey resultKey, long cacheGeneration, SQLDatasourceMetrics metrics) throws SQLException {
+        List<ColumnDefinition> columnDefinitions = getColumnDefinitions(rs);
+        if (!CachedDataIterator.isMaterializable(columnDefinitions)) {
+            return null;
+        }
+        CachedResult result = CachedDataIterator.readResult(rs, columnDefinitions, resultCache.getMaxRowsPerEntry(),
+                utcCalendar);
+        if (result.getRows().size() >= resultCache.getMaxRowsPerEntry()) {
+            return new BDataTable(new CachedDataIterator(result, utcCalendar, structType,
+                    Utils.getTimeStructInfo(context), Utils.getTimeZoneStructInfo(context), conn, stmt, rs,
+                    statementCache, metrics));
+        }
+        metrics.recordFetchedRows(result.getRows().size());
+        // The whole result is in memory, hence the connection is released before the datatable is iterated
+        SQLDatasourceUtils.cleanupConnection(rs, stmt, conn, false, statementCache);
+        resultCache.put(resultKey, result, cacheGeneration);
+        return new BDataTable(new CachedDataIterator(result, utcCalendar, structType,
+                Utils.getTimeStructInfo(context), Utils.getTimeZoneStructInfo(context)));
+    }
+
+    private ResultKey getResultKey(ProcessedQuery processedQuery, BRefValueArray parameters) {
+        int paramCount = parameters != null ? (int) parameters.size() : 0;
+        // The same value bound as a different SQL type, e.g. a string bound as a char or as a number, may select
+        // different rows, hence the SQL types are a part of the key
+        String[] sqlTypes = new String[paramCount];
+        List<String> values = new ArrayList<>(paramCount * 2);
+        for (int i = 0; i < paramCount; i++) {
+            BStruct paramValue = (BStruct) parameters.get(i);
+            BValue value = paramValue != null ? paramValue.getRefField(1) : null;
+            sqlTypes[i] = paramValue != null ? processedQuery.getSQLType(i) : null;
+            // The type of the value is a part of the key, as values of different types may have the same string form
+            values.add(value != null ? value.getType().getName() : null);
+            values.add(value != null ? value.stringValue() : null);
+        }
+        return new ResultKey(processedQuery.getSQL(), sqlTypes, values);
+    }
+
+    /**
+     * Invalidate the cached results of the tables modified by a statement. Within a transaction, those results are
+     * invalidated once again when the transaction is over, as the results read in the meantime do not reflect the
+     * changes of the transaction.
+     */
+    private void invalidateCachedResults(Context context, SQLDatasource datasource, String query,
+                                         boolean isInTransaction) {
+        SQLResultCache resultCache = datasource.getResultCache();
+        if (resultCache == null) {
+            return;
+        }
+        Set<String> tables = SQLResultCache.getModifiedTables(query);
+        resultCache.invalidate(tables);
+        if (isInTransaction) {
+            BallerinaTransactionContext txContext = context.getBallerinaTransactionManager()
+                    .getTransactionContext(datasource.getConnectorId());
+            if (txContext != null) {
+                ((SQLTransactionContext) txContext).addModifiedTables(resultCache, tables);
+            }
+        }
+    }
+
     protected BStructType getStructType(Context context) {
         BStructType structType = null;
         BTypeValue type = (BTypeValue) getRefArgument(context, 2);
@@ -260,35 +550,67 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         return structType;
     }
 
+    /**
+     * Report an error raised on a connection outside a transaction to the statement cache, which discards the cached
+     * statements of the connection. The parameter setters wrap the errors of the driver, hence those are unwrapped.
+     */
+    private static void reportConnectionError(SQLStatementCache statementCache, Connection conn, Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof SQLException) {
+                statementCache.onConnectionError(conn, (SQLException) e);
+                return;
+            }
+        }
+    }
+
+    private ProcessedQuery getProcessedQuery(SQLStatementCache statementCache, String query,
+                                             BRefValueArray parameters) {
+        return statementCache.getProcessedQuery(getQueryKey(query, parameters), this::processQuery);
+    }
+
+    private QueryKey getQueryKey(String query, BRefValueArray parameters) {
+        int paramCount = parameters != null ? (int) parameters.size() : 0;
+        String[] sqlTypes = new String[paramCount];
+        int[] directions = new int[paramCount];
+        int[] counts = new int[paramCount];
+        for (int i = 0; i < paramCount; i++) {
+            BStruct paramValue = (BStruct) parameters.get(i);
+            if (paramValue == null) {
+                counts[i] = -1;
+                continue;
+            }
+            String sqlType = getSQLType(paramValue);
+            BValue value = paramValue.getRefField(1);
+            sqlTypes[i] = sqlType;
+            directions[i] = getParameterDirection(paramValue);
+            if (value != null && value.getType().getTag() == TypeTags.ARRAY_TAG &&
+                    !Constants.SQLDataTypes.ARRAY.equalsIgnoreCase(sqlType)) {
+                counts[i] = (int) ((BNewArray) value).size();
+            } else {
+                counts[i] = 1;
+            }
+        }
+        return new QueryKey(query, sqlTypes, directions, counts);
+    }
+
     /**
      * If there are any arrays of parameter for types other than sql array, the given query is expanded by adding "?" s
      * to match with the array size.
      */
-    private String createProcessedQueryString(String query, BRefValueArray parameters) {
-        String currentQuery = query;
-        if (parameters != null) {
-            int start = 0;
-            Object[] vals;
-            int count;
-            int paramCount = (int) parameters.size();
-            for (int i = 0; i < paramCount; i++) {
-                BStruct paramValue = (BStruct) parameters.get(i);
-                if (paramValue != null) {
-                    String sqlType = getSQLType(paramValue);
-                    BValue value = paramValue.getRefField(1);
-                    if (value != null && value.getType().getTag() == TypeTags.ARRAY_TAG &&
-                            !Constants.SQLDataTypes.ARRAY.equalsIgnoreCase(sqlType)) {
-                        count = (int) ((BNewArray) value).size();
-                    } else {
-                        count = 1;
-                    }
-                    vals = this.expandQuery(start, count, currentQuery);
-                    start = (Integer) vals[0];
-                    currentQuery = (String) vals[1];
-                }
+    private ProcessedQuery processQuery(QueryKey key) {
+        String currentQuery = key.getQuery();
+        int[] counts = key.getCounts();
+        String[] sqlTypes = new String[counts.length];
+        int start = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != -1) {
+                Object[] vals = this.expandQuery(start, counts[i], currentQuery);
+                start = (Integer) vals[0];
+                currentQuery = (String) vals[1];
+                sqlTypes[i] = key.getSQLTypes()[i].toUpperCase(Locale.getDefault());
             }
         }
-        return currentQuery;
+        return new ProcessedQuery(currentQuery, sqlTypes, key.getDirections());
     }
 
     /**
@@ -347,8 +669,11 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
             throws SQLException {
         PreparedStatement stmt;
         boolean mysql = datasource.getDatabaseName().contains("mysql");
+        int fetchSize = datasource.getFetchSize();
         /* In MySQL by default, ResultSets are completely retrieved and stored in memory.
-           Following properties are set to stream the results back one row at a time.*/
+           Following properties are set to stream the results back one row at a time. The fetch size is not
+           applied to MySQL, as its driver buffers the whole result for any other fetch size unless cursor
+           fetching is enabled in the data source properties.*/
         if (mysql) {
             stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
             // To fulfill OBL_UNSATISFIED_OBLIGATION_EXCEPTION_EDGE findbugs validation.
@@ -357,12 +682,25 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
             } catch (SQLException e) {
                 stmt.close();
             }
+        } else if (fetchSize > 0) {
+            // Drivers such as PostgreSQL, Oracle, DB2 and H2 fetch the rows of a forward only cursor in chunks
+            stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            try {
+                stmt.setFetchSize(fetchSize);
+            } catch (SQLException e) {
+                stmt.close();
+                throw e;
+            }
         } else {
             stmt = conn.prepareStatement(query);
         }
         return stmt;
     }
 
+    private boolean isPostgreSQL(SQLDatasource datasource) {
+        return datasource.getDatabaseName().contains("postgresql");
+    }
+
     private CallableStatement getPreparedCall(Connection conn, SQLDatasource datasource, String query,
                                               BRefValueArray parameters) throws SQLException {
         CallableStatement stmt;
@@ -376,6 +714,10 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
             }
         } else {
             stmt = conn.prepareCall(query);
+            int fetchSize = datasource.getFetchSize();
+            if (fetchSize > 0) {
+                stmt.setFetchSize(fetchSize);
+            }
         }
         return stmt;
     }
@@ -447,6 +789,11 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
     }
 
     private void createProcessedStatement(Connection conn, PreparedStatement stmt, BRefValueArray params) {
+        createProcessedStatement(conn, stmt, params, null);
+    }
+
+    private void createProcessedStatement(Connection conn, PreparedStatement stmt, BRefValueArray params,
+                                          ProcessedQuery processedQuery) {
         if (params == null) {
             return;
         }
@@ -455,9 +802,16 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         for (int index = 0; index < paramCount; index++) {
             BStruct paramStruct = (BStruct) params.get(index);
             if (paramStruct != null) {
-                String sqlType = getSQLType(paramStruct);
+                String sqlType;
+                int direction;
+                if (processedQuery != null) {
+                    sqlType = processedQuery.getSQLType(index);
+                    direction = processedQuery.getDirection(index);
+                } else {
+                    sqlType = getSQLType(paramStruct).toUpperCase(Locale.getDefault());
+                    direction = getParameterDirection(paramStruct);
+                }
                 BValue value = paramStruct.getRefField(1);
-                int direction = getParameterDirection(paramStruct);
                 //If the parameter is an array and sql type is not "array" then treat it as an array of parameters
                 if (value != null && value.getType().getTag() == TypeTags.ARRAY_TAG && !Constants.SQLDataTypes.ARRAY
                         .equalsIgnoreCase(sqlType)) {
@@ -498,13 +852,17 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         }
     }
 
+    /**
+     * Bind a parameter value to the statement.
+     *
+     * @param sqlType upper case SQL type of the parameter
+     */
     private void setParameter(Connection conn, PreparedStatement stmt, String sqlType, BValue value, int direction,
             int index) {
         if (sqlType == null || sqlType.isEmpty()) {
             SQLDatasourceUtils.setStringValue(stmt, value, index, direction, Types.VARCHAR);
         } else {
-            String sqlDataType = sqlType.toUpperCase(Locale.getDefault());
-            switch (sqlDataType) {
+            switch (sqlType) {
             case Constants.SQLDataTypes.SMALLINT:
                 SQLDatasourceUtils.setIntValue(stmt, value, index, direction, Types.INTEGER);
                 break;
@@ -796,10 +1154,11 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
     }
 
     private BDataTable constructDataTable(Context context, ResultSet rs, Statement stmt, Connection conn,
-            BStructType structType) throws SQLException {
+            BStructType structType, SQLStatementCache statementCache, SQLDatasourceMetrics metrics)
+            throws SQLException {
         List<ColumnDefinition> columnDefinitions = getColumnDefinitions(rs);
         return new BDataTable(new SQLDataIterator(conn, stmt, rs, utcCalendar, columnDefinitions, structType,
-                Utils.getTimeStructInfo(context), Utils.getTimeZoneStructInfo(context)));
+                Utils.getTimeStructInfo(context), Utils.getTimeZoneStructInfo(context), statementCache, metrics));
     }
 
     private String getSQLType(BStruct parameter) {
@@ -45,6 +45,11 @@ import org.ballerinalang.util.exceptions.BallerinaException;
         })
 public class Close extends AbstractSQLAction {
 
+    @Override
+    public boolean isNonBlockingAction() {
+        return false;
+    }
+
     @Override
     public ConnectorFuture execute(Context context) {
         BConnector bConnector = (BConnector) getRefArgument(context, 0);
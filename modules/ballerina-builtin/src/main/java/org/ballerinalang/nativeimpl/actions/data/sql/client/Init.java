@@ -48,6 +48,11 @@ import org.ballerinalang.natives.annotations.BallerinaAction;
         })
 public class Init extends AbstractSQLAction {
 
+    @Override
+    public boolean isNonBlockingAction() {
+        return false;
+    }
+
     @Override
     public ConnectorFuture execute(Context context) {
         BConnector bConnector = (BConnector) getRefArgument(context, 0);
@@ -32,6 +32,7 @@ import org.ballerinalang.model.values.BStringArray;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.nativeimpl.actions.data.sql.Constants;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLStatementCache;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.BufferedReader;
@@ -789,11 +790,25 @@ public class SQLDatasourceUtils {
      * @param conn SQL connection
      */
     public static void cleanupConnection(ResultSet rs, Statement stmt, Connection conn, boolean isInTransaction) {
+        cleanupConnection(rs, stmt, conn, isInTransaction, null);
+    }
+
+    /**
+     * This will close Database connection and the resultset, and hand the statement back to the statement cache if
+     * it was leased from the cache. A connection found broken by the statement cache is evicted from the pool.
+     *
+     * @param rs             SQL resultset
+     * @param stmt           SQL statement
+     * @param conn           SQL connection
+     * @param statementCache statement cache of the datasource, or null
+     */
+    public static void cleanupConnection(ResultSet rs, Statement stmt, Connection conn, boolean isInTransaction,
+                                         SQLStatementCache statementCache) {
         try {
             if (rs != null && !rs.isClosed()) {
                 rs.close();
             }
-            if (stmt != null && !stmt.isClosed()) {
+            if (stmt != null && (statementCache == null || !statementCache.release(stmt)) && !stmt.isClosed()) {
                 stmt.close();
             }
             if (conn != null && !conn.isClosed() && !isInTransaction) {
@@ -801,6 +816,10 @@ public class SQLDatasourceUtils {
             }
         } catch (SQLException e) {
             throw new BallerinaException("error cleaning sql resources: " + e.getMessage(), e);
+        } finally {
+            if (conn != null && statementCache != null && !isInTransaction) {
+                statementCache.evictIfBroken(conn);
+            }
         }
     }
 
@@ -892,14 +911,25 @@ public class SQLDatasourceUtils {
             return null;
         }
         try {
-            byte[] encode = getBase64Encode(
-                    new String(data.getBytes(1L, (int) data.length()), Charset.defaultCharset()));
-            return new String(encode, Charset.defaultCharset());
+            return getBase64String(data.getBytes(1L, (int) data.length()));
         } catch (SQLException e) {
             throw new BallerinaException("error occurred while reading blob value", e);
         }
     }
 
+    /**
+     * This will retrieve the string value for the given blob content.
+     *
+     * @param data blob content
+     */
+    public static String getBase64String(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        byte[] encode = getBase64Encode(new String(data, Charset.defaultCharset()));
+        return new String(encode, Charset.defaultCharset());
+    }
+
     /**
      * This will retrieve the string value for the given binary data.
      *
@@ -25,7 +25,6 @@ import org.ballerinalang.model.values.BConnector;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefValueArray;
 import org.ballerinalang.model.values.BString;
-import org.ballerinalang.nativeimpl.actions.ClientConnectorFuture;
 import org.ballerinalang.nativeimpl.actions.data.sql.Constants;
 import org.ballerinalang.nativeimpl.actions.data.sql.SQLDatasource;
 import org.ballerinalang.natives.annotations.Argument;
@@ -59,16 +58,11 @@ public class Select extends AbstractSQLAction {
         BRefValueArray parameters = (BRefValueArray) getRefArgument(context, 1);
         BStructType structType = getStructType(context);
         BMap sharedMap = (BMap) bConnector.getRefField(2);
-        SQLDatasource datasource = null;
-        if (sharedMap.get(new BString(Constants.DATASOURCE_KEY)) != null) {
-            datasource = (SQLDatasource) sharedMap.get(new BString(Constants.DATASOURCE_KEY));
-        } else {
+        SQLDatasource datasource = (SQLDatasource) sharedMap.get(new BString(Constants.DATASOURCE_KEY));
+        if (datasource == null) {
             throw new BallerinaException("Datasource have not been initialized properly at " +
                     "Init native action invocation.");
         }
-        executeQuery(context, datasource, query, parameters, structType);
-        ClientConnectorFuture future = new ClientConnectorFuture();
-        future.notifySuccess();
-        return future;
+        return submit(context, datasource, () -> executeQuery(context, datasource, query, parameters, structType));
     }
 }
@@ -24,7 +24,6 @@ import org.ballerinalang.model.values.BConnector;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefValueArray;
 import org.ballerinalang.model.values.BString;
-import org.ballerinalang.nativeimpl.actions.ClientConnectorFuture;
 import org.ballerinalang.nativeimpl.actions.data.sql.Constants;
 import org.ballerinalang.nativeimpl.actions.data.sql.SQLDatasource;
 import org.ballerinalang.natives.annotations.Argument;
@@ -57,16 +56,14 @@ public class Update extends AbstractSQLAction {
         String query = getStringArgument(context, 0);
         BRefValueArray parameters = (BRefValueArray) getRefArgument(context, 1);
         BMap sharedMap = (BMap) bConnector.getRefField(2);
-        SQLDatasource datasource = null;
-        if (sharedMap.get(new BString(Constants.DATASOURCE_KEY)) != null) {
-            datasource = (SQLDatasource) sharedMap.get(new BString(Constants.DATASOURCE_KEY));
-        } else {
+        SQLDatasource datasource = (SQLDatasource) sharedMap.get(new BString(Constants.DATASOURCE_KEY));
+        if (datasource == null) {
             throw new BallerinaException("Datasource have not been initialized properly at " +
                     "Init native action invocation.");
         }
-        executeUpdate(context, datasource, query, parameters);
-        ClientConnectorFuture future = new ClientConnectorFuture();
-        future.notifySuccess();
-        return future;
+        if (datasource.getUpdateBatcher() != null && !context.isInTransaction()) {
+            return executeBatchedUpdate(context, datasource, query, parameters);
+        }
+        return submit(context, datasource, () -> executeUpdate(context, datasource, query, parameters));
     }
 }
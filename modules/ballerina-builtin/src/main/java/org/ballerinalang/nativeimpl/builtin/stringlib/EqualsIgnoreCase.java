@@ -18,11 +18,9 @@
 
 package org.ballerinalang.nativeimpl.builtin.stringlib;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BBoolean;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.Receiver;
@@ -41,15 +39,13 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.BOOLEAN)},
         isPublic = true
 )
-public class EqualsIgnoreCase extends AbstractNativeFunction {
+public class EqualsIgnoreCase extends AbstractRegisterNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String string1 = getStringArgument(context, 0);
-        String anotherString = getStringArgument(context, 1);
-
-        BBoolean booleanValue = new BBoolean(string1.equalsIgnoreCase(anotherString));
-        return getBValues(booleanValue);
+    public void execute(NativeRegisters registers) {
+        String string1 = registers.getStringArgument(0);
+        String anotherString = registers.getStringArgument(1);
 
+        registers.setBooleanReturn(0, string1.equalsIgnoreCase(anotherString));
     }
 }
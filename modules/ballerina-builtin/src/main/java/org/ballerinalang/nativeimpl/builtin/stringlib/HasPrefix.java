@@ -18,11 +18,9 @@
 
 package org.ballerinalang.nativeimpl.builtin.stringlib;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BBoolean;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -40,14 +38,13 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.BOOLEAN)},
         isPublic = true
 )
-public class HasPrefix extends AbstractNativeFunction {
+public class HasPrefix extends AbstractRegisterNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        String prefix = getStringArgument(context, 1);
+    public void execute(NativeRegisters registers) {
+        String param1 = registers.getStringArgument(0);
+        String prefix = registers.getStringArgument(1);
 
-        BBoolean booleanValue = new BBoolean(param1.startsWith(prefix));
-        return getBValues(booleanValue);
+        registers.setBooleanReturn(0, param1.startsWith(prefix));
     }
 }
@@ -18,11 +18,9 @@
 
 package org.ballerinalang.nativeimpl.builtin.stringlib;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -40,14 +38,13 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.INT)},
         isPublic = true
 )
-public class IndexOf extends AbstractNativeFunction {
+public class IndexOf extends AbstractRegisterNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        String subString = getStringArgument(context, 1);
+    public void execute(NativeRegisters registers) {
+        String param1 = registers.getStringArgument(0);
+        String subString = registers.getStringArgument(1);
 
-        BInteger intValue = new BInteger(param1.indexOf(subString));
-        return getBValues(intValue);
+        registers.setIntReturn(0, param1.indexOf(subString));
     }
 }
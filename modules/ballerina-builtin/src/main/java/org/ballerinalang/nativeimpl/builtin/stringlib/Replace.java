@@ -18,11 +18,9 @@
 
 package org.ballerinalang.nativeimpl.builtin.stringlib;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BString;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -41,15 +39,15 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.STRING)},
         isPublic = true
 )
-public class Replace extends AbstractNativeFunction {
+public class Replace extends AbstractRegisterNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String mainString = getStringArgument(context, 0);
-        String replacePattern = getStringArgument(context, 1);
-        String replaceWith = getStringArgument(context, 2);
+    public void execute(NativeRegisters registers) {
+        String mainString = registers.getStringArgument(0);
+        String replacePattern = registers.getStringArgument(1);
+        String replaceWith = registers.getStringArgument(2);
 
         String replacedString = mainString.replace(replacePattern, replaceWith);
-        return getBValues(new BString(replacedString));
+        registers.setStringReturn(0, replacedString);
     }
 }
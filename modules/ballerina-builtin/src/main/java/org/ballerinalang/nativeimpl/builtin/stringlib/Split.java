@@ -18,11 +18,10 @@
 
 package org.ballerinalang.nativeimpl.builtin.stringlib;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.values.BStringArray;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -38,15 +37,14 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.ARRAY, elementType = TypeKind.STRING)},
         isPublic = true
 )
-public class Split extends AbstractNativeFunction {
+public class Split extends AbstractRegisterNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String initialString = getStringArgument(context, 0);
-        String regex = getStringArgument(context, 1);
+    public void execute(NativeRegisters registers) {
+        String initialString = registers.getStringArgument(0);
+        String regex = registers.getStringArgument(1);
 
         String[] splitArray = initialString.split(regex);
-        BStringArray bSplitArray = new BStringArray(splitArray);
-        return getBValues(bSplitArray);
+        registers.setRefReturn(0, new BStringArray(splitArray));
     }
 }
@@ -16,11 +16,9 @@
 
 package org.ballerinalang.nativeimpl.builtin.stringlib;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BString;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -40,14 +38,14 @@ import org.ballerinalang.util.exceptions.RuntimeErrors;
         returnType = {@ReturnType(type = TypeKind.STRING)},
         isPublic = true
 )
-public class SubString extends AbstractNativeFunction {
+public class SubString extends AbstractRegisterNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String initialString = getStringArgument(context, 0);
+    public void execute(NativeRegisters registers) {
+        String initialString = registers.getStringArgument(0);
 
-        long fromLong = getIntArgument(context, 0);
-        long toLong = getIntArgument(context, 1);
+        long fromLong = registers.getIntArgument(1);
+        long toLong = registers.getIntArgument(2);
 
         if (toLong != (int) toLong) {
             throw BLangExceptionHelper
@@ -65,7 +63,6 @@ public class SubString extends AbstractNativeFunction {
             throw new BallerinaException("String index out of range. Actual:" + initialString.length() +
                     " requested: " + from + " to " + to);
         }
-        BString subString = new BString(initialString.substring(from, to));
-        return getBValues(subString);
+        registers.setStringReturn(0, initialString.substring(from, to));
     }
 }
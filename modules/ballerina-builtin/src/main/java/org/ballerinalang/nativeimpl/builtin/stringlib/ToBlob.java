@@ -17,11 +17,9 @@
  */
 package org.ballerinalang.nativeimpl.builtin.stringlib;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BBlob;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -40,14 +38,14 @@ import java.io.UnsupportedEncodingException;
         returnType = {@ReturnType(type = TypeKind.BLOB)},
         isPublic = true
 )
-public class ToBlob extends AbstractNativeFunction {
+public class ToBlob extends AbstractRegisterNativeFunction {
 
-    public BValue[] execute(Context ctx) {
+    public void execute(NativeRegisters registers) {
         try {
-            String string = getStringArgument(ctx, 0);
-            String encoding = getStringArgument(ctx, 1);
+            String string = registers.getStringArgument(0);
+            String encoding = registers.getStringArgument(1);
             byte[] arr = string.getBytes(encoding);
-            return getBValues(new BBlob(arr));
+            registers.setBlobReturn(0, arr);
         } catch (UnsupportedEncodingException e) {
             throw new BallerinaException("Unsupported Encoding", e);
         }
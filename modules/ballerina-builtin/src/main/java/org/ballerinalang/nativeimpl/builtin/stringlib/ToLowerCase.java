@@ -18,11 +18,9 @@
 
 package org.ballerinalang.nativeimpl.builtin.stringlib;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BString;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -41,12 +39,11 @@ import java.util.Locale;
         returnType = {@ReturnType(type = TypeKind.STRING)},
         isPublic = true
 )
-public class ToLowerCase extends AbstractNativeFunction {
+public class ToLowerCase extends AbstractRegisterNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        BString lowerCaseString = new BString(param1.toLowerCase(Locale.getDefault()));
-        return getBValues(lowerCaseString);
+    public void execute(NativeRegisters registers) {
+        String param1 = registers.getStringArgument(0);
+        registers.setStringReturn(0, param1.toLowerCase(Locale.getDefault()));
     }
 }
@@ -21,6 +21,7 @@ import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.io.channels.FileIOChannel;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
@@ -33,8 +34,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 
 /**
  * Copies a file from a given location to another.
@@ -77,8 +77,8 @@ public class Copy extends AbstractNativeFunction {
 
     private boolean copy(File src, File dest) {
 
-        InputStream in = null;
-        OutputStream out = null;
+        FileInputStream in = null;
+        FileOutputStream out = null;
         try {
             if (src.isDirectory()) {
                 if (!dest.exists() && !dest.mkdir()) {
@@ -99,12 +99,9 @@ public class Copy extends AbstractNativeFunction {
             } else {
                 in = new FileInputStream(src);
                 out = new FileOutputStream(dest);
-                byte[] buffer = new byte[1024];
-                int length;
-
-                while ((length = in.read(buffer)) > 0) {
-                    out.write(buffer, 0, length);
-                }
+                //The bytes are transferred by the file system, without reading those into memory
+                FileChannel srcChannel = in.getChannel();
+                new FileIOChannel(srcChannel, 0).transfer(0, srcChannel.size(), out.getChannel());
             }
             return true;
         } catch (IOException e) {
@@ -125,8 +125,17 @@ public class OpenChannel extends AbstractNativeChannel {
                     opts.add(StandardOpenOption.WRITE);
                 }
             }
+            //Memory mapped mode reads the file through mapped regions of it, hence it is read only
+            boolean memoryMapped = accessLC.contains("m");
+            if (memoryMapped && (write || append)) {
+                throw new BallerinaException("memory mapped access mode is read only: " + accessMode);
+            }
             FileChannel byteChannel = FileChannel.open(path, opts);
-            channel = new FileIOChannel(byteChannel, IOConstants.CHANNEL_BUFFER_SIZE);
+            if (memoryMapped) {
+                channel = FileIOChannel.createMemoryMapped(byteChannel, IOConstants.CHANNEL_BUFFER_SIZE);
+            } else {
+                channel = new FileIOChannel(byteChannel, IOConstants.CHANNEL_BUFFER_SIZE);
+            }
         } catch (AccessDeniedException e) {
             throw new BallerinaException("Do not have access to write file: " + path, e);
         } catch (Throwable e) {
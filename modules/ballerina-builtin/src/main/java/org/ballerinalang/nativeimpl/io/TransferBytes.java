@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.nativeimpl.io;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.io.channels.base.AbstractChannel;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Native function ballerina.io#transfer.
+ *
+ * @since 0.95.8
+ */
+@BallerinaFunction(
+        packageName = "ballerina.io",
+        functionName = "transfer",
+        receiver = @Receiver(type = TypeKind.STRUCT, structType = "ByteChannel", structPackage = "ballerina.io"),
+        args = {@Argument(name = "position", type = TypeKind.INT),
+                @Argument(name = "count", type = TypeKind.INT),
+                @Argument(name = "destination", type = TypeKind.STRUCT, structType = "ByteChannel",
+                        structPackage = "ballerina.io")},
+        returnType = {@ReturnType(type = TypeKind.INT)},
+        isPublic = true
+)
+public class TransferBytes extends AbstractNativeFunction {
+
+    /**
+     * Index which holds the byte channel in ballerina.io#transfer.
+     */
+    private static final int BYTE_CHANNEL_INDEX = 0;
+
+    /**
+     * Index which holds the destination byte channel in ballerina.io#transfer.
+     */
+    private static final int DESTINATION_CHANNEL_INDEX = 1;
+
+    /**
+     * Index which holds the position in ballerina.io#transfer.
+     */
+    private static final int POSITION_INDEX = 0;
+
+    /**
+     * Index which holds the number of bytes to be transferred in ballerina.io#transfer.
+     */
+    private static final int COUNT_INDEX = 1;
+
+    /**
+     * Transfers bytes from a given channel to another, without passing those through the Java heap.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public BValue[] execute(Context context) {
+        long numberOfBytesTransferred;
+        try {
+            BStruct channel = (BStruct) getRefArgument(context, BYTE_CHANNEL_INDEX);
+            BStruct destination = (BStruct) getRefArgument(context, DESTINATION_CHANNEL_INDEX);
+            long position = getIntArgument(context, POSITION_INDEX);
+            long count = getIntArgument(context, COUNT_INDEX);
+            AbstractChannel byteChannel = (AbstractChannel) channel.getNativeData(IOConstants.BYTE_CHANNEL_NAME);
+            AbstractChannel dstChannel = (AbstractChannel) destination.getNativeData(IOConstants.BYTE_CHANNEL_NAME);
+            numberOfBytesTransferred = byteChannel.transfer(position, count, dstChannel);
+        } catch (Throwable e) {
+            String message = "Error occurred while transferring bytes:" + e.getMessage();
+            throw new BallerinaException(message, context);
+        }
+        return getBValues(new BInteger(numberOfBytesTransferred));
+    }
+}
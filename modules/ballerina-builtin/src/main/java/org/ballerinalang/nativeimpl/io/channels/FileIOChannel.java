@@ -28,6 +28,10 @@ import java.nio.channels.WritableByteChannel;
  * <p>
  * Represents the channel to perform I/O operations on file.
  * </p>
+ * <p>
+ * In the memory mapped mode the file is read through memory mapped regions of it, which avoids a system call per
+ * each read. Transfers to other channels are performed by the file, hence the bytes do not pass through the Java heap.
+ * </p>
  */
 public class FileIOChannel extends Channel {
 
@@ -36,22 +40,75 @@ public class FileIOChannel extends Channel {
      */
     private FileChannel channel;
 
+    /**
+     * Reads the file through mapped regions of it, if the channel is opened in the memory mapped mode.
+     */
+    private MappedFileByteChannel mappedChannel;
+
     public FileIOChannel(FileChannel channel, int size) throws BallerinaIOException {
         super(channel, size);
         this.channel = channel;
     }
 
+    private FileIOChannel(MappedFileByteChannel mappedChannel, FileChannel channel, int size)
+            throws BallerinaIOException {
+        super(mappedChannel, size);
+        this.channel = channel;
+        this.mappedChannel = mappedChannel;
+    }
+
+    /**
+     * Creates a read only channel which reads the file through memory mapped regions of it.
+     *
+     * @param channel the file channel opened for reading.
+     * @param size    the minimum number of bytes buffered by the channel.
+     * @return the memory mapped file channel.
+     * @throws BallerinaIOException if the file could not be mapped.
+     */
+    public static FileIOChannel createMemoryMapped(FileChannel channel, int size) throws BallerinaIOException {
+        try {
+            return new FileIOChannel(new MappedFileByteChannel(channel), channel, size);
+        } catch (IOException e) {
+            throw new BallerinaIOException("Error occurred while mapping file", e);
+        }
+    }
+
     /**
      * Transfer file content to the specified destination.
      *
      * {@inheritDoc}
      */
     @Override
-    public void transfer(int position, int count, WritableByteChannel dstChannel) throws BallerinaIOException {
+    public long transfer(long position, long count, WritableByteChannel dstChannel) throws BallerinaIOException {
+        long numberOfBytesTransferred = 0;
         try {
-            channel.transferTo(position, count, dstChannel);
+            //A single transfer may not transfer all the bytes, e.g. when the destination is a socket
+            while (numberOfBytesTransferred < count) {
+                long transferred = channel.transferTo(position + numberOfBytesTransferred,
+                        count - numberOfBytesTransferred, dstChannel);
+                if (transferred <= 0) {
+                    break;
+                }
+                numberOfBytesTransferred = numberOfBytesTransferred + transferred;
+            }
         } catch (IOException e) {
             throw new BallerinaIOException("Error occurred while transferring file", e);
         }
+        return numberOfBytesTransferred;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getRemainingSize() throws BallerinaIOException {
+        if (null != mappedChannel) {
+            return mappedChannel.remaining();
+        }
+        try {
+            return Math.max(channel.size() - channel.position(), 0);
+        } catch (IOException e) {
+            throw new BallerinaIOException("Error occurred while reading the size of file", e);
+        }
     }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.io.channels;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+
+/**
+ * <p>
+ * Reads a file through memory mapped regions of it, instead of reading it through system calls.
+ * </p>
+ * <p>
+ * The file is mapped one region at a time, hence files larger than the maximum size of a mapped buffer could be
+ * read as well. The size of the file is determined when the channel is opened, i.e. any bytes appended afterwards
+ * are not read. This channel is read only.
+ * </p>
+ */
+public class MappedFileByteChannel implements ByteChannel {
+
+    /**
+     * Maximum number of bytes mapped at once.
+     */
+    private static final long MAX_REGION_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Maintains the file channel implementation.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Size of the file when the channel was opened.
+     */
+    private final long size;
+
+    /**
+     * Region of the file which is mapped at the moment.
+     */
+    private MappedByteBuffer region;
+
+    /**
+     * Position of the mapped region within the file.
+     */
+    private long regionPosition;
+
+    /**
+     * Position of the next byte to be read.
+     */
+    private long position;
+
+    public MappedFileByteChannel(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.position = channel.position();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (position >= size) {
+            return -1;
+        }
+        if (null == region || position < regionPosition || position >= regionPosition + region.limit()) {
+            regionPosition = position;
+            region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_REGION_SIZE, size - position));
+        }
+        int offset = (int) (position - regionPosition);
+        int numberOfBytesRead = Math.min(dst.remaining(), region.limit() - offset);
+        ByteBuffer content = region.duplicate();
+        content.position(offset);
+        content.limit(offset + numberOfBytesRead);
+        dst.put(content);
+        position = position + numberOfBytesRead;
+        return numberOfBytesRead;
+    }
+
+    /**
+     * Memory mapped channels are read only.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    /**
+     * Specifies the number of bytes which are yet to be read.
+     *
+     * @return the number of bytes left in the file.
+     */
+    public long remaining() {
+        return Math.max(size - position, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    /**
+     * <p>
+     * Closes the file. The mapped region is released once it is garbage collected.
+     * </p>
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        region = null;
+        channel.close();
+    }
+}
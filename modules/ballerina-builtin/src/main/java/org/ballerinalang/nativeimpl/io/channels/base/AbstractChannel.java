@@ -24,6 +24,8 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 
 /**
@@ -54,6 +56,11 @@ public abstract class AbstractChannel {
      */
     private boolean hasReachedToEnd = false;
 
+    /**
+     * Size of the direct buffer through which bytes are transferred to a channel which is not a file.
+     */
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
     private static final Logger log = LoggerFactory.getLogger(AbstractChannel.class);
 
     /**
@@ -74,14 +81,97 @@ public abstract class AbstractChannel {
     }
 
     /**
+     * <p>
      * Will be used when performing direct transfer operations from OS cache.
+     * </p>
+     * <p>
+     * If the destination is a file, the bytes are transferred by the file, otherwise those are copied through a
+     * direct buffer. Either way the bytes do not pass through the Java heap. Channels which are backed by a file
+     * override this to transfer the bytes from the file.
+     * </p>
+     * <p>
+     * <b>Note : </b> the bytes are transferred from the current position of the channel if it is not seekable, and
+     * the bytes which were read into the buffer of the channel already are not transferred.
+     * </p>
      *
      * @param position   starting position of the bytes to be transferred.
      * @param count      number of bytes to be transferred.
      * @param dstChannel destination channel to transfer.
+     * @return the number of bytes transferred, which is less than the count if the source reached EoF.
      * @throws BallerinaIOException during I/O error.
      */
-    public abstract void transfer(int position, int count, WritableByteChannel dstChannel) throws BallerinaIOException;
+    public long transfer(long position, long count, WritableByteChannel dstChannel) throws BallerinaIOException {
+        long numberOfBytesTransferred = 0;
+        try {
+            if (channel instanceof SeekableByteChannel) {
+                ((SeekableByteChannel) channel).position(position);
+            }
+            if (dstChannel instanceof FileChannel) {
+                FileChannel dstFileChannel = (FileChannel) dstChannel;
+                long dstPosition = dstFileChannel.position();
+                while (numberOfBytesTransferred < count) {
+                    long transferred = dstFileChannel.transferFrom(channel, dstPosition + numberOfBytesTransferred,
+                            count - numberOfBytesTransferred);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    numberOfBytesTransferred = numberOfBytesTransferred + transferred;
+                }
+                //Unlike writes, transfers do not move the position of the destination
+                dstFileChannel.position(dstPosition + numberOfBytesTransferred);
+            } else {
+                ByteBuffer transferBuffer = ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE);
+                while (numberOfBytesTransferred < count) {
+                    transferBuffer.clear();
+                    transferBuffer.limit((int) Math.min(TRANSFER_BUFFER_SIZE, count - numberOfBytesTransferred));
+                    if (channel.read(transferBuffer) <= 0) {
+                        break;
+                    }
+                    transferBuffer.flip();
+                    numberOfBytesTransferred = numberOfBytesTransferred + transferBuffer.remaining();
+                    while (transferBuffer.hasRemaining()) {
+                        dstChannel.write(transferBuffer);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new BallerinaIOException("Error occurred while transferring bytes from channel ", e);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Transferred " + numberOfBytesTransferred + " bytes from channel " + channel.hashCode());
+        }
+        return numberOfBytesTransferred;
+    }
+
+    /**
+     * Transfers bytes from this channel to another channel.
+     *
+     * @param position   starting position of the bytes to be transferred.
+     * @param count      number of bytes to be transferred.
+     * @param dstChannel destination channel to transfer.
+     * @return the number of bytes transferred.
+     * @throws BallerinaIOException during I/O error.
+     * @see #transfer(long, long, WritableByteChannel)
+     */
+    public long transfer(long position, long count, AbstractChannel dstChannel) throws BallerinaIOException {
+        return transfer(position, count, dstChannel.channel);
+    }
+
+    /**
+     * <p>
+     * Specifies the number of bytes left in the I/O source, i.e. the number of bytes which could be read until the
+     * channel reaches EoF, excluding the bytes which were read into the buffer of the channel already.
+     * </p>
+     * <p>
+     * This will be used to read all the bytes of a source at once, when its size is known.
+     * </p>
+     *
+     * @return the number of bytes left, or -1 if it is not known.
+     * @throws BallerinaIOException during I/O error.
+     */
+    public long getRemainingSize() throws BallerinaIOException {
+        return -1;
+    }
 
     /**
      * <p>
@@ -22,7 +22,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 
 /**
  * <p>
@@ -32,6 +31,11 @@ import java.util.Arrays;
  * <p>
  * Buffer also focuses on offering the capability to get bytes through multiple channels and place into one.
  * </p>
+ * <p>
+ * The bytes are read into a direct buffer acquired from the {@link BufferPool}, which is reused for the subsequent
+ * reads, and is handed back to the pool once the buffer is released. Only the reads which exceed the maximum pooled
+ * size are read into a heap buffer of their own.
+ * </p>
  */
 public class Buffer {
 
@@ -51,175 +55,76 @@ public class Buffer {
      */
     private int minimumSizeOfBuffer;
 
+    /**
+     * Pool the buffers are acquired from.
+     */
+    private final BufferPool bufferPool;
+
     private static final Logger log = LoggerFactory.getLogger(Buffer.class);
 
     public Buffer(int minimumSizeOfBuffer) {
         this.minimumSizeOfBuffer = minimumSizeOfBuffer;
+        this.bufferPool = BufferPool.getInstance();
     }
 
     /**
      * <p>
-     * Returns a ByteBuffer which will contain any remaining bytes left in the previous read.
+     * Reads bytes from the channel into the buffer, which also holds the bytes remaining in the buffer.
      * </p>
      * <p>
-     * This operation will not guarantee a return of all the bytes required. This will return bytes if any is
-     * available in the buffer.
+     * The remaining bytes are moved to the beginning of the buffer, and the channel fills the rest of it. If the
+     * buffer is not large enough, a larger buffer is acquired from the pool and the current buffer is released. Hence
+     * the bytes returned to the caller are always contiguous in the buffer.
      * </p>
      * <p>
-     * The operation will return null if none of the bytes are remaining in the buffer.
+     * If the size < minimumSizeOfBuffer, minimumSizeOfBuffer bytes will be read.
      * </p>
      *
-     * @param totalNumberOfBytesRequired number of bytes required.
-     * @return new ByteBuffer which will contain bytes which are remaining.
+     * @param requiredNumberOfBytes the number of bytes required, including the bytes remaining in the buffer.
+     * @param channel               the channel to read bytes from.
+     * @throws BallerinaIOException if an error is encountered when reading bytes from the channel.
      */
-    private ByteBuffer getBytesLeftInBuffer(int totalNumberOfBytesRequired) {
-        ByteBuffer bufferedContent = null;
-        if (null != byteBuffer) {
-            int position = byteBuffer.position();
-            int limit = byteBuffer.limit();
-            int numberOfBytesRemainingInBuffer = limit - position;
-            if (numberOfBytesRemainingInBuffer == 0) {
-                //Given there's nothing to get from the buffer
-                return null;
-            }
-            if (numberOfBytesRemainingInBuffer > totalNumberOfBytesRequired) {
-                //This means there's excess amount of bytes than requested, hence we narrow down the limit
-                limit = position + totalNumberOfBytesRequired;
-            }
-            byte[] content = Arrays.copyOfRange(byteBuffer.array(), position, limit);
-            int readBufferPosition = position + content.length;
-            bufferedContent = ByteBuffer.wrap(content);
-            byteBuffer.position(readBufferPosition);
-            //We need to keep the buffer in write mode
-            bufferedContent.position(bufferedContent.limit());
-        } else {
-            if (log.isDebugEnabled()) {
-                log.debug("ByteBuffer has not being initialized, buffer will be initialized while reading the " +
-                        "requested amount of " + totalNumberOfBytesRequired + " of bytes");
+    private void fillFromChannel(int requiredNumberOfBytes, AbstractChannel channel) throws BallerinaIOException {
+        int numberOfBytesToRead = Math.max(requiredNumberOfBytes, minimumSizeOfBuffer);
+        //Heap buffers are not pooled, hence those are not retained for the subsequent reads
+        if (null == byteBuffer || byteBuffer.capacity() < numberOfBytesToRead || !byteBuffer.isDirect()) {
+            ByteBuffer readBuffer = bufferPool.acquire(numberOfBytesToRead);
+            if (null != byteBuffer) {
+                readBuffer.put(byteBuffer);
+                bufferPool.release(byteBuffer);
             }
-        }
-        return bufferedContent;
-    }
-
-    /**
-     * <p>
-     * Will allocate a buffer for the specified size.
-     * </p>
-     * <p>
-     * If the size < minimumSizeOfBuffer the size of the new buffer = minimumSizeOfBuffer.
-     * If the size > minimumSizeOfBuffer the size of the new buffer = size.
-     * </p>
-     *
-     * @param size the size of the buffer.
-     * @return the newly allocated buffer for the specified size.
-     */
-    private ByteBuffer allocate(int size) {
-        if (size < minimumSizeOfBuffer) {
-            size = minimumSizeOfBuffer;
-        }
-        return ByteBuffer.allocate(size);
-    }
-
-    /**
-     * <p>
-     * Will return a copy of the buffer which contains the read content.
-     * </p>
-     *
-     * @param srcBuffer the buffer which will be compressed.
-     * @return the compressed buffer.
-     */
-    private ByteBuffer compactBytes(ByteBuffer srcBuffer) {
-        int bufferSize = srcBuffer.capacity();
-        int bufferReadPosition = srcBuffer.position();
-        ByteBuffer response;
-        if (bufferSize > bufferReadPosition) {
-            byte[] resizedContent = Arrays.copyOfRange(srcBuffer.array(), 0, bufferReadPosition);
-            response = ByteBuffer.wrap(resizedContent);
-            //We need to keep the buffer in write mode
-            response.position(response.limit());
+            byteBuffer = readBuffer;
         } else {
-            response = srcBuffer;
+            byteBuffer.compact();
         }
-        return response;
+        //The buffer may be larger than required, only the required bytes are read so that the read does not block
+        byteBuffer.limit(numberOfBytesToRead);
+        channel.readFromChannel(byteBuffer);
+        byteBuffer.flip();
     }
 
     /**
-     * <p>
-     * Reads the specified number of bytes through ByteChannel.
-     * </p>
-     * <p>
-     * This operation will read bytes from the channel. The channel may or may not return all required bytes. If the
-     * offset it specified the bytes will be read from the offset position.
-     * </p>
-     * <p>
-     * If the channel doesn't return any bytes it will return an empty buffer.
-     * </p>
+     * Ensures the requested number of bytes are in the buffer, reading from the channel if necessary.
      *
-     * @param requiredNumberOfBytes the number of bytes required to be read from the channel.
-     * @param offset                the number of bytes already present.
-     * @return ByteBuffer which wraps the bytes, null if the channel doesn't return any bytes.
+     * @param numberOfBytesRequested number of bytes requested from the buffer.
+     * @param channel                byte channel which will perform I/O ops necessary for reading.
+     * @return number of bytes available, which is less than the requested if the channel reached EoF.
      * @throws BallerinaIOException if an error is encountered when reading bytes from the channel.
      */
-    private ByteBuffer getBytesFromChannel(int requiredNumberOfBytes, int offset, AbstractChannel channel) throws
-            BallerinaIOException {
-        int numberOfBytesRequiredFromChannel = requiredNumberOfBytes - offset;
-        ByteBuffer srcBuffer = allocate(numberOfBytesRequiredFromChannel);
-        channel.readFromChannel(srcBuffer);
-        return compactBytes(srcBuffer);
-    }
-
-    /**
-     * Specifies whether the buffer is empty.
-     *
-     * @param srcBuffer the buffer which needs to be validated.
-     * @return true if the buffer is empty.
-     */
-    private boolean isBufferEmpty(ByteBuffer srcBuffer) {
-        return srcBuffer.limit() == 0;
-    }
-
-    /**
-     * <p>
-     * Consolidates a given set of ByteBuffers into a single buffer instance.
-     * </p>
-     * <p>
-     * <b>Note : </b>It should be ensured that all the buffers provided are in write-able mode (not flipped).
-     * </p>
-     *
-     * @param size   the number of bytes which should be allocated for the buffer.
-     * @param values the list of ByteBuffer instances which should be merged.
-     * @return the consolidated ByteBuffer instance.
-     */
-    private ByteBuffer consolidate(int size, ByteBuffer... values) {
-        ByteBuffer consolidatedByteBuffer = ByteBuffer.allocate(size);
-        for (ByteBuffer value : values) {
-            if (null != value && !isBufferEmpty(value)) {
-                value.flip();
-                consolidatedByteBuffer.put(value);
-            }
+    private int prepare(int numberOfBytesRequested, AbstractChannel channel) throws BallerinaIOException {
+        if (null == byteBuffer || byteBuffer.remaining() < numberOfBytesRequested) {
+            fillFromChannel(numberOfBytesRequested, channel);
         }
-        return consolidatedByteBuffer;
+        return Math.min(numberOfBytesRequested, byteBuffer.remaining());
     }
 
     /**
-     * <p>
-     * Resize the buffer for the specified size.
-     * </p>
+     * Number of bytes read from the channel, which are yet to be returned.
      *
-     * @param srcBuffer buffer which requires resizing.
-     * @param size      the number of bytes which should be in the buffer.
-     * @return the buffer which is resized.
+     * @return number of bytes remaining in the buffer.
      */
-    private ByteBuffer resizeIfRequired(ByteBuffer srcBuffer, int size) {
-        ByteBuffer resizedBuffer;
-        int capacity = srcBuffer.capacity();
-        if (capacity < size) {
-            size = capacity;
-        }
-        byte[] resizedContent = Arrays.copyOfRange(srcBuffer.array(), 0, size);
-        resizedBuffer = ByteBuffer.wrap(resizedContent);
-        byteBuffer.position(resizedContent.length);
-        return resizedBuffer;
+    int remaining() {
+        return null != byteBuffer ? byteBuffer.remaining() : 0;
     }
 
     /**
@@ -262,31 +167,60 @@ public class Buffer {
      * maximum available bytes will be returned.
      * </p>
      * <p>
-     * If bytes have being read previously through the buffer and the requested amount of bytes exceed the capacity
-     * of the current buffer. The buffer will be re-sized.
+     * The bytes are copied into a new array. If the bytes were read into a heap buffer of their own, since those
+     * exceed the maximum pooled size, the buffer is handed over without a copy instead.
      * </p>
      * <p>
-     * If no bytes are available an empty buffer with the required size will be returned.
+     * If no bytes are available an empty buffer will be returned.
      * </p>
      *
      * @param numberOfBytesRequested number of bytes requested from the buffer.
      * @param channel                byte channel which will perform I/O ops necessary for reading.
-     * @return New byte buffer which contains the requested amount of bytes.
+     * @return New byte buffer, positioned at its beginning, whose backing array holds exactly the bytes returned.
      */
     public ByteBuffer get(int numberOfBytesRequested, AbstractChannel channel) throws BallerinaIOException {
-        ByteBuffer remainingBytesInBuffer = getBytesLeftInBuffer(numberOfBytesRequested);
-        int numberOfBytesReadFromBuffer = remainingBytesInBuffer != null ? remainingBytesInBuffer.capacity() : 0;
-        int numberOfBytesReadFromChannel;
-        int consolidatedBufferSize;
-        if (numberOfBytesReadFromBuffer == numberOfBytesRequested) {
-            return remainingBytesInBuffer;
+        int numberOfBytesReturned = prepare(numberOfBytesRequested, channel);
+        if (!byteBuffer.isDirect() && byteBuffer.position() == 0 && numberOfBytesReturned == byteBuffer.capacity()) {
+            //The whole buffer is returned, hence its content is handed over without a copy
+            ByteBuffer content = byteBuffer;
+            byteBuffer = null;
+            return content;
+        }
+        byte[] content = new byte[numberOfBytesReturned];
+        byteBuffer.get(content);
+        return ByteBuffer.wrap(content);
+    }
+
+    /**
+     * <p>
+     * Get a view of the bytes in the buffer, without copying them.
+     * </p>
+     * <p>
+     * The view shares the content of the buffer, hence it is only valid until the next operation on the buffer. The
+     * bytes of the view could be reversed through {@link #reverse(int)}.
+     * </p>
+     *
+     * @param numberOfBytesRequested number of bytes requested from the buffer.
+     * @param channel                byte channel which will perform I/O ops necessary for reading.
+     * @return read only buffer, whose capacity is the number of bytes returned.
+     */
+    ByteBuffer getView(int numberOfBytesRequested, AbstractChannel channel) throws BallerinaIOException {
+        int numberOfBytesReturned = prepare(numberOfBytesRequested, channel);
+        ByteBuffer view = byteBuffer.asReadOnlyBuffer();
+        view.limit(view.position() + numberOfBytesReturned);
+        byteBuffer.position(byteBuffer.position() + numberOfBytesReturned);
+        return view.slice();
+    }
+
+    /**
+     * Hands the buffer back to the pool, dropping the bytes remaining in it. The buffer could be used afterwards,
+     * and will acquire another buffer from the pool if it does.
+     */
+    public void release() {
+        if (null != byteBuffer) {
+            bufferPool.release(byteBuffer);
+            byteBuffer = null;
         }
-        ByteBuffer bytesReadFromChannel = getBytesFromChannel(numberOfBytesRequested, numberOfBytesReadFromBuffer,
-                channel);
-        numberOfBytesReadFromChannel = bytesReadFromChannel.capacity();
-        consolidatedBufferSize = numberOfBytesReadFromChannel + numberOfBytesReadFromBuffer;
-        byteBuffer = consolidate(consolidatedBufferSize, remainingBytesInBuffer, bytesReadFromChannel);
-        return resizeIfRequired(byteBuffer, numberOfBytesRequested);
     }
 
 }
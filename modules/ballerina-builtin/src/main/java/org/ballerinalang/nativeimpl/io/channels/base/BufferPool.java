@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.io.channels.base;
+
+import java.nio.ByteBuffer;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Pool of direct byte buffers which is shared by all the channels.
+ * </p>
+ * <p>
+ * Buffers are pooled by size classes, which are the powers of two between the minimum and the maximum pooled size.
+ * A buffer is acquired from the smallest size class which fits the requested size, and is handed back to the pool
+ * once it is no longer used. Each size class holds a bounded number of buffers, hence the direct memory held by the
+ * pool is bounded as well. Buffers larger than the maximum pooled size are not pooled, those are allocated in the
+ * heap instead.
+ * </p>
+ *
+ * @since 0.95.8
+ */
+public class BufferPool {
+
+    /**
+     * Size of the smallest size class, 1 KB.
+     */
+    private static final int DEFAULT_MINIMUM_SIZE_SHIFT = 10;
+
+    /**
+     * Size of the largest size class, 1 MB.
+     */
+    private static final int DEFAULT_MAXIMUM_SIZE_SHIFT = 20;
+
+    /**
+     * Number of bytes which could be held by the buffers of a size class, i.e. each size class holds at most 4 MB.
+     */
+    private static final int DEFAULT_BYTES_PER_SIZE_CLASS = 4 * 1024 * 1024;
+
+    private static final BufferPool INSTANCE = new BufferPool(DEFAULT_MINIMUM_SIZE_SHIFT, DEFAULT_MAXIMUM_SIZE_SHIFT,
+            DEFAULT_BYTES_PER_SIZE_CLASS);
+
+    private final int minimumSizeShift;
+
+    private final int maximumSizeShift;
+
+    private final SizeClass[] sizeClasses;
+
+    private final LongAdder allocations = new LongAdder();
+
+    private final LongAdder reuses = new LongAdder();
+
+    /**
+     * Creates a pool with the given size classes.
+     *
+     * @param minimumSizeShift  the size of the smallest size class is 2 to the power of this.
+     * @param maximumSizeShift  the size of the largest size class is 2 to the power of this.
+     * @param bytesPerSizeClass the maximum number of bytes held by the buffers of a size class.
+     */
+    public BufferPool(int minimumSizeShift, int maximumSizeShift, int bytesPerSizeClass) {
+        if (minimumSizeShift < 0 || maximumSizeShift < minimumSizeShift || maximumSizeShift > 30) {
+            throw new IllegalArgumentException("invalid size classes: 2^" + minimumSizeShift + " to 2^" +
+                    maximumSizeShift);
+        }
+        this.minimumSizeShift = minimumSizeShift;
+        this.maximumSizeShift = maximumSizeShift;
+        this.sizeClasses = new SizeClass[maximumSizeShift - minimumSizeShift + 1];
+        for (int i = 0; i < sizeClasses.length; i++) {
+            int bufferSize = 1 << (minimumSizeShift + i);
+            sizeClasses[i] = new SizeClass(Math.max(1, bytesPerSizeClass / bufferSize));
+        }
+    }
+
+    /**
+     * Gets the pool shared by all the channels.
+     *
+     * @return the shared pool.
+     */
+    public static BufferPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * <p>
+     * Acquires a buffer which could hold the given number of bytes.
+     * </p>
+     * <p>
+     * The buffer is cleared, and its capacity is the size of the size class it belongs to, which may be larger than
+     * the requested size. If the requested size exceeds the maximum pooled size, a heap buffer of the exact size is
+     * returned.
+     * </p>
+     *
+     * @param size the minimum number of bytes the buffer should hold.
+     * @return the buffer acquired.
+     */
+    public ByteBuffer acquire(int size) {
+        if (size > getMaximumPooledSize()) {
+            return ByteBuffer.allocate(size);
+        }
+        int sizeClassIndex = getSizeClassIndex(size);
+        ByteBuffer buffer = sizeClasses[sizeClassIndex].poll();
+        if (null != buffer) {
+            reuses.increment();
+            buffer.clear();
+            return buffer;
+        }
+        allocations.increment();
+        return ByteBuffer.allocateDirect(1 << (minimumSizeShift + sizeClassIndex));
+    }
+
+    /**
+     * <p>
+     * Hands a buffer back to the pool.
+     * </p>
+     * <p>
+     * The buffer should not be used once it is released. Buffers which were not acquired from a pool, and the
+     * buffers which do not fit into their size class since it is full, are left to be garbage collected.
+     * </p>
+     *
+     * @param buffer the buffer to be released.
+     */
+    public void release(ByteBuffer buffer) {
+        if (null == buffer || !buffer.isDirect() || buffer.isReadOnly()) {
+            return;
+        }
+        int capacity = buffer.capacity();
+        if (Integer.bitCount(capacity) != 1 || capacity < (1 << minimumSizeShift) ||
+                capacity > getMaximumPooledSize()) {
+            return;
+        }
+        sizeClasses[getSizeClassIndex(capacity)].offer(buffer);
+    }
+
+    /**
+     * Size of the largest buffers which are pooled.
+     *
+     * @return the maximum pooled size in bytes.
+     */
+    public int getMaximumPooledSize() {
+        return 1 << maximumSizeShift;
+    }
+
+    /**
+     * Number of direct buffers allocated by the pool, since no pooled buffer was available.
+     *
+     * @return the number of allocations.
+     */
+    public long getAllocationCount() {
+        return allocations.sum();
+    }
+
+    /**
+     * Number of times a pooled buffer was reused.
+     *
+     * @return the number of reuses.
+     */
+    public long getReuseCount() {
+        return reuses.sum();
+    }
+
+    private int getSizeClassIndex(int size) {
+        if (size <= (1 << minimumSizeShift)) {
+            return 0;
+        }
+        //The smallest power of two which is not less than the size
+        int sizeShift = Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+        return sizeShift - minimumSizeShift;
+    }
+
+    /**
+     * Buffers of a single size, which are available to be acquired.
+     */
+    private static class SizeClass {
+
+        private final Deque<ByteBuffer> buffers = new ConcurrentLinkedDeque<>();
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final int maximumCount;
+
+        SizeClass(int maximumCount) {
+            this.maximumCount = maximumCount;
+        }
+
+        ByteBuffer poll() {
+            //The most recently released buffer is reused first, as it is the most likely to be in the cache
+            ByteBuffer buffer = buffers.pollFirst();
+            if (null != buffer) {
+                count.decrementAndGet();
+            }
+            return buffer;
+        }
+
+        void offer(ByteBuffer buffer) {
+            if (count.incrementAndGet() > maximumCount) {
+                count.decrementAndGet();
+                return;
+            }
+            buffers.offerFirst(buffer);
+        }
+    }
+}
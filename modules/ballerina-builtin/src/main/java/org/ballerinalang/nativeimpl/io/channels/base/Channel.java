@@ -58,6 +58,11 @@ public abstract class Channel extends AbstractChannel {
      */
     private static final int MAX_BUFFER_CHUNK_SIZE = 1024;
 
+    /**
+     * Maximum number of bytes which could be held in an array.
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
     private static final Logger log = LoggerFactory.getLogger(Channel.class);
 
     public Channel(ByteChannel channel, int size) throws BallerinaIOException {
@@ -106,7 +111,13 @@ public abstract class Channel extends AbstractChannel {
     }
 
     /**
+     * <p>
      * Reads all bytes from the I/O source.
+     * </p>
+     * <p>
+     * If the number of bytes left in the source is known, e.g. for a file, those are read at once into a single
+     * array. Otherwise the bytes are read in chunks, which are merged once the source reaches EoF.
+     * </p>
      *
      * @return all the bytes read.
      * @throws BallerinaException during I/O error.
@@ -115,8 +126,13 @@ public abstract class Channel extends AbstractChannel {
         List<ByteBuffer> readBufferList = new ArrayList<>();
         int totalNumberOfBytes = 0;
         boolean hasRemaining = false;
+        int chunkSize = MAX_BUFFER_CHUNK_SIZE;
+        long remainingSize = getRemainingSize();
+        if (remainingSize > 0) {
+            chunkSize = (int) Math.min(remainingSize + contentBuffer.remaining(), MAX_ARRAY_SIZE);
+        }
         do {
-            ByteBuffer readBuffer = contentBuffer.get(MAX_BUFFER_CHUNK_SIZE, this);
+            ByteBuffer readBuffer = contentBuffer.get(chunkSize, this);
             int numberOfBytesRead = readBuffer.limit();
             if (numberOfBytesRead > 0) {
                 readBufferList.add(readBuffer);
@@ -124,7 +140,12 @@ public abstract class Channel extends AbstractChannel {
             } else {
                 hasRemaining = true;
             }
+            chunkSize = MAX_BUFFER_CHUNK_SIZE;
         } while (!hasRemaining);
+        if (readBufferList.size() == 1) {
+            //The array of a buffer returned by the content buffer holds exactly the bytes read
+            return readBufferList.get(0).array();
+        }
         return merge(readBufferList, totalNumberOfBytes);
     }
 
@@ -145,4 +166,13 @@ public abstract class Channel extends AbstractChannel {
         return write(outputBuffer);
     }
 
+    /**
+     * Closes the channel, handing its buffer back to the pool.
+     */
+    @Override
+    public void close() {
+        contentBuffer.release();
+        super.close();
+    }
+
 }
@@ -28,6 +28,7 @@ import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
 
 
@@ -38,6 +39,10 @@ import java.nio.charset.CodingErrorAction;
  * <p>
  * This is a stateful channel.
  * </p>
+ * <p>
+ * The bytes are decoded from, and encoded into, buffers which are reused across reads and writes, hence a read does
+ * not allocate other than for the characters returned.
+ * </p>
  */
 public class CharacterChannel {
 
@@ -60,6 +65,8 @@ public class CharacterChannel {
 
     /**
      * Will hold the decoded characters, char-buffer holds the character length and it's remaining.
+     * <p>
+     * This is reused for each decode, and grows if the decoded characters do not fit.
      */
     private CharBuffer charBuffer;
 
@@ -126,9 +133,9 @@ public class CharacterChannel {
      */
     private void appendCharsToString(StringBuilder content, int characterCount) {
         final int indexCharacterOffset = 0;
-        char[] remainingChars = new char[characterCount];
-        charBuffer.get(remainingChars, indexCharacterOffset, characterCount);
-        content.append(remainingChars);
+        //The characters are relative to the position of the buffer, and appended without an intermediate array
+        content.append(charBuffer, indexCharacterOffset, characterCount);
+        charBuffer.position(charBuffer.position() + characterCount);
         if (log.isTraceEnabled()) {
             log.trace("Characters appended to the string," + content);
         }
@@ -147,14 +154,13 @@ public class CharacterChannel {
      * less characters the remaining characters will be copied.
      * </p>
      *
-     * @param content the container which will hold the content.
+     * @param content               the container which will hold the content.
+     * @param numberOfCharsRequired the number of characters required.
      */
-    private void appendRemainingCharacters(StringBuilder content) {
+    private void appendRemainingCharacters(StringBuilder content, int numberOfCharsRequired) {
         if (null != charBuffer) {
             //Get the remaining content left in the buffer
             int numberOfCharactersRemaining = getNumberOfCharactersRemaining();
-            //The length of the string builder
-            int numberOfCharsRequired = content.capacity();
             final int minimumCharacterCount = 0;
             if (log.isDebugEnabled()) {
                 log.debug("Number of characters requested = " + numberOfCharsRequired + ",characters remaining in " +
@@ -197,10 +203,40 @@ public class CharacterChannel {
         char[] availableContent = new char[length];
         this.charBuffer.get(availableContent, 0, length);
         byte[] bytes = new String(availableContent).getBytes(bytesDecoder.charset());
-        this.charBuffer = CharBuffer.wrap(availableContent);
+        //The buffer would hold the available content only
+        this.charBuffer.position(0);
+        this.charBuffer.limit(length);
         return bytes.length;
     }
 
+    /**
+     * <p>
+     * Decodes the given bytes into the character buffer.
+     * </p>
+     * <p>
+     * The character buffer is reused, it is only re-allocated if the decoded characters might not fit into it.
+     * </p>
+     *
+     * @param byteBuffer the bytes to be decoded.
+     * @throws CharacterCodingException when an error occurs during decoding.
+     */
+    private void decode(ByteBuffer byteBuffer) throws CharacterCodingException {
+        int maximumNumberOfChars = (int) Math.ceil(byteBuffer.remaining() * bytesDecoder.maxCharsPerByte());
+        if (null == charBuffer || charBuffer.capacity() < maximumNumberOfChars) {
+            charBuffer = CharBuffer.allocate(maximumNumberOfChars);
+        }
+        charBuffer.clear();
+        bytesDecoder.reset();
+        CoderResult result = bytesDecoder.decode(byteBuffer, charBuffer, true);
+        if (result.isUnderflow()) {
+            result = bytesDecoder.flush(charBuffer);
+        }
+        if (!result.isUnderflow()) {
+            result.throwException();
+        }
+        charBuffer.flip();
+    }
+
     /**
      * <p>
      * Reads the required number of bytes into the buffer from channel.
@@ -212,8 +248,9 @@ public class CharacterChannel {
      */
     private void readBytesIntoBufferFromChannel(int numberOfBytesRequired, int numberOfCharsRequired)
             throws CharacterCodingException {
-        ByteBuffer byteBuffer = contentBuffer.get(numberOfBytesRequired, channel);
-        charBuffer = bytesDecoder.decode(byteBuffer);
+        //The bytes are decoded in place, since those are not required once decoded
+        ByteBuffer byteBuffer = contentBuffer.getView(numberOfBytesRequired, channel);
+        decode(byteBuffer);
         int numberOfCharsProcessed = charBuffer.limit();
         final int minimumNumberOfCharsRequired = 0;
         if (numberOfCharsProcessed > minimumNumberOfCharsRequired) {
@@ -235,21 +272,38 @@ public class CharacterChannel {
      * @throws BallerinaIOException I/O errors.
      */
     public String read(int numberOfCharacters) throws BallerinaIOException {
-        StringBuilder content;
+        StringBuilder content = new StringBuilder(numberOfCharacters);
+        read(content, numberOfCharacters);
+        return content.toString();
+    }
+
+    /**
+     * <p>
+     * Reads specified number of characters from a given channel, appending those to the given content.
+     * </p>
+     * <p>
+     * This allows the characters to be accumulated without an intermediate string per read.
+     * </p>
+     *
+     * @param content            the container which will hold the characters read.
+     * @param numberOfCharacters the number of characters which should be retrieved.
+     * @return the number of characters appended, which would be 0 once all the content is read.
+     * @throws BallerinaIOException I/O errors.
+     */
+    public int read(StringBuilder content, int numberOfCharacters) throws BallerinaIOException {
+        int initialLength = content.length();
         try {
             //Will identify the number of characters required
             int charsRequiredToBeReadFromChannel;
-            content = new StringBuilder(numberOfCharacters);
             int numberOfBytesRequired = numberOfCharacters * MAX_BYTES_PER_CHAR;
             //First the remaining buffer would be get and the characters remaining in the buffer will be written
-            appendRemainingCharacters(content);
-            //Content capacity would give the total size of the string builder (number of chars)
+            appendRemainingCharacters(content, numberOfCharacters);
             //Content length will give the number of characters appended to the builder through the function
             //call appendRemainingCharacters(..)
-            charsRequiredToBeReadFromChannel = content.capacity() - content.length();
+            charsRequiredToBeReadFromChannel = numberOfCharacters - (content.length() - initialLength);
             if (charsRequiredToBeReadFromChannel == 0) {
                 //This means there's no requirement to get the characters from channel
-                return content.toString();
+                return numberOfCharacters;
             }
             if (log.isDebugEnabled()) {
                 log.debug("Number of chars required to be get from the channel " + charsRequiredToBeReadFromChannel);
@@ -264,7 +318,7 @@ public class CharacterChannel {
         } catch (IOException e) {
             throw new BallerinaIOException("Error occurred while reading characters from buffer", e);
         }
-        return content.toString();
+        return content.length() - initialLength;
     }
 
     /**
@@ -274,16 +328,21 @@ public class CharacterChannel {
      */
     public String readAll() {
         StringBuilder response = new StringBuilder();
-        String value;
+        int numberOfCharactersRead;
         do {
-            value = read(MAX_CHAR_COUNT_PER_READ);
-            response.append(value);
-        } while (!value.isEmpty());
+            numberOfCharactersRead = read(response, MAX_CHAR_COUNT_PER_READ);
+        } while (numberOfCharactersRead > 0);
         return response.toString();
     }
 
     /**
+     * <p>
      * Writes a given string input into the channel.
+     * </p>
+     * <p>
+     * The characters are encoded into a buffer acquired from the pool, which is written to the channel each time it
+     * is filled.
+     * </p>
      *
      * @param content the string content to be written.
      * @param offset  the offset which should be used for writing.
@@ -291,28 +350,61 @@ public class CharacterChannel {
      * @throws BallerinaIOException during I/O error.
      */
     public int write(String content, int offset) throws BallerinaIOException {
+        if (channel == null) {
+            log.warn("The channel has already being closed");
+            return -1;
+        }
+        CharBuffer characterBuffer = CharBuffer.wrap(content);
+        characterBuffer.position(offset);
+        BufferPool bufferPool = BufferPool.getInstance();
+        long numberOfBytesRequired = (long) Math.ceil(characterBuffer.remaining() * byteEncoder.maxBytesPerChar());
+        ByteBuffer encodedBuffer = bufferPool.acquire((int) Math.min(numberOfBytesRequired,
+                bufferPool.getMaximumPooledSize()));
         try {
-            int numberOfBytesWritten = -1;
-            if (channel != null) {
-                char[] characters = content.toCharArray();
-                CharBuffer characterBuffer = CharBuffer.wrap(characters);
-                characterBuffer.position(offset);
-                ByteBuffer encodedBuffer = byteEncoder.encode(characterBuffer);
-                numberOfBytesWritten = channel.write(encodedBuffer);
-            } else {
-                log.warn("The channel has already being closed");
+            int numberOfBytesWritten = 0;
+            byteEncoder.reset();
+            CoderResult result = byteEncoder.encode(characterBuffer, encodedBuffer, true);
+            while (result.isOverflow()) {
+                numberOfBytesWritten = numberOfBytesWritten + writeEncodedBytes(encodedBuffer);
+                result = byteEncoder.encode(characterBuffer, encodedBuffer, true);
+            }
+            if (result.isUnderflow()) {
+                result = byteEncoder.flush(encodedBuffer);
+                while (result.isOverflow()) {
+                    numberOfBytesWritten = numberOfBytesWritten + writeEncodedBytes(encodedBuffer);
+                    result = byteEncoder.flush(encodedBuffer);
+                }
+            }
+            if (result.isError()) {
+                result.throwException();
             }
-            return numberOfBytesWritten;
+            return numberOfBytesWritten + writeEncodedBytes(encodedBuffer);
         } catch (CharacterCodingException e) {
             String message = "Error occurred while writing bytes to the channel " + channel.hashCode();
             throw new BallerinaIOException(message, e);
+        } finally {
+            bufferPool.release(encodedBuffer);
         }
     }
 
+    /**
+     * Writes the bytes encoded into the given buffer to the channel, and clears the buffer.
+     *
+     * @param encodedBuffer the buffer which holds the encoded bytes.
+     * @return the number of bytes written.
+     */
+    private int writeEncodedBytes(ByteBuffer encodedBuffer) {
+        encodedBuffer.flip();
+        int numberOfBytesWritten = channel.write(encodedBuffer);
+        encodedBuffer.clear();
+        return numberOfBytesWritten;
+    }
+
     /**
      * Closes the given channel.
      */
     public void close() {
+        contentBuffer.release();
         channel.close();
     }
 }
@@ -23,7 +23,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * <p>
@@ -33,6 +35,11 @@ import java.util.Arrays;
  * A readRecord will have a readRecord separator and a field separator.
  * </p>
  * <p>
+ * The separators are matched literally. Characters are read from the channel in large chunks, and are scanned for
+ * the separators only once, hence the cost of reading a record is linear to its length. Fields are copied out of the
+ * characters read as they are identified.
+ * </p>
+ * <p>
  * <b>Note : </b> this channel does not support concurrent operations, since underlying CharacterChannel is not
  * synchronous.
  * </p>
@@ -50,15 +57,29 @@ public class TextRecordChannel {
     private String fieldSeparator;
 
     /**
-     * Once the record is being identified the remaining string would hold the remaining elements.
+     * Holds the characters read from the channel, the characters before the recordStartIndex are already processed.
      */
     private StringBuilder persistentCharSequence;
 
     /**
-     * A rough character count which will contain a record. This will be resized dynamically if the length of the
-     * record is long.
+     * Index of the first character of the record which is yet to be read.
+     */
+    private int recordStartIndex = 0;
+
+    /**
+     * Index the record separator should be searched from, the characters before this were already searched.
+     */
+    private int recordSeparatorSearchIndex = 0;
+
+    /**
+     * Holds the fields of the record being read, this is reused for each record.
+     */
+    private final List<String> fields = new ArrayList<>();
+
+    /**
+     * Number of characters which will be read from the channel at once.
      */
-    private int recordCharacterCount = 100;
+    private static final int CHARACTER_COUNT_PER_READ = 8192;
 
     /**
      * Read/Writes characters.
@@ -84,43 +105,75 @@ public class TextRecordChannel {
 
 
     public TextRecordChannel(CharacterChannel channel, String recordSeparator, String fieldSeparator) {
+        if (recordSeparator.isEmpty() || fieldSeparator.isEmpty()) {
+            throw new BallerinaIOException("Record separator and field separator should not be empty");
+        }
         this.recordSeparator = recordSeparator;
         this.fieldSeparator = fieldSeparator;
         this.channel = channel;
         this.persistentCharSequence = new StringBuilder();
     }
 
+    /**
+     * <p>
+     * Finds the first occurrence of a separator within the given range of the characters read.
+     * </p>
+     * <p>
+     * The first character of the separator is scanned for, and the rest of the separator is only compared where it
+     * matches.
+     * </p>
+     *
+     * @param separator the separator to be searched.
+     * @param fromIndex index to search from.
+     * @param toIndex   index to search to, the separator should end on or before this.
+     * @return the index of the separator, or -1 if it is not found.
+     */
+    private int indexOf(String separator, int fromIndex, int toIndex) {
+        final int notFound = -1;
+        char firstCharacter = separator.charAt(0);
+        int separatorLength = separator.length();
+        int lastIndex = toIndex - separatorLength;
+        for (int index = fromIndex; index <= lastIndex; index++) {
+            if (persistentCharSequence.charAt(index) != firstCharacter) {
+                continue;
+            }
+            int matchedLength = 1;
+            while (matchedLength < separatorLength &&
+                    persistentCharSequence.charAt(index + matchedLength) == separator.charAt(matchedLength)) {
+                matchedLength++;
+            }
+            if (matchedLength == separatorLength) {
+                return index;
+            }
+        }
+        return notFound;
+    }
+
     /**
      * <p>
      * Gets record from specified sequence of characters.
      * </p>
      *
-     * @return the requested record.
+     * @return the fields of the requested record.
      * @throws BallerinaIOException during I/O error.
      */
-    private String readRecord() throws BallerinaIOException {
-        String record = null;
-        String readCharacters = "";
-        final int minimumRecordCount = 1;
-        final int numberOfSplits = 2;
+    private String[] readRecord() throws BallerinaIOException {
+        String[] record = null;
+        int numberOfCharactersRead = -1;
+        final int notFound = -1;
         do {
-            if (log.isTraceEnabled()) {
-                log.trace("char[] remaining in memory " + persistentCharSequence);
-            }
-            //We need to split the string into 2
-            String[] delimitedRecord = persistentCharSequence.toString().split(recordSeparator, numberOfSplits);
-            if (delimitedRecord.length > minimumRecordCount) {
-                record = processIdentifiedRecord(delimitedRecord);
-                int recordCharacterLength = record.length();
-                if (recordCharacterLength > recordCharacterCount) {
-                    recordCharacterCount = record.length();
-                }
+            int recordEndIndex = indexOf(recordSeparator, recordSeparatorSearchIndex, persistentCharSequence.length());
+            if (recordEndIndex != notFound) {
+                record = processIdentifiedRecord(recordEndIndex);
             } else {
-                readCharacters = readRecordFromChannel();
+                //The separator could be partially read, hence the last characters will be searched again
+                recordSeparatorSearchIndex = Math.max(recordStartIndex,
+                        persistentCharSequence.length() - recordSeparator.length() + 1);
+                numberOfCharactersRead = readRecordFromChannel();
             }
-        } while (record == null && !readCharacters.isEmpty());
+        } while (record == null && numberOfCharactersRead != 0);
 
-        if (null == record && readCharacters.isEmpty()) {
+        if (null == record && numberOfCharactersRead == 0) {
             record = readFinalRecord();
         }
         return record;
@@ -134,9 +187,7 @@ public class TextRecordChannel {
      * This operation is called when there're no more content to be retrieved from the the channel.
      * </p>
      */
-    private String readFinalRecord() {
-        final int minimumRemainingLength = 0;
-        String record = "";
+    private String[] readFinalRecord() {
         //This means there's no more to be get as records
         if (log.isDebugEnabled()) {
             log.debug("The content returned from the channel " + channel.hashCode() + " is <void>");
@@ -144,12 +195,12 @@ public class TextRecordChannel {
         //This means this will be the last record which could be get
         this.remaining = false;
         //If there're any remaining characters left we provide it as the last record
-        if (persistentCharSequence.length() > minimumRemainingLength) {
-            record = persistentCharSequence.toString();
-            if (log.isTraceEnabled()) {
-                log.trace("char [] remaining in memory, will be marked as the last record " + record);
-            }
+        if (log.isTraceEnabled()) {
+            log.trace("char [] remaining in memory, will be marked as the last record " +
+                    persistentCharSequence.substring(recordStartIndex));
         }
+        String[] record = getFields(recordStartIndex, persistentCharSequence.length());
+        recordStartIndex = persistentCharSequence.length();
         if (log.isDebugEnabled()) {
             log.debug("Final record is get from channel " + channel.hashCode() + " number of records get " +
                     "from channel " + (numberOfRecordsReadThroughChannel + 1));
@@ -159,59 +210,79 @@ public class TextRecordChannel {
 
     /**
      * <p>
-     * Reads a record from the channel.
+     * Reads characters from the channel.
+     * </p>
+     * <p>
+     * The characters of the records which were already processed are dropped before reading, hence only the
+     * characters of the record being read are moved.
      * </p>
      *
-     * @return the record content.
+     * @return the number of characters read.
      */
-    private String readRecordFromChannel() {
-        String readCharacters;
-        readCharacters = channel.read(recordCharacterCount);
-        if (log.isTraceEnabled()) {
-            log.trace("char [] get from channel," + channel.hashCode() + "=" + readCharacters);
+    private int readRecordFromChannel() {
+        if (recordStartIndex > 0) {
+            persistentCharSequence.delete(0, recordStartIndex);
+            recordSeparatorSearchIndex = recordSeparatorSearchIndex - recordStartIndex;
+            recordStartIndex = 0;
         }
-        persistentCharSequence.append(readCharacters);
+        int numberOfCharactersRead = channel.read(persistentCharSequence, CHARACTER_COUNT_PER_READ);
         if (log.isTraceEnabled()) {
+            log.trace(numberOfCharactersRead + " chars get from channel " + channel.hashCode());
             log.trace("char [] appended to the memory " + persistentCharSequence);
         }
-        return readCharacters;
+        return numberOfCharactersRead;
     }
 
     /**
      * <p>
-     * Identifies the record from the provided collection.
+     * Identifies the record which ends at the given index.
      * </p>
      * <p>
-     * <b>Note :</b> This operation would append the remaining content to the string.
+     * <b>Note :</b> This operation would mark the characters of the record as processed.
      * </p>
      *
-     * @param delimitedRecords collection of records which required to be split.
-     * @return the record content value.
+     * @param recordEndIndex index of the record separator which terminates the record.
+     * @return the fields of the record.
      */
-    private String processIdentifiedRecord(String[] delimitedRecords) {
-        String record;
-        final int minimumRemainingLength = 0;
-        final int delimitedRecordIndex = 0;
-        final int delimitedRemainingIndex = 1;
-        String recordContent = delimitedRecords[delimitedRemainingIndex];
-        record = delimitedRecords[delimitedRecordIndex];
-        persistentCharSequence.setLength(minimumRemainingLength);
-        persistentCharSequence.append(recordContent);
+    private String[] processIdentifiedRecord(int recordEndIndex) {
+        String[] record = getFields(recordStartIndex, recordEndIndex);
+        recordStartIndex = recordEndIndex + recordSeparator.length();
+        recordSeparatorSearchIndex = recordStartIndex;
         if (log.isTraceEnabled()) {
-            log.trace("Record identified from remaining char[] in memory " + record);
-            log.trace("The char[] left after split " + persistentCharSequence);
+            log.trace("Record identified from remaining char[] in memory " + Arrays.toString(record));
         }
         return record;
     }
 
     /**
+     * <p>
      * Get the fields identified through the record.
+     * </p>
+     * <p>
+     * The fields are identified as {@link String#split(String)} would, i.e. trailing empty fields are omitted.
+     * </p>
      *
-     * @param record the record which contains all the fields.
+     * @param recordStart index of the first character of the record.
+     * @param recordEnd   index after the last character of the record.
      * @return fields which are separated as records.
      */
-    private String[] getFields(String record) {
-        return record.split(fieldSeparator);
+    private String[] getFields(int recordStart, int recordEnd) {
+        final int notFound = -1;
+        fields.clear();
+        int fieldStart = recordStart;
+        int fieldEnd;
+        while ((fieldEnd = indexOf(fieldSeparator, fieldStart, recordEnd)) != notFound) {
+            fields.add(persistentCharSequence.substring(fieldStart, fieldEnd));
+            fieldStart = fieldEnd + fieldSeparator.length();
+        }
+        fields.add(persistentCharSequence.substring(fieldStart, recordEnd));
+        int numberOfFields = fields.size();
+        if (numberOfFields > 1) {
+            while (numberOfFields > 0 && fields.get(numberOfFields - 1).isEmpty()) {
+                numberOfFields--;
+            }
+        }
+        return fields.subList(0, numberOfFields).toArray(new String[numberOfFields]);
     }
 
     /**
@@ -232,9 +303,9 @@ public class TextRecordChannel {
             if (log.isDebugEnabled()) {
                 log.debug("Reading record " + numberOfRecordsReadThroughChannel + " from " + channel.hashCode());
             }
-            String record = readRecord();
+            String[] record = readRecord();
             if (null != record) {
-                fields = getFields(record);
+                fields = record;
                 numberOfRecordsReadThroughChannel++;
                 if (log.isDebugEnabled()) {
                     log.debug("Record " + numberOfRecordsReadThroughChannel + " returned " + fields.length + " from " +
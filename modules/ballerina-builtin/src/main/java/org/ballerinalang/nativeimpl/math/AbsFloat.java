@@ -17,11 +17,9 @@
 */
 package org.ballerinalang.nativeimpl.math;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BFloat;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -38,10 +36,10 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.FLOAT)},
         isPublic = true
 )
-public class AbsFloat extends AbstractNativeFunction {
+public class AbsFloat extends AbstractRegisterNativeFunction {
 
-    public BValue[] execute(Context ctx) {
-        double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.abs(value)));
+    public void execute(NativeRegisters registers) {
+        double value = registers.getFloatArgument(0);
+        registers.setFloatReturn(0, Math.abs(value));
     }
 }
@@ -17,11 +17,9 @@
 */
 package org.ballerinalang.nativeimpl.math;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -39,11 +37,11 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.INT)},
         isPublic = true
 )
-public class FloorDiv extends AbstractNativeFunction {
+public class FloorDiv extends AbstractRegisterNativeFunction {
 
-    public BValue[] execute(Context ctx) {
-        long a = getIntArgument(ctx, 0);
-        long b = getIntArgument(ctx, 1);
-        return getBValues(new BInteger(Math.floorDiv(a, b)));
+    public void execute(NativeRegisters registers) {
+        long a = registers.getIntArgument(0);
+        long b = registers.getIntArgument(1);
+        registers.setIntReturn(0, Math.floorDiv(a, b));
     }
 }
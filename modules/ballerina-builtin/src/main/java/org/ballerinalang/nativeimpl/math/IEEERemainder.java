@@ -17,11 +17,9 @@
 */
 package org.ballerinalang.nativeimpl.math;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BFloat;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -39,11 +37,11 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.FLOAT)},
         isPublic = true
 )
-public class IEEERemainder extends AbstractNativeFunction {
+public class IEEERemainder extends AbstractRegisterNativeFunction {
 
-    public BValue[] execute(Context ctx) {
-        double a = getFloatArgument(ctx, 0);
-        double b = getFloatArgument(ctx, 1);
-        return getBValues(new BFloat(Math.IEEEremainder(a, b)));
+    public void execute(NativeRegisters registers) {
+        double a = registers.getFloatArgument(0);
+        double b = registers.getFloatArgument(1);
+        registers.setFloatReturn(0, Math.IEEEremainder(a, b));
     }
 }
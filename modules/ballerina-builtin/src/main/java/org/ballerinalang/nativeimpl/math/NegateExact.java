@@ -17,11 +17,9 @@
 */
 package org.ballerinalang.nativeimpl.math;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -38,10 +36,10 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.INT)},
         isPublic = true
 )
-public class NegateExact extends AbstractNativeFunction {
+public class NegateExact extends AbstractRegisterNativeFunction {
 
-    public BValue[] execute(Context ctx) {
-        long value = getIntArgument(ctx, 0);
-        return getBValues(new BInteger(Math.negateExact(value)));
+    public void execute(NativeRegisters registers) {
+        long value = registers.getIntArgument(0);
+        registers.setIntReturn(0, Math.negateExact(value));
     }
 }
@@ -17,11 +17,9 @@
 */
 package org.ballerinalang.nativeimpl.math;
 
-import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -41,12 +39,12 @@ import java.util.concurrent.ThreadLocalRandom;
         returnType = {@ReturnType(type = TypeKind.INT)},
         isPublic = true
 )
-public class RandomInRange extends AbstractNativeFunction {
+public class RandomInRange extends AbstractRegisterNativeFunction {
 
-    public BValue[] execute(Context ctx) {
-        long start = getIntArgument(ctx, 0);
-        long end = getIntArgument(ctx, 1);
+    public void execute(NativeRegisters registers) {
+        long start = registers.getIntArgument(0);
+        long end = registers.getIntArgument(1);
         long random = ThreadLocalRandom.current().nextLong(start, end);
-        return getBValues(new BInteger(random));
+        registers.setIntReturn(0, random);
     }
 }
@@ -18,6 +18,7 @@
 package org.ballerinalang.bre;
 
 import org.ballerinalang.bre.bvm.ControlStack;
+import org.ballerinalang.bre.bvm.SuspensionPoint;
 import org.ballerinalang.bre.bvm.WorkerCounter;
 import org.ballerinalang.connector.impl.BServerConnectorFuture;
 import org.ballerinalang.model.values.BStruct;
@@ -58,6 +59,9 @@ public class Context {
     // TODO : Fix this. Added this for fork-join. Issue #3718.
     public boolean blockingInvocation;
 
+    private SuspensionPoint suspensionPoint;
+    private Runnable resumeHandler;
+
     @Deprecated
     public Context() {
         this.controlStack = new ControlStack();
@@ -152,6 +156,32 @@ public class Context {
         this.startIP = startIP;
     }
 
+    /**
+     * Get the condition the worker of this context is suspended on.
+     *
+     * @return suspension point, or {@code null} if the worker is not suspended
+     */
+    public SuspensionPoint getSuspensionPoint() {
+        return suspensionPoint;
+    }
+
+    public void setSuspensionPoint(SuspensionPoint suspensionPoint) {
+        this.suspensionPoint = suspensionPoint;
+    }
+
+    /**
+     * Get the task which resumes the worker of this context after it was suspended.
+     *
+     * @return resume handler, or {@code null} if the worker should be resumed by a new VM
+     */
+    public Runnable getResumeHandler() {
+        return resumeHandler;
+    }
+
+    public void setResumeHandler(Runnable resumeHandler) {
+        this.resumeHandler = resumeHandler;
+    }
+
     public ProgramFile getProgramFile() {
         return programFile;
     }
@@ -67,6 +67,8 @@ import org.ballerinalang.model.values.BXMLAttributes;
 import org.ballerinalang.model.values.BXMLQName;
 import org.ballerinalang.model.values.StructureType;
 import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractRegisterNativeFunction;
+import org.ballerinalang.natives.NativeRegisters;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.TransactionStatus;
 import org.ballerinalang.util.codegen.ActionInfo;
@@ -147,11 +149,20 @@ public class BLangVM {
     private ProgramFile programFile;
     private ConstantPoolEntry[] constPool;
     // Instruction pointer;
-    private int ip = 0;
+    int ip = 0;
     private Instruction[] code;
+    // Pre-decoded instructions of the current package, if the linked dispatch mode is enabled
+    private LinkedInstruction[] linkedCode;
+
+    private NativeRegisters nativeRegisters;
 
     private StructureType globalMemBlock;
 
+    // Future of a non-blocking action invoked by this VM, which is yet to be listened to
+    private ConnectorFuture pendingActionFuture;
+
+    private BClientConnectorFutureListener pendingActionListener;
+
     public BLangVM(ProgramFile programFile) {
         this.programFile = programFile;
         this.globalMemBlock = programFile.getGlobalMemoryBlock();
@@ -165,15 +176,32 @@ public class BLangVM {
     }
 
     public void run(Context ctx) {
+        runUntilSuspended(ctx);
+    }
+
+    /**
+     * Run the worker of the given context until it returns, or until it is suspended by the
+     * {@link WorkerScheduler}.
+     *
+     * @param ctx context of the worker
+     * @return true if the worker was suspended, in which case it is resumed by the resume handler of its context
+     */
+    boolean runUntilSuspended(Context ctx) {
         StackFrame currentFrame = ctx.getControlStack().getCurrentFrame();
         this.constPool = currentFrame.packageInfo.getConstPoolEntries();
         this.code = currentFrame.packageInfo.getInstructions();
+        this.linkedCode = currentFrame.packageInfo.getLinkedInstructions();
 
         this.context = ctx;
         this.controlStack = context.getControlStack();
         this.ip = context.getStartIP();
 
+        SuspensionPoint resumedFrom = context.getSuspensionPoint();
+        context.setSuspensionPoint(null);
+
         if (context.getError() != null) {
+            // A failed non-blocking action is handled as an error of its callee frame
+            context.nonBlockingContext = null;
             handleError();
         } else if (isWaitingOnNonBlockingAction()) {
             // // TODO : Temporary to solution make non-blocking working.
@@ -181,11 +209,16 @@ public class BLangVM {
             StackFrame calleeSF = controlStack.popFrame();
             this.constPool = controlStack.currentFrame.packageInfo.getConstPoolEntries();
             this.code = controlStack.currentFrame.packageInfo.getInstructions();
+            this.linkedCode = controlStack.currentFrame.packageInfo.getLinkedInstructions();
             handleReturnFromNativeCallableUnit(controlStack.currentFrame, context.nonBlockingContext.retRegs,
                     calleeSF.returnValues, retTypes);
             context.nonBlockingContext = null;
+        } else if (resumedFrom instanceof ForkJoinBarrier) {
+            ForkJoinBarrier forkJoinBarrier = (ForkJoinBarrier) resumedFrom;
+            completeForkJoin(forkJoinBarrier.forkJoinIns, forkJoinBarrier.resultMsgs, forkJoinBarrier.isJoined());
         }
 
+        boolean suspended = false;
         try {
             exec();
         } catch (Throwable e) {
@@ -198,15 +231,38 @@ public class BLangVM {
             context.setError(BLangVMErrors.createError(context, ip, message));
             handleError();
         } finally {
-            if (!isWaitingOnNonBlockingAction() || context.getError() != null) {
+            SuspensionPoint suspensionPoint = context.getSuspensionPoint();
+            if (suspensionPoint != null) {
+                // The worker may be resumed on another thread as soon as it is registered, hence this should be
+                // the last access to the context from this thread.
+                Context suspendedContext = context;
+                suspended = suspendedContext == ctx;
+                suspensionPoint.onReady(() -> WorkerScheduler.resume(suspendedContext));
+            } else if (!isWaitingOnNonBlockingAction() || context.getError() != null) {
                 // end of the active worker from the VM. ( graceful or forced exit on unhandled error. )
                 // Doesn't count non-blocking action invocation.
                 ctx.endTrackWorker();
             }
+            if (pendingActionFuture != null) {
+                // The action may complete on another thread, and resume the context, as soon as it is listened to,
+                // hence this is the last access to the context from this thread.
+                ConnectorFuture future = pendingActionFuture;
+                pendingActionFuture = null;
+                future.setConnectorFutureListener(pendingActionListener);
+                pendingActionListener = null;
+            }
         }
+        return suspended;
     }
 
-    public void execWorker(Context context, int startIP) {
+    /**
+     * Execute a worker from the given instruction.
+     *
+     * @param context context of the worker
+     * @param startIP address of the first instruction of the worker
+     * @return true if the worker was suspended, in which case it is resumed by the resume handler of its context
+     */
+    public boolean execWorker(Context context, int startIP) {
         context.setStartIP(startIP);
         VMDebugManager debugManager = programFile.getDebugManager();
         if (debugManager.isDebugEnabled() && debugManager.isDebugSessionActive()) {
@@ -215,7 +271,7 @@ public class BLangVM {
             context.setDebugContext(debugContext);
             debugManager.addDebugContext(debugContext);
         }
-        run(context);
+        return runUntilSuspended(context);
     }
 
     /**
@@ -242,10 +298,15 @@ public class BLangVM {
                 debugging(ip);
             }
             Instruction instruction = code[ip];
-            int opcode = instruction.getOpcode();
-            int[] operands = instruction.getOperands();
+            LinkedInstruction linkedInstruction = linkedCode != null ? linkedCode[ip] : null;
             ip++;
             StackFrame sf = controlStack.currentFrame;
+            if (linkedInstruction != null && linkedInstruction.execute(this, sf)) {
+                continue;
+            }
+
+            int opcode = instruction.getOpcode();
+            int[] operands = instruction.getOperands();
 
             switch (opcode) {
                 case InstructionCodes.ICONST:
@@ -1349,6 +1410,10 @@ public class BLangVM {
                     break;
                 }
 
+                // Values stored in a shared array are reachable from other workers as well.
+                if (bArray.isShared()) {
+                    BMap.share(sf.refRegs[k]);
+                }
                 try {
                     bArray.add(sf.longRegs[j], sf.refRegs[k]);
                 } catch (Exception e) {
@@ -1403,6 +1468,8 @@ public class BLangVM {
             case InstructionCodes.RGSTORE:
                 i = operands[0];
                 j = operands[1];
+                // Package level variables are visible to all the workers.
+                BMap.share(sf.refRegs[i]);
                 globalMemBlock.setRefField(j, sf.refRegs[i]);
                 break;
 
@@ -1476,6 +1543,10 @@ public class BLangVM {
                     break;
                 }
 
+                // Values stored in a shared struct or connector are reachable from other workers as well.
+                if (structureType.isShared()) {
+                    BMap.share(sf.refRegs[j]);
+                }
                 structureType.setRefField(fieldIndex, sf.refRegs[j]);
                 break;
 
@@ -2733,7 +2804,7 @@ public class BLangVM {
         StackFrame callerSF = controlStack.currentFrame;
 
         WorkerInfo defaultWorkerInfo = callableUnitInfo.getDefaultWorkerInfo();
-        StackFrame calleeSF = new StackFrame(callableUnitInfo, defaultWorkerInfo, ip, retRegs);
+        StackFrame calleeSF = controlStack.getFramePool().acquire(callableUnitInfo, defaultWorkerInfo, ip, retRegs);
         controlStack.pushFrame(calleeSF);
 
         // Copy arg values from the current StackFrame to the new StackFrame
@@ -2742,6 +2813,7 @@ public class BLangVM {
         // TODO Improve following two lines
         this.constPool = calleeSF.packageInfo.getConstPoolEntries();
         this.code = calleeSF.packageInfo.getInstructions();
+        this.linkedCode = calleeSF.packageInfo.getLinkedInstructions();
         ip = defaultWorkerInfo.getCodeAttributeInfo().getCodeAddrs();
     }
 
@@ -2814,7 +2886,15 @@ public class BLangVM {
         } else {
             workerCount = joinWorkerNames.size();
         }
+        if (canSuspend()) {
+            suspendOnJoinWorkers(forkJoinIns, resultMsgs, workers, joinWorkerNames, workerCount, timeout);
+            return;
+        }
         boolean success = this.invokeJoinWorkers(workers, joinWorkerNames, workerCount, timeout);
+        completeForkJoin(forkJoinIns, resultMsgs, success);
+    }
+
+    private void completeForkJoin(InstructionFORKJOIN forkJoinIns, Queue<WorkerResult> resultMsgs, boolean success) {
         if (success) {
             this.ip = forkJoinIns.joinBlockAddr;
             /* assign values to join block message arrays */
@@ -2856,6 +2936,36 @@ public class BLangVM {
         }
     }
 
+    private void suspendOnJoinWorkers(InstructionFORKJOIN forkJoinIns, Queue<WorkerResult> resultMsgs,
+                                      Map<String, BLangVMWorkers.WorkerExecutor> workers,
+                                      Set<String> joinWorkerNames, int joinCount, long timeout) {
+        ForkJoinBarrier forkJoinBarrier = new ForkJoinBarrier(forkJoinIns, resultMsgs, joinCount);
+        ExecutorService exec = WorkerScheduler.getWorkerExecutor();
+        workers.forEach((k, v) -> {
+            if (joinWorkerNames.contains(k)) {
+                v.setForkJoinBarrier(forkJoinBarrier);
+            }
+            exec.submit(v);
+        });
+        if (timeout != Long.MAX_VALUE) {
+            forkJoinBarrier.setTimeoutTask(ThreadPoolFactory.getInstance().getWorkerTimer()
+                    .schedule(forkJoinBarrier::timedOut, timeout, TimeUnit.SECONDS));
+        }
+
+        // The join, or the timeout, block is selected when the worker is resumed.
+        suspend(forkJoinBarrier, ip);
+    }
+
+    private boolean canSuspend() {
+        return WorkerScheduler.isSuspendingMode() && !programFile.getDebugManager().isDebugEnabled();
+    }
+
+    private void suspend(SuspensionPoint suspensionPoint, int resumeIP) {
+        context.setSuspensionPoint(suspensionPoint);
+        context.setStartIP(resumeIP);
+        ip = -1;
+    }
+
     private void startWorkers() {
         CallableUnitInfo callableUnitInfo = this.controlStack.currentFrame.callableUnitInfo;
         BLangVMWorkers.invoke(programFile, callableUnitInfo, this.context);
@@ -2876,6 +2986,7 @@ public class BLangVM {
             controlStack.popFrame();
             this.constPool = this.controlStack.currentFrame.packageInfo.getConstPoolEntries();
             this.code = this.controlStack.currentFrame.packageInfo.getInstructions();
+            this.linkedCode = this.controlStack.currentFrame.packageInfo.getLinkedInstructions();
             ip = parentSF.retAddrs;
         } else {
             String msg = workerContext.parentSF.returnedWorker + " already returned.";
@@ -2885,7 +2996,17 @@ public class BLangVM {
     }
 
     public void handleWorkerReceive(WorkerDataChannelInfo workerDataChannel, BType[] types, int[] regs) {
-        BValue[] passedInValues = (BValue[]) workerDataChannel.takeData();
+        BValue[] passedInValues;
+        if (canSuspend()) {
+            passedInValues = (BValue[]) workerDataChannel.tryTakeData();
+            if (passedInValues == null) {
+                // Execute the receive again once data is available.
+                suspend(workerDataChannel::awaitData, ip - 1);
+                return;
+            }
+        } else {
+            passedInValues = (BValue[]) workerDataChannel.takeData();
+        }
         StackFrame currentFrame = controlStack.currentFrame;
         copyArgValuesForWorkerReceive(currentFrame, regs, types, passedInValues);
     }
@@ -2913,6 +3034,7 @@ public class BLangVM {
                     break;
                 default:
                     arguments[i] = callerSF.refRegs[argReg];
+                    BMap.share(arguments[i]);
             }
         }
     }
@@ -2969,7 +3091,9 @@ public class BLangVM {
         }
 
         for (int i = 0; i <= refLocalVals; i++) {
-            calleeSF.getRefRegs()[i] = callerSF.getRefRegs()[i];
+            BRefType value = callerSF.getRefRegs()[i];
+            BMap.share(value);
+            calleeSF.getRefRegs()[i] = value;
         }
 
         for (int i = 0; i <= blobLocalVals; i++) {
@@ -2985,6 +3109,9 @@ public class BLangVM {
         System.arraycopy(parent.stringRegs, 0, workerSF.stringRegs, 0, codeInfo.getMaxStringLocalVars());
         System.arraycopy(parent.byteRegs, 0, workerSF.byteRegs, 0, codeInfo.getMaxByteLocalVars());
         System.arraycopy(parent.refRegs, 0, workerSF.refRegs, 0, codeInfo.getMaxRefLocalVars());
+        for (int i = 0; i < codeInfo.getMaxRefLocalVars(); i++) {
+            BMap.share(workerSF.refRegs[i]);
+        }
     }
 
 
@@ -3021,17 +3148,21 @@ public class BLangVM {
         }
     }
 
-    private void handleReturn() {
-
-        // TODO Cache stack frames -  improvement
+    void handleReturn() {
         StackFrame currentSF = controlStack.popFrame();
         if (controlStack.currentFrame != null) {
             StackFrame callersSF = controlStack.currentFrame;
             // TODO Improve
             this.constPool = callersSF.packageInfo.getConstPoolEntries();
             this.code = callersSF.packageInfo.getInstructions();
+            this.linkedCode = callersSF.packageInfo.getLinkedInstructions();
         }
         ip = currentSF.retAddrs;
+
+        // The debugger tracks frames by identity, hence frames are not reused in a debug session.
+        if (!programFile.getDebugManager().isDebugEnabled()) {
+            controlStack.getFramePool().release(currentSF);
+        }
     }
 
     private void copyWorkersReturnValues(StackFrame workerSF, StackFrame parentsSF) {
@@ -3089,8 +3220,13 @@ public class BLangVM {
         return sb.toString();
     }
 
-    private void invokeNativeFunction(FunctionInfo functionInfo, int[] argRegs, int[] retRegs) {
+    void invokeNativeFunction(FunctionInfo functionInfo, int[] argRegs, int[] retRegs) {
         StackFrame callerSF = controlStack.currentFrame;
+        AbstractNativeFunction nativeFunction = functionInfo.getNativeFunction();
+        if (nativeFunction instanceof AbstractRegisterNativeFunction) {
+            invokeRegisterNativeFunction((AbstractRegisterNativeFunction) nativeFunction, callerSF, argRegs, retRegs);
+            return;
+        }
 
         // TODO : Remove once we handle this properly for return values
         BType[] retTypes = functionInfo.getRetParamTypes();
@@ -3102,7 +3238,6 @@ public class BLangVM {
         controlStack.pushFrame(caleeSF);
 
         // Invoke Native function;
-        AbstractNativeFunction nativeFunction = functionInfo.getNativeFunction();
         try {
             nativeFunction.executeNative(context);
         } catch (BLangNullReferenceException e) {
@@ -3119,6 +3254,25 @@ public class BLangVM {
         handleReturnFromNativeCallableUnit(callerSF, retRegs, returnValues, retTypes);
     }
 
+    private void invokeRegisterNativeFunction(AbstractRegisterNativeFunction nativeFunction, StackFrame callerSF,
+                                              int[] argRegs, int[] retRegs) {
+        // Arguments are read from, and return values are written to, the caller's registers. Hence neither a
+        // stack frame nor the return value array is needed.
+        if (nativeRegisters == null || nativeRegisters.getContext() != context) {
+            nativeRegisters = new NativeRegisters(context);
+        }
+        nativeRegisters.bind(callerSF, argRegs, retRegs);
+        try {
+            nativeFunction.execute(nativeRegisters);
+        } catch (BLangNullReferenceException e) {
+            context.setError(BLangVMErrors.createNullRefError(context, ip));
+            handleError();
+        } catch (Throwable e) {
+            context.setError(BLangVMErrors.createError(this.context, ip, e.getMessage()));
+            handleError();
+        }
+    }
+
     private void invokeNativeAction(ActionInfo actionInfo, int[] argRegs, int[] retRegs) {
         StackFrame callerSF = controlStack.currentFrame;
 
@@ -3155,7 +3309,8 @@ public class BLangVM {
                 if (future == null) {
                     throw new BallerinaException("Native action doesn't provide a future object to sync");
                 }
-                future.setConnectorFutureListener(listener);
+                pendingActionFuture = future;
+                pendingActionListener = listener;
 
                 ip = -1;
             } else {
@@ -3805,6 +3960,7 @@ public class BLangVM {
             PackageInfo packageInfo = currentFrame.packageInfo;
             this.constPool = packageInfo.getConstPoolEntries();
             this.code = packageInfo.getInstructions();
+            this.linkedCode = packageInfo.getLinkedInstructions();
             ip = match.getIpTarget();
             return;
         }
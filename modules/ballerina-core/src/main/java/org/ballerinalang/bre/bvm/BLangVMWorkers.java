@@ -30,7 +30,6 @@ import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BRefValueArray;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
 import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.codegen.WorkerInfo;
@@ -66,7 +65,7 @@ public class BLangVMWorkers {
             populateWorkerStack(callableUnitInfo, workerInfo, workerContext, workerReturnIndex, callerSF);
 
             BLangVM bLangVM = new BLangVM(programFile);
-            ExecutorService executor = ThreadPoolFactory.getInstance().getWorkerExecutor();
+            ExecutorService executor = WorkerScheduler.getWorkerExecutor();
             WorkerExecutor workerRunner = new WorkerExecutor(bLangVM, workerContext, workerInfo, 
                     new ConcurrentLinkedQueue<>());
             workerContext.startTrackWorker();
@@ -137,6 +136,8 @@ public class BLangVMWorkers {
         private WorkerInfo workerInfo;
         private Queue<WorkerResult> resultHolder;
         private Semaphore resultCounter;
+        private ForkJoinBarrier forkJoinBarrier;
+        private boolean started;
 
         public WorkerExecutor(BLangVM bLangVM, Context bContext, WorkerInfo workerInfo, 
                 Queue<WorkerResult> resultHolder) {
@@ -144,13 +145,25 @@ public class BLangVMWorkers {
             this.bContext = bContext;
             this.workerInfo = workerInfo;
             this.resultHolder = resultHolder;
+            // A suspended worker is resumed through its executor, so that the results are collected on completion.
+            bContext.setResumeHandler(this);
         }
 
         @SuppressWarnings("rawtypes")
         @Override
         public void run() throws BallerinaException {
+            boolean suspended;
+            if (started) {
+                suspended = new BLangVM(bContext.getProgramFile()).runUntilSuspended(bContext);
+            } else {
+                started = true;
+                suspended = bLangVM.execWorker(bContext, workerInfo.getCodeAttributeInfo().getCodeAddrs());
+            }
+            if (suspended) {
+                return;
+            }
+
             BRefValueArray bRefValueArray = new BRefValueArray(new BArrayType(BTypes.typeAny));
-            bLangVM.execWorker(bContext, workerInfo.getCodeAttributeInfo().getCodeAddrs());
             if (bContext.getError() != null) {
                 String stackTraceStr = BLangVMErrors.getPrintableStackTrace(bContext.getError());
                 outStream.println("error in worker '" + workerInfo.getWorkerName() + "': " + stackTraceStr);
@@ -187,11 +200,18 @@ public class BLangVMWorkers {
             if (this.resultCounter != null) {
                 this.resultCounter.release();
             }
+            if (this.forkJoinBarrier != null) {
+                this.forkJoinBarrier.workerCompleted();
+            }
         }
         
         public void setResultCounterSemaphore(Semaphore resultCounter) {
             this.resultCounter = resultCounter;
         }
+
+        void setForkJoinBarrier(ForkJoinBarrier forkJoinBarrier) {
+            this.forkJoinBarrier = forkJoinBarrier;
+        }
         
     }
 
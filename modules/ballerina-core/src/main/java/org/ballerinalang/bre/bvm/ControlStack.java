@@ -26,6 +26,8 @@ public class ControlStack {
 
     public StackFrame currentFrame;
 
+    private final StackFramePool framePool = new StackFramePool();
+
     public void pushFrame(StackFrame frame) {
         frame.prevStackFrame = this.currentFrame;
         this.currentFrame = frame;
@@ -43,5 +45,9 @@ public class ControlStack {
     public StackFrame getCurrentFrame() {
         return currentFrame;
     }
+
+    public StackFramePool getFramePool() {
+        return framePool;
+    }
     
 }
@@ -0,0 +1,126 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.util.codegen.Instruction.InstructionFORKJOIN;
+
+import java.util.Queue;
+import java.util.concurrent.Future;
+
+/**
+ * {@code ForkJoinBarrier} is the suspension point of a worker waiting on the join workers of a fork-join.
+ * <p>
+ * The barrier completes either when the required number of join workers have finished, or when the fork-join
+ * times out, whichever happens first.
+ *
+ * @since 0.95.8
+ */
+class ForkJoinBarrier implements SuspensionPoint {
+
+    final InstructionFORKJOIN forkJoinIns;
+
+    final Queue<WorkerResult> resultMsgs;
+
+    private int remainingWorkers;
+
+    private boolean completed;
+
+    private boolean joined;
+
+    private Runnable resumeTask;
+
+    private Future<?> timeoutTask;
+
+    ForkJoinBarrier(InstructionFORKJOIN forkJoinIns, Queue<WorkerResult> resultMsgs, int joinCount) {
+        this.forkJoinIns = forkJoinIns;
+        this.resultMsgs = resultMsgs;
+        this.remainingWorkers = joinCount;
+        if (joinCount <= 0) {
+            completed = true;
+            joined = true;
+        }
+    }
+
+    /**
+     * Notify that one of the join workers has finished.
+     */
+    void workerCompleted() {
+        Runnable task;
+        synchronized (this) {
+            if (completed || --remainingWorkers > 0) {
+                return;
+            }
+            completed = true;
+            joined = true;
+            task = resumeTask;
+            resumeTask = null;
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+            }
+        }
+        if (task != null) {
+            task.run();
+        }
+    }
+
+    /**
+     * Notify that the fork-join has timed out.
+     */
+    void timedOut() {
+        Runnable task;
+        synchronized (this) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            task = resumeTask;
+            resumeTask = null;
+        }
+        if (task != null) {
+            task.run();
+        }
+    }
+
+    synchronized void setTimeoutTask(Future<?> timeoutTask) {
+        if (!completed) {
+            this.timeoutTask = timeoutTask;
+        } else {
+            timeoutTask.cancel(false);
+        }
+    }
+
+    /**
+     * Check whether the join workers finished before the timeout.
+     *
+     * @return true if the join condition was met, false if the fork-join timed out
+     */
+    synchronized boolean isJoined() {
+        return joined;
+    }
+
+    @Override
+    public void onReady(Runnable resumeTask) {
+        synchronized (this) {
+            if (!completed) {
+                this.resumeTask = resumeTask;
+                return;
+            }
+        }
+        resumeTask.run();
+    }
+}
@@ -0,0 +1,673 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.model.util.StringUtils;
+import org.ballerinalang.model.values.StructureType;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.Instruction.InstructionCALL;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
+
+/**
+ * {@code InstructionLinker} converts the instructions of a package into {@link LinkedInstruction}s.
+ * <p>
+ * Only the frequently executed instructions (constants, moves, arithmetic, comparisons, branches, struct
+ * field access, calls and returns) are linked. All the other instructions are left as null entries and are
+ * executed by the interpreter loop in {@link BLangVM}. A linked instruction also falls back to the interpreter
+ * whenever it would have to raise an error, so that error handling stays in one place.
+ *
+ * @since 0.95.8
+ */
+public class InstructionLinker {
+
+    private InstructionLinker() {
+    }
+
+    /**
+     * Check whether the linked dispatch mode is selected for this runtime.
+     *
+     * @return true if instructions should be linked at package load time
+     */
+    public static boolean isEnabled() {
+        return Constants.VM_DISPATCH_LINKED.equalsIgnoreCase(System.getProperty(Constants.SYSTEM_PROP_VM_DISPATCH));
+    }
+
+    /**
+     * Link all the instructions of the given package.
+     *
+     * @param packageInfo package to link
+     * @return linked instructions, indexed by the instruction address
+     */
+    public static LinkedInstruction[] link(PackageInfo packageInfo) {
+        Instruction[] code = packageInfo.getInstructions();
+        ConstantPoolEntry[] constPool = packageInfo.getConstPoolEntries();
+        LinkedInstruction[] linkedCode = new LinkedInstruction[code.length];
+        for (int ip = 0; ip < code.length; ip++) {
+            linkedCode[ip] = link(code[ip], constPool);
+        }
+        return linkedCode;
+    }
+
+    private static LinkedInstruction link(Instruction instruction, ConstantPoolEntry[] constPool) {
+        int[] operands = instruction.getOperands();
+        switch (instruction.getOpcode()) {
+            case InstructionCodes.ICONST:
+                return linkIntConst(((IntegerCPEntry) constPool[operands[0]]).getValue(), operands[1]);
+            case InstructionCodes.FCONST:
+                return linkFloatConst(((FloatCPEntry) constPool[operands[0]]).getValue(), operands[1]);
+            case InstructionCodes.SCONST:
+                return linkStringConst(((StringCPEntry) constPool[operands[0]]).getValue(), operands[1]);
+            case InstructionCodes.ICONST_0:
+                return linkIntConst(0, operands[0]);
+            case InstructionCodes.ICONST_1:
+                return linkIntConst(1, operands[0]);
+            case InstructionCodes.ICONST_2:
+                return linkIntConst(2, operands[0]);
+            case InstructionCodes.ICONST_3:
+                return linkIntConst(3, operands[0]);
+            case InstructionCodes.ICONST_4:
+                return linkIntConst(4, operands[0]);
+            case InstructionCodes.ICONST_5:
+                return linkIntConst(5, operands[0]);
+            case InstructionCodes.FCONST_0:
+                return linkFloatConst(0, operands[0]);
+            case InstructionCodes.FCONST_1:
+                return linkFloatConst(1, operands[0]);
+            case InstructionCodes.FCONST_2:
+                return linkFloatConst(2, operands[0]);
+            case InstructionCodes.FCONST_3:
+                return linkFloatConst(3, operands[0]);
+            case InstructionCodes.FCONST_4:
+                return linkFloatConst(4, operands[0]);
+            case InstructionCodes.FCONST_5:
+                return linkFloatConst(5, operands[0]);
+            case InstructionCodes.BCONST_0:
+                return linkBooleanConst(0, operands[0]);
+            case InstructionCodes.BCONST_1:
+                return linkBooleanConst(1, operands[0]);
+            case InstructionCodes.RCONST_NULL:
+                return linkRefNull(operands[0]);
+
+            case InstructionCodes.IMOVE:
+            case InstructionCodes.FMOVE:
+            case InstructionCodes.SMOVE:
+            case InstructionCodes.BMOVE:
+            case InstructionCodes.LMOVE:
+            case InstructionCodes.RMOVE:
+                return linkMove(instruction.getOpcode(), operands[0], operands[1]);
+
+            case InstructionCodes.IFIELDLOAD:
+            case InstructionCodes.FFIELDLOAD:
+            case InstructionCodes.SFIELDLOAD:
+            case InstructionCodes.BFIELDLOAD:
+            case InstructionCodes.LFIELDLOAD:
+            case InstructionCodes.RFIELDLOAD:
+                return linkFieldLoad(instruction.getOpcode(), operands[0], operands[1], operands[2]);
+
+            case InstructionCodes.IFIELDSTORE:
+            case InstructionCodes.FFIELDSTORE:
+            case InstructionCodes.SFIELDSTORE:
+            case InstructionCodes.BFIELDSTORE:
+            case InstructionCodes.LFIELDSTORE:
+            case InstructionCodes.RFIELDSTORE:
+                return linkFieldStore(instruction.getOpcode(), operands[0], operands[1], operands[2]);
+
+            case InstructionCodes.IADD:
+            case InstructionCodes.FADD:
+            case InstructionCodes.SADD:
+            case InstructionCodes.ISUB:
+            case InstructionCodes.FSUB:
+            case InstructionCodes.IMUL:
+            case InstructionCodes.FMUL:
+            case InstructionCodes.IDIV:
+            case InstructionCodes.FDIV:
+            case InstructionCodes.IMOD:
+            case InstructionCodes.FMOD:
+            case InstructionCodes.IEQ:
+            case InstructionCodes.FEQ:
+            case InstructionCodes.SEQ:
+            case InstructionCodes.BEQ:
+            case InstructionCodes.REQ:
+            case InstructionCodes.INE:
+            case InstructionCodes.FNE:
+            case InstructionCodes.SNE:
+            case InstructionCodes.BNE:
+            case InstructionCodes.RNE:
+            case InstructionCodes.IGT:
+            case InstructionCodes.FGT:
+            case InstructionCodes.IGE:
+            case InstructionCodes.FGE:
+            case InstructionCodes.ILT:
+            case InstructionCodes.FLT:
+            case InstructionCodes.ILE:
+            case InstructionCodes.FLE:
+                return linkBinaryOp(instruction.getOpcode(), operands[0], operands[1], operands[2]);
+
+            case InstructionCodes.INEG:
+            case InstructionCodes.FNEG:
+            case InstructionCodes.BNOT:
+            case InstructionCodes.REQ_NULL:
+            case InstructionCodes.RNE_NULL:
+            case InstructionCodes.SEQ_NULL:
+            case InstructionCodes.SNE_NULL:
+                return linkUnaryOp(instruction.getOpcode(), operands[0], operands[1]);
+
+            case InstructionCodes.BR_TRUE:
+            case InstructionCodes.BR_FALSE:
+            case InstructionCodes.GOTO:
+                return linkBranch(instruction.getOpcode(), operands);
+
+            case InstructionCodes.CALL:
+                InstructionCALL callIns = (InstructionCALL) instruction;
+                return linkCall(callIns.functionInfo, callIns.argRegs, callIns.retRegs);
+            case InstructionCodes.NCALL:
+                InstructionCALL nCallIns = (InstructionCALL) instruction;
+                return linkNativeCall(nCallIns.functionInfo, nCallIns.argRegs, nCallIns.retRegs);
+
+            case InstructionCodes.IRET:
+            case InstructionCodes.FRET:
+            case InstructionCodes.SRET:
+            case InstructionCodes.BRET:
+            case InstructionCodes.LRET:
+            case InstructionCodes.RRET:
+                return linkReturnValue(instruction.getOpcode(), operands[0], operands[1]);
+            case InstructionCodes.RET:
+                return (vm, sf) -> {
+                    vm.handleReturn();
+                    return true;
+                };
+            default:
+                return null;
+        }
+    }
+
+    private static LinkedInstruction linkIntConst(long value, int i) {
+        return (vm, sf) -> {
+            sf.longRegs[i] = value;
+            return true;
+        };
+    }
+
+    private static LinkedInstruction linkFloatConst(double value, int i) {
+        return (vm, sf) -> {
+            sf.doubleRegs[i] = value;
+            return true;
+        };
+    }
+
+    private static LinkedInstruction linkStringConst(String value, int i) {
+        return (vm, sf) -> {
+            sf.stringRegs[i] = value;
+            return true;
+        };
+    }
+
+    private static LinkedInstruction linkBooleanConst(int value, int i) {
+        return (vm, sf) -> {
+            sf.intRegs[i] = value;
+            return true;
+        };
+    }
+
+    private static LinkedInstruction linkRefNull(int i) {
+        return (vm, sf) -> {
+            sf.refRegs[i] = null;
+            return true;
+        };
+    }
+
+    private static LinkedInstruction linkMove(int opcode, int lvIndex, int i) {
+        switch (opcode) {
+            case InstructionCodes.IMOVE:
+                return (vm, sf) -> {
+                    sf.longRegs[i] = sf.longRegs[lvIndex];
+                    return true;
+                };
+            case InstructionCodes.FMOVE:
+                return (vm, sf) -> {
+                    sf.doubleRegs[i] = sf.doubleRegs[lvIndex];
+                    return true;
+                };
+            case InstructionCodes.SMOVE:
+                return (vm, sf) -> {
+                    sf.stringRegs[i] = sf.stringRegs[lvIndex];
+                    return true;
+                };
+            case InstructionCodes.BMOVE:
+                return (vm, sf) -> {
+                    sf.intRegs[i] = sf.intRegs[lvIndex];
+                    return true;
+                };
+            case InstructionCodes.LMOVE:
+                return (vm, sf) -> {
+                    sf.byteRegs[i] = sf.byteRegs[lvIndex];
+                    return true;
+                };
+            default:
+                return (vm, sf) -> {
+                    sf.refRegs[i] = sf.refRegs[lvIndex];
+                    return true;
+                };
+        }
+    }
+
+    private static LinkedInstruction linkFieldLoad(int opcode, int i, int fieldIndex, int j) {
+        switch (opcode) {
+            case InstructionCodes.IFIELDLOAD:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    sf.longRegs[j] = structureType.getIntField(fieldIndex);
+                    return true;
+                };
+            case InstructionCodes.FFIELDLOAD:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    sf.doubleRegs[j] = structureType.getFloatField(fieldIndex);
+                    return true;
+                };
+            case InstructionCodes.SFIELDLOAD:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    sf.stringRegs[j] = structureType.getStringField(fieldIndex);
+                    return true;
+                };
+            case InstructionCodes.BFIELDLOAD:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    sf.intRegs[j] = structureType.getBooleanField(fieldIndex);
+                    return true;
+                };
+            case InstructionCodes.LFIELDLOAD:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    sf.byteRegs[j] = structureType.getBlobField(fieldIndex);
+                    return true;
+                };
+            default:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    sf.refRegs[j] = structureType.getRefField(fieldIndex);
+                    return true;
+                };
+        }
+    }
+
+    private static LinkedInstruction linkFieldStore(int opcode, int i, int fieldIndex, int j) {
+        switch (opcode) {
+            case InstructionCodes.IFIELDSTORE:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    structureType.setIntField(fieldIndex, sf.longRegs[j]);
+                    return true;
+                };
+            case InstructionCodes.FFIELDSTORE:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    structureType.setFloatField(fieldIndex, sf.doubleRegs[j]);
+                    return true;
+                };
+            case InstructionCodes.SFIELDSTORE:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    structureType.setStringField(fieldIndex, sf.stringRegs[j]);
+                    return true;
+                };
+            case InstructionCodes.BFIELDSTORE:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    structureType.setBooleanField(fieldIndex, sf.intRegs[j]);
+                    return true;
+                };
+            case InstructionCodes.LFIELDSTORE:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    structureType.setBlobField(fieldIndex, sf.byteRegs[j]);
+                    return true;
+                };
+            default:
+                return (vm, sf) -> {
+                    StructureType structureType = (StructureType) sf.refRegs[i];
+                    if (structureType == null) {
+                        return false;
+                    }
+                    structureType.setRefField(fieldIndex, sf.refRegs[j]);
+                    return true;
+                };
+        }
+    }
+
+    private static LinkedInstruction linkBinaryOp(int opcode, int i, int j, int k) {
+        switch (opcode) {
+            case InstructionCodes.IADD:
+                return (vm, sf) -> {
+                    sf.longRegs[k] = sf.longRegs[i] + sf.longRegs[j];
+                    return true;
+                };
+            case InstructionCodes.FADD:
+                return (vm, sf) -> {
+                    sf.doubleRegs[k] = sf.doubleRegs[i] + sf.doubleRegs[j];
+                    return true;
+                };
+            case InstructionCodes.SADD:
+                return (vm, sf) -> {
+                    sf.stringRegs[k] = sf.stringRegs[i] + sf.stringRegs[j];
+                    return true;
+                };
+            case InstructionCodes.ISUB:
+                return (vm, sf) -> {
+                    sf.longRegs[k] = sf.longRegs[i] - sf.longRegs[j];
+                    return true;
+                };
+            case InstructionCodes.FSUB:
+                return (vm, sf) -> {
+                    sf.doubleRegs[k] = sf.doubleRegs[i] - sf.doubleRegs[j];
+                    return true;
+                };
+            case InstructionCodes.IMUL:
+                return (vm, sf) -> {
+                    sf.longRegs[k] = sf.longRegs[i] * sf.longRegs[j];
+                    return true;
+                };
+            case InstructionCodes.FMUL:
+                return (vm, sf) -> {
+                    sf.doubleRegs[k] = sf.doubleRegs[i] * sf.doubleRegs[j];
+                    return true;
+                };
+            case InstructionCodes.IDIV:
+                return (vm, sf) -> {
+                    if (sf.longRegs[j] == 0) {
+                        return false;
+                    }
+                    sf.longRegs[k] = sf.longRegs[i] / sf.longRegs[j];
+                    return true;
+                };
+            case InstructionCodes.FDIV:
+                return (vm, sf) -> {
+                    if (sf.doubleRegs[j] == 0) {
+                        return false;
+                    }
+                    sf.doubleRegs[k] = sf.doubleRegs[i] / sf.doubleRegs[j];
+                    return true;
+                };
+            case InstructionCodes.IMOD:
+                return (vm, sf) -> {
+                    if (sf.longRegs[j] == 0) {
+                        return false;
+                    }
+                    sf.longRegs[k] = sf.longRegs[i] % sf.longRegs[j];
+                    return true;
+                };
+            case InstructionCodes.FMOD:
+                return (vm, sf) -> {
+                    if (sf.doubleRegs[j] == 0) {
+                        return false;
+                    }
+                    sf.doubleRegs[k] = sf.doubleRegs[i] % sf.doubleRegs[j];
+                    return true;
+                };
+            case InstructionCodes.IEQ:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.longRegs[i] == sf.longRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.FEQ:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.doubleRegs[i] == sf.doubleRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.SEQ:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = StringUtils.isEqual(sf.stringRegs[i], sf.stringRegs[j]) ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.BEQ:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.intRegs[i] == sf.intRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.REQ:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.refRegs[i] == sf.refRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.INE:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.longRegs[i] != sf.longRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.FNE:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.doubleRegs[i] != sf.doubleRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.SNE:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = !StringUtils.isEqual(sf.stringRegs[i], sf.stringRegs[j]) ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.BNE:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.intRegs[i] != sf.intRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.RNE:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.refRegs[i] != sf.refRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.IGT:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.longRegs[i] > sf.longRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.FGT:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.doubleRegs[i] > sf.doubleRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.IGE:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.longRegs[i] >= sf.longRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.FGE:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.doubleRegs[i] >= sf.doubleRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.ILT:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.longRegs[i] < sf.longRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.FLT:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.doubleRegs[i] < sf.doubleRegs[j] ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.ILE:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.longRegs[i] <= sf.longRegs[j] ? 1 : 0;
+                    return true;
+                };
+            default:
+                return (vm, sf) -> {
+                    sf.intRegs[k] = sf.doubleRegs[i] <= sf.doubleRegs[j] ? 1 : 0;
+                    return true;
+                };
+        }
+    }
+
+    private static LinkedInstruction linkUnaryOp(int opcode, int i, int j) {
+        switch (opcode) {
+            case InstructionCodes.INEG:
+                return (vm, sf) -> {
+                    sf.longRegs[j] = -sf.longRegs[i];
+                    return true;
+                };
+            case InstructionCodes.FNEG:
+                return (vm, sf) -> {
+                    sf.doubleRegs[j] = -sf.doubleRegs[i];
+                    return true;
+                };
+            case InstructionCodes.BNOT:
+                return (vm, sf) -> {
+                    sf.intRegs[j] = sf.intRegs[i] == 0 ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.REQ_NULL:
+                return (vm, sf) -> {
+                    sf.intRegs[j] = sf.refRegs[i] == null ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.RNE_NULL:
+                return (vm, sf) -> {
+                    sf.intRegs[j] = sf.refRegs[i] != null ? 1 : 0;
+                    return true;
+                };
+            case InstructionCodes.SEQ_NULL:
+                return (vm, sf) -> {
+                    sf.intRegs[j] = sf.stringRegs[i] == null ? 1 : 0;
+                    return true;
+                };
+            default:
+                return (vm, sf) -> {
+                    sf.intRegs[j] = sf.stringRegs[i] != null ? 1 : 0;
+                    return true;
+                };
+        }
+    }
+
+    private static LinkedInstruction linkBranch(int opcode, int[] operands) {
+        switch (opcode) {
+            case InstructionCodes.BR_TRUE:
+                int trueCondIndex = operands[0];
+                int trueTarget = operands[1];
+                return (vm, sf) -> {
+                    if (sf.intRegs[trueCondIndex] == 1) {
+                        vm.ip = trueTarget;
+                    }
+                    return true;
+                };
+            case InstructionCodes.BR_FALSE:
+                int falseCondIndex = operands[0];
+                int falseTarget = operands[1];
+                return (vm, sf) -> {
+                    if (sf.intRegs[falseCondIndex] == 0) {
+                        vm.ip = falseTarget;
+                    }
+                    return true;
+                };
+            default:
+                int target = operands[0];
+                return (vm, sf) -> {
+                    vm.ip = target;
+                    return true;
+                };
+        }
+    }
+
+    private static LinkedInstruction linkCall(FunctionInfo functionInfo, int[] argRegs, int[] retRegs) {
+        return (vm, sf) -> {
+            vm.invokeCallableUnit(functionInfo, argRegs, retRegs);
+            return true;
+        };
+    }
+
+    private static LinkedInstruction linkNativeCall(FunctionInfo functionInfo, int[] argRegs, int[] retRegs) {
+        return (vm, sf) -> {
+            vm.invokeNativeFunction(functionInfo, argRegs, retRegs);
+            return true;
+        };
+    }
+
+    private static LinkedInstruction linkReturnValue(int opcode, int i, int j) {
+        switch (opcode) {
+            case InstructionCodes.IRET:
+                return (vm, sf) -> {
+                    sf.prevStackFrame.longRegs[sf.retRegIndexes[i]] = sf.longRegs[j];
+                    return true;
+                };
+            case InstructionCodes.FRET:
+                return (vm, sf) -> {
+                    sf.prevStackFrame.doubleRegs[sf.retRegIndexes[i]] = sf.doubleRegs[j];
+                    return true;
+                };
+            case InstructionCodes.SRET:
+                return (vm, sf) -> {
+                    sf.prevStackFrame.stringRegs[sf.retRegIndexes[i]] = sf.stringRegs[j];
+                    return true;
+                };
+            case InstructionCodes.BRET:
+                return (vm, sf) -> {
+                    sf.prevStackFrame.intRegs[sf.retRegIndexes[i]] = sf.intRegs[j];
+                    return true;
+                };
+            case InstructionCodes.LRET:
+                return (vm, sf) -> {
+                    sf.prevStackFrame.byteRegs[sf.retRegIndexes[i]] = sf.byteRegs[j];
+                    return true;
+                };
+            default:
+                return (vm, sf) -> {
+                    sf.prevStackFrame.refRegs[sf.retRegIndexes[i]] = sf.refRegs[j];
+                    return true;
+                };
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+/**
+ * {@code LinkedInstruction} is a pre-decoded form of a Ballerina bytecode instruction.
+ * <p>
+ * Operands and constant pool entries are resolved once, when the package is loaded, so that
+ * the {@link BLangVM} can execute the instruction with a single dispatch.
+ *
+ * @since 0.95.8
+ */
+@FunctionalInterface
+public interface LinkedInstruction {
+
+    /**
+     * Execute this instruction on the given stack frame. The instruction pointer of the VM is already
+     * pointing to the next instruction when this method is called.
+     *
+     * @param vm the VM executing the instruction
+     * @param sf current stack frame
+     * @return true if the instruction was executed, false if the VM should fall back to the interpreter
+     * (e.g. to raise an error)
+     */
+    boolean execute(BLangVM vm, StackFrame sf);
+}
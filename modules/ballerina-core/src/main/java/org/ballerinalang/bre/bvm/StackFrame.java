@@ -35,6 +35,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * @since 0.88
  */
 public class StackFrame {
+
+    // Zero value of a blob register. A zero length array is immutable, hence shared by all the frames.
+    private static final byte[] EMPTY_BLOB_VALUE = new byte[0];
+
     long[] longRegs;
     double[] doubleRegs;
     String[] stringRegs;
@@ -64,6 +68,12 @@ public class StackFrame {
     
     public StackFrame prevStackFrame;
 
+    // Whether this frame is managed by a StackFramePool
+    boolean pooled;
+
+    // Whether this frame is referenced by other workers, in which case it cannot be reused
+    boolean escaped;
+
     public StackFrame(PackageInfo packageInfo, int retAddrs, int[] retRegIndexes) {
         this.packageInfo = packageInfo;
         this.retAddrs = retAddrs;
@@ -81,7 +91,7 @@ public class StackFrame {
         this.stringRegs = new String[codeAttribInfo.getMaxStringRegs()];
         this.intRegs = new int[codeAttribInfo.getMaxIntRegs()];
         this.byteRegs = new byte[codeAttribInfo.getMaxByteRegs()][];
-        Arrays.fill(this.byteRegs, new byte[0]);
+        Arrays.fill(this.byteRegs, EMPTY_BLOB_VALUE);
         this.refRegs = new BRefType[codeAttribInfo.getMaxRefRegs()];
 
         this.retAddrs = retAddrs;
@@ -104,7 +114,7 @@ public class StackFrame {
         this.stringRegs = new String[codeAttribInfo.getMaxStringRegs()];
         this.intRegs = new int[codeAttribInfo.getMaxIntRegs()];
         this.byteRegs = new byte[codeAttribInfo.getMaxByteRegs()][];
-        Arrays.fill(this.byteRegs, new byte[0]);
+        Arrays.fill(this.byteRegs, EMPTY_BLOB_VALUE);
         this.refRegs = new BRefType[codeAttribInfo.getMaxRefRegs()];
 
         this.retAddrs = retAddrs;
@@ -175,4 +185,33 @@ public class StackFrame {
     public void markedAsReturned() {
         this.workerReturned.set(true);
     }
+
+    /**
+     * Prepare a released frame for a new invocation of the same worker.
+     *
+     * @param retAddrs      return address of the caller
+     * @param retRegIndexes caller's register indexes to which the return values should be copied
+     */
+    void reset(int retAddrs, int[] retRegIndexes) {
+        this.retAddrs = retAddrs;
+        this.retRegIndexes = retRegIndexes;
+        this.errorThrown = null;
+        this.returnValues = null;
+        this.returnedWorker = "";
+        this.prevStackFrame = null;
+        this.workerReturned.set(false);
+    }
+
+    /**
+     * Reset all the registers to their zero values. Local variables without an initializer rely on this, and
+     * clearing the string and reference registers also releases the values held by a returned frame.
+     */
+    void clearRegisters() {
+        Arrays.fill(this.longRegs, 0);
+        Arrays.fill(this.doubleRegs, 0);
+        Arrays.fill(this.stringRegs, null);
+        Arrays.fill(this.intRegs, 0);
+        Arrays.fill(this.byteRegs, EMPTY_BLOB_VALUE);
+        Arrays.fill(this.refRegs, null);
+    }
 }
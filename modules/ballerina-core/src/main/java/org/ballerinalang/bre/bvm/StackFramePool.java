@@ -0,0 +1,108 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.WorkerInfo;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * {@code StackFramePool} reuses the stack frames, and their registers, of returned callable units.
+ * <p>
+ * A pool belongs to the {@link ControlStack} of a single worker, hence it is never accessed concurrently.
+ * Frames are kept per {@link WorkerInfo}, since the register sizes are defined by the worker's code attribute.
+ *
+ * @since 0.95.8
+ */
+public class StackFramePool {
+
+    private static final int MAX_FREE_FRAMES_PER_WORKER = 16;
+
+    private final Map<WorkerInfo, Deque<StackFrame>> freeFrames = new IdentityHashMap<>();
+
+    private long allocatedFrameCount;
+
+    private long reusedFrameCount;
+
+    /**
+     * Get a stack frame for an invocation of the given worker.
+     *
+     * @param callableUnitInfo callable unit being invoked
+     * @param workerInfo       worker of the callable unit being invoked
+     * @param retAddrs         return address of the caller
+     * @param retRegIndexes    caller's register indexes to which the return values should be copied
+     * @return a new or a reused stack frame with all the registers set to their zero values
+     */
+    public StackFrame acquire(CallableUnitInfo callableUnitInfo, WorkerInfo workerInfo, int retAddrs,
+                              int[] retRegIndexes) {
+        Deque<StackFrame> frames = freeFrames.get(workerInfo);
+        StackFrame frame = frames != null ? frames.pollFirst() : null;
+        if (frame == null) {
+            allocatedFrameCount++;
+            frame = new StackFrame(callableUnitInfo, workerInfo, retAddrs, retRegIndexes);
+            frame.pooled = true;
+            return frame;
+        }
+
+        reusedFrameCount++;
+        frame.reset(retAddrs, retRegIndexes);
+        return frame;
+    }
+
+    /**
+     * Return a frame, which is no longer in the control stack, to the pool. Frames which were not acquired from a
+     * pool, or which are still referenced by other workers, are ignored.
+     *
+     * @param frame returned stack frame
+     */
+    public void release(StackFrame frame) {
+        if (!frame.pooled || frame.escaped) {
+            return;
+        }
+
+        Deque<StackFrame> frames = freeFrames.computeIfAbsent(frame.workerInfo, k -> new ArrayDeque<>());
+        if (frames.size() >= MAX_FREE_FRAMES_PER_WORKER) {
+            return;
+        }
+
+        frame.clearRegisters();
+        frames.addFirst(frame);
+    }
+
+    /**
+     * Number of stack frames allocated by this pool.
+     *
+     * @return allocated frame count
+     */
+    public long getAllocatedFrameCount() {
+        return allocatedFrameCount;
+    }
+
+    /**
+     * Number of invocations served with a reused stack frame.
+     *
+     * @return reused frame count
+     */
+    public long getReusedFrameCount() {
+        return reusedFrameCount;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+/**
+ * {@code SuspensionPoint} is the condition a suspended worker is waiting for, e.g. data on a worker data channel
+ * or the completion of the workers of a fork-join.
+ *
+ * @since 0.95.8
+ */
+@FunctionalInterface
+public interface SuspensionPoint {
+
+    /**
+     * Register the task which resumes the suspended worker. The task is run, exactly once, as soon as the condition
+     * is met, which may be immediately on the calling thread.
+     *
+     * @param resumeTask task which resumes the suspended worker
+     */
+    void onReady(Runnable resumeTask);
+}
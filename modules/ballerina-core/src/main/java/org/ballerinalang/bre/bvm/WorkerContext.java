@@ -34,6 +34,10 @@ public class WorkerContext extends Context {
         super(programFile);
         this.parent = parent;
         parentSF = parent.getControlStack().currentFrame;
+        if (parentSF != null) {
+            // Workers write their results back to the parent frame, hence it should not be reused.
+            parentSF.escaped = true;
+        }
         this.workerCounter = parent.getWorkerCounter();
         this.populateContextPropsFromParent();
     }
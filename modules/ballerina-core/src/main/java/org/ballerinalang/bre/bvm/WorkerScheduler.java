@@ -0,0 +1,73 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.runtime.threadpool.ResponseWorkerThread;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@code WorkerScheduler} decides how workers wait for each other.
+ * <p>
+ * By default a worker waiting on a worker data channel, or on the workers of a fork-join, parks its thread. In the
+ * suspending mode, selected with {@code -Dballerina.vm.scheduler=suspending}, the VM instead leaves the worker's
+ * {@link ControlStack} in its {@link Context} and releases the thread. The worker is resumed on a small pool of
+ * carrier threads once the {@link SuspensionPoint} it is waiting for is ready.
+ *
+ * @since 0.95.8
+ */
+public class WorkerScheduler {
+
+    private WorkerScheduler() {
+    }
+
+    /**
+     * Check whether blocked workers should be suspended instead of parking their threads.
+     *
+     * @return true if the suspending scheduler is selected
+     */
+    public static boolean isSuspendingMode() {
+        return Constants.VM_SCHEDULER_SUSPENDING.equalsIgnoreCase(
+                System.getProperty(Constants.SYSTEM_PROP_VM_SCHEDULER));
+    }
+
+    /**
+     * Get the executor on which new workers should be started.
+     *
+     * @return worker executor
+     */
+    public static ExecutorService getWorkerExecutor() {
+        ThreadPoolFactory threadPoolFactory = ThreadPoolFactory.getInstance();
+        return isSuspendingMode() ? threadPoolFactory.getWorkerCarrierExecutor() :
+                threadPoolFactory.getWorkerExecutor();
+    }
+
+    /**
+     * Resume the suspended worker of the given context on a carrier thread.
+     *
+     * @param context context of the suspended worker
+     */
+    static void resume(Context context) {
+        Runnable resumeHandler = context.getResumeHandler();
+        ThreadPoolFactory.getInstance().getWorkerCarrierExecutor()
+                .execute(resumeHandler != null ? resumeHandler : new ResponseWorkerThread(context));
+    }
+}
@@ -19,7 +19,6 @@ package org.ballerinalang.model;
 
 import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.types.BType;
-import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.types.TypeTags;
 import org.ballerinalang.model.util.JsonGenerator;
 import org.ballerinalang.model.util.JsonNode;
@@ -48,7 +47,7 @@ public class DataTableJSONDataSource implements JSONDataSource {
     private boolean isInTransaction;
 
     public DataTableJSONDataSource(BDataTable df, boolean isInTransaction) {
-        this(df, new DefaultJSONObjectGenerator(), isInTransaction);
+        this(df, null, isInTransaction);
     }
 
     public DataTableJSONDataSource(BDataTable df, JSONObjectGenerator objGen, boolean isInTransaction) {
@@ -60,78 +59,89 @@ public class DataTableJSONDataSource implements JSONDataSource {
     @Override
     public void serialize(JsonGenerator gen) throws IOException {
         gen.writeStartArray();
+        String[] fieldNames = null;
         while (this.df.hasNext(this.isInTransaction)) {
             this.df.next();
-            this.objGen.transform(this.df).serialize(gen);
+            if (this.objGen != null) {
+                this.objGen.transform(this.df).serialize(gen);
+                continue;
+            }
+
+            // Rows are written straight to the generator, without building a JsonNode per row
+            if (fieldNames == null) {
+                fieldNames = getFieldNames(this.df);
+            }
+            writeRow(this.df, fieldNames, gen);
         }
         gen.writeEndArray();
         this.df.close(this.isInTransaction);
     }
 
-    /**
-     * Default {@link DataTableJSONDataSource.JSONObjectGenerator} implementation based
-     * on the datatable's in-built column definition.
-     */
-    private static class DefaultJSONObjectGenerator implements JSONObjectGenerator {
+    private static String[] getFieldNames(BDataTable df) {
+        BStructType structType = df.getStructType();
+        BStructType.StructField[] structFields = structType != null ? structType.getStructFields() : null;
+        String[] fieldNames = new String[df.getColumnDefs().size()];
+        int index = 0;
+        for (ColumnDefinition col : df.getColumnDefs()) {
+            fieldNames[index] = structFields != null ? structFields[index].getFieldName() : col.getName();
+            ++index;
+        }
+        return fieldNames;
+    }
 
-        @Override
-        public JsonNode transform(BDataTable df) throws IOException {
-            JsonNode objNode = new JsonNode(Type.OBJECT);
-            BStructType structType = df.getStructType();
-            BStructType.StructField[] structFields = null;
-            if (structType != null) {
-                structFields = structType.getStructFields();
-            }
-            int index = 0;
-            for (ColumnDefinition col : df.getColumnDefs()) {
-                String name;
-                if (structFields != null) {
-                    name = structFields[index].getFieldName();
-                } else {
-                    name = col.getName();
-                }
-                constructJsonData(df, objNode, name, col.getType(), index + 1, structFields);
-                ++index;
+    private static void writeRow(BDataTable df, String[] fieldNames, JsonGenerator gen) throws IOException {
+        BStructType structType = df.getStructType();
+        BStructType.StructField[] structFields = structType != null ? structType.getStructFields() : null;
+        gen.startObject();
+        int index = 0;
+        for (ColumnDefinition col : df.getColumnDefs()) {
+            int columnIndex = index + 1;
+            switch (col.getType()) {
+            case INT:
+                gen.writeFieldName(fieldNames[index]);
+                gen.writeNumber(df.getInt(columnIndex));
+                break;
+            case FLOAT:
+                gen.writeFieldName(fieldNames[index]);
+                gen.writeNumber(df.getFloat(columnIndex));
+                break;
+            case BOOLEAN:
+                gen.writeFieldName(fieldNames[index]);
+                gen.writeBoolean(df.getBoolean(columnIndex));
+                break;
+            case BLOB:
+                writeString(gen, fieldNames[index], df.getBlob(columnIndex));
+                break;
+            case ARRAY:
+                gen.writeFieldName(fieldNames[index]);
+                getDataArray(df, columnIndex).serialize(gen);
+                break;
+            case JSON:
+                gen.writeFieldName(fieldNames[index]);
+                JsonParser.parse(df.getString(columnIndex)).serialize(gen);
+                break;
+            case STRUCT:
+                gen.writeFieldName(fieldNames[index]);
+                getStructData(df.getStruct(columnIndex), structFields, columnIndex).serialize(gen);
+                break;
+            case XML:
+                /* not supported */
+                break;
+            default:
+                writeString(gen, fieldNames[index], df.getString(columnIndex));
+                break;
             }
-
-            return objNode;
+            ++index;
         }
-
+        gen.endObject();
     }
 
-    private static void constructJsonData(BDataTable df, JsonNode objNode, String name, TypeKind type, int index,
-            BStructType.StructField[] structFields) {
-        switch (type) {
-        case STRING:
-            objNode.set(name, df.getString(index));
-            break;
-        case INT:
-            objNode.set(name, df.getInt(index));
-            break;
-        case FLOAT:
-            objNode.set(name, df.getFloat(index));
-            break;
-        case BOOLEAN:
-            objNode.set(name, df.getBoolean(index));
-            break;
-        case BLOB:
-            objNode.set(name, df.getBlob(index));
-            break;
-        case ARRAY:
-            objNode.set(name, getDataArray(df, index));
-            break;
-        case JSON:
-            objNode.set(name, JsonParser.parse(df.getString(index)));
-            break;
-        case STRUCT:
-            objNode.set(name, getStructData(df.getStruct(index), structFields, index));
-            break;
-        case XML:
-            /* not supported */
-            break;
-        default:
-            objNode.set(name, df.getString(index));
-            break;
+    private static void writeString(JsonGenerator gen, String fieldName, String value) throws IOException {
+        gen.writeFieldName(fieldName);
+        if (value != null) {
+            gen.writeString(value);
+        } else {
+            gen.writeNull();
         }
     }
 
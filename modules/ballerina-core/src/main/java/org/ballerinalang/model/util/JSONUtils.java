@@ -86,6 +86,9 @@ public class JSONUtils {
      * @return Boolean 'true' if JSON has given field.
      */
     public static boolean hasElement(BJSON json, String elementName) {
+        if (json.isLazy()) {
+            return json.getNodeType() == Type.OBJECT && json.hasLazyField(elementName);
+        }
         JsonNode jsonNode = json.value();
         return jsonNode.has(elementName);
     }
@@ -261,6 +264,7 @@ public class JSONUtils {
         BJSON bjson = new BJSON(new JsonNode(Type.OBJECT));
         JsonNode jsonNode = bjson.value();
         BStructType structType = (BStructType) struct.getType();
+        JsonByteBufWriter.cacheFieldNames(structType);
 
         int longRegIndex = -1;
         int doubleRegIndex = -1;
@@ -331,6 +335,10 @@ public class JSONUtils {
      * @return Element of JSON having the provided name
      */
     public static BJSON getElement(BJSON json, String elementName) {
+        if (json.isLazy()) {
+            return getLazyElement(json, elementName);
+        }
+
         JsonNode jsonNode = json.value();
         
         if (!jsonNode.isObject()) {
@@ -388,6 +396,9 @@ public class JSONUtils {
         if (json == null) {
             return false;
         }
+        if (json.isLazy()) {
+            return json.getNodeType() == Type.ARRAY;
+        }
         JsonNode jsonNode = json.value();
         return jsonNode.isArray();
     }
@@ -402,6 +413,9 @@ public class JSONUtils {
         if (json == null) {
             return -1;
         }
+        if (json.isLazy()) {
+            return json.getNodeType() == Type.ARRAY ? json.getLazySize() : 0;
+        }
         JsonNode jsonNode = json.value();
         return jsonNode.size();
     }
@@ -414,6 +428,10 @@ public class JSONUtils {
      * @return Element at the given index, if the provided JSON is an array. Error, otherwise. 
      */
     public static BJSON getArrayElement(BJSON json, long index) {
+        if (json.isLazy()) {
+            return getLazyArrayElement(json, index);
+        }
+
         JsonNode jsonNode = json.value();
 
         if (!jsonNode.isArray()) {
@@ -916,7 +934,10 @@ public class JSONUtils {
     }
     
     public static String getTypeName(JsonNode jsonValue) {
-        Type nodeType = jsonValue.getType();
+        return getTypeName(jsonValue.getType());
+    }
+
+    private static String getTypeName(Type nodeType) {
         switch(nodeType) {
             case LONG:
                 return "int";
@@ -931,6 +952,38 @@ public class JSONUtils {
         }
     }
     
+    private static BJSON getLazyElement(BJSON json, String elementName) {
+        Type nodeType = json.getNodeType();
+        if (nodeType != Type.OBJECT) {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.CANNOT_GET_VALUE_INCOMPATIBLE_TYPES,
+                    elementName, getComplexObjectTypeName(Type.OBJECT), getTypeName(nodeType));
+        }
+
+        try {
+            return json.getLazyField(elementName);
+        } catch (Throwable t) {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.JSON_GET_ERROR, t.getMessage());
+        }
+    }
+
+    private static BJSON getLazyArrayElement(BJSON json, long index) {
+        Type nodeType = json.getNodeType();
+        if (nodeType != Type.ARRAY) {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.CANNOT_GET_VALUE_INCOMPATIBLE_TYPES,
+                    index, getComplexObjectTypeName(Type.ARRAY), getTypeName(nodeType));
+        }
+
+        try {
+            int size = json.getLazySize();
+            if (size <= index) {
+                throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.ARRAY_INDEX_OUT_OF_RANGE, index, size);
+            }
+            return json.getLazyElement((int) index);
+        } catch (Throwable t) {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.JSON_GET_ERROR, t.getMessage());
+        }
+    }
+
     private static String getComplexObjectTypeName(Type nodeType) {
         return "json-" + nodeType.name().toLowerCase();
     }
@@ -0,0 +1,222 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.model.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.BStructType.StructField;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code JsonByteBufWriter} writes UTF-8 encoded JSON tokens directly into a Netty {@link ByteBuf}, without going
+ * through a {@link java.io.Writer}.
+ * <p>
+ * The field names of struct types are encoded once, together with their quotes and the name separator, since the same
+ * names are written for every instance of a struct, or of a JSON value constrained by one. Only the names of the
+ * struct types are cached, hence the keys of the JSON values being written, which may come from a request, can not
+ * fill up the cache.
+ *
+ * @since 0.95.8
+ */
+public class JsonByteBufWriter {
+
+    private static final Set<BStructType> CACHED_STRUCT_TYPES = ConcurrentHashMap.newKeySet();
+
+    private static final Map<String, byte[]> ENCODED_FIELD_NAMES = new ConcurrentHashMap<>();
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private JsonByteBufWriter() {
+    }
+
+    /**
+     * Encodes the field names of a struct type, unless those are already cached.
+     *
+     * @param structType struct type, or the constraint of a JSON type
+     */
+    public static void cacheFieldNames(BStructType structType) {
+        if (CACHED_STRUCT_TYPES.contains(structType)) {
+            return;
+        }
+        for (StructField field : structType.getStructFields()) {
+            ENCODED_FIELD_NAMES.computeIfAbsent(field.getFieldName(), JsonByteBufWriter::encodeFieldName);
+        }
+        CACHED_STRUCT_TYPES.add(structType);
+    }
+
+    /**
+     * Writes a field name, followed by the name separator.
+     *
+     * @param buf       buffer to write to
+     * @param fieldName name of the field
+     */
+    public static void writeFieldName(ByteBuf buf, String fieldName) {
+        byte[] encodedName = ENCODED_FIELD_NAMES.get(fieldName);
+        if (encodedName != null) {
+            buf.writeBytes(encodedName);
+            return;
+        }
+        writeString(buf, fieldName);
+        buf.writeByte(':');
+    }
+
+    private static byte[] encodeFieldName(String fieldName) {
+        ByteBuf buf = Unpooled.buffer(fieldName.length() + 3);
+        try {
+            writeString(buf, fieldName);
+            buf.writeByte(':');
+            byte[] encodedName = new byte[buf.readableBytes()];
+            buf.readBytes(encodedName);
+            return encodedName;
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Writes a quoted and escaped string.
+     *
+     * @param buf   buffer to write to
+     * @param value string to write
+     */
+    public static void writeString(ByteBuf buf, String value) {
+        int length = value.length();
+        buf.ensureWritable(length + 2);
+        buf.writeByte('"');
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                writeAsciiChar(buf, ch);
+            } else if (ch < 0x800) {
+                buf.writeByte(0xc0 | (ch >> 6));
+                buf.writeByte(0x80 | (ch & 0x3f));
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                buf.writeByte(0xf0 | (codePoint >> 18));
+                buf.writeByte(0x80 | ((codePoint >> 12) & 0x3f));
+                buf.writeByte(0x80 | ((codePoint >> 6) & 0x3f));
+                buf.writeByte(0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(ch)) {
+                // Unpaired surrogates cannot be encoded in UTF-8
+                buf.writeByte('?');
+            } else {
+                buf.writeByte(0xe0 | (ch >> 12));
+                buf.writeByte(0x80 | ((ch >> 6) & 0x3f));
+                buf.writeByte(0x80 | (ch & 0x3f));
+            }
+        }
+        buf.writeByte('"');
+    }
+
+    /**
+     * Writes an integer, without creating an intermediate string.
+     *
+     * @param buf   buffer to write to
+     * @param value integer to write
+     */
+    public static void writeNumber(ByteBuf buf, long value) {
+        if (value == Long.MIN_VALUE) {
+            buf.writeBytes(MIN_LONG);
+            return;
+        }
+        if (value < 0) {
+            buf.writeByte('-');
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+            digits++;
+        }
+        buf.ensureWritable(digits);
+        int end = buf.writerIndex() + digits;
+        for (int i = end - 1; i >= end - digits; i--) {
+            buf.setByte(i, '0' + (int) (value % 10));
+            value /= 10;
+        }
+        buf.writerIndex(end);
+    }
+
+    /**
+     * Writes a float, in the same format as {@link JsonGenerator#writeNumber(double)}.
+     *
+     * @param buf   buffer to write to
+     * @param value float to write
+     */
+    public static void writeNumber(ByteBuf buf, double value) {
+        ByteBufUtil.writeAscii(buf, Double.toString(value));
+    }
+
+    public static void writeBoolean(ByteBuf buf, boolean value) {
+        ByteBufUtil.writeAscii(buf, value ? "true" : "false");
+    }
+
+    public static void writeNull(ByteBuf buf) {
+        ByteBufUtil.writeAscii(buf, "null");
+    }
+
+    private static void writeAsciiChar(ByteBuf buf, char ch) {
+        switch (ch) {
+            case '"':
+            case '\\':
+                buf.writeByte('\\');
+                buf.writeByte(ch);
+                break;
+            case '\b':
+                buf.writeByte('\\');
+                buf.writeByte('b');
+                break;
+            case '\f':
+                buf.writeByte('\\');
+                buf.writeByte('f');
+                break;
+            case '\n':
+                buf.writeByte('\\');
+                buf.writeByte('n');
+                break;
+            case '\r':
+                buf.writeByte('\\');
+                buf.writeByte('r');
+                break;
+            case '\t':
+                buf.writeByte('\\');
+                buf.writeByte('t');
+                break;
+            default:
+                if (ch < 0x20) {
+                    buf.writeByte('\\');
+                    buf.writeByte('u');
+                    buf.writeByte('0');
+                    buf.writeByte('0');
+                    buf.writeByte(HEX_DIGITS[ch >> 4]);
+                    buf.writeByte(HEX_DIGITS[ch & 0xf]);
+                } else {
+                    buf.writeByte(ch);
+                }
+                break;
+        }
+    }
+}
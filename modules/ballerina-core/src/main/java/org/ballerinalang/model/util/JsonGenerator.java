@@ -42,15 +42,17 @@ public class JsonGenerator {
     
     private boolean fieldActive;
     
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    
     private static boolean[] escChars = new boolean[93];
     
     static {
+        // All the control characters are escaped, as JSON strings could not contain those as they are
+        for (int i = 0; i < 0x20; i++) {
+            escChars[i] = true;
+        }
         escChars['"'] = true;
         escChars['\\'] = true;
-        escChars['\b'] = true;
-        escChars['\n'] = true;
-        escChars['\r'] = true;
-        escChars['\t'] = true;
     }
     
     public JsonGenerator(OutputStream out) {
@@ -135,12 +137,17 @@ public class JsonGenerator {
     
     public void writeFieldName(String fieldName) throws IOException {
         this.processFieldInit();
-        this.writer.write("\"" + fieldName + "\":");
+        this.writeQuotedString(fieldName);
+        this.writer.write(':');
     }
     
     public void writeString(String value) throws IOException {
         this.processValueInit();
-        this.writer.write("\"");        
+        this.writeQuotedString(value);
+    }
+    
+    private void writeQuotedString(String value) throws IOException {
+        this.writer.write('"');
         int count = value.length();
         char ch;
         boolean escaped = false;
@@ -157,58 +164,49 @@ public class JsonGenerator {
         } else {
             this.writer.write(chs);
         }        
-        this.writer.write("\"");
+        this.writer.write('"');
     }
     
-    public void writeStringEsc(char[] chs) throws IOException {
-        this.processValueInit();
+    /**
+     * Writes the escaped characters of a string, the same way as {@link JsonByteBufWriter} does.
+     */
+    private void writeStringEsc(char[] chs) throws IOException {
         int count = chs.length;
         int index = 0;
         char ch;
         for (int i = 0; i < count; i++) {
             ch = chs[i];
+            if (ch >= escChars.length || !escChars[ch]) {
+                continue;
+            }
+            this.writer.write(chs, index, i - index);
+            index = i + 1;
             switch (ch) {
             case '"':
-                this.writer.write(chs, index, i - index);
-                writer.write("\"");
-                index = i + 1;
+                this.writer.write("\\\"");
                 break;
             case '\\':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\");
-                index = i + 1;
-                break;
-            case '/':
-                this.writer.write(chs, index, i - index);
-                writer.write("/");
-                index = i + 1;
+                this.writer.write("\\\\");
                 break;
             case '\b':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\b");
-                index = i + 1;
+                this.writer.write("\\b");
                 break;
             case '\n':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\n");
-                index = i + 1;
+                this.writer.write("\\n");
                 break;
             case '\r':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\r");
-                index = i + 1;
+                this.writer.write("\\r");
                 break;
             case '\f':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\f");
-                index = i + 1;
+                this.writer.write("\\f");
                 break;
             case '\t':
-                this.writer.write(chs, index, i - index);
-                writer.write("\\t");
-                index = i + 1;
+                this.writer.write("\\t");
                 break;
             default:
+                this.writer.write("\\u00");
+                this.writer.write(HEX_DIGITS[ch >> 4]);
+                this.writer.write(HEX_DIGITS[ch & 0xf]);
                 break;
             }
         }
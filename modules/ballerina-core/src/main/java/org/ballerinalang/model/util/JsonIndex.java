@@ -0,0 +1,413 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.model.util;
+
+import org.ballerinalang.runtime.message.ChunkedByteBufOutput;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code JsonIndex} provides random access to the values of a raw JSON document without building a
+ * {@link JsonNode} tree.
+ * <p>
+ * Values are identified by the offset of their first byte. The members of an object or an array are located by
+ * scanning the raw bytes the first time the container is accessed, and the offsets are then cached. The structure
+ * of the whole document can be checked up front with {@link #validate()}, while a malformed scalar value is only
+ * reported when it is parsed. The content must be in an ASCII compatible encoding such as UTF-8.
+ * <p>
+ * An index may be read by more than one worker at a time, hence the cached offsets are kept in a concurrent map.
+ *
+ * @since 0.95.8
+ */
+public class JsonIndex {
+
+    private static final int[] EMPTY_MEMBERS = new int[0];
+
+    private final byte[] bytes;
+
+    private final int offset;
+
+    private final int end;
+
+    private final Charset charset;
+
+    // Start offset of an object or an array -> start offsets of its members
+    private final Map<Integer, int[]> containers = new ConcurrentHashMap<>();
+
+    public JsonIndex(byte[] bytes, int offset, int length, Charset charset) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.end = offset + length;
+        this.charset = charset;
+    }
+
+    /**
+     * Returns the offset of the top level value of the document.
+     *
+     * @return offset of the root value
+     */
+    public int getRootStart() {
+        int start = this.skipWhitespace(this.offset);
+        if (start == this.end) {
+            throw new BallerinaException("empty JSON document");
+        }
+        return start;
+    }
+
+    public boolean isObject(int start) {
+        return this.bytes[start] == '{';
+    }
+
+    public boolean isArray(int start) {
+        return this.bytes[start] == '[';
+    }
+
+    /**
+     * Returns the offset of the value of the given field of an object. If the field is defined more than once, the
+     * last definition is returned, as it is done by the {@link JsonParser}.
+     *
+     * @param objectStart offset of the object
+     * @param name        name of the field
+     * @return offset of the field value, or -1 if the object does not have the field
+     */
+    public int getField(int objectStart, String name) {
+        int[] members = this.getMembers(objectStart);
+        byte[] nameBytes = name.getBytes(this.charset);
+        for (int i = members.length - 3; i >= 0; i -= 3) {
+            if (this.keyEquals(members[i], members[i + 1], nameBytes, name)) {
+                return members[i + 2];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the offset of an element of an array.
+     *
+     * @param arrayStart offset of the array
+     * @param index      index of the element
+     * @return offset of the element
+     */
+    public int getElement(int arrayStart, int index) {
+        return this.getMembers(arrayStart)[index];
+    }
+
+    /**
+     * Returns the number of elements of an array.
+     *
+     * @param arrayStart offset of the array
+     * @return number of elements
+     */
+    public int getSize(int arrayStart) {
+        return this.getMembers(arrayStart).length;
+    }
+
+    /**
+     * Builds a {@link JsonNode} from the whole document.
+     *
+     * @return the root {@link JsonNode}
+     */
+    public JsonNode parse() {
+        return JsonParser.parse(new InputStreamReader(
+                new ByteArrayInputStream(this.bytes, this.offset, this.end - this.offset), this.charset));
+    }
+
+    /**
+     * Builds a {@link JsonNode} from the value starting at the given offset.
+     *
+     * @param start offset of the value
+     * @return the {@link JsonNode} representing the value
+     */
+    public JsonNode parse(int start) {
+        return JsonParser.parse(new InputStreamReader(
+                new ByteArrayInputStream(this.bytes, start, this.getValueEnd(start) - start), this.charset));
+    }
+
+    /**
+     * Writes the raw bytes of the value starting at the given offset.
+     *
+     * @param out   output stream to write to
+     * @param start offset of the value
+     * @throws IOException if an error occurs while writing
+     */
+    public void write(OutputStream out, int start) throws IOException {
+        out.write(this.bytes, start, this.getValueEnd(start) - start);
+    }
+
+    /**
+     * Writes the raw bytes of the value starting at the given offset to chunks of buffers.
+     *
+     * @param output output to write to
+     * @param start  offset of the value
+     */
+    public void write(ChunkedByteBufOutput output, int start) {
+        output.write(this.bytes, start, this.getValueEnd(start) - start);
+    }
+
+    /**
+     * Validates the structure of the whole document, i.e. that the objects and arrays are balanced and their members
+     * are delimited properly, that the strings are terminated, and that nothing follows the top level value. No
+     * objects are created for the values. Scalar values are only checked to be made of the characters of a number
+     * or a literal, and are fully validated when those are parsed.
+     */
+    public void validate() {
+        // Bit set of the open containers which are objects, by their depth
+        long[] objects = new long[1];
+        int depth = 0;
+        int pos = this.getRootStart();
+        while (true) {
+            char ch = this.charAt(pos);
+            if (ch == '{' || ch == '[') {
+                if (depth == objects.length * Long.SIZE) {
+                    objects = Arrays.copyOf(objects, objects.length * 2);
+                }
+                if (ch == '{') {
+                    objects[depth / Long.SIZE] |= 1L << depth;
+                } else {
+                    objects[depth / Long.SIZE] &= ~(1L << depth);
+                }
+                depth++;
+                pos = this.skipWhitespace(pos + 1);
+                if (this.charAt(pos) != (ch == '{' ? '}' : ']')) {
+                    pos = ch == '{' ? this.skipKey(pos) : pos;
+                    continue;
+                }
+                depth--;
+                pos++;
+            } else if (ch == '"' || ch == '\'') {
+                pos = this.skipString(pos);
+            } else {
+                pos = this.skipScalar(pos);
+            }
+
+            // The value is complete, hence close the containers ending with it, or move on to the next member
+            while (true) {
+                pos = this.skipWhitespace(pos);
+                if (depth == 0) {
+                    if (pos != this.end) {
+                        throw this.invalid(pos, "unexpected content after the document");
+                    }
+                    return;
+                }
+                boolean object = (objects[(depth - 1) / Long.SIZE] & (1L << (depth - 1))) != 0;
+                char closingChar = object ? '}' : ']';
+                ch = this.charAt(pos);
+                if (ch == ',') {
+                    pos = this.skipWhitespace(pos + 1);
+                    pos = object ? this.skipKey(pos) : pos;
+                    break;
+                }
+                if (ch != closingChar) {
+                    throw this.invalid(pos, "expected , or " + closingChar);
+                }
+                depth--;
+                pos++;
+            }
+        }
+    }
+
+    private int[] getMembers(int start) {
+        int[] members = this.containers.get(start);
+        if (members == null) {
+            members = this.scanMembers(start);
+            this.containers.put(start, members);
+        }
+        return members;
+    }
+
+    /**
+     * Scans the members of a container. For an object, the key start, key end and value start offsets of each
+     * field are returned, and for an array, the start offset of each element.
+     */
+    private int[] scanMembers(int start) {
+        boolean object = this.isObject(start);
+        char closingChar = object ? '}' : ']';
+        int pos = this.skipWhitespace(start + 1);
+        if (this.charAt(pos) == closingChar) {
+            return EMPTY_MEMBERS;
+        }
+
+        int[] members = new int[object ? 24 : 8];
+        int count = 0;
+        while (true) {
+            if (count + 3 > members.length) {
+                members = Arrays.copyOf(members, members.length * 2);
+            }
+
+            if (object) {
+                char ch = this.charAt(pos);
+                if (ch != '"' && ch != '\'') {
+                    throw this.invalid(pos, "expected \"");
+                }
+                int keyEnd = this.skipString(pos);
+                members[count++] = pos + 1;
+                members[count++] = keyEnd - 1;
+                pos = this.skipWhitespace(keyEnd);
+                if (this.charAt(pos) != ':') {
+                    throw this.invalid(pos, "expected :");
+                }
+                pos = this.skipWhitespace(pos + 1);
+            }
+            members[count++] = pos;
+
+            pos = this.skipWhitespace(this.getValueEnd(pos));
+            char ch = this.charAt(pos);
+            if (ch == closingChar) {
+                return Arrays.copyOf(members, count);
+            }
+            if (ch != ',') {
+                throw this.invalid(pos, "expected , or " + closingChar);
+            }
+            pos = this.skipWhitespace(pos + 1);
+        }
+    }
+
+    private int getValueEnd(int start) {
+        switch (this.charAt(start)) {
+            case '"':
+            case '\'':
+                return this.skipString(start);
+            case '{':
+            case '[':
+                int depth = 0;
+                int pos = start;
+                while (pos < this.end) {
+                    byte ch = this.bytes[pos];
+                    if (ch == '"' || ch == '\'') {
+                        pos = this.skipString(pos);
+                        continue;
+                    }
+                    if (ch == '{' || ch == '[') {
+                        depth++;
+                    } else if (ch == '}' || ch == ']') {
+                        depth--;
+                    }
+                    pos++;
+                    if (depth == 0) {
+                        return pos;
+                    }
+                }
+                throw this.invalid(pos, "unexpected end of document");
+            default:
+                pos = start;
+                while (pos < this.end && !this.isValueTerminator(this.bytes[pos])) {
+                    pos++;
+                }
+                if (pos == start) {
+                    throw this.invalid(pos, "expected a value");
+                }
+                return pos;
+        }
+    }
+
+    /**
+     * Skips the key of an object member, along with the following colon and whitespace.
+     */
+    private int skipKey(int pos) {
+        char ch = this.charAt(pos);
+        if (ch != '"' && ch != '\'') {
+            throw this.invalid(pos, "expected \"");
+        }
+        pos = this.skipWhitespace(this.skipString(pos));
+        if (this.charAt(pos) != ':') {
+            throw this.invalid(pos, "expected :");
+        }
+        return this.skipWhitespace(pos + 1);
+    }
+
+    private int skipScalar(int start) {
+        int pos = start;
+        while (pos < this.end && !this.isValueTerminator(this.bytes[pos])) {
+            byte ch = this.bytes[pos];
+            if (!(ch >= 'a' && ch <= 'z') && !(ch >= 'A' && ch <= 'Z') && !(ch >= '0' && ch <= '9') && ch != '-'
+                    && ch != '+' && ch != '.') {
+                throw this.invalid(pos, "unexpected character '" + (char) ch + "'");
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw this.invalid(pos, "expected a value");
+        }
+        return pos;
+    }
+
+    private int skipString(int start) {
+        byte quote = this.bytes[start];
+        int pos = start + 1;
+        while (pos < this.end) {
+            byte ch = this.bytes[pos];
+            if (ch == '\\') {
+                pos += 2;
+            } else if (ch == quote) {
+                return pos + 1;
+            } else {
+                pos++;
+            }
+        }
+        throw this.invalid(pos, "unterminated string");
+    }
+
+    private int skipWhitespace(int pos) {
+        while (pos < this.end && isWhitespace(this.bytes[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private boolean keyEquals(int keyStart, int keyEnd, byte[] nameBytes, String name) {
+        int length = keyEnd - keyStart;
+        for (int i = 0; i < length; i++) {
+            byte ch = this.bytes[keyStart + i];
+            if (ch == '\\') {
+                // Escaped keys are rare, hence they are simply decoded using the parser
+                return name.equals(this.parse(keyStart - 1).stringValue());
+            }
+            if (i >= nameBytes.length || ch != nameBytes[i]) {
+                return false;
+            }
+        }
+        return length == nameBytes.length;
+    }
+
+    private char charAt(int pos) {
+        if (pos >= this.end) {
+            throw this.invalid(pos, "unexpected end of document");
+        }
+        return (char) this.bytes[pos];
+    }
+
+    private BallerinaException invalid(int pos, String message) {
+        return new BallerinaException("invalid JSON document: " + message + " at offset: " + (pos - this.offset));
+    }
+
+    private boolean isValueTerminator(byte ch) {
+        return ch == ',' || ch == '}' || ch == ']' || isWhitespace(ch);
+    }
+
+    private static boolean isWhitespace(byte ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r';
+    }
+}
@@ -17,255 +17,305 @@
  */
 package org.ballerinalang.model.util;
 
+import io.netty.buffer.ByteBuf;
+import org.ballerinalang.runtime.message.ChunkedByteBufOutput;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
 
 /**
  * This class represents a JSON node. This can be either an object, array, 
  * number, string or null.
+ * <p>
+ * A node only holds the slots needed by its kind: scalars are kept in a single primitive slot (or a reference for
+ * strings), object fields as an array of alternating keys and values, and arrays whose elements are all integers or
+ * all floats as a {@code long[]} or a {@code double[]}. Nodes for the elements of such arrays are created on access.
  * 
  * @since 0.95.5
  */
 public class JsonNode {
 
-    private String stringValue;
-    
-    private long longValue;
-    
-    private double doubleValue;
-    
-    private boolean booleanValue;
-    
+    private static final int INITIAL_CAPACITY = 4;
+
+    // Objects with more fields than this are looked up through a hash index, instead of a linear scan
+    private static final int FIELD_INDEX_THRESHOLD = 16;
+
     private Type type;
-    
-    private Map<String, JsonNode> fields;
-    
-    private List<JsonNode> arrayElements;
-    
-    protected JsonNode parentNode;
-    
-    protected String fieldName;
-    
+
+    // LONG: the value, DOUBLE: the raw bits of the value, BOOLEAN: 1 if true
+    private long bits;
+
+    // STRING: String, OBJECT: Object[] with alternating keys and values or FieldIndex,
+    // ARRAY: JsonNode[], long[] or double[]
+    private Object ref;
+
+    // number of fields of an object or elements of an array
+    private int size;
+
     public JsonNode() {
         this(Type.OBJECT);
     }
-    
+
     public JsonNode(Type type) {
         this.type = type;
     }
-    
+
     public JsonNode(String stringValue) {
         this.setString(stringValue);
     }
-    
+
     public JsonNode(long longValue) {
         this.setNumber(longValue);
     }
-    
+
     public JsonNode(double doubleValue) {
         this.setNumber(doubleValue);
     }
-    
+
     public JsonNode(boolean booleanValue) {
         this.setBooleanValue(booleanValue);
     }
-    
+
     public Type getType() {
         return type;
     }
-    
+
     public void add(JsonNode arrayElement) {
-        if (arrayElements == null) {
-            arrayElements = new LinkedList<>();
+        if (arrayElement != null && arrayElement.isLong()) {
+            this.add(arrayElement.longValue());
+        } else if (arrayElement != null && arrayElement.isDouble()) {
+            this.add(arrayElement.doubleValue());
+        } else {
+            JsonNode[] elements = this.nodeElements(this.size + 1);
+            elements[this.size++] = arrayElement;
         }
-        this.arrayElements.add(arrayElement);
     }
-    
+
     public void add(long value) {
-        this.add(new JsonNode(value));
+        if (this.ref == null || this.ref instanceof long[]) {
+            long[] elements = this.ref == null ? new long[INITIAL_CAPACITY] : (long[]) this.ref;
+            if (this.size == elements.length) {
+                elements = Arrays.copyOf(elements, elements.length * 2);
+            }
+            elements[this.size++] = value;
+            this.ref = elements;
+        } else {
+            JsonNode[] elements = this.nodeElements(this.size + 1);
+            elements[this.size++] = new JsonNode(value);
+        }
     }
-    
+
     public void add(double value) {
-        this.add(new JsonNode(value));
+        if (this.ref == null || this.ref instanceof double[]) {
+            double[] elements = this.ref == null ? new double[INITIAL_CAPACITY] : (double[]) this.ref;
+            if (this.size == elements.length) {
+                elements = Arrays.copyOf(elements, elements.length * 2);
+            }
+            elements[this.size++] = value;
+            this.ref = elements;
+        } else {
+            JsonNode[] elements = this.nodeElements(this.size + 1);
+            elements[this.size++] = new JsonNode(value);
+        }
     }
-    
+
     public void add(boolean value) {
         this.add(new JsonNode(value));
     }
-    
+
     public void add(String value) {
         this.add(new JsonNode(value));
     }
-    
+
     public void addNull() {
         this.add(new JsonNode(Type.NULL));
     }
-    
+
     public void setString(String stringValue) {
         if (stringValue != null) {
-            this.stringValue = stringValue;
+            this.ref = stringValue;
             this.type = Type.STRING;
         } else {
+            this.ref = null;
             this.type = Type.NULL;
         }
     }
-    
+
     public void setNumber(long longValue) {
-        this.longValue = longValue;
+        this.bits = longValue;
+        this.ref = null;
         this.type = Type.LONG;
     }
-    
+
     public void setNumber(double doubleValue) {
-        this.doubleValue = doubleValue;
+        this.bits = Double.doubleToRawLongBits(doubleValue);
+        this.ref = null;
         this.type = Type.DOUBLE;
     }
-    
+
     public void setBooleanValue(boolean booleanValue) {
-        this.booleanValue = booleanValue;
+        this.bits = booleanValue ? 1 : 0;
+        this.ref = null;
         this.type = Type.BOOLEAN;
     }
-    
+
     public void setNull() {
+        this.ref = null;
         this.type = Type.NULL;
     }
-    
+
     public boolean isNull() {
         return this.type == Type.NULL;
     }
-    
+
     public boolean isObject() {
         return this.type == Type.OBJECT;
     }
-    
+
     public boolean isArray() {
         return this.type == Type.ARRAY;
     }
-    
+
     public boolean isValueNode() {
         return this.isString() || this.isLong() || this.isDouble() || this.isBoolean() || this.isNull();
     }
-    
+
     public boolean isLong() {
         return this.type == Type.LONG;
     }
-    
+
     public boolean isDouble() {
         return this.type == Type.DOUBLE;
     }
-    
+
     public boolean isString() {
         return this.type == Type.STRING;
     }
-    
+
     public boolean isBoolean() {
         return this.type == Type.BOOLEAN;
     }
-    
+
     public int size() {
-        if (this.arrayElements != null) {
-            return this.arrayElements.size();
-        } else {
-            return 0;
-        }
+        return this.hasElements() ? this.size : 0;
     }
-    
+
     public String stringValue() {
-        return stringValue;
+        return this.type == Type.STRING ? (String) this.ref : null;
     }
-    
+
     public long longValue() {
-        return longValue;
+        return this.type == Type.LONG ? this.bits : 0;
     }
-    
+
     public double doubleValue() {
-        return doubleValue;
+        return this.type == Type.DOUBLE ? Double.longBitsToDouble(this.bits) : 0;
     }
-    
+
     public boolean booleanValue() {
-        return booleanValue;
+        return this.type == Type.BOOLEAN && this.bits != 0;
     }
-    
+
     public void set(String name, String stringValue) {
-        if (this.fields == null) {
-            this.fields = new LinkedHashMap<>();
-        }
-        if (stringValue == null) {
-            this.fields.put(name, new JsonNode(Type.NULL));
-        } else {
-            this.fields.put(name, new JsonNode(stringValue));
-        }
+        this.set(name, new JsonNode(stringValue));
     }
-    
+
     public void set(String name, long longValue) {
-        if (this.fields == null) {
-            this.fields = new LinkedHashMap<>();
-        }
-        this.fields.put(name, new JsonNode(longValue));
+        this.set(name, new JsonNode(longValue));
     }
-    
+
     public void set(String name, double doubleValue) {
-        if (this.fields == null) {
-            this.fields = new LinkedHashMap<>();
-        }
-        this.fields.put(name, new JsonNode(doubleValue));
+        this.set(name, new JsonNode(doubleValue));
     }
-    
+
     public void set(String name, boolean booleanValue) {
-        if (this.fields == null) {
-            this.fields = new LinkedHashMap<>();
-        }
-        this.fields.put(name, new JsonNode(booleanValue));
+        this.set(name, new JsonNode(booleanValue));
     }
-    
+
     public void set(String name, JsonNode jsonNode) {
-        if (this.fields == null) {
-            this.fields = new LinkedHashMap<>();
+        if (jsonNode == null) {
+            jsonNode = new JsonNode(Type.NULL);
+        }
+
+        int index = this.indexOf(name);
+        if (index >= 0) {
+            this.fieldArray()[2 * index + 1] = jsonNode;
+            return;
         }
-        if (jsonNode != null) {
-            this.fields.put(name, jsonNode);
+
+        Object[] fields = this.fieldArray();
+        if (fields == null) {
+            fields = new Object[2 * INITIAL_CAPACITY];
+        } else if (2 * this.size == fields.length) {
+            fields = Arrays.copyOf(fields, fields.length * 2);
+        }
+        fields[2 * this.size] = name;
+        fields[2 * this.size + 1] = jsonNode;
+        this.size++;
+
+        if (this.ref instanceof FieldIndex) {
+            FieldIndex fieldIndex = (FieldIndex) this.ref;
+            fieldIndex.fields = fields;
+            fieldIndex.positions.put(name, this.size - 1);
+        } else if (this.size > FIELD_INDEX_THRESHOLD) {
+            this.ref = new FieldIndex(fields, this.size);
         } else {
-            this.fields.put(name, new JsonNode(Type.NULL));
+            this.ref = fields;
         }
     }
-    
+
     public void set(int index, JsonNode jsonNode) {
-        if (this.arrayElements == null) {
+        if (!this.hasElements()) {
             throw new BallerinaException("JSON array is empty to set values");
         }
-        this.arrayElements.set(index, jsonNode);
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+
+        if (jsonNode != null && jsonNode.isLong() && this.ref instanceof long[]) {
+            ((long[]) this.ref)[index] = jsonNode.longValue();
+        } else if (jsonNode != null && jsonNode.isDouble() && this.ref instanceof double[]) {
+            ((double[]) this.ref)[index] = jsonNode.doubleValue();
+        } else {
+            this.nodeElements(this.size)[index] = jsonNode;
+        }
     }
-    
+
     public boolean has(String name) {
         return this.get(name) != null;
     }
-    
+
     public JsonNode get(String name) {
-        if (this.fields != null) {
-            return this.fields.get(name);
-        } else {
-            return null;
-        }
+        int index = this.indexOf(name);
+        return index >= 0 ? (JsonNode) this.fieldArray()[2 * index + 1] : null;
     }
-    
+
     public JsonNode get(int index) {
-        if (this.arrayElements != null) {
-            return this.arrayElements.get(index);
-        } else {
+        if (!this.hasElements()) {
             return null;
         }
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+
+        if (this.ref instanceof long[]) {
+            return new JsonNode(((long[]) this.ref)[index]);
+        } else if (this.ref instanceof double[]) {
+            return new JsonNode(((double[]) this.ref)[index]);
+        }
+        return ((JsonNode[]) this.ref)[index];
     }
-    
+
     public String asText() {
         switch (this.type) {
         case BOOLEAN:
@@ -282,37 +332,36 @@ public class JsonNode {
             return "";
         }
     }
-    
+
     public Iterator<String> fieldNames() {
-        if (this.fields != null) {
-            return this.fields.keySet().iterator();
-        } else {
-            return new HashSet<String>(0).iterator();
-        }
+        return new NodeIterator<>(this.fieldArray() == null ? 0 : this.size, i -> (String) this.fieldArray()[2 * i]);
     }
-    
+
     public Iterator<Entry<String, JsonNode>> fields() {
-        if (this.fields != null) {
-            return this.fields.entrySet().iterator();
-        } else {
-            return new LinkedHashMap<String, JsonNode>(0).entrySet().iterator();
-        }
+        return new NodeIterator<>(this.fieldArray() == null ? 0 : this.size, i -> new SimpleImmutableEntry<>(
+                (String) this.fieldArray()[2 * i], (JsonNode) this.fieldArray()[2 * i + 1]));
     }
-    
+
     public Iterator<JsonNode> elements() {
-        if (this.arrayElements != null) {
-            return this.arrayElements.iterator();
-        } else {
-            return new ArrayList<JsonNode>(0).iterator();
-        }
+        return new NodeIterator<>(this.size(), this::get);
     }
-    
+
     public void remove(String fieldName) {
-        if (this.fields != null) {
-            this.fields.remove(fieldName);
+        int index = this.indexOf(fieldName);
+        if (index < 0) {
+            return;
+        }
+
+        Object[] fields = this.fieldArray();
+        System.arraycopy(fields, 2 * index + 2, fields, 2 * index, 2 * (this.size - index - 1));
+        this.size--;
+        fields[2 * this.size] = null;
+        fields[2 * this.size + 1] = null;
+        if (this.ref instanceof FieldIndex) {
+            this.ref = this.size > FIELD_INDEX_THRESHOLD ? new FieldIndex(fields, this.size) : fields;
         }
     }
-    
+
     public String toString() {
         ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
         JsonGenerator gen = new JsonGenerator(byteOut);
@@ -324,7 +373,7 @@ public class JsonNode {
         }
         return new String(byteOut.toByteArray());
     }
-    
+
     /**
      * This represents the {@link JsonNode} types.
      */
@@ -337,21 +386,32 @@ public class JsonNode {
         BOOLEAN,
         NULL
     }
-    
+
     public void serialize(OutputStream out) throws IOException {
         JsonGenerator gen = new JsonGenerator(out);
         this.serialize(gen);
         gen.flush();
     }
-    
+
     public void serialize(JsonGenerator gen) throws IOException {
         switch (this.type) {
         case ARRAY:
             gen.writeStartArray();
-            if (this.arrayElements != null) {
-                for (JsonNode node : this.arrayElements) {
-                    if (node != null) {
-                        node.serialize(gen);
+            if (this.ref instanceof long[]) {
+                long[] elements = (long[]) this.ref;
+                for (int i = 0; i < this.size; i++) {
+                    gen.writeNumber(elements[i]);
+                }
+            } else if (this.ref instanceof double[]) {
+                double[] elements = (double[]) this.ref;
+                for (int i = 0; i < this.size; i++) {
+                    gen.writeNumber(elements[i]);
+                }
+            } else if (this.ref instanceof JsonNode[]) {
+                JsonNode[] elements = (JsonNode[]) this.ref;
+                for (int i = 0; i < this.size; i++) {
+                    if (elements[i] != null) {
+                        elements[i].serialize(gen);
                     } else {
                         gen.writeNull();
                     }
@@ -360,26 +420,26 @@ public class JsonNode {
             gen.writeEndArray();
             break;
         case BOOLEAN:
-            gen.writeBoolean(this.booleanValue);
+            gen.writeBoolean(this.booleanValue());
             break;
         case DOUBLE:
-            gen.writeNumber(this.doubleValue);
+            gen.writeNumber(this.doubleValue());
             break;
         case LONG:
-            gen.writeNumber(this.longValue);
+            gen.writeNumber(this.longValue());
             break;
         case NULL:
             gen.writeNull();
             break;
         case OBJECT:
             gen.startObject();
-            JsonNode value;
-            if (this.fields != null) {
-                for (Entry<String, JsonNode> entry : this.fields.entrySet()) {
-                    gen.writeFieldName(entry.getKey());
-                    value = entry.getValue();
+            Object[] fields = this.fieldArray();
+            if (fields != null) {
+                for (int i = 0; i < this.size; i++) {
+                    gen.writeFieldName((String) fields[2 * i]);
+                    JsonNode value = (JsonNode) fields[2 * i + 1];
                     if (value != null) {
-                        entry.getValue().serialize(gen);
+                        value.serialize(gen);
                     } else {
                         gen.writeNull();
                     }
@@ -388,11 +448,181 @@ public class JsonNode {
             gen.endObject();
             break;
         case STRING:
-            gen.writeString(this.stringValue);
+            gen.writeString(this.stringValue());
             break;
         default:
             break;
         }
     }
-        
+
+    /**
+     * Serializes this node as UTF-8 encoded JSON directly into buffers. A buffer is handed over to the output as soon
+     * as it fills up, in between the members of an object or an array.
+     *
+     * @param output output to write to
+     */
+    public void serialize(ChunkedByteBufOutput output) {
+        ByteBuf buf = output.buffer();
+        switch (this.type) {
+        case ARRAY:
+            buf.writeByte('[');
+            for (int i = 0; i < this.size(); i++) {
+                if (i > 0) {
+                    output.flushIfFull();
+                    buf = output.buffer();
+                    buf.writeByte(',');
+                }
+                if (this.ref instanceof long[]) {
+                    JsonByteBufWriter.writeNumber(buf, ((long[]) this.ref)[i]);
+                } else if (this.ref instanceof double[]) {
+                    JsonByteBufWriter.writeNumber(buf, ((double[]) this.ref)[i]);
+                } else {
+                    serialize(((JsonNode[]) this.ref)[i], output);
+                }
+            }
+            output.buffer().writeByte(']');
+            break;
+        case BOOLEAN:
+            JsonByteBufWriter.writeBoolean(buf, this.booleanValue());
+            break;
+        case DOUBLE:
+            JsonByteBufWriter.writeNumber(buf, this.doubleValue());
+            break;
+        case LONG:
+            JsonByteBufWriter.writeNumber(buf, this.longValue());
+            break;
+        case NULL:
+            JsonByteBufWriter.writeNull(buf);
+            break;
+        case OBJECT:
+            buf.writeByte('{');
+            Object[] fields = this.fieldArray();
+            for (int i = 0; fields != null && i < this.size; i++) {
+                if (i > 0) {
+                    output.flushIfFull();
+                    buf = output.buffer();
+                    buf.writeByte(',');
+                }
+                JsonByteBufWriter.writeFieldName(buf, (String) fields[2 * i]);
+                serialize((JsonNode) fields[2 * i + 1], output);
+            }
+            output.buffer().writeByte('}');
+            break;
+        case STRING:
+            JsonByteBufWriter.writeString(buf, this.stringValue());
+            break;
+        default:
+            break;
+        }
+    }
+
+    private static void serialize(JsonNode node, ChunkedByteBufOutput output) {
+        if (node != null) {
+            node.serialize(output);
+        } else {
+            JsonByteBufWriter.writeNull(output.buffer());
+        }
+    }
+
+    private boolean hasElements() {
+        return this.ref instanceof JsonNode[] || this.ref instanceof long[] || this.ref instanceof double[];
+    }
+
+    /**
+     * Returns the elements of this array as nodes, converting a primitive array if required.
+     */
+    private JsonNode[] nodeElements(int minCapacity) {
+        JsonNode[] elements;
+        if (this.ref instanceof JsonNode[]) {
+            elements = (JsonNode[]) this.ref;
+        } else {
+            elements = new JsonNode[Math.max(INITIAL_CAPACITY, this.size)];
+            for (int i = 0; i < this.size; i++) {
+                elements[i] = this.get(i);
+            }
+        }
+
+        if (elements.length < minCapacity) {
+            elements = Arrays.copyOf(elements, Math.max(minCapacity, elements.length * 2));
+        }
+        this.ref = elements;
+        return elements;
+    }
+
+    private Object[] fieldArray() {
+        if (this.ref instanceof FieldIndex) {
+            return ((FieldIndex) this.ref).fields;
+        }
+        return this.ref instanceof Object[] && !(this.ref instanceof JsonNode[]) ? (Object[]) this.ref : null;
+    }
+
+    private int indexOf(String name) {
+        if (this.ref instanceof FieldIndex) {
+            Integer index = ((FieldIndex) this.ref).positions.get(name);
+            return index != null ? index : -1;
+        }
+
+        Object[] fields = this.fieldArray();
+        if (fields == null) {
+            return -1;
+        }
+        for (int i = 0; i < this.size; i++) {
+            Object key = fields[2 * i];
+            // field names are interned by the parser, hence an identity check matches most of the time
+            if (key == name || key.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Fields of a large object, along with an index of their positions.
+     */
+    private static class FieldIndex {
+
+        private Object[] fields;
+
+        private final Map<String, Integer> positions;
+
+        FieldIndex(Object[] fields, int size) {
+            this.fields = fields;
+            this.positions = new HashMap<>(2 * size);
+            for (int i = 0; i < size; i++) {
+                this.positions.put((String) fields[2 * i], i);
+            }
+        }
+    }
+
+    /**
+     * Iterator over the fields or elements of a node.
+     *
+     * @param <T> type of the items
+     */
+    private static class NodeIterator<T> implements Iterator<T> {
+
+        private final int size;
+
+        private final IntFunction<T> itemAtIndex;
+
+        private int cursor;
+
+        NodeIterator(int size, IntFunction<T> itemAtIndex) {
+            this.size = size;
+            this.itemAtIndex = itemAtIndex;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.cursor < this.size;
+        }
+
+        @Override
+        public T next() {
+            if (this.cursor >= this.size) {
+                throw new NoSuchElementException();
+            }
+            return this.itemAtIndex.apply(this.cursor++);
+        }
+    }
 }
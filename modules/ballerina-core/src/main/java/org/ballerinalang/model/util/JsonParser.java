@@ -28,6 +28,9 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * This class represents a JSON parser.
@@ -151,6 +154,13 @@ public class JsonParser {
         
         private Reader reader;
         private JsonNode currentJsonNode;
+        private String currentFieldName;
+        // enclosing containers of the current node, along with the field names of their current fields
+        private JsonNode[] parentNodes = new JsonNode[16];
+        private String[] parentFieldNames = new String[16];
+        private int depth;
+        // field names are interned per document, since the same names are usually repeated in arrays of objects
+        private Map<String, String> fieldNames = new HashMap<>();
         private StringBuilder hexBuilder = new StringBuilder(4);
         private char[] charBuff = new char[1024];
         private int charBuffIndex;
@@ -222,10 +232,13 @@ public class JsonParser {
         }
         
         private State finalizeObject() {
-            JsonNode parentNode = currentJsonNode.parentNode;
-            if (parentNode != null) {
+            if (depth > 0) {
+                depth--;
+                JsonNode parentNode = parentNodes[depth];
+                currentFieldName = parentFieldNames[depth];
+                parentNodes[depth] = null;
                 if (parentNode.getType() == Type.OBJECT) {
-                    parentNode.set(parentNode.fieldName, currentJsonNode);
+                    parentNode.set(currentFieldName, currentJsonNode);
                     currentJsonNode = parentNode;
                     return FIELD_END_STATE;
                 } else {
@@ -239,27 +252,30 @@ public class JsonParser {
         }
         
         private State initNewObject() {
-            if (currentJsonNode != null) {
-                JsonNode parentNode = currentJsonNode;
-                currentJsonNode = new JsonNode();
-                currentJsonNode.parentNode = parentNode;
-            } else {
-                currentJsonNode = new JsonNode();
-            }
+            pushParent();
+            currentJsonNode = new JsonNode();
             return FIRST_FIELD_READY_STATE;
         }
         
         private State initNewArray() {
-            if (currentJsonNode != null) {
-                JsonNode parentNode = currentJsonNode;
-                currentJsonNode = new JsonNode(Type.ARRAY);
-                currentJsonNode.parentNode = parentNode;
-            } else {
-                currentJsonNode = new JsonNode(Type.ARRAY);
-            }
+            pushParent();
+            currentJsonNode = new JsonNode(Type.ARRAY);
             return FIRST_ARRAY_ELEMENT_READY_STATE;
         }
         
+        private void pushParent() {
+            if (currentJsonNode == null) {
+                return;
+            }
+            if (depth == parentNodes.length) {
+                parentNodes = Arrays.copyOf(parentNodes, depth * 2);
+                parentFieldNames = Arrays.copyOf(parentFieldNames, depth * 2);
+            }
+            parentNodes[depth] = currentJsonNode;
+            parentFieldNames[depth] = currentFieldName;
+            depth++;
+        }
+        
         /**
          * A specific state in the JSON parsing state machine.
          */
@@ -485,7 +501,9 @@ public class JsonParser {
         }
         
         private void processFieldName() {
-            this.currentJsonNode.fieldName = this.value();
+            String fieldName = this.value();
+            String internedName = this.fieldNames.putIfAbsent(fieldName, fieldName);
+            this.currentFieldName = internedName != null ? internedName : fieldName;
         }
         
         /**
@@ -598,7 +616,7 @@ public class JsonParser {
                     ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
-                        sm.currentJsonNode.set(sm.currentJsonNode.fieldName, sm.value());
+                        sm.currentJsonNode.set(sm.currentFieldName, sm.value());
                         state = FIELD_END_STATE;
                     } else if (ch == REV_SOL) { 
                         state = STRING_FIELD_ESC_CHAR_PROCESSING_STATE;
@@ -777,7 +795,7 @@ public class JsonParser {
                     currentJsonNode.add(new JsonNode(longValue));
                     break;
                 case FIELD:
-                    currentJsonNode.set(currentJsonNode.fieldName, longValue);
+                    currentJsonNode.set(currentFieldName, longValue);
                     break;
                 case VALUE:
                     currentJsonNode.setNumber(longValue);
@@ -793,7 +811,7 @@ public class JsonParser {
                         currentJsonNode.add(new JsonNode(doubleValue));
                         break;
                     case FIELD:
-                        currentJsonNode.set(currentJsonNode.fieldName, doubleValue);
+                        currentJsonNode.set(currentFieldName, doubleValue);
                         break;
                     case VALUE:
                         currentJsonNode.setNumber(doubleValue);
@@ -808,7 +826,7 @@ public class JsonParser {
                             currentJsonNode.add(new JsonNode(Type.NULL));
                             break;
                         case FIELD:
-                            currentJsonNode.set(currentJsonNode.fieldName, (String) null);
+                            currentJsonNode.set(currentFieldName, (String) null);
                             break;
                         case VALUE:
                             currentJsonNode.setNull();
@@ -822,7 +840,7 @@ public class JsonParser {
                             currentJsonNode.add(new JsonNode(true));
                             break;
                         case FIELD:
-                            currentJsonNode.set(currentJsonNode.fieldName, true);
+                            currentJsonNode.set(currentFieldName, true);
                             break;
                         case VALUE:
                             currentJsonNode.setBooleanValue(true);
@@ -836,7 +854,7 @@ public class JsonParser {
                             currentJsonNode.add(new JsonNode(false));
                             break;
                         case FIELD:
-                            currentJsonNode.set(currentJsonNode.fieldName, false);
+                            currentJsonNode.set(currentFieldName, false);
                             break;
                         case VALUE:
                             currentJsonNode.setBooleanValue(false);
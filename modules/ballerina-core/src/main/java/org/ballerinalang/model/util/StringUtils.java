@@ -22,6 +22,8 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Common utility methods used for String manipulation.
@@ -73,4 +75,32 @@ public class StringUtils {
         }
         return result;
     }
+
+    /**
+     * Split a value around a separator the same way as {@link String#split(String)} does, i.e. the trailing empty
+     * values are dropped, without compiling a pattern.
+     *
+     * @param value     value to be split
+     * @param separator separator character
+     * @return values between the separators
+     */
+    public static List<String> split(String value, char separator) {
+        List<String> values = new ArrayList<>(4);
+        int start = 0;
+        int index;
+        while ((index = value.indexOf(separator, start)) != -1) {
+            values.add(value.substring(start, index));
+            start = index + 1;
+        }
+        if (start == 0) {
+            values.add(value);
+            return values;
+        }
+        values.add(value.substring(start));
+        int size = values.size();
+        while (size > 0 && values.get(size - 1).isEmpty()) {
+            values.remove(--size);
+        }
+        return values;
+    }
 }
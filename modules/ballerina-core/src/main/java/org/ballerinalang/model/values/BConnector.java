@@ -40,6 +40,7 @@ public final class BConnector implements BRefType, StructureType {
 
     private BConnectorType connectorType;
     private boolean isFilterConnector;
+    private volatile boolean shared;
     //private BType connectorType;
 
     private final Map<String, Object> nativeData = new HashMap<>();
@@ -153,6 +154,25 @@ public final class BConnector implements BRefType, StructureType {
         refFields[index] = value;
     }
 
+    @Override
+    public boolean markShared() {
+        if (shared) {
+            return false;
+        }
+        synchronized (this) {
+            if (shared) {
+                return false;
+            }
+            shared = true;
+            return true;
+        }
+    }
+
+    @Override
+    public boolean isShared() {
+        return shared;
+    }
+
     @Override
     public BValue copy() {
         return null;
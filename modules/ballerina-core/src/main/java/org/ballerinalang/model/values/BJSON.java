@@ -24,11 +24,14 @@ import org.ballerinalang.model.types.BStructType.StructField;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.util.JsonByteBufWriter;
 import org.ballerinalang.model.util.JsonGenerator;
+import org.ballerinalang.model.util.JsonIndex;
 import org.ballerinalang.model.util.JsonNode;
 import org.ballerinalang.model.util.JsonNode.Type;
 import org.ballerinalang.model.util.JsonParser;
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
+import org.ballerinalang.runtime.message.ChunkedByteBufOutput;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.ByteArrayInputStream;
@@ -36,7 +39,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.StringJoiner;
 
 /**
@@ -51,8 +57,12 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     // The streaming JSON data source object
     private JSONDataSource datasource;
 
-    // json object model associated with this JSONType object
-    private JsonNode value;
+    // json object model associated with this JSONType object. It is volatile as the model of a lazy value may be
+    // built by any of the workers reading it.
+    private volatile JsonNode value;
+
+    // raw JSON content, used until the json object model is required
+    private LazyContent lazyContent;
 
     /**
      * Initialize a {@link BJSON} from a {@link JsonNode} object.
@@ -73,6 +83,7 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     public BJSON(String jsonString, BType type) {
         this(jsonString);
         this.type = type;
+        cacheFieldNames(type);
     }
 
     /**
@@ -105,6 +116,49 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         } 
     }
 
+    /**
+     * Create a lazy {@link BJSON} from UTF-8 encoded JSON content. The content is not parsed up front; fields and
+     * array elements are located in the raw bytes when they are accessed, and the {@link JsonNode} tree is only
+     * built when the complete value is required. Only the structure of the content is validated here. The given
+     * bytes must not be modified afterwards.
+     *
+     * @param bytes JSON content
+     */
+    public BJSON(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Create a lazy {@link BJSON} from a range of UTF-8 encoded JSON content.
+     *
+     * @param bytes  JSON content
+     * @param offset offset of the JSON content in the given bytes
+     * @param length length of the JSON content
+     * @see #BJSON(byte[])
+     */
+    public BJSON(byte[] bytes, int offset, int length) {
+        try {
+            JsonIndex index = new JsonIndex(bytes, offset, length, StandardCharsets.UTF_8);
+            // A malformed document is rejected here, as it would be if it were parsed up front
+            index.validate();
+            int start = index.getRootStart();
+            if (index.isObject(start) || index.isArray(start)) {
+                this.lazyContent = new LazyContent(index, start, null, -1);
+                this.setType(index.isObject(start) ? Type.OBJECT : Type.ARRAY);
+            } else {
+                this.value = index.parse();
+                this.setType();
+            }
+        } catch (Throwable t) {
+            handleJsonException("failed to create json: ", t);
+        }
+    }
+
+    private BJSON(LazyContent lazyContent, Type nodeType) {
+        this.lazyContent = lazyContent;
+        this.setType(nodeType);
+    }
+
     /**
      * Create a {@link BJSON} from a {@link InputStream}.
      *
@@ -144,6 +198,142 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         this.value = value;
     }
 
+    /**
+     * Check whether this is a lazy {@link BJSON}, which is still backed by its raw content.
+     *
+     * @return true if the {@link JsonNode} tree of this value has not been built yet
+     */
+    public boolean isLazy() {
+        return this.value == null && this.lazyContent != null;
+    }
+
+    /**
+     * Get the type of the node represented by this {@link BJSON}, without building the {@link JsonNode} tree of a
+     * lazy value.
+     *
+     * @return type of the json node
+     */
+    public Type getNodeType() {
+        if (this.isLazy()) {
+            return this.lazyContent.index.isObject(this.lazyContent.start) ? Type.OBJECT : Type.ARRAY;
+        }
+        return this.value().getType();
+    }
+
+    /**
+     * Check whether a lazy json object has the given field.
+     *
+     * @param fieldName name of the field
+     * @return true if the field exists
+     */
+    public boolean hasLazyField(String fieldName) {
+        return this.lazyContent.index.getField(this.lazyContent.start, fieldName) >= 0;
+    }
+
+    /**
+     * Get a field of a lazy json object. A nested object or array is returned as a lazy {@link BJSON} backed by
+     * the same content.
+     *
+     * @param fieldName name of the field
+     * @return value of the field, or null if the field does not exist or is null
+     */
+    public BJSON getLazyField(String fieldName) {
+        int start = this.lazyContent.index.getField(this.lazyContent.start, fieldName);
+        return start < 0 ? null : this.getLazyMember(start, fieldName, -1);
+    }
+
+    /**
+     * Get an element of a lazy json array. A nested object or array is returned as a lazy {@link BJSON} backed by
+     * the same content.
+     *
+     * @param index index of the element
+     * @return the element, or null if the element is null
+     */
+    public BJSON getLazyElement(int index) {
+        return this.getLazyMember(this.lazyContent.index.getElement(this.lazyContent.start, index), null, index);
+    }
+
+    /**
+     * Get the number of elements of a lazy json array.
+     *
+     * @return array length
+     */
+    public int getLazySize() {
+        return this.lazyContent.index.getSize(this.lazyContent.start);
+    }
+
+    private BJSON getLazyMember(int start, String fieldName, int arrayIndex) {
+        JsonIndex index = this.lazyContent.index;
+        if (!index.isObject(start) && !index.isArray(start)) {
+            // Scalars are never modified in place, hence they need not be part of the json object model of the parent
+            JsonNode node = index.parse(start);
+            return node.isNull() ? null : new BJSON(node);
+        }
+
+        // The lazy values of a document are accessed and built under the lock of its index, as they may be read by
+        // more than one worker
+        synchronized (index) {
+            if (this.value != null) {
+                // Built by another worker in the meantime
+                JsonNode node = fieldName != null ? this.value.get(fieldName) : this.value.get(arrayIndex);
+                return node == null || node.isNull() ? null : new BJSON(node);
+            }
+            if (this.lazyContent.members == null) {
+                this.lazyContent.members = new LinkedHashMap<>();
+            }
+            BJSON member = this.lazyContent.members.get(start);
+            if (member == null) {
+                member = new BJSON(new LazyContent(index, start, fieldName, arrayIndex),
+                        index.isObject(start) ? Type.OBJECT : Type.ARRAY);
+                this.lazyContent.members.put(start, member);
+            }
+            return member;
+        }
+    }
+
+    /**
+     * Build the json object model of a lazy value, and attach it to the models of the lazy members which were
+     * accessed through this value, so that they refer to the same nodes as they would have if the whole content
+     * had been parsed up front.
+     */
+    private void materialize() {
+        synchronized (this.lazyContent.index) {
+            if (this.value != null) {
+                return;
+            }
+            JsonNode node = null;
+            try {
+                node = this.lazyContent.index.parse(this.lazyContent.start);
+            } catch (Throwable t) {
+                handleJsonException("failed to create json: ", t);
+            }
+            this.value = node;
+            bindLazyMembers(this);
+        }
+    }
+
+    private static void bindLazyMembers(BJSON parent) {
+        Map<Integer, BJSON> members = parent.lazyContent.members;
+        if (members == null) {
+            return;
+        }
+
+        for (BJSON member : members.values()) {
+            LazyContent content = member.lazyContent;
+            if (member.value == null) {
+                member.value = content.fieldName != null ? parent.value.get(content.fieldName) :
+                        parent.value.get(content.arrayIndex);
+                bindLazyMembers(member);
+            } else if (content.fieldName != null) {
+                // The member was materialized on its own, and may have been modified since
+                parent.value.set(content.fieldName, member.value);
+            } else {
+                parent.value.set(content.arrayIndex, member.value);
+            }
+        }
+        parent.lazyContent.members = null;
+    }
+
     @Override
     public void serializeData(OutputStream outputStream) {
         try {
@@ -151,6 +341,8 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
              * it should be able to serialize the data out again using the value */
             if (this.value != null) {
                 this.value.serialize(outputStream);
+            } else if (this.lazyContent != null) {
+                this.lazyContent.index.write(outputStream, this.lazyContent.start);
             } else {
                 JsonGenerator gen = new JsonGenerator(outputStream);
                 this.datasource.serialize(gen);
@@ -161,6 +353,31 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         }
     }
 
+    @Override
+    public boolean isStreaming() {
+        return this.value == null && this.lazyContent == null && this.datasource != null;
+    }
+
+    @Override
+    public void serializeChunked(ChunkedByteBufOutput output) {
+        JsonNode node = this.value;
+        if (node == null && this.lazyContent == null) {
+            // streaming data sources are only written through a JsonGenerator
+            super.serializeChunked(output);
+            return;
+        }
+
+        try {
+            if (node != null) {
+                node.serialize(output);
+            } else {
+                this.lazyContent.index.write(output, this.lazyContent.start);
+            }
+        } catch (Throwable t) {
+            handleJsonException("error occurred during writing the message to the buffer: ", t);
+        }
+    }
+
     /**
      * Get value associated with this {@link BJSON} object.
      *
@@ -168,7 +385,9 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
      */
     @Override
     public JsonNode value() {
-        if (this.value == null) {
+        if (this.isLazy()) {
+            this.materialize();
+        } else if (this.value == null) {
             ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
             try {
                 JsonGenerator gen = new JsonGenerator(byteOut);
@@ -213,12 +432,23 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
 
     public void setType(BType type) {
         this.type = (BJSONType) type;
+        cacheFieldNames(type);
+    }
+
+    /**
+     * Cache the encoded field names of the struct type constraining a json type, as the values of such a type are
+     * written with those names.
+     */
+    private static void cacheFieldNames(BType type) {
+        if (type instanceof BJSONType && ((BJSONType) type).getConstrainedType() instanceof BStructType) {
+            JsonByteBufWriter.cacheFieldNames((BStructType) ((BJSONType) type).getConstrainedType());
+        }
     }
 
     @Override
     public String getMessageAsString() {
         try {
-            return this.value.toString();
+            return this.value().toString();
         } catch (Throwable t) {
             handleJsonException("failed to get json as string: ", t);
         }
@@ -339,7 +569,11 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     }
     
     private void setType() {
-        switch (this.value.getType()) {
+        this.setType(this.value.getType());
+    }
+
+    private void setType(Type nodeType) {
+        switch (nodeType) {
             case ARRAY:
                 this.type = new BArrayType(BTypes.typeJSON);
                 break;
@@ -362,4 +596,29 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
                 this.type = BTypes.typeJSON;
         }
     }
+
+    /**
+     * Raw JSON content of a lazy {@link BJSON}.
+     */
+    private static class LazyContent {
+
+        private final JsonIndex index;
+
+        // offset of the value in the raw content
+        private final int start;
+
+        // field name or array index of this value in the lazy value through which it was accessed
+        private final String fieldName;
+        private final int arrayIndex;
+
+        // lazy values of the objects and arrays accessed through this value, by their offsets
+        private Map<Integer, BJSON> members;
+
+        LazyContent(JsonIndex index, int start, String fieldName, int arrayIndex) {
+            this.index = index;
+            this.start = start;
+            this.fieldName = fieldName;
+            this.arrayIndex = arrayIndex;
+        }
+    }
 }
@@ -17,6 +17,7 @@
  */
 package org.ballerinalang.model.values;
 
+import org.ballerinalang.model.types.BConnectorType;
 import org.ballerinalang.model.types.BMapType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
@@ -26,17 +27,25 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * {@code MapType} represents a map.
+ * <p>
+ * A map is accessed without any locking while it is only reachable from the worker which created it. Once it
+ * escapes to another worker, or to a package level variable, it is {@link #share() shared} and every access is
+ * guarded by a read-write lock from then on.
+ *
  * @param <K> Key
  * @param <V> Value
  * @since 0.8.0
@@ -46,9 +55,9 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
 
     @SuppressWarnings("unchecked")
     private LinkedHashMap<K, V> map;
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Lock readLock = lock.readLock();
-    private final Lock writeLock = lock.writeLock();
+    private volatile boolean shared;
+    private Lock readLock;
+    private Lock writeLock;
 
     public BMap() {
         map =  new LinkedHashMap<>();
@@ -60,6 +69,9 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return value
      */
     public V get(K key) {
+        if (!shared) {
+            return map.get(key);
+        }
         readLock.lock();
         try {
             return map.get(key);
@@ -74,6 +86,12 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param value value related to the key
      */
     public void put(K key, V value) {
+        if (!shared) {
+            map.put(key, value);
+            return;
+        }
+        // Values of a shared map are reachable from other workers as well.
+        share(value);
         writeLock.lock();
         try {
             map.put(key, value);
@@ -86,7 +104,16 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * Clear map entries.
      */
     public void clear() {
-        map.clear();
+        if (!shared) {
+            map.clear();
+            return;
+        }
+        writeLock.lock();
+        try {
+            map.clear();
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -96,7 +123,15 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return returns boolean true if key exists
      */
     public boolean hasKey(K key) {
-        return map.containsKey(key);
+        if (!shared) {
+            return map.containsKey(key);
+        }
+        readLock.lock();
+        try {
+            return map.containsKey(key);
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -104,7 +139,15 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return returns the size of the map
      */
     public int size() {
-        return map.size();
+        if (!shared) {
+            return map.size();
+        }
+        readLock.lock();
+        try {
+            return map.size();
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -112,15 +155,32 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param key key of the item to be removed
      */
     public void remove(K key) {
-        map.remove(key);
+        if (!shared) {
+            map.remove(key);
+            return;
+        }
+        writeLock.lock();
+        try {
+            map.remove(key);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
-     * Retrieve the set of keys related to this map.
+     * Retrieve the set of keys related to this map. The keys of a shared map are returned as a snapshot.
      * @return returns the set of keys
      */
     public Set<K> keySet() {
-        return map.keySet();
+        if (!shared) {
+            return map.keySet();
+        }
+        readLock.lock();
+        try {
+            return new LinkedHashSet<>(map.keySet());
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**Return true if this map is empty.
@@ -128,7 +188,96 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return Flag indicating whether the map is empty or not
      */
     public boolean isEmpty() {
-        return map.size() == 0;
+        return size() == 0;
+    }
+
+    /**
+     * Mark this map, and the maps it contains, as reachable from more than one worker. All the subsequent accesses
+     * to the map are synchronized.
+     */
+    public void share() {
+        if (shared) {
+            return;
+        }
+        synchronized (this) {
+            if (shared) {
+                return;
+            }
+            ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+            readLock = lock.readLock();
+            writeLock = lock.writeLock();
+            shared = true;
+        }
+        // The owner could not have modified the map concurrently, as it is the one sharing it.
+        for (V value : map.values()) {
+            share(value);
+        }
+    }
+
+    /**
+     * Check whether this map is reachable from more than one worker.
+     *
+     * @return true if the map is shared
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Share the maps reachable from the given value, i.e. the value itself, or the maps held by a struct, a connector
+     * or an array. Structs, connectors and arrays are marked as shared as well, hence those are not walked again when
+     * shared once more.
+     *
+     * @param value value which has escaped its worker
+     */
+    public static void share(BValue value) {
+        if (value instanceof BMap) {
+            ((BMap) value).share();
+        } else if (value instanceof BStruct) {
+            BStruct struct = (BStruct) value;
+            if (struct.markShared()) {
+                shareRefFields(struct, struct.getType().getFieldTypeCount()[5]);
+            }
+        } else if (value instanceof BConnector) {
+            // Actions of a connector run on the workers invoking those, hence its fields are shared likewise.
+            BConnector connector = (BConnector) value;
+            if (connector.markShared()) {
+                shareRefFields(connector, ((BConnectorType) connector.getConnectorType()).getFieldTypeCount()[5]);
+            }
+        } else if (value instanceof BRefValueArray) {
+            BRefValueArray array = (BRefValueArray) value;
+            if (!array.markShared()) {
+                return;
+            }
+            for (long i = 0; i < array.size(); i++) {
+                share(array.get(i));
+            }
+        }
+    }
+
+    private static void shareRefFields(StructureType structure, int refFieldCount) {
+        for (int i = 0; i < refFieldCount; i++) {
+            share(structure.getRefField(i));
+        }
+    }
+
+    /**
+     * Get a snapshot of the entries of this map.
+     *
+     * @return entries of the map
+     */
+    private Iterable<Map.Entry<K, V>> entries() {
+        if (!shared) {
+            return map.entrySet();
+        }
+        readLock.lock();
+        try {
+            List<Map.Entry<K, V>> entries = new ArrayList<>(map.size());
+            map.forEach((k, v) -> entries.add(new AbstractMap.SimpleImmutableEntry<>(k, v)));
+            return entries;
+        } finally {
+            readLock.unlock();
+        }
     }
 
     @Override
@@ -140,7 +289,7 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
     public String stringValue() {
         StringJoiner sj = new StringJoiner(", ", "{", "}");
 
-        for (Iterator<Map.Entry<K, V>> i = map.entrySet().iterator(); i.hasNext();) {
+        for (Iterator<Map.Entry<K, V>> i = entries().iterator(); i.hasNext();) {
 
             String key;
             String stringValue;
@@ -171,7 +320,7 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
     @Override
     public BValue copy() {
         BMap<K, BValue> newMap = BTypes.typeMap.getEmptyValue();
-        for (Map.Entry<K, V> entry: map.entrySet()) {
+        for (Map.Entry<K, V> entry: entries()) {
             BValue value = entry.getValue();
             newMap.put(entry.getKey(), value == null ? null : value.copy());
         }
@@ -209,7 +358,7 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
 
         BMapIterator(BMap<K, V> value) {
             collection = value;
-            iterator = collection.map.entrySet().iterator();
+            iterator = collection.entries().iterator();
         }
 
         @Override
@@ -31,6 +31,8 @@ public class BRefValueArray extends BNewArray {
 
     private BRefType[] values;
 
+    private volatile boolean shared;
+
     public BRefValueArray(BRefType[] values, BType type) {
         this.values = values;
         this.arrayType = type;
@@ -56,6 +58,33 @@ public class BRefValueArray extends BNewArray {
         return values[(int) index];
     }
 
+    /**
+     * Mark this array as reachable from more than one worker.
+     *
+     * @return true if it was not marked before
+     */
+    public boolean markShared() {
+        if (shared) {
+            return false;
+        }
+        synchronized (this) {
+            if (shared) {
+                return false;
+            }
+            shared = true;
+            return true;
+        }
+    }
+
+    /**
+     * Check whether this array is reachable from more than one worker.
+     *
+     * @return true if the array is shared
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
     @Override
     public BType getType() {
         return arrayType;
@@ -45,6 +45,8 @@ public final class BStruct implements BRefType, StructureType {
 
     private BStructType structType;
 
+    private volatile boolean shared;
+
     /**
      * Creates a struct with a single memory block.
      *
@@ -185,6 +187,25 @@ public final class BStruct implements BRefType, StructureType {
         return bStruct;
     }
 
+    @Override
+    public boolean markShared() {
+        if (shared) {
+            return false;
+        }
+        synchronized (this) {
+            if (shared) {
+                return false;
+            }
+            shared = true;
+            return true;
+        }
+    }
+
+    @Override
+    public boolean isShared() {
+        return shared;
+    }
+
     /**
      * Add natively accessible data to a struct.
      *
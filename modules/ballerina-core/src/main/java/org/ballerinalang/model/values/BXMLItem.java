@@ -23,6 +23,7 @@ import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMNamespace;
 import org.apache.axiom.om.OMNode;
 import org.apache.axiom.om.OMProcessingInstruction;
+import org.apache.axiom.om.OMSourcedElement;
 import org.apache.axiom.om.OMText;
 import org.apache.axiom.om.OMXMLBuilderFactory;
 import org.apache.axiom.om.impl.common.OMNamespaceImpl;
@@ -582,12 +583,25 @@ public final class BXMLItem extends BXML<OMNode> {
     @Override
     public void serializeData(OutputStream outputStream) {
         try {
-            this.omNode.serialize(outputStream);
+            if (this.isStreaming()) {
+                // Write the rows of the data source as they are read, instead of expanding the element first
+                this.omNode.serializeAndConsume(outputStream);
+            } else {
+                this.omNode.serialize(outputStream);
+            }
         } catch (Throwable t) {
             handleXmlException("error occurred during writing the message to the output stream: ", t);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isStreaming() {
+        return this.omNode instanceof OMSourcedElement && !((OMSourcedElement) this.omNode).isExpanded();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -45,4 +45,18 @@ public interface StructureType {
     BRefType getRefField(int index);
 
     void setRefField(int index, BRefType value);
+
+    /**
+     * Mark this structure as reachable from more than one worker.
+     *
+     * @return true if it was not marked before
+     */
+    boolean markShared();
+
+    /**
+     * Check whether this structure is reachable from more than one worker.
+     *
+     * @return true if the structure is shared
+     */
+    boolean isShared();
 }
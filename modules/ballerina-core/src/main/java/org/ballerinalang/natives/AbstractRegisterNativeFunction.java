@@ -0,0 +1,48 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.natives;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * {@code AbstractRegisterNativeFunction} is a native function which reads its arguments from, and writes its return
+ * values to, the registers of the calling stack frame.
+ * <p>
+ * Unlike {@link AbstractNativeFunction#execute(Context)}, the VM neither pushes a stack frame nor boxes the
+ * arguments and return values into {@link BValue}s when invoking such a function. Functions taking and returning
+ * value types should prefer this form.
+ *
+ * @since 0.95.8
+ */
+public abstract class AbstractRegisterNativeFunction extends AbstractNativeFunction {
+
+    /**
+     * Where Native Function logic is implemented.
+     *
+     * @param registers view of the caller's argument and return registers
+     */
+    public abstract void execute(NativeRegisters registers);
+
+    @Override
+    public BValue[] execute(Context context) {
+        throw new BallerinaException("native function '" + getClass().getName() +
+                "' must be invoked with its arguments in registers");
+    }
+}
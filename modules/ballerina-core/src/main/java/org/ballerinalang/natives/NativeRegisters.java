@@ -0,0 +1,133 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.natives;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.StackFrame;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.natives.exceptions.ArgumentOutOfRangeException;
+import org.ballerinalang.util.exceptions.BLangNullReferenceException;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * {@code NativeRegisters} gives a {@link AbstractRegisterNativeFunction} direct access to the caller's registers.
+ * <p>
+ * Arguments and return values are addressed by their position in the function signature, and are read from, and
+ * written to, the typed registers of the calling stack frame. Since a return register may be the same as an
+ * argument register, a native function should read all of its arguments before setting any return value.
+ * <p>
+ * An instance is owned by a single VM and re-bound for every invocation, hence it must not be retained by the
+ * native function.
+ *
+ * @since 0.95.8
+ */
+public class NativeRegisters {
+
+    private final Context context;
+    private StackFrame callerSF;
+    private int[] argRegs;
+    private int[] retRegs;
+
+    public NativeRegisters(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Bind this view to the registers of a native function invocation.
+     *
+     * @param callerSF stack frame of the caller
+     * @param argRegs  caller's register indexes holding the arguments
+     * @param retRegs  caller's register indexes to which the return values should be written
+     */
+    public void bind(StackFrame callerSF, int[] argRegs, int[] retRegs) {
+        this.callerSF = callerSF;
+        this.argRegs = argRegs;
+        this.retRegs = retRegs;
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    public long getIntArgument(int position) {
+        return callerSF.getLongRegs()[argRegIndex(position)];
+    }
+
+    public double getFloatArgument(int position) {
+        return callerSF.getDoubleRegs()[argRegIndex(position)];
+    }
+
+    public String getStringArgument(int position) {
+        String str = callerSF.getStringRegs()[argRegIndex(position)];
+        if (str == null) {
+            throw new BLangNullReferenceException();
+        }
+        return str;
+    }
+
+    public boolean getBooleanArgument(int position) {
+        return callerSF.getIntRegs()[argRegIndex(position)] == 1;
+    }
+
+    public byte[] getBlobArgument(int position) {
+        byte[] result = callerSF.getByteRegs()[argRegIndex(position)];
+        if (result == null) {
+            throw new BallerinaException("argument " + position + " is null");
+        }
+        return result;
+    }
+
+    public BRefType getRefArgument(int position) {
+        BRefType result = callerSF.getRefRegs()[argRegIndex(position)];
+        if (result == null) {
+            throw new BallerinaException("argument " + position + " is null");
+        }
+        return result;
+    }
+
+    public void setIntReturn(int position, long value) {
+        callerSF.getLongRegs()[retRegs[position]] = value;
+    }
+
+    public void setFloatReturn(int position, double value) {
+        callerSF.getDoubleRegs()[retRegs[position]] = value;
+    }
+
+    public void setStringReturn(int position, String value) {
+        callerSF.getStringRegs()[retRegs[position]] = value;
+    }
+
+    public void setBooleanReturn(int position, boolean value) {
+        callerSF.getIntRegs()[retRegs[position]] = value ? 1 : 0;
+    }
+
+    public void setBlobReturn(int position, byte[] value) {
+        callerSF.getByteRegs()[retRegs[position]] = value;
+    }
+
+    public void setRefReturn(int position, BRefType value) {
+        callerSF.getRefRegs()[retRegs[position]] = value;
+    }
+
+    private int argRegIndex(int position) {
+        if (position < 0 || position >= argRegs.length) {
+            throw new ArgumentOutOfRangeException(position);
+        }
+        return argRegs[position];
+    }
+}
@@ -28,4 +28,19 @@ public class Constants {
 
     // Name of the system property to hold the debug port
     public static final String SYSTEM_PROP_BAL_DEBUG = "debug";
+
+    // Name of the system property to select the BVM instruction dispatch mode
+    public static final String SYSTEM_PROP_VM_DISPATCH = "ballerina.vm.dispatch";
+
+    // Dispatch mode which pre-links instructions at package load time
+    public static final String VM_DISPATCH_LINKED = "linked";
+
+    // Name of the system property to select the worker scheduling mode
+    public static final String SYSTEM_PROP_VM_SCHEDULER = "ballerina.vm.scheduler";
+
+    // Scheduling mode which suspends blocked workers instead of parking their threads
+    public static final String VM_SCHEDULER_SUSPENDING = "suspending";
+
+    // Name of the system property to hold the number of carrier threads of the suspending scheduler
+    public static final String SYSTEM_PROP_VM_SCHEDULER_CARRIERS = "ballerina.vm.scheduler.carriers";
 }
@@ -60,6 +60,27 @@ public class BallerinaMessageDataSource implements MessageDataSource {
         // This is where we write to output stream
     }
 
+    /**
+     * Serialize the message into chunks of buffers, so that it can be handed over to a Netty based transport without
+     * further copies. By default the message is written through {@link #serializeData(OutputStream)}; data sources
+     * which can encode themselves directly override this.
+     *
+     * @param output output to write the message to
+     */
+    public void serializeChunked(ChunkedByteBufOutput output) {
+        this.serializeData((OutputStream) output);
+    }
+
+    /**
+     * Check whether the message is generated while it is being serialized, e.g. from the rows of a datatable. Such a
+     * message can be arbitrarily large, and hence should be written out in chunks rather than into a single buffer.
+     *
+     * @return true if the message is generated during serialization
+     */
+    public boolean isStreaming() {
+        return false;
+    }
+
     @Override
     public String getMessageAsString() {
         return null;
@@ -18,6 +18,7 @@
 
 package org.ballerinalang.runtime.message;
 
+import io.netty.buffer.Unpooled;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.IOException;
@@ -54,6 +55,11 @@ public class BlobDataSource extends BallerinaMessageDataSource {
         }
     }
 
+    @Override
+    public void serializeChunked(ChunkedByteBufOutput output) {
+        output.write(Unpooled.wrappedBuffer(value));
+    }
+
     @Override
     public String getMessageAsString() {
         return new String(value, Charset.forName("UTF-8"));
@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.runtime.message;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * {@code ChunkedByteBufOutput} collects a serialized message in a sequence of buffers of a bounded size, rather than
+ * in a single buffer holding the whole message. A buffer is handed over to the chunk consumer as soon as it fills up,
+ * hence a large message is never kept in one contiguous allocation.
+ * <p>
+ * Serializers which write into the {@link #buffer() current buffer} directly should call {@link #flushIfFull()} in
+ * between the values they write. The output can also be used as an {@link OutputStream}.
+ *
+ * @since 0.95.8
+ */
+public class ChunkedByteBufOutput extends OutputStream {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+
+    private final ByteBufAllocator allocator;
+
+    private final int chunkSize;
+
+    private final Consumer<ByteBuf> chunkConsumer;
+
+    private ByteBuf chunk;
+
+    public ChunkedByteBufOutput(ByteBufAllocator allocator, Consumer<ByteBuf> chunkConsumer) {
+        this(allocator, DEFAULT_CHUNK_SIZE, chunkConsumer);
+    }
+
+    public ChunkedByteBufOutput(ByteBufAllocator allocator, int chunkSize, Consumer<ByteBuf> chunkConsumer) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunk size should be positive");
+        }
+        this.allocator = allocator;
+        this.chunkSize = chunkSize;
+        this.chunkConsumer = chunkConsumer;
+    }
+
+    /**
+     * Returns the buffer which is currently being filled. A single value may grow the buffer beyond the chunk size.
+     *
+     * @return current buffer
+     */
+    public ByteBuf buffer() {
+        if (this.chunk == null) {
+            this.chunk = this.allocator.buffer(this.chunkSize);
+        }
+        return this.chunk;
+    }
+
+    /**
+     * Hands the current buffer over to the chunk consumer if it has reached the chunk size.
+     */
+    public void flushIfFull() {
+        if (this.chunk != null && this.chunk.readableBytes() >= this.chunkSize) {
+            ByteBuf content = this.chunk;
+            this.chunk = null;
+            this.chunkConsumer.accept(content);
+        }
+    }
+
+    /**
+     * Adds content which is already in a buffer of its own, e.g. a wrapped byte array, without copying it.
+     *
+     * @param content content to add
+     */
+    public void write(ByteBuf content) {
+        if (this.chunk != null && this.chunk.isReadable()) {
+            ByteBuf previous = this.chunk;
+            this.chunk = null;
+            this.chunkConsumer.accept(previous);
+        }
+        this.chunkConsumer.accept(content);
+    }
+
+    @Override
+    public void write(int b) {
+        this.buffer().writeByte(b);
+        this.flushIfFull();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        while (len > 0) {
+            ByteBuf buf = this.buffer();
+            int count = Math.min(len, Math.max(this.chunkSize - buf.readableBytes(), 1));
+            buf.writeBytes(b, off, count);
+            off += count;
+            len -= count;
+            this.flushIfFull();
+        }
+    }
+
+    /**
+     * Completes the output. The content which is not yet handed over is returned, to be added as the last content
+     * of the message.
+     *
+     * @return remaining content, which may be empty
+     */
+    public ByteBuf finish() {
+        ByteBuf content = this.chunk != null ? this.chunk : Unpooled.EMPTY_BUFFER;
+        this.chunk = null;
+        return content;
+    }
+
+    /**
+     * Releases the content which is not yet handed over, e.g. when the serialization of the message failed.
+     */
+    public void discard() {
+        if (this.chunk != null) {
+            this.chunk.release();
+            this.chunk = null;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code InstrumentedThreadPoolExecutor} is a configurable thread pool which records its queueing and execution
+ * latencies and its rejections, and publishes them to the {@link ThreadPoolMetricsListener}s.
+ *
+ * @since 0.95.8
+ */
+public class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final String poolName;
+    private final List<ThreadPoolMetricsListener> listeners;
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+    private final LatencyHistogram executionLatency = new LatencyHistogram();
+    private final LongAdder rejectedTaskCount = new LongAdder();
+
+    public InstrumentedThreadPoolExecutor(ThreadPoolConfig config, BLangThreadFactory threadFactory,
+                                          List<ThreadPoolMetricsListener> listeners) {
+        super(config.getCoreSize(), config.getMaxSize(), config.getKeepAliveSeconds(), TimeUnit.SECONDS,
+                config.createQueue(), threadFactory);
+        this.poolName = config.getPoolName();
+        this.listeners = listeners;
+        setRejectedExecutionHandler(new RejectionRecorder(config.createRejectionPolicy()));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(new InstrumentedTask(command));
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        ((InstrumentedTask) r).startNanos = System.nanoTime();
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        InstrumentedTask task = (InstrumentedTask) r;
+        long queuedNanos = task.startNanos - task.submitNanos;
+        long executionNanos = System.nanoTime() - task.startNanos;
+        queueLatency.record(queuedNanos);
+        executionLatency.record(executionNanos);
+        for (ThreadPoolMetricsListener listener : listeners) {
+            listener.taskCompleted(this, queuedNanos, executionNanos);
+        }
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * Number of tasks waiting in the queue.
+     *
+     * @return queued task count
+     */
+    public int getQueuedTaskCount() {
+        return getQueue().size();
+    }
+
+    public long getRejectedTaskCount() {
+        return rejectedTaskCount.sum();
+    }
+
+    /**
+     * Latencies between the submission of tasks and the start of their execution.
+     *
+     * @return queue latency histogram
+     */
+    public LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    public LatencyHistogram getExecutionLatency() {
+        return executionLatency;
+    }
+
+    /**
+     * Runnable which records when it was submitted and started.
+     */
+    private static class InstrumentedTask implements Runnable {
+
+        private final Runnable task;
+        private final long submitNanos = System.nanoTime();
+        private long startNanos;
+
+        InstrumentedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * Counts the rejections before applying the configured rejection policy.
+     */
+    private class RejectionRecorder implements RejectedExecutionHandler {
+
+        private final RejectedExecutionHandler policy;
+
+        RejectionRecorder(RejectedExecutionHandler policy) {
+            this.policy = policy;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            rejectedTaskCount.increment();
+            for (ThreadPoolMetricsListener listener : listeners) {
+                listener.taskRejected(InstrumentedThreadPoolExecutor.this);
+            }
+            policy.rejectedExecution(r, executor);
+        }
+    }
+}
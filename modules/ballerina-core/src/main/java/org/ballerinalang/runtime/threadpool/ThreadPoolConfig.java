@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * {@code ThreadPoolConfig} holds the configuration of a thread pool in the Ballerina engine.
+ * <p>
+ * A pool is configured through an instance configuration in ballerina.conf, e.g.
+ * <pre>
+ * [ballerina.threadpool.worker]
+ * core_size=20
+ * max_size=100
+ * queue=bounded
+ * queue_capacity=1000
+ * rejection_policy=caller_runs
+ * </pre>
+ * Each value can be overridden with a system property of the form {@code ballerina.threadpool.worker.max_size}.
+ *
+ * @since 0.95.8
+ */
+public class ThreadPoolConfig {
+
+    public static final String CONFIG_INSTANCE_PREFIX = "ballerina.threadpool.";
+
+    public static final String CORE_SIZE = "core_size";
+    public static final String MAX_SIZE = "max_size";
+    public static final String KEEP_ALIVE_SECONDS = "keep_alive_seconds";
+    public static final String QUEUE = "queue";
+    public static final String QUEUE_CAPACITY = "queue_capacity";
+    public static final String REJECTION_POLICY = "rejection_policy";
+
+    private static final String QUEUE_UNBOUNDED = "unbounded";
+    private static final String QUEUE_BOUNDED = "bounded";
+    private static final String QUEUE_SYNCHRONOUS = "synchronous";
+
+    private static final String POLICY_ABORT = "abort";
+    private static final String POLICY_CALLER_RUNS = "caller_runs";
+    private static final String POLICY_DISCARD = "discard";
+    private static final String POLICY_DISCARD_OLDEST = "discard_oldest";
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+    private static final long DEFAULT_KEEP_ALIVE_SECONDS = 60;
+
+    private final String poolName;
+    private final int coreSize;
+    private final int maxSize;
+    private final long keepAliveSeconds;
+    private final String queue;
+    private final int queueCapacity;
+    private final String rejectionPolicy;
+
+    private ThreadPoolConfig(String poolName, int coreSize, int maxSize, long keepAliveSeconds, String queue,
+                             int queueCapacity, String rejectionPolicy) {
+        this.poolName = poolName;
+        this.coreSize = coreSize;
+        this.maxSize = maxSize;
+        this.keepAliveSeconds = keepAliveSeconds;
+        this.queue = queue;
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    /**
+     * Load the configuration of a pool. Without any configuration the pool is a fixed size pool with an unbounded
+     * queue, which aborts rejected tasks.
+     *
+     * @param poolName    name of the pool, used in the configuration keys
+     * @param defaultSize number of threads of the pool if it is not configured
+     * @return pool configuration
+     */
+    public static ThreadPoolConfig load(String poolName, int defaultSize) {
+        String instanceId = CONFIG_INSTANCE_PREFIX + poolName;
+        int coreSize = getIntValue(instanceId, CORE_SIZE, defaultSize);
+        int maxSize = getIntValue(instanceId, MAX_SIZE, Math.max(coreSize, defaultSize));
+        long keepAliveSeconds = getIntValue(instanceId, KEEP_ALIVE_SECONDS, (int) DEFAULT_KEEP_ALIVE_SECONDS);
+        String queue = getValue(instanceId, QUEUE, QUEUE_UNBOUNDED);
+        int queueCapacity = getIntValue(instanceId, QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY);
+        String rejectionPolicy = getValue(instanceId, REJECTION_POLICY, POLICY_ABORT);
+
+        if (coreSize < 0 || maxSize <= 0 || maxSize < coreSize) {
+            throw new BallerinaException("invalid thread pool sizes for '" + poolName + "': core size " + coreSize +
+                    ", max size " + maxSize);
+        }
+        ThreadPoolConfig config = new ThreadPoolConfig(poolName, coreSize, maxSize, keepAliveSeconds, queue,
+                queueCapacity, rejectionPolicy);
+        // Validate the queue type and the rejection policy eagerly.
+        config.createQueue();
+        config.createRejectionPolicy();
+        return config;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getCoreSize() {
+        return coreSize;
+    }
+
+    /**
+     * Maximum number of threads. Note that threads above the core size are only started when the queue is full,
+     * hence this has no effect with an unbounded queue.
+     *
+     * @return maximum number of threads
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    BlockingQueue<Runnable> createQueue() {
+        switch (queue.toLowerCase(Locale.ENGLISH)) {
+            case QUEUE_UNBOUNDED:
+                return new LinkedBlockingQueue<>();
+            case QUEUE_BOUNDED:
+                return new ArrayBlockingQueue<>(queueCapacity);
+            case QUEUE_SYNCHRONOUS:
+                return new SynchronousQueue<>();
+            default:
+                throw new BallerinaException("invalid queue type '" + queue + "' for thread pool '" + poolName + "'");
+        }
+    }
+
+    RejectedExecutionHandler createRejectionPolicy() {
+        switch (rejectionPolicy.toLowerCase(Locale.ENGLISH)) {
+            case POLICY_ABORT:
+                return new ThreadPoolExecutor.AbortPolicy();
+            case POLICY_CALLER_RUNS:
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            case POLICY_DISCARD:
+                return new ThreadPoolExecutor.DiscardPolicy();
+            case POLICY_DISCARD_OLDEST:
+                return new ThreadPoolExecutor.DiscardOldestPolicy();
+            default:
+                throw new BallerinaException("invalid rejection policy '" + rejectionPolicy + "' for thread pool '" +
+                        poolName + "'");
+        }
+    }
+
+    private static String getValue(String instanceId, String key, String defaultValue) {
+        String value = System.getProperty(instanceId + "." + key);
+        if (value == null) {
+            value = ConfigRegistry.getInstance().getInstanceConfigValue(instanceId, key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    private static int getIntValue(String instanceId, String key, int defaultValue) {
+        String value = getValue(instanceId, key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BallerinaException("invalid value '" + value + "' for '" + key + "' of thread pool '" +
+                    instanceId.substring(CONFIG_INSTANCE_PREFIX.length()) + "'");
+        }
+    }
+}
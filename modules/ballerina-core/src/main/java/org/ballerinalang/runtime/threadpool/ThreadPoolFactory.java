@@ -18,30 +18,59 @@
 
 package org.ballerinalang.runtime.threadpool;
 
+import org.ballerinalang.runtime.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * {@code ThreadPoolFactory} holds the thread pools in Ballerina engine.
+ * <p>
+ * The pools are configured through {@link ThreadPoolConfig}, and their metrics are published to the registered
+ * {@link ThreadPoolMetricsListener}s.
  *
  * @since 0.8.0
  */
 public class ThreadPoolFactory {
 
+    private static final String BLANG_WORKER_POOL = "blangworker";
+    private static final String WORKER_POOL = "worker";
+    private static final String WORKER_CARRIER_POOL = "carrier";
+
     private static ThreadPoolFactory instance = new ThreadPoolFactory();
 
-    //TODO: Make the thread count configurable.
-    // Ideally number of threads need to be calculated and spawned intelligently
-    // based on the environment and runtime status (CPU Usage, memory, etc).
-    // A configuration parameter which is user configurable is also required.
-    // Issue#1929
-    private ExecutorService executorService =  Executors.newFixedThreadPool(500, new BLangThreadFactory("BLangWorker"));
+    private final List<ThreadPoolMetricsListener> metricsListeners = new CopyOnWriteArrayList<>();
+
+    private final List<InstrumentedThreadPoolExecutor> threadPools = new ArrayList<>();
+
+    private InstrumentedThreadPoolExecutor executorService;
+
+    private InstrumentedThreadPoolExecutor workerExecutor;
 
-    //TODO: Make the number of threads configurable
-    private ExecutorService workerExecutor = Executors.newFixedThreadPool(100,
-            new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
+    // Workers of the suspending scheduler do not hold a thread while they wait, hence a small pool is sufficient.
+    private InstrumentedThreadPoolExecutor workerCarrierExecutor;
 
-    private ThreadPoolFactory(){};
+    private ScheduledExecutorService workerTimer = Executors.newSingleThreadScheduledExecutor(
+            new BLangThreadFactory("worker-timer"));
+
+    private ThreadPoolFactory() {
+        ServiceLoader.load(ThreadPoolMetricsListener.class).forEach(metricsListeners::add);
+
+        executorService = createThreadPool(ThreadPoolConfig.load(BLANG_WORKER_POOL, 500),
+                new BLangThreadFactory("BLangWorker"));
+        workerExecutor = createThreadPool(ThreadPoolConfig.load(WORKER_POOL, 100),
+                new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
+        int carrierCount = Integer.getInteger(Constants.SYSTEM_PROP_VM_SCHEDULER_CARRIERS,
+                Runtime.getRuntime().availableProcessors());
+        workerCarrierExecutor = createThreadPool(ThreadPoolConfig.load(WORKER_CARRIER_POOL, carrierCount),
+                new BLangThreadFactory(new ThreadGroup("worker"), "worker-carrier"));
+    }
 
     public static ThreadPoolFactory getInstance() {
         return instance;
@@ -55,4 +84,41 @@ public class ThreadPoolFactory {
         return workerExecutor;
     }
 
+    public ExecutorService getWorkerCarrierExecutor() {
+        return workerCarrierExecutor;
+    }
+
+    public ScheduledExecutorService getWorkerTimer() {
+        return workerTimer;
+    }
+
+    /**
+     * Get all the thread pools, e.g. to read their live metrics.
+     *
+     * @return thread pools of the engine
+     */
+    public List<InstrumentedThreadPoolExecutor> getThreadPools() {
+        return Collections.unmodifiableList(threadPools);
+    }
+
+    /**
+     * Register a listener for the metrics of the thread pools.
+     *
+     * @param listener metrics listener
+     */
+    public void addMetricsListener(ThreadPoolMetricsListener listener) {
+        metricsListeners.add(listener);
+        threadPools.forEach(listener::poolCreated);
+    }
+
+    public void removeMetricsListener(ThreadPoolMetricsListener listener) {
+        metricsListeners.remove(listener);
+    }
+
+    private InstrumentedThreadPoolExecutor createThreadPool(ThreadPoolConfig config, BLangThreadFactory factory) {
+        InstrumentedThreadPoolExecutor pool = new InstrumentedThreadPoolExecutor(config, factory, metricsListeners);
+        threadPools.add(pool);
+        metricsListeners.forEach(listener -> listener.poolCreated(pool));
+        return pool;
+    }
 }
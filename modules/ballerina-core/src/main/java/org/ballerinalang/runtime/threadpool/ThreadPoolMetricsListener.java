@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+/**
+ * {@code ThreadPoolMetricsListener} is the SPI through which metrics of the thread pools in the Ballerina engine
+ * are published, e.g. to a monitoring system.
+ * <p>
+ * Implementations are discovered with {@link java.util.ServiceLoader}, or registered with
+ * {@link ThreadPoolFactory#addMetricsListener(ThreadPoolMetricsListener)}. Task events are delivered on the pool
+ * threads, hence implementations should be thread safe and cheap.
+ *
+ * @since 0.95.8
+ */
+public interface ThreadPoolMetricsListener {
+
+    /**
+     * Called when a pool is created, or when the listener is registered after the pool was created. Live values,
+     * such as the number of active threads and queued tasks, can be read from the pool at any time after this.
+     *
+     * @param pool the thread pool
+     */
+    default void poolCreated(InstrumentedThreadPoolExecutor pool) {
+    }
+
+    /**
+     * Called when a task has completed.
+     *
+     * @param pool           the thread pool
+     * @param queuedNanos    time the task waited in the queue
+     * @param executionNanos time taken to execute the task
+     */
+    default void taskCompleted(InstrumentedThreadPoolExecutor pool, long queuedNanos, long executionNanos) {
+    }
+
+    /**
+     * Called when a task was rejected by a saturated pool.
+     *
+     * @param pool the thread pool
+     */
+    default void taskRejected(InstrumentedThreadPoolExecutor pool) {
+    }
+}
@@ -17,6 +17,7 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.bre.bvm.LinkedInstruction;
 import org.ballerinalang.util.codegen.attributes.AttributeInfo;
 import org.ballerinalang.util.codegen.attributes.AttributeInfoPool;
 import org.ballerinalang.util.codegen.attributes.LineNumberTableAttributeInfo;
@@ -46,6 +47,8 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
     private Instruction[] instructions;
     private List<Instruction> instructionList = new ArrayList<>();
 
+    private LinkedInstruction[] linkedInstructions;
+
     private Map<String, PackageVarInfo> constantInfoMap = new LinkedHashMap<>();
 
     private Map<String, PackageVarInfo> globalVarInfoMap = new LinkedHashMap<>();
@@ -220,6 +223,14 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
         return instructions;
     }
 
+    public LinkedInstruction[] getLinkedInstructions() {
+        return linkedInstructions;
+    }
+
+    public void setLinkedInstructions(LinkedInstruction[] linkedInstructions) {
+        this.linkedInstructions = linkedInstructions;
+    }
+
     public int getInstructionCount() {
         return instructionList.size();
     }
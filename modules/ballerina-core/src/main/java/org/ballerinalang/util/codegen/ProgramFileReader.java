@@ -17,6 +17,7 @@
  */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.bre.bvm.InstructionLinker;
 import org.ballerinalang.connector.api.AbstractNativeAction;
 import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BConnectorType;
@@ -373,6 +374,11 @@ public class ProgramFileReader {
         readInstructions(dataInStream, packageInfo);
 
         packageInfo.complete();
+
+        // Pre-decode instructions if the linked dispatch mode is selected
+        if (InstructionLinker.isEnabled()) {
+            packageInfo.setLinkedInstructions(InstructionLinker.link(packageInfo));
+        }
     }
 
     private void readStructInfoEntries(DataInputStream dataInStream,
@@ -21,6 +21,8 @@ import org.ballerinalang.model.types.BType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +46,7 @@ public class WorkerDataChannelInfo {
     private int dataChannelRefIndex;
 
     private BlockingQueue<Object[]> channel;
+    private final Deque<Runnable> receivers = new ArrayDeque<>();
     private BType[] types;
     private static final Logger log = LoggerFactory.getLogger(WorkerDataChannelInfo.class);
 
@@ -64,6 +67,14 @@ public class WorkerDataChannelInfo {
             // Handle the error properly
             log.error("Error occurred when inserting data to the channel");
         }
+
+        Runnable receiver;
+        synchronized (receivers) {
+            receiver = receivers.pollFirst();
+        }
+        if (receiver != null) {
+            receiver.run();
+        }
     }
 
     public Object[] takeData() {
@@ -77,6 +88,31 @@ public class WorkerDataChannelInfo {
         return data;
     }
 
+    /**
+     * Take data from the channel without waiting.
+     *
+     * @return data, or {@code null} if the channel is empty
+     */
+    public Object[] tryTakeData() {
+        return channel.poll();
+    }
+
+    /**
+     * Register a suspended receiver to be resumed when data is put into the channel. The receiver is resumed
+     * immediately if the channel already has data.
+     *
+     * @param resumeTask task which resumes the suspended receiver
+     */
+    public void awaitData(Runnable resumeTask) {
+        synchronized (receivers) {
+            if (channel.isEmpty()) {
+                receivers.addLast(resumeTask);
+                return;
+            }
+        }
+        resumeTask.run();
+    }
+
     public String getChannelName() {
         return source + "->" + target;
     }
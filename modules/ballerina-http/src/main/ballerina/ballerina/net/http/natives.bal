@@ -288,10 +288,40 @@ public struct HttpConnectorError {
 
 @Description { value:"Retry struct represents retry related options for HTTP client invocation" }
 @Field {value:"count: Number of retries"}
-@Field {value:"interval: Retry interval in millisecond"}
+@Field {value:"interval: Retry interval in millisecond, to which a random jitter of up to half of it is added, up to the maximum retry interval"}
+@Field {value:"backOffFactor: Multiplier of the retry interval for each retry (default value: 1.0)"}
+@Field {value:"maxWaitInterval: Maximum retry interval in millisecond (default value: 60000)"}
+@Field {value:"budgetRatio: Maximum ratio of the retries to the requests of the connector in a window of ten seconds (default value: 0.2)"}
+@Field {value:"minRetriesPerSecond: Number of retries per second which are allowed regardless of the number of requests (default value: 10)"}
 struct Retry {
     int count;
     int interval;
+    float backOffFactor = 1.0;
+    int maxWaitInterval = 60000;
+    float budgetRatio = 0.2;
+    int minRetriesPerSecond = 10;
+}
+
+@Description { value:"Cache struct represents response caching options to be used for HTTP client invocation" }
+@Field {value:"enabled: Enable caching of responses (default value: true)"}
+@Field {value:"capacity: Maximum number of bytes held by the cached responses (default value: 8388608)"}
+@Field {value:"maxEntrySize: Maximum length of the body of a cached response in bytes (default value: 1048576)"}
+@Field {value:"isShared: Whether the cache is shared by many users, in which case responses which are private to a user are not cached (default value: true)"}
+struct Cache {
+    boolean enabled = true;
+    int capacity = 8388608;
+    int maxEntrySize = 1048576;
+    boolean isShared = true;
+}
+
+@Description { value:"RequestCoalescing struct represents options to share a single request among identical GET requests which are made at the same time" }
+@Field {value:"enabled: Enable coalescing of identical requests (default value: true)"}
+@Field {value:"keyHeaders: Comma separated names of the request headers which should have the same values for requests to be identical (default value: Accept,Accept-Encoding,Accept-Language,Authorization,Cookie)"}
+@Field {value:"maxResponseSize: Maximum length of a response body which is shared in bytes, identical requests of a longer response are sent on their own (default value: 1048576)"}
+struct RequestCoalescing {
+    boolean enabled = true;
+    string keyHeaders = "Accept,Accept-Encoding,Accept-Language,Authorization,Cookie";
+    int maxResponseSize = 1048576;
 }
 
 @Description { value:"SSL struct represents SSL/TLS options to be used for HTTP client invocation" }
@@ -344,6 +374,8 @@ struct Proxy {
 @Field {value:"ssl: SSL/TLS related options"}
 @Field {value:"retryConfig: Retry related options"}
 @Field {value:"proxy: Proxy server related options"}
+@Field {value:"cacheConfig: Response caching related options"}
+@Field {value:"coalescing: Request coalescing related options, identical requests are not coalesced unless this is set"}
 public struct Options {
     int port;
     int endpointTimeout = 60000;
@@ -356,6 +388,8 @@ public struct Options {
     SSL ssl;
     Retry retryConfig;
     Proxy proxy;
+    Cache cacheConfig;
+    RequestCoalescing coalescing;
 }
 
 @Description { value:"Http client connector for outbound HTTP requests"}
@@ -138,9 +138,13 @@ public class Constants {
     public static final String LISTENER_INTERFACE_ID = "listener.interface.id";
 
     public static final String CONNECTOR_NAME = "HttpClient";
+    public static final String RESPONSE_CACHE = "response_cache";
+    public static final String REQUEST_COALESCER = "request_coalescer";
+    public static final String RETRY_BUDGET = "retry_budget";
 
     public static final String REQUEST_URL = "REQUEST_URL";
     public static final String SRC_HANDLER = "SRC_HANDLER";
+    public static final String OUTBOUND_CONTENT_STREAM = "OUTBOUND_CONTENT_STREAM";
 
     /* Annotations */
     public static final String ANNOTATION_NAME_SOURCE = "Source";
@@ -215,6 +219,23 @@ public class Constants {
     public static final int RETRY_STRUCT_INDEX = 2;
     public static final int RETRY_COUNT_INDEX = 0;
     public static final int RETRY_INTERVAL_INDEX = 1;
+    public static final int RETRY_MAX_WAIT_INTERVAL_INDEX = 2;
+    public static final int RETRY_MIN_RETRIES_PER_SECOND_INDEX = 3;
+    public static final int RETRY_BACK_OFF_FACTOR_INDEX = 0;
+    public static final int RETRY_BUDGET_RATIO_INDEX = 1;
+
+    //Cache Struct indexes
+    public static final int CACHE_STRUCT_INDEX = 4;
+    public static final int CACHE_ENABLED_INDEX = 0;
+    public static final int CACHE_IS_SHARED_INDEX = 1;
+    public static final int CACHE_CAPACITY_INDEX = 0;
+    public static final int CACHE_MAX_ENTRY_SIZE_INDEX = 1;
+
+    //RequestCoalescing Struct indexes
+    public static final int COALESCING_STRUCT_INDEX = 5;
+    public static final int COALESCING_ENABLED_INDEX = 0;
+    public static final int COALESCING_KEY_HEADERS_INDEX = 0;
+    public static final int COALESCING_MAX_RESPONSE_SIZE_INDEX = 0;
 
     public static final String CONNECTION_HEADER = "Connection";
     public static final String HEADER_VAL_CONNECTION_CLOSE = "Close";
@@ -24,6 +24,7 @@ import org.ballerinalang.connector.api.Annotation;
 import org.ballerinalang.connector.api.BallerinaConnectorException;
 import org.ballerinalang.connector.api.ParamDetail;
 import org.ballerinalang.connector.api.Resource;
+import org.ballerinalang.net.uri.BasePathTrie;
 import org.ballerinalang.net.uri.DispatcherUtil;
 import org.ballerinalang.net.uri.URITemplateException;
 import org.ballerinalang.net.ws.WebSocketServicesRegistry;
@@ -37,7 +38,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -52,7 +52,8 @@ public class HTTPServicesRegistry {
 
     // Outer Map key=interface, Inner Map key=basePath
     private final Map<String, Map<String, HttpService>> servicesInfoMap = new ConcurrentHashMap<>();
-    private CopyOnWriteArrayList<String> sortedServiceURIs = new CopyOnWriteArrayList<>();
+    // key=interface, base paths of the services on the interface
+    private final Map<String, BasePathTrie> basePathsByInterface = new ConcurrentHashMap<>();
     private final WebSocketServicesRegistry webSocketServicesRegistry;
 
     public HTTPServicesRegistry(WebSocketServicesRegistry webSocketServicesRegistry) {
@@ -106,6 +107,7 @@ public class HTTPServicesRegistry {
                                 + entryListenerInterface);
             }
             servicesOnInterface.put(basePath, service);
+            basePathsByInterface.computeIfAbsent(entryListenerInterface, k -> new BasePathTrie()).add(basePath);
 
             // If WebSocket upgrade path is available, then register the name of the WebSocket service.
             if (annotation != null) {
@@ -175,9 +177,6 @@ public class HTTPServicesRegistry {
         }
         httpService.setResources(resources);
         httpService.setAllAllowMethods(DispatcherUtil.getAllResourceMethods(httpService));
-        //basePath will get cached after registering service
-        sortedServiceURIs.add(httpService.getBasePath());
-        sortedServiceURIs.sort((basePath1, basePath2) -> basePath2.length() - basePath1.length());
     }
 
     private HttpResource buildHttpResource(Resource resource) {
@@ -269,21 +268,18 @@ public class HTTPServicesRegistry {
     }
 
 
-    public String findTheMostSpecificBasePath(String requestURIPath, Map<String, HttpService> services) {
-        for (Object key : sortedServiceURIs) {
-            if (!requestURIPath.toLowerCase().contains(key.toString().toLowerCase())) {
-                continue;
-            }
-            if (requestURIPath.length() <= key.toString().length()) {
-                return key.toString();
-            }
-            if (requestURIPath.charAt(key.toString().length()) == '/') {
-                return key.toString();
-            }
-        }
-        if (services.containsKey(Constants.DEFAULT_BASE_PATH)) {
-            return Constants.DEFAULT_BASE_PATH;
+    /**
+     * Find the base path of the service on the given interface which matches the request path the most specifically.
+     *
+     * @param interfaceId    interface id of the services.
+     * @param requestURIPath decoded path of the request.
+     * @return the matching base path, or null if no service matches the request path.
+     */
+    public String findTheMostSpecificBasePath(String interfaceId, String requestURIPath) {
+        BasePathTrie basePaths = basePathsByInterface.get(interfaceId);
+        if (basePaths == null) {
+            return null;
         }
-        return null;
+        return basePaths.findMostSpecificBasePath(requestURIPath);
     }
 }
@@ -18,7 +18,6 @@
 package org.ballerinalang.net.http;
 
 import org.ballerinalang.connector.api.BallerinaConnectorException;
-import org.ballerinalang.connector.api.ConnectorUtils;
 import org.ballerinalang.connector.api.ParamDetail;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
@@ -41,6 +40,22 @@ public class HttpDispatcher {
 
     private static final Logger breLog = LoggerFactory.getLogger(HttpDispatcher.class);
 
+    // Characters which are neither escaped nor need to be, in the path and the query of a request target
+    private static final boolean[] PLAIN_CHARACTERS = new boolean[128];
+
+    static {
+        for (char ch = 'a'; ch <= 'z'; ch++) {
+            PLAIN_CHARACTERS[ch] = true;
+            PLAIN_CHARACTERS[Character.toUpperCase(ch)] = true;
+        }
+        for (char ch = '0'; ch <= '9'; ch++) {
+            PLAIN_CHARACTERS[ch] = true;
+        }
+        for (char ch : "-_.!~*'()/:@&=+$,;?".toCharArray()) {
+            PLAIN_CHARACTERS[ch] = true;
+        }
+    }
+
     private static HttpService findService(HTTPServicesRegistry servicesRegistry, HTTPCarbonMessage cMsg) {
         try {
             String interfaceId = getInterface(cMsg);
@@ -49,25 +64,38 @@ public class HttpDispatcher {
                 throw new BallerinaConnectorException("No services found for interface : " + interfaceId);
             }
             String uriStr = (String) cMsg.getProperty(org.wso2.carbon.messaging.Constants.TO);
-            //replace multiple slashes from single slash if exist in request path to enable
-            // dispatchers when request path contains multiple slashes
-            URI requestUri = URI.create(uriStr.replaceAll("//+", Constants.DEFAULT_BASE_PATH));
+            String path;
+            String query;
+            String rawQuery;
+            if (isPlainRequestTarget(uriStr)) {
+                // Nothing to be collapsed or decoded, hence the path and the query are taken as they are
+                int queryIndex = uriStr.indexOf('?');
+                path = queryIndex == -1 ? uriStr : uriStr.substring(0, queryIndex);
+                query = queryIndex == -1 ? null : uriStr.substring(queryIndex + 1);
+                rawQuery = query;
+            } else {
+                //replace multiple slashes from single slash if exist in request path to enable
+                // dispatchers when request path contains multiple slashes
+                URI requestUri = URI.create(uriStr.replaceAll("//+", Constants.DEFAULT_BASE_PATH));
+                path = requestUri.getPath();
+                query = requestUri.getQuery();
+                rawQuery = requestUri.getRawQuery();
+            }
 
             // Most of the time we will find service from here
-            String basePath =
-                    servicesRegistry.findTheMostSpecificBasePath(requestUri.getPath(), servicesOnInterface);
-            HttpService service = servicesOnInterface.get(basePath);
+            String basePath = servicesRegistry.findTheMostSpecificBasePath(interfaceId, path);
+            HttpService service = basePath == null ? null : servicesOnInterface.get(basePath);
             if (service == null) {
                 cMsg.setProperty(Constants.HTTP_STATUS_CODE, 404);
                 throw new BallerinaConnectorException("no matching service found for path : " + uriStr);
             }
 
-            String subPath = URIUtil.getSubPath(requestUri.getPath(), basePath);
+            String subPath = URIUtil.getSubPath(path, basePath);
             cMsg.setProperty(Constants.BASE_PATH, basePath);
             cMsg.setProperty(Constants.SUB_PATH, subPath);
-            cMsg.setProperty(Constants.QUERY_STR, requestUri.getQuery());
+            cMsg.setProperty(Constants.QUERY_STR, query);
             //store query params comes with request as it is
-            cMsg.setProperty(Constants.RAW_QUERY_STR, requestUri.getRawQuery());
+            cMsg.setProperty(Constants.RAW_QUERY_STR, rawQuery);
 
             return service;
         } catch (Throwable e) {
@@ -75,6 +103,29 @@ public class HttpDispatcher {
         }
     }
 
+    /**
+     * Checks whether the request target is an absolute path, with an optional query, which has neither repeated
+     * slashes nor escaped characters, hence its path and query are the same whether decoded or not.
+     *
+     * @param uri request target.
+     * @return true if the path and the query could be taken from the request target as they are.
+     */
+    private static boolean isPlainRequestTarget(String uri) {
+        int length = uri.length();
+        if (length == 0 || uri.charAt(0) != '/') {
+            return false;
+        }
+        char previous = 0;
+        for (int i = 1; i < length; i++) {
+            char ch = uri.charAt(i);
+            if (ch >= PLAIN_CHARACTERS.length || !PLAIN_CHARACTERS[ch] || (ch == '/' && previous == '/')) {
+                return false;
+            }
+            previous = ch;
+        }
+        return true;
+    }
+
     protected static String getInterface(HTTPCarbonMessage inboundRequest) {
         String interfaceId = (String) inboundRequest.getProperty(Constants.LISTENER_INTERFACE_ID);
         if (interfaceId == null) {
@@ -130,13 +181,9 @@ public class HttpDispatcher {
     }
 
     public static BValue[] getSignatureParameters(HttpResource httpResource, HTTPCarbonMessage httpCarbonMessage) {
-        //TODO Think of keeping struct type globally rather than creating for each request
-        BStruct request = ConnectorUtils.createStruct(httpResource.getBalResource(),
-                Constants.PROTOCOL_PACKAGE_HTTP, Constants.REQUEST);
-        BStruct response = ConnectorUtils.createStruct(httpResource.getBalResource(),
-                Constants.PROTOCOL_PACKAGE_HTTP, Constants.RESPONSE);
-        HttpUtil.setHeaderValueStructType(ConnectorUtils.createStruct(httpResource.getBalResource(),
-                Constants.PROTOCOL_PACKAGE_HTTP, Constants.HEADER_VALUE_STRUCT));
+        BStruct request = new BStruct(httpResource.getStructType(Constants.REQUEST));
+        BStruct response = new BStruct(httpResource.getStructType(Constants.RESPONSE));
+        HttpUtil.setHeaderValueStructType(httpResource.getStructType(Constants.HEADER_VALUE_STRUCT));
         HttpUtil.populateInboundRequest(request, httpCarbonMessage);
         HttpUtil.populateOutboundResponse(response, HttpUtil.createHttpCarbonMessage(false), httpCarbonMessage);
 
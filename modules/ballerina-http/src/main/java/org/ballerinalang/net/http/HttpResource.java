@@ -17,11 +17,15 @@
 */
 package org.ballerinalang.net.http;
 
+import org.ballerinalang.connector.api.ConnectorUtils;
 import org.ballerinalang.connector.api.ParamDetail;
 import org.ballerinalang.connector.api.Resource;
+import org.ballerinalang.model.types.BStructType;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code HttpResource} This is the http wrapper for the {@code Resource} implementation.
@@ -36,6 +40,7 @@ public class HttpResource {
     private List<String> produces;
     private List<String> producesSubTypes;
     private CorsHeaders corsHeaders;
+    private final Map<String, BStructType> structTypes = new ConcurrentHashMap<>();
 
     public HttpResource(Resource resource) {
         this.balResource = resource;
@@ -105,4 +110,20 @@ public class HttpResource {
     public void setCorsHeaders(CorsHeaders corsHeaders) {
         this.corsHeaders = corsHeaders;
     }
+
+    /**
+     * Get the type of a struct of the http package, which is looked up only once for the resource.
+     *
+     * @param structName name of the struct.
+     * @return the struct type.
+     */
+    public BStructType getStructType(String structName) {
+        BStructType structType = structTypes.get(structName);
+        if (structType == null) {
+            structType = ConnectorUtils.createStruct(balResource, Constants.PROTOCOL_PACKAGE_HTTP, structName)
+                    .getType();
+            structTypes.put(structName, structType);
+        }
+        return structType;
+    }
 }
@@ -18,15 +18,20 @@
 
 package org.ballerinalang.net.http;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.connector.api.AnnAttrValue;
 import org.ballerinalang.connector.api.Annotation;
@@ -51,6 +56,9 @@ import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.net.http.session.Session;
+import org.ballerinalang.net.http.util.FlowControlledOutputStream;
+import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
+import org.ballerinalang.runtime.message.ChunkedByteBufOutput;
 import org.ballerinalang.runtime.message.BlobDataSource;
 import org.ballerinalang.runtime.message.MessageDataSource;
 import org.ballerinalang.runtime.message.StringDataSource;
@@ -81,9 +89,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static org.ballerinalang.net.http.Constants.MESSAGE_DATA_SOURCE;
 
@@ -106,6 +114,7 @@ public class HttpUtil {
         String headerName = abstractNativeFunction.getStringArgument(context, 0);
         String headerValue = abstractNativeFunction.getStringArgument(context, 1);
 
+        detachHeaderMap(httpMessageStruct);
         HttpHeaders httpHeaders = httpCarbonMessage.getHeaders();
         httpHeaders.add(headerName, headerValue);
 
@@ -153,6 +162,7 @@ public class HttpUtil {
         BStruct httpMessageStruct = (BStruct) abstractNativeFunction.getRefArgument(context, 0);
         HTTPCarbonMessage httpCarbonMessage = HttpUtil
                 .getCarbonMsg(httpMessageStruct, HttpUtil.createHttpCarbonMessage(isRequest));
+        detachHeaderMap(httpMessageStruct);
         httpCarbonMessage.getHeaders().clear();
         return AbstractNativeFunction.VOID_RETURN;
     }
@@ -164,6 +174,7 @@ public class HttpUtil {
 
         HTTPCarbonMessage httpCarbonMessage = HttpUtil
                 .getCarbonMsg(httpMessageStruct, HttpUtil.createHttpCarbonMessage(isRequest));
+        detachHeaderMap(httpMessageStruct);
         httpCarbonMessage.removeHeader(headerName);
         if (log.isDebugEnabled()) {
             log.debug("Remove header:" + headerName);
@@ -179,6 +190,7 @@ public class HttpUtil {
 
         HTTPCarbonMessage httpCarbonMessage = HttpUtil
                 .getCarbonMsg(httpMessageStruct, HttpUtil.createHttpCarbonMessage(isRequest));
+        detachHeaderMap(httpMessageStruct);
         httpCarbonMessage.setHeader(headerName, headerValue);
 
         if (log.isDebugEnabled()) {
@@ -212,6 +224,7 @@ public class HttpUtil {
         BlobDataSource blobDataSource = new BlobDataSource(payload);
         addMessageDataSource(httpMessageStruct, blobDataSource);
 
+        detachHeaderMap(httpMessageStruct);
         httpCarbonMessage.setHeader(Constants.CONTENT_TYPE, Constants.APPLICATION_JSON);
 
         return AbstractNativeFunction.VOID_RETURN;
@@ -312,7 +325,9 @@ public class HttpUtil {
                 }
             } else {
                 HttpMessageDataStreamer httpMessageDataStreamer = new HttpMessageDataStreamer(httpCarbonMessage);
-                result = new BJSON(httpMessageDataStreamer.getInputStream());
+                // The payload is only parsed as far as it is accessed, hence large payloads which are passed
+                // through are not turned into a json object model
+                result = new BJSON(toByteArray(httpMessageDataStreamer.getInputStream()));
                 addMessageDataSource(httpMessageStruct, result);
             }
         } catch (Throwable e) {
@@ -400,6 +415,67 @@ public class HttpUtil {
         return (MessageDataSource) httpMsgStruct.getNativeData(MESSAGE_DATA_SOURCE);
     }
 
+    /**
+     * Write a message data source as the content of an outbound message. Ballerina data sources are serialized
+     * into pooled buffers of a bounded size, each of which is handed over to the transport as soon as it fills up.
+     * Data sources which are generated while they are written, e.g. from a datatable, are sent in chunks, holding
+     * back the generation while the receiver is not consuming the message.
+     *
+     * @param messageDataSource data source to be written
+     * @param outboundMessage   outbound request or response
+     */
+    public static void serializeDataSource(MessageDataSource messageDataSource, HTTPCarbonMessage outboundMessage) {
+        if (messageDataSource instanceof BallerinaMessageDataSource
+                && ((BallerinaMessageDataSource) messageDataSource).isStreaming()) {
+            FlowControlledOutputStream outputStream = new FlowControlledOutputStream(outboundMessage);
+            outboundMessage.setProperty(Constants.OUTBOUND_CONTENT_STREAM, outputStream);
+            try {
+                messageDataSource.serializeData(outputStream);
+                outputStream.close();
+            } catch (IOException e) {
+                outputStream.discard();
+                throw new BallerinaException("error while writing the message content: " + e.getMessage(), e);
+            } catch (Throwable t) {
+                outputStream.discard();
+                throw t;
+            }
+            return;
+        }
+
+        if (messageDataSource instanceof BallerinaMessageDataSource) {
+            // Each chunk is handed over to the transport as soon as it fills up, hence a large payload is not
+            // buffered in a single allocation
+            ChunkedByteBufOutput output = new ChunkedByteBufOutput(PooledByteBufAllocator.DEFAULT,
+                    chunk -> outboundMessage.addHttpContent(new DefaultHttpContent(chunk)));
+            try {
+                ((BallerinaMessageDataSource) messageDataSource).serializeChunked(output);
+            } catch (Throwable t) {
+                output.discard();
+                throw t;
+            }
+            outboundMessage.addHttpContent(new DefaultLastHttpContent(output.finish()));
+            return;
+        }
+
+        OutputStream messageOutputStream = new HttpMessageDataStreamer(outboundMessage).getOutputStream();
+        messageDataSource.serializeData(messageOutputStream);
+        HttpUtil.closeMessageOutputStream(messageOutputStream);
+    }
+
+    /**
+     * Fail the writing of the content of an outbound message, e.g. as the exchange of the message failed. The content
+     * writer, if it waits for the receiver to consume the message, fails at once rather than once it times out.
+     *
+     * @param outboundMessage outbound request or response
+     * @param cause           cause of the failure
+     */
+    public static void cancelOutboundContent(HTTPCarbonMessage outboundMessage, Throwable cause) {
+        Object outputStream = outboundMessage.getProperty(Constants.OUTBOUND_CONTENT_STREAM);
+        if (outputStream instanceof FlowControlledOutputStream) {
+            ((FlowControlledOutputStream) outputStream).cancel(cause);
+        }
+    }
+
     public static void closeMessageOutputStream(OutputStream messageOutputStream) {
         try {
             if (messageOutputStream != null) {
@@ -462,9 +538,7 @@ public class HttpUtil {
         MessageDataSource outboundMessageSource = HttpUtil.getMessageDataSource(httpMessageStruct);
         HttpResponseStatusFuture outboundResponseStatusFuture = sendOutboundResponse(requestMessage, responseMessage);
         if (outboundMessageSource != null) {
-            OutputStream messageOutputStream = new HttpMessageDataStreamer(responseMessage).getOutputStream();
-            outboundMessageSource.serializeData(messageOutputStream);
-            HttpUtil.closeMessageOutputStream(messageOutputStream);
+            serializeDataSource(outboundMessageSource, responseMessage);
         }
 
         try {
@@ -580,6 +654,28 @@ public class HttpUtil {
         headerValueStructType = struct.getType();
     }
 
+    public static void setHeaderValueStructType(BStructType structType) {
+        headerValueStructType = structType;
+    }
+
+    /**
+     * Populate the header map of a request or response struct, if it is still a view over the headers of its
+     * transport message, so that those headers could be modified without affecting the map.
+     *
+     * @param struct request or response struct.
+     */
+    public static void detachHeaderMap(BStruct struct) {
+        BRefType headerMap = struct.getRefField(getHeadersIndex(struct));
+        if (headerMap instanceof InboundHeaderMap) {
+            ((InboundHeaderMap) headerMap).materialize();
+        }
+    }
+
+    private static int getHeadersIndex(BStruct struct) {
+        return struct.getType().getName().equals(Constants.REQUEST) ? Constants.REQUEST_HEADERS_INDEX :
+                Constants.RESPONSE_HEADERS_INDEX;
+    }
+
     public static void populateInboundRequest(BStruct inboundRequestStruct, HTTPCarbonMessage inboundRequestMsg) {
         inboundRequestStruct.addNativeData(Constants.TRANSPORT_MESSAGE, inboundRequestMsg);
         inboundRequestStruct.addNativeData(Constants.INBOUND_REQUEST, true);
@@ -596,15 +692,17 @@ public class HttpUtil {
             inboundRequestMsg.removeHeader(Constants.USER_AGENT_HEADER);
         }
         inboundRequestStruct.setRefField(Constants.REQUEST_HEADERS_INDEX,
-                prepareHeaderMap(inboundRequestMsg.getHeaders(), new BMap<>()));
+                new InboundHeaderMap(inboundRequestMsg.getHeaders(), headerValueStructType));
     }
 
     private static void enrichWithInboundRequestInfo(BStruct inboundRequestStruct,
             HTTPCarbonMessage inboundRequestMsg) {
         inboundRequestStruct.setStringField(Constants.REQUEST_PATH_INDEX,
                 (String) inboundRequestMsg.getProperty(Constants.REQUEST_URL));
+        // Host string is either the host name the address was created with or the literal address, as looking up
+        // the host name may need a reverse name service lookup
         inboundRequestStruct.setStringField(Constants.REQUEST_HOST_INDEX,
-                ((InetSocketAddress) inboundRequestMsg.getProperty(Constants.LOCAL_ADDRESS)).getHostName());
+                ((InetSocketAddress) inboundRequestMsg.getProperty(Constants.LOCAL_ADDRESS)).getHostString());
         inboundRequestStruct.setIntField(Constants.REQUEST_PORT_INDEX,
                 (Integer) inboundRequestMsg.getProperty(Constants.LISTENER_PORT));
         inboundRequestStruct.setStringField(Constants.REQUEST_METHOD_INDEX,
@@ -629,7 +727,7 @@ public class HttpUtil {
             cMsg.removeHeader(Constants.SERVER_HEADER);
         }
         response.setRefField(Constants.RESPONSE_HEADERS_INDEX,
-                prepareHeaderMap(cMsg.getHeaders(), new BMap<>()));
+                new InboundHeaderMap(cMsg.getHeaders(), headerValueStructType));
     }
 
     @SuppressWarnings("unchecked")
@@ -645,61 +743,52 @@ public class HttpUtil {
     }
 
     private static BMap<String, BValue> prepareHeaderMap(HttpHeaders headers, BMap<String, BValue> headerMap) {
-        Map<String, ArrayList> headerStructHolder = new HashMap<>();
+        return populateHeaderMap(headers, headerMap, headerValueStructType);
+    }
+
+    static BMap<String, BValue> populateHeaderMap(HttpHeaders headers, BMap<String, BValue> headerMap,
+                                                  BStructType structType) {
+        Map<String, List<BRefType>> headerStructHolder = new HashMap<>();
         for (Map.Entry<String, String> headerEntry : headers) {
             String headerKey = headerEntry.getKey().trim();
             String headerValue = headerEntry.getValue().trim();
             //Get the list of HeaderStruct for a given key
-            ArrayList<BStruct> headerValueList = headerStructHolder.get(headerKey) != null ?
-                    headerStructHolder.get(headerKey) : new ArrayList<>();
-            if (headerValue.contains(",")) {
-                List<String> valueList = Arrays.stream(headerValue.split(",")).map(String::trim)
-                        .collect(Collectors.toList());
-                for (String value : valueList) {
-                    populateHeaderStruct(headerValueList, value);
-                }
-            } else {
-                populateHeaderStruct(headerValueList, headerValue);
+            List<BRefType> headerValueList = headerStructHolder.computeIfAbsent(headerKey, k -> new ArrayList<>());
+            for (String value : StringUtils.split(headerValue, ',')) {
+                headerValueList.add(createHeaderStruct(structType, value.trim()));
             }
-            headerStructHolder.put(headerKey, headerValueList);
         }
         //create BMap of BRefValueArray
-        for (Map.Entry<String, ArrayList> structHolder : headerStructHolder.entrySet()) {
-            headerMap.put(structHolder.getKey(), new BRefValueArray((BRefType[]) structHolder.getValue()
-                    .toArray(new BRefType[0]), new BArrayType(headerValueStructType)));
+        BArrayType headerArrayType = new BArrayType(structType);
+        for (Map.Entry<String, List<BRefType>> structHolder : headerStructHolder.entrySet()) {
+            List<BRefType> headerValueList = structHolder.getValue();
+            headerMap.put(structHolder.getKey(), new BRefValueArray(
+                    headerValueList.toArray(new BRefType[headerValueList.size()]), headerArrayType));
         }
         return headerMap;
     }
 
-    @SuppressWarnings("unchecked")
-    private static void populateHeaderStruct(ArrayList headerValueList, String value) {
-        if (value.contains(";")) {
-            headerValueList.add(populateWithHeaderValueAndParams(new BStruct(headerValueStructType), value));
-        } else {
-            headerValueList.add(populateWithHeaderValue(new BStruct(headerValueStructType), value));
+    private static BStruct createHeaderStruct(BStructType structType, String value) {
+        BStruct headerStruct = new BStruct(structType);
+        int paramsIndex = value.indexOf(';');
+        if (paramsIndex == -1) {
+            headerStruct.setStringField(Constants.HEADER_VALUE_INDEX, value);
+            return headerStruct;
         }
-    }
-
-    private static BStruct populateWithHeaderValueAndParams(BStruct headerStruct, String headerValue) {
-        String value = headerValue.substring(0, headerValue.indexOf(";")).trim();
-        List<String> paramList = Arrays.stream(headerValue.substring(headerValue.indexOf(";") + 1)
-                .split(";")).map(String::trim).collect(Collectors.toList());
-        headerStruct.setStringField(Constants.HEADER_VALUE_INDEX, value);
-        headerStruct.setRefField(Constants.HEADER_PARAM_INDEX, createParamBMap(paramList));
-        return headerStruct;
-    }
-
-    private static BStruct populateWithHeaderValue(BStruct headerStruct, String headerValue) {
-        headerStruct.setStringField(0, headerValue.trim());
+        headerStruct.setStringField(Constants.HEADER_VALUE_INDEX, value.substring(0, paramsIndex).trim());
+        headerStruct.setRefField(Constants.HEADER_PARAM_INDEX,
+                createParamBMap(StringUtils.split(value.substring(paramsIndex + 1), ';')));
         return headerStruct;
     }
 
     private static BMap<String, BValue> createParamBMap(List<String> paramList) {
         BMap<String, BValue> paramMap = new BMap<>();
         for (String param : paramList) {
-            if (param.contains("=")) {
-                String[] keyValuePair = param.split("=");
-                paramMap.put(keyValuePair[0].trim(), new BString(keyValuePair[1].trim()));
+            int separatorIndex = param.indexOf('=');
+            if (separatorIndex != -1) {
+                int valueEnd = param.indexOf('=', separatorIndex + 1);
+                paramMap.put(param.substring(0, separatorIndex).trim(), new BString(
+                        param.substring(separatorIndex + 1, valueEnd == -1 ? param.length() : valueEnd).trim()));
             } else {
                 //handle when parameter value is optional
                 paramMap.put(param.trim(), null);
@@ -715,9 +804,16 @@ public class HttpUtil {
      * @param struct req/resp struct.
      */
     public static void setHeadersToTransportMessage(HTTPCarbonMessage outboundRequest, BStruct struct) {
+        boolean isRequest = struct.getType().getName().equals(Constants.REQUEST);
+        BRefType headerMap = struct.getRefField(getHeadersIndex(struct));
+        if (headerMap instanceof InboundHeaderMap
+                && ((InboundHeaderMap) headerMap).isViewOf(outboundRequest.getHeaders())) {
+            // Headers were not accessed, hence those are already in place other than the ones moved to the struct
+            restoreStructHeaders(outboundRequest, struct, isRequest);
+            return;
+        }
+        BMap<String, BValue> headers = isRequest ? getRequestStructHeaders(struct) : getResponseStructHeaders(struct);
         outboundRequest.getHeaders().clear();
-        BMap<String, BValue> headers = struct.getType().getName().equals(Constants.REQUEST) ?
-                getRequestStructHeaders(struct) : getResponseStructHeaders(struct);
         if (headers == null) {
             return;
         }
@@ -728,6 +824,18 @@ public class HttpUtil {
         }
     }
 
+    private static void restoreStructHeaders(HTTPCarbonMessage outboundMessage, BStruct struct, boolean isRequest) {
+        if (isRequest) {
+            if (!struct.getStringField(Constants.REQUEST_USER_AGENT_INDEX).equals("")) {
+                outboundMessage.setHeader(Constants.USER_AGENT_HEADER,
+                        struct.getStringField(Constants.REQUEST_USER_AGENT_INDEX));
+            }
+        } else if (struct.getNativeData(Constants.OUTBOUND_RESPONSE) == null
+                && !struct.getStringField(Constants.RESPONSE_SERVER_INDEX).equals("")) {
+            outboundMessage.setHeader(Constants.SERVER_HEADER, struct.getStringField(Constants.RESPONSE_SERVER_INDEX));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private static BMap<String, BValue> getRequestStructHeaders(BStruct struct) {
         BMap<String, BValue> headers = (BMap) struct.getRefField(Constants.REQUEST_HEADERS_INDEX);
@@ -795,8 +903,7 @@ public class HttpUtil {
     private static void setHeaderToStruct(Context context, BStruct struct, String key, String value) {
         headerValueStructType = headerValueStructType == null ? ConnectorUtils.createAndGetStruct(context,
                 Constants.HTTP_PACKAGE_PATH, Constants.HEADER_VALUE_STRUCT).getType() : headerValueStructType;
-        int headersIndex = struct.getType().getName().equals(Constants.REQUEST) ? Constants.REQUEST_HEADERS_INDEX :
-                Constants.RESPONSE_HEADERS_INDEX;
+        int headersIndex = getHeadersIndex(struct);
         BMap<String, BValue> headerMap = struct.getRefField(headersIndex) != null ?
                 (BMap) struct.getRefField(headersIndex) : new BMap<>();
         struct.setRefField(headersIndex, prepareHeaderMap(new DefaultHttpHeaders().add(key, value), headerMap));
@@ -804,8 +911,7 @@ public class HttpUtil {
 
     @SuppressWarnings("unchecked")
     private static String getHeaderFromStruct(BStruct struct, String key) {
-        int headersIndex = struct.getType().getName().equals(Constants.REQUEST) ? Constants.REQUEST_HEADERS_INDEX :
-                Constants.RESPONSE_HEADERS_INDEX;
+        int headersIndex = getHeadersIndex(struct);
         return struct.getRefField(headersIndex) != null ?
                 buildHeaderValue((BMap) struct.getRefField(headersIndex), key) : null;
     }
@@ -1012,6 +1118,42 @@ public class HttpUtil {
         return httpCarbonMessage;
     }
 
+    /**
+     * Read the whole body of an inbound message into memory, and add it back to the message as a single content, so
+     * that the message could still be read as usual. This blocks until the whole body is received, hence should not
+     * be called on a transport thread.
+     *
+     * @param message      inbound message.
+     * @param expectedSize expected length of the body, which is used to size the buffer.
+     * @return the body of the message.
+     */
+    public static byte[] bufferMessageBody(HTTPCarbonMessage message, int expectedSize) {
+        ByteBuf body = Unpooled.buffer(expectedSize);
+        HttpContent httpContent;
+        do {
+            httpContent = message.getHttpContent();
+            body.writeBytes(httpContent.content());
+            httpContent.release();
+        } while (!(httpContent instanceof LastHttpContent));
+        byte[] bodyBytes = new byte[body.readableBytes()];
+        body.readBytes(bodyBytes);
+        message.addHttpContent(new DefaultLastHttpContent(Unpooled.wrappedBuffer(bodyBytes)));
+        return bodyBytes;
+    }
+
+    /**
+     * Get the URL an outbound request is sent to, out of the properties set by the client connector.
+     *
+     * @param request outbound request.
+     * @return the URL, with the host in lower case and with the port.
+     */
+    public static String getOutboundRequestUrl(HTTPCarbonMessage request) {
+        String host = (String) request.getProperty(org.wso2.transport.http.netty.common.Constants.HOST);
+        return request.getProperty(Constants.PROTOCOL) + "://" +
+                (host == null ? "" : host.toLowerCase(Locale.ENGLISH)) + ":" + request.getProperty(Constants.PORT) +
+                request.getProperty(Constants.TO);
+    }
+
     public static void checkFunctionValidity(BStruct bStruct, HTTPCarbonMessage httpMsg) {
         methodInvocationCheck(bStruct, httpMsg);
         outboundResponseStructCheck(bStruct);
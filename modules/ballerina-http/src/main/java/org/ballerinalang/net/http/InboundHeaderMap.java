@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.values.BIterator;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+
+import java.util.Set;
+
+/**
+ * {@code InboundHeaderMap} is the header map of an inbound request or response struct, which is a view over the
+ * headers of the transport message until it is accessed.
+ * <p>
+ * The header value structs are created only when the map is accessed for the first time, hence the headers of a
+ * message which is forwarded as it is are never converted. Once accessed, the map holds its own copy of the headers,
+ * and behaves the same as any other map. The headers of the transport message should not be modified while the map
+ * is still a view over those, see {@link HttpUtil#detachHeaderMap}.
+ *
+ * @since 0.95.8
+ */
+public class InboundHeaderMap extends BMap<String, BValue> {
+
+    private volatile HttpHeaders headers;
+    private final BStructType headerValueStructType;
+
+    public InboundHeaderMap(HttpHeaders headers, BStructType headerValueStructType) {
+        this.headers = headers;
+        this.headerValueStructType = headerValueStructType;
+    }
+
+    /**
+     * Check whether this map is still a view over the given headers, i.e. it has not been accessed so far.
+     *
+     * @param httpHeaders headers of a transport message.
+     * @return true if the map has not been populated from the headers yet.
+     */
+    public boolean isViewOf(HttpHeaders httpHeaders) {
+        return headers != null && headers == httpHeaders;
+    }
+
+    /**
+     * Populate the map with the headers it is a view over, unless it has been populated already.
+     */
+    public void materialize() {
+        if (headers == null) {
+            return;
+        }
+        synchronized (this) {
+            HttpHeaders httpHeaders = headers;
+            if (httpHeaders == null) {
+                return;
+            }
+            // Cleared first, as the map is populated through the methods of this class as well
+            headers = null;
+            HttpUtil.populateHeaderMap(httpHeaders, this, headerValueStructType);
+        }
+    }
+
+    @Override
+    public BValue get(String key) {
+        materialize();
+        return super.get(key);
+    }
+
+    @Override
+    public void put(String key, BValue value) {
+        materialize();
+        super.put(key, value);
+    }
+
+    @Override
+    public void clear() {
+        headers = null;
+        super.clear();
+    }
+
+    @Override
+    public boolean hasKey(String key) {
+        materialize();
+        return super.hasKey(key);
+    }
+
+    @Override
+    public int size() {
+        materialize();
+        return super.size();
+    }
+
+    @Override
+    public void remove(String key) {
+        materialize();
+        super.remove(key);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        materialize();
+        return super.keySet();
+    }
+
+    @Override
+    public void share() {
+        materialize();
+        super.share();
+    }
+
+    @Override
+    public String stringValue() {
+        materialize();
+        return super.stringValue();
+    }
+
+    @Override
+    public BValue copy() {
+        materialize();
+        return super.copy();
+    }
+
+    @Override
+    public BIterator newIterator() {
+        materialize();
+        return super.newIterator();
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code RequestCoalescer} lets identical GET and HEAD requests of an HTTP client connector share a single request
+ * to the remote service, while one of those is in flight.
+ * <p>
+ * The first of the identical requests, the leader, is sent as usual. The requests which are made while the leader is
+ * in flight follow it instead of being sent, and each of those gets a replica of the response of the leader, or its
+ * error. Requests are identical if those have the same method, URL and values of the key headers, which are the
+ * headers the response may depend on. Conditional and range requests are never coalesced.
+ * <p>
+ * The body of a response is read into memory to be replicated, hence a response is replicated only if its length is
+ * known and is not more than the maximum response size. Otherwise the followers are detached from the leader, and
+ * those send their own requests.
+ *
+ * @since 0.95.8
+ */
+public class RequestCoalescer {
+
+    private static final String CONTENT_LENGTH_HEADER = "Content-Length";
+    private static final int NO_CONTENT = 204;
+
+    private static final String[] EXCLUDED_HEADERS = {
+            "If-None-Match", "If-Modified-Since", "If-Match", "If-Unmodified-Since", "If-Range", "Range"
+    };
+
+    private final String[] keyHeaders;
+    private final long maxResponseSize;
+    private final Map<String, List<Follower>> flights = new ConcurrentHashMap<>();
+    private final LongAdder coalescedRequests = new LongAdder();
+
+    /**
+     * Create a request coalescer.
+     *
+     * @param keyHeaders      names of the request headers which should have the same values for requests to be
+     *                        identical.
+     * @param maxResponseSize maximum length of a response body which is replicated.
+     */
+    public RequestCoalescer(String[] keyHeaders, long maxResponseSize) {
+        if (maxResponseSize < 0 || maxResponseSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("invalid maximum response size: " + maxResponseSize);
+        }
+        this.keyHeaders = keyHeaders.clone();
+        this.maxResponseSize = maxResponseSize;
+    }
+
+    /**
+     * Get the key which identifies the identical requests of a request.
+     *
+     * @param request   outbound request.
+     * @param hasEntity whether a body is sent with the request.
+     * @return the key, or null if the request should not be coalesced.
+     */
+    public String getKey(HTTPCarbonMessage request, boolean hasEntity) {
+        String method = (String) request.getProperty(Constants.HTTP_METHOD);
+        if (hasEntity || (!Constants.HTTP_METHOD_GET.equals(method) && !Constants.HTTP_METHOD_HEAD.equals(method))) {
+            return null;
+        }
+        HttpHeaders headers = request.getHeaders();
+        for (String header : EXCLUDED_HEADERS) {
+            if (headers.contains(header)) {
+                return null;
+            }
+        }
+        StringBuilder key = new StringBuilder(method).append(' ').append(HttpUtil.getOutboundRequestUrl(request));
+        for (String header : keyHeaders) {
+            // Values are separated by a new line, which could not be a part of a header value
+            key.append('\n');
+            for (String value : headers.getAll(header)) {
+                key.append(value).append(',');
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Join the flight of the identical requests of a request.
+     *
+     * @param key      key of the request.
+     * @param follower the request, which is notified of the outcome of the flight if it follows another request.
+     * @return true if the request follows a request in flight, false if it is the leader and should be sent.
+     */
+    public boolean join(String key, Follower follower) {
+        boolean[] following = new boolean[1];
+        flights.compute(key, (flightKey, followers) -> {
+            if (followers == null) {
+                return new ArrayList<>();
+            }
+            followers.add(follower);
+            following[0] = true;
+            return followers;
+        });
+        if (following[0]) {
+            coalescedRequests.increment();
+        }
+        return following[0];
+    }
+
+    /**
+     * End the flight of a leader, so that the identical requests made from now on start a new flight.
+     *
+     * @param key key of the leader.
+     * @return the requests which followed the leader.
+     */
+    public List<Follower> land(String key) {
+        List<Follower> followers = flights.remove(key);
+        return followers == null ? Collections.emptyList() : followers;
+    }
+
+    /**
+     * Check whether the response of a leader could be replicated to its followers.
+     *
+     * @param request  outbound request of the leader.
+     * @param response inbound response.
+     * @return true if the body of the response is short enough to be read into memory.
+     */
+    public boolean isReplicable(HTTPCarbonMessage request, HTTPCarbonMessage response) {
+        // Responses to HEAD requests and 204 responses do not have a body, regardless of their headers
+        if (Constants.HTTP_METHOD_HEAD.equals(request.getProperty(Constants.HTTP_METHOD)) ||
+                Integer.valueOf(NO_CONTENT).equals(response.getProperty(Constants.HTTP_STATUS_CODE))) {
+            return true;
+        }
+        return getContentLength(response) >= 0 && getContentLength(response) <= maxResponseSize;
+    }
+
+    /**
+     * Replicate the response of a leader to its followers. This blocks until the whole body of the response is
+     * received, hence should not be called on a transport thread.
+     *
+     * @param response  inbound response, which is checked by {@link #isReplicable}.
+     * @param followers requests which followed the leader.
+     */
+    public void replicate(HTTPCarbonMessage response, List<Follower> followers) {
+        long contentLength = getContentLength(response);
+        byte[] body = HttpUtil.bufferMessageBody(response, (int) Math.max(0, Math.min(contentLength,
+                maxResponseSize)));
+        Object statusCode = response.getProperty(Constants.HTTP_STATUS_CODE);
+        for (Follower follower : followers) {
+            HTTPCarbonMessage replica = HttpUtil.createHttpCarbonMessage(false);
+            replica.getHeaders().set(response.getHeaders());
+            replica.setProperty(Constants.HTTP_STATUS_CODE, statusCode);
+            replica.addHttpContent(new DefaultLastHttpContent(Unpooled.wrappedBuffer(body)));
+            follower.onResponse(replica);
+        }
+    }
+
+    /**
+     * Number of requests which followed another request, rather than being sent.
+     *
+     * @return the number of coalesced requests.
+     */
+    public long getCoalescedRequestCount() {
+        return coalescedRequests.sum();
+    }
+
+    private static long getContentLength(HTTPCarbonMessage response) {
+        String contentLength = response.getHeader(CONTENT_LENGTH_HEADER);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A request which follows an identical request in flight.
+     */
+    public interface Follower {
+
+        /**
+         * Notify the replica of the response of the leader.
+         *
+         * @param response replicated response.
+         */
+        void onResponse(HTTPCarbonMessage response);
+
+        /**
+         * Notify the error the leader failed with.
+         *
+         * @param throwable error of the leader.
+         */
+        void onFailure(Throwable throwable);
+
+        /**
+         * Notify that the response of the leader could not be replicated, hence the request should be sent.
+         */
+        void onDetached();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RetryBudget} limits the retries of an HTTP client connector, so that retries do not multiply the load of a
+ * remote service which is already failing.
+ * <p>
+ * Requests and retries are counted in windows of ten seconds. A retry is allowed within a window as long as the
+ * number of retries is less than the budget ratio of the number of requests, plus the minimum retries per second
+ * which are allowed regardless of the number of requests.
+ *
+ * @since 0.95.8
+ */
+public class RetryBudget {
+
+    private static final long WINDOW_SIZE = TimeUnit.SECONDS.toMillis(10);
+
+    private final double ratio;
+    private final long minRetriesPerWindow;
+
+    private long windowStart = -1;
+    private long requestCount;
+    private long retryCount;
+
+    /**
+     * Create a retry budget.
+     *
+     * @param ratio               ratio of the retries to the requests.
+     * @param minRetriesPerSecond number of retries per second which are allowed regardless of the requests.
+     */
+    public RetryBudget(double ratio, long minRetriesPerSecond) {
+        if (ratio < 0 || Double.isNaN(ratio)) {
+            throw new IllegalArgumentException("invalid retry budget ratio: " + ratio);
+        }
+        if (minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("invalid minimum retries per second: " + minRetriesPerSecond);
+        }
+        this.ratio = ratio;
+        this.minRetriesPerWindow = minRetriesPerSecond * TimeUnit.MILLISECONDS.toSeconds(WINDOW_SIZE);
+    }
+
+    /**
+     * Count a request which is sent, which adds to the budget.
+     *
+     * @param now current time in milliseconds.
+     */
+    public synchronized void deposit(long now) {
+        startWindow(now);
+        requestCount++;
+    }
+
+    /**
+     * Count a retry, if it is within the budget.
+     *
+     * @param now current time in milliseconds.
+     * @return true if the retry is allowed, false if the budget is exhausted.
+     */
+    public synchronized boolean tryWithdraw(long now) {
+        startWindow(now);
+        if (retryCount >= minRetriesPerWindow + (long) (ratio * requestCount)) {
+            return false;
+        }
+        retryCount++;
+        return true;
+    }
+
+    private void startWindow(long now) {
+        if (windowStart < 0 || now - windowStart >= WINDOW_SIZE) {
+            windowStart = now;
+            requestCount = 0;
+            retryCount = 0;
+        }
+    }
+}
@@ -18,15 +18,31 @@
 
 package org.ballerinalang.net.http;
 
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Retry configurations.
+ * <p>
+ * The wait interval before a retry grows by the back off factor with each retry, up to the maximum wait interval.
+ * A random jitter of up to half of that interval is added to it, so that the requests which failed at the same time
+ * are not retried at the same time. The jitter never shortens the wait below the configured interval, nor extends
+ * it beyond the maximum wait interval.
  *
  * @since 0.95.0
  */
 public class RetryConfig {
+    private static final Logger logger = LoggerFactory.getLogger(RetryConfig.class);
+
     private boolean enabled = false;
     private long retryCount = -1;
     private long interval = -1;
+    private double backOffFactor = 1.0;
+    private long maxWaitInterval = -1;
     private long currentCount;
 
     public RetryConfig() {
@@ -34,8 +50,14 @@ public class RetryConfig {
     }
 
     public RetryConfig(long retryCount, long interval) {
+        this(retryCount, interval, 1.0, interval);
+    }
+
+    public RetryConfig(long retryCount, long interval, double backOffFactor, long maxWaitInterval) {
         this.retryCount = retryCount;
         this.interval = interval;
+        this.backOffFactor = Math.max(1.0, backOffFactor);
+        this.maxWaitInterval = maxWaitInterval;
         this.enabled = true;
         this.currentCount = 0;
     }
@@ -50,16 +72,53 @@ public class RetryConfig {
         return true;
     }
 
-    public void incrementCountAndWait() {
+    /**
+     * Count a retry, and get how long to wait before it. The caller should not block while waiting.
+     *
+     * @return wait interval in milliseconds, which is zero if the retry should be made at once.
+     */
+    public long incrementCountAndGetWaitInterval() {
         currentCount++;
         if (interval <= 0) {
-            return;
+            return 0;
         }
-        try {
-            Thread.sleep(interval);
-        } catch (InterruptedException e) {
-            //We ignore any interruptions.
+        // A maximum below the interval would shorten even the first wait, hence the interval is the least maximum
+        double maxWait = maxWaitInterval > 0 ? Math.max(maxWaitInterval, interval) : Long.MAX_VALUE / 2;
+        long minWait = (long) Math.min(interval * Math.pow(backOffFactor, currentCount - 1), maxWait);
+        long jitteredWait = minWait + ThreadLocalRandom.current().nextLong(minWait / 2 + 1);
+        return (long) Math.min(jitteredWait, maxWait);
+    }
+
+    /**
+     * Schedule a retry of a failed request, unless the retries of the request, or the retry budget of the connector,
+     * are exhausted. The request is sent again on the executor once the wait interval is over, rather than blocking a
+     * thread until then.
+     *
+     * @param retryBudget retry budget of the connector, or null if the retries are not budgeted.
+     * @param resend      sends the request again.
+     * @return true if the retry is scheduled, false if the failure should be reported instead.
+     */
+    public boolean scheduleRetry(RetryBudget retryBudget, Runnable resend) {
+        if (!shouldRetry()) {
+            return false;
+        }
+        if (retryBudget != null && !retryBudget.tryWithdraw(System.currentTimeMillis())) {
+            logger.debug("action invocation failed, retry budget of the connector is exhausted");
+            return false;
         }
+        long waitInterval = incrementCountAndGetWaitInterval();
+        if (logger.isDebugEnabled()) {
+            logger.debug("action invocation failed, retrying action in " + waitInterval + "ms, count - "
+                    + currentCount + " limit - " + retryCount);
+        }
+        if (waitInterval <= 0) {
+            resend.run();
+            return true;
+        }
+        ThreadPoolFactory.getInstance().getWorkerTimer().schedule(
+                () -> ThreadPoolFactory.getInstance().getExecutor().execute(resend),
+                waitInterval, TimeUnit.MILLISECONDS);
+        return true;
     }
 
     public long getRetryCount() {
@@ -28,23 +28,26 @@ import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.nativeimpl.actions.ClientConnectorFuture;
 import org.ballerinalang.net.http.Constants;
 import org.ballerinalang.net.http.HttpUtil;
+import org.ballerinalang.net.http.RequestCoalescer;
+import org.ballerinalang.net.http.RetryBudget;
 import org.ballerinalang.net.http.RetryConfig;
+import org.ballerinalang.net.http.caching.CachedResponse;
+import org.ballerinalang.net.http.caching.HttpResponseCache;
 import org.ballerinalang.runtime.message.MessageDataSource;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.codegen.PackageInfo;
 import org.ballerinalang.util.codegen.StructInfo;
 import org.ballerinalang.util.exceptions.BallerinaException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.wso2.transport.http.netty.contract.ClientConnectorException;
 import org.wso2.transport.http.netty.contract.HttpClientConnector;
 import org.wso2.transport.http.netty.contract.HttpConnectorListener;
 import org.wso2.transport.http.netty.contract.HttpResponseFuture;
 import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
-import org.wso2.transport.http.netty.message.HttpMessageDataStreamer;
 
-import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collections;
+import java.util.List;
 
 import static org.ballerinalang.runtime.Constants.BALLERINA_VERSION;
 
@@ -53,8 +56,6 @@ import static org.ballerinalang.runtime.Constants.BALLERINA_VERSION;
  */
 public abstract class AbstractHTTPAction extends AbstractNativeAction {
 
-    private static final Logger logger = LoggerFactory.getLogger(AbstractHTTPAction.class);
-
     private static final String CACHE_BALLERINA_VERSION;
     static {
         CACHE_BALLERINA_VERSION = System.getProperty(BALLERINA_VERSION);
@@ -175,16 +176,68 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
             throws ClientConnectorException {
         ClientConnectorFuture ballerinaFuture = new ClientConnectorFuture();
 
+        BConnector bConnector = (BConnector) getRefArgument(context, 0);
+        HttpResponseCache responseCache = (HttpResponseCache) bConnector.getnativeData(Constants.RESPONSE_CACHE);
+        CachedResponse cachedResponse = null;
+        if (responseCache != null) {
+            long now = System.currentTimeMillis();
+            cachedResponse = responseCache.lookup(httpRequestMsg);
+            if (cachedResponse != null && responseCache.isServable(cachedResponse, httpRequestMsg, now)) {
+                // A stored response to a GET request is served to a HEAD request as well, without its body
+                String method = (String) httpRequestMsg.getProperty(Constants.HTTP_METHOD);
+                notifyResponse(context, ballerinaFuture,
+                        cachedResponse.createResponseMessage(now, !Constants.HTTP_METHOD_HEAD.equals(method)));
+                return ballerinaFuture;
+            }
+            if (responseCache.isOnlyIfCached(httpRequestMsg)) {
+                notifyResponse(context, ballerinaFuture, responseCache.createGatewayTimeoutResponse());
+                return ballerinaFuture;
+            }
+        }
+
         RetryConfig retryConfig = getRetryConfiguration(context);
         HTTPClientConnectorListener httpClientConnectorLister =
-                new HTTPClientConnectorListener(context, ballerinaFuture, retryConfig, httpRequestMsg);
+                new HTTPClientConnectorListener(context, ballerinaFuture, retryConfig, httpRequestMsg, responseCache);
 
         Object sourceHandler = httpRequestMsg.getProperty(Constants.SRC_HANDLER);
         if (sourceHandler == null) {
             httpRequestMsg.setProperty(Constants.SRC_HANDLER,
                     context.getProperty(Constants.SRC_HANDLER));
         }
-        executeNonBlocking(context, httpRequestMsg, httpClientConnectorLister);
+
+        // Attached before joining a flight, as a follower which is detached from its flight sends the request itself
+        if (retryConfig.shouldRetry()) {
+            httpClientConnectorLister.retryBudget = (RetryBudget) bConnector.getnativeData(Constants.RETRY_BUDGET);
+        }
+
+        RequestCoalescer requestCoalescer = (RequestCoalescer) bConnector.getnativeData(Constants.REQUEST_COALESCER);
+        if (requestCoalescer != null) {
+            BStruct requestStruct = (BStruct) getRefArgument(context, 1);
+            String flightKey = requestCoalescer.getKey(httpRequestMsg,
+                    HttpUtil.getMessageDataSource(requestStruct) != null);
+            if (flightKey != null) {
+                if (requestCoalescer.join(flightKey, httpClientConnectorLister)) {
+                    return ballerinaFuture;
+                }
+                httpClientConnectorLister.requestCoalescer = requestCoalescer;
+                httpClientConnectorLister.flightKey = flightKey;
+            }
+        }
+
+        // A stored response without validators could not be revalidated, it is replaced by the new response
+        if (cachedResponse != null && responseCache.addValidators(httpRequestMsg, cachedResponse)) {
+            httpClientConnectorLister.revalidatedResponse = cachedResponse;
+        }
+        httpClientConnectorLister.depositRequest();
+        try {
+            executeNonBlocking(context, httpRequestMsg, httpClientConnectorLister);
+        } catch (BallerinaException e) {
+            // The requests which follow this one would not get a response otherwise
+            for (RequestCoalescer.Follower follower : httpClientConnectorLister.land()) {
+                follower.onFailure(e);
+            }
+            throw e;
+        }
         return ballerinaFuture;
     }
 
@@ -194,6 +247,7 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
             BConnector bConnector = (BConnector) getRefArgument(context, 0);
             HttpClientConnector clientConnector =
                     (HttpClientConnector) bConnector.getnativeData(Constants.CONNECTOR_NAME);
+            httpClientConnectorLister.requestTime = System.currentTimeMillis();
             HttpResponseFuture future = clientConnector.send(httpRequestMsg);
             future.setHttpConnectorListener(httpClientConnectorLister);
             serializeDataSource(context, httpRequestMsg);
@@ -204,13 +258,27 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
         }
     }
 
+    private void notifyResponse(Context context, ClientConnectorFuture ballerinaFuture,
+                                HTTPCarbonMessage httpResponseMsg) {
+        BStruct response = createStruct(context, Constants.RESPONSE);
+        HttpUtil.setHeaderValueStructType(createStruct(context, Constants.HEADER_VALUE_STRUCT));
+        HttpUtil.populateInboundResponse(response, httpResponseMsg);
+        ballerinaFuture.notifyReply(response);
+    }
+
+    private BStruct createStruct(Context context, String structName) {
+        PackageInfo httpPackageInfo = context.getProgramFile()
+                .getPackageInfo(Constants.PROTOCOL_PACKAGE_HTTP);
+        StructInfo structInfo = httpPackageInfo.getStructInfo(structName);
+        BStructType structType = structInfo.getType();
+        return new BStruct(structType);
+    }
+
     private void serializeDataSource(Context context, HTTPCarbonMessage httpRequestMsg) {
         BStruct requestStruct = ((BStruct) getRefArgument(context, 1));
         MessageDataSource messageDataSource = HttpUtil.getMessageDataSource(requestStruct);
         if (messageDataSource != null) {
-            OutputStream messageOutputStream = new HttpMessageDataStreamer(httpRequestMsg).getOutputStream();
-            messageDataSource.serializeData(messageOutputStream);
-            HttpUtil.closeMessageOutputStream(messageOutputStream);
+            HttpUtil.serializeDataSource(messageDataSource, httpRequestMsg);
         }
     }
 
@@ -227,7 +295,9 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
         }
         long retryCount = retryConfig.getIntField(Constants.RETRY_COUNT_INDEX);
         long interval = retryConfig.getIntField(Constants.RETRY_INTERVAL_INDEX);
-        return new RetryConfig(retryCount, interval);
+        double backOffFactor = retryConfig.getFloatField(Constants.RETRY_BACK_OFF_FACTOR_INDEX);
+        long maxWaitInterval = retryConfig.getIntField(Constants.RETRY_MAX_WAIT_INTERVAL_INDEX);
+        return new RetryConfig(retryCount, interval, backOffFactor, maxWaitInterval);
     }
 
     @Override
@@ -235,45 +305,149 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
         return true;
     }
 
-    private class HTTPClientConnectorListener implements HttpConnectorListener {
+    private class HTTPClientConnectorListener implements HttpConnectorListener, RequestCoalescer.Follower {
 
         private Context context;
         private ClientConnectorFuture ballerinaFuture;
         private RetryConfig retryConfig;
         private HTTPCarbonMessage httpRequestMsg;
+        private HttpResponseCache responseCache;
+        // Stored response which the request revalidates, if any
+        private CachedResponse revalidatedResponse;
+        private volatile long requestTime;
+        // Set if the request leads identical requests, which share its response
+        private RequestCoalescer requestCoalescer;
+        private volatile String flightKey;
+        // Shared by the requests of the connector, so that retries do not multiply the load of a failing service
+        private RetryBudget retryBudget;
         // Reference for post validation.
 
         private HTTPClientConnectorListener(Context context, ClientConnectorFuture ballerinaFuture,
-                                            RetryConfig retryConfig, HTTPCarbonMessage httpRequestMsg) {
+                                            RetryConfig retryConfig, HTTPCarbonMessage httpRequestMsg,
+                                            HttpResponseCache responseCache) {
             this.context = context;
             this.ballerinaFuture = ballerinaFuture;
             this.retryConfig = retryConfig;
             this.httpRequestMsg = httpRequestMsg;
+            this.responseCache = responseCache;
         }
 
         @Override
         public void onMessage(HTTPCarbonMessage httpCarbonMessage) {
-            BStruct response = createStruct(this.context, Constants.RESPONSE);
-            HttpUtil.setHeaderValueStructType(createStruct(this.context, Constants.HEADER_VALUE_STRUCT));
-            HttpUtil.populateInboundResponse(response, httpCarbonMessage);
-            ballerinaFuture.notifyReply(response);
+            if (responseCache == null) {
+                respond(httpCarbonMessage);
+                return;
+            }
+            long responseTime = System.currentTimeMillis();
+            if (revalidatedResponse != null) {
+                responseCache.removeValidators(httpRequestMsg);
+                if (responseCache.isNotModified(httpCarbonMessage)) {
+                    respond(responseCache.revalidate(httpRequestMsg, revalidatedResponse, httpCarbonMessage,
+                            requestTime, responseTime));
+                    return;
+                }
+            }
+            responseCache.invalidate(httpRequestMsg, httpCarbonMessage);
+            if (!responseCache.isStorable(httpRequestMsg, httpCarbonMessage)) {
+                respond(httpCarbonMessage);
+                return;
+            }
+            // The body is read before the response is stored, which should not block the transport thread
+            long sentTime = requestTime;
+            ThreadPoolFactory.getInstance().getExecutor().execute(() -> {
+                HTTPCarbonMessage storedResponse;
+                try {
+                    storedResponse = responseCache.store(httpRequestMsg, httpCarbonMessage, sentTime, responseTime);
+                } catch (RuntimeException e) {
+                    notifyError(e);
+                    return;
+                }
+                respond(storedResponse);
+            });
+        }
+
+        private void respond(HTTPCarbonMessage httpResponseMsg) {
+            List<RequestCoalescer.Follower> followers = land();
+            if (followers.isEmpty()) {
+                notifyResponse(context, ballerinaFuture, httpResponseMsg);
+                return;
+            }
+            if (!requestCoalescer.isReplicable(httpRequestMsg, httpResponseMsg)) {
+                followers.forEach(RequestCoalescer.Follower::onDetached);
+                notifyResponse(context, ballerinaFuture, httpResponseMsg);
+                return;
+            }
+            // The body is read to be replicated, which should not block the transport thread
+            ThreadPoolFactory.getInstance().getExecutor().execute(() -> {
+                try {
+                    requestCoalescer.replicate(httpResponseMsg, followers);
+                } catch (RuntimeException e) {
+                    followers.forEach(follower -> follower.onFailure(e));
+                    notifyError(e);
+                    return;
+                }
+                notifyResponse(context, ballerinaFuture, httpResponseMsg);
+            });
+        }
+
+        private List<RequestCoalescer.Follower> land() {
+            if (flightKey == null) {
+                return Collections.emptyList();
+            }
+            List<RequestCoalescer.Follower> followers = requestCoalescer.land(flightKey);
+            flightKey = null;
+            return followers;
+        }
+
+        @Override
+        public void onResponse(HTTPCarbonMessage response) {
+            notifyResponse(context, ballerinaFuture, response);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            notifyError(throwable);
+        }
+
+        @Override
+        public void onDetached() {
+            depositRequest();
+            resend();
+        }
+
+        /**
+         * Count the first send of the request in the retry budget, which the retries of the request withdraw from.
+         */
+        private void depositRequest() {
+            if (retryBudget != null) {
+                retryBudget.deposit(System.currentTimeMillis());
+            }
+        }
+
+        private void resend() {
+            try {
+                executeNonBlocking(context, httpRequestMsg, this);
+            } catch (BallerinaException e) {
+                notifyError(e);
+            }
         }
 
         @Override
         public void onError(Throwable throwable) {
-            if (!retryConfig.shouldRetry()) {
+            // A content writer which is held back by the failed exchange should not wait for it any longer
+            HttpUtil.cancelOutboundContent(httpRequestMsg, throwable);
+            if (!retryConfig.scheduleRetry(retryBudget, this::resend)) {
                 notifyError(throwable);
-                return;
-            }
-            if (logger.isDebugEnabled()) {
-                logger.debug("action invocation failed, retrying action, count - "
-                        + retryConfig.getCurrentCount() + " limit - " + retryConfig.getRetryCount());
             }
-            retryConfig.incrementCountAndWait();
-            executeNonBlocking(context, httpRequestMsg, this);
         }
 
         private void notifyError(Throwable throwable) {
+            if (revalidatedResponse != null) {
+                responseCache.removeValidators(httpRequestMsg);
+            }
+            for (RequestCoalescer.Follower follower : land()) {
+                follower.onFailure(throwable);
+            }
             BStruct httpConnectorError = createStruct(context, Constants.HTTP_CONNECTOR_ERROR);
             httpConnectorError.setStringField(0, throwable.getMessage());
             if (throwable instanceof ClientConnectorException) {
@@ -283,13 +457,5 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
 
             ballerinaFuture.notifyReply(null, httpConnectorError);
         }
-
-        private BStruct createStruct(Context context, String structName) {
-            PackageInfo httpPackageInfo = context.getProgramFile()
-                    .getPackageInfo(Constants.PROTOCOL_PACKAGE_HTTP);
-            StructInfo structInfo = httpPackageInfo.getStructInfo(structName);
-            BStructType structType = structInfo.getType();
-            return new BStruct(structType);
-        }
     }
 }
@@ -31,6 +31,9 @@ import org.ballerinalang.natives.annotations.BallerinaAction;
 import org.ballerinalang.net.http.Constants;
 import org.ballerinalang.net.http.HttpConnectionManager;
 import org.ballerinalang.net.http.HttpUtil;
+import org.ballerinalang.net.http.RequestCoalescer;
+import org.ballerinalang.net.http.RetryBudget;
+import org.ballerinalang.net.http.caching.HttpResponseCache;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.wso2.transport.http.netty.common.ProxyServerConfiguration;
 import org.wso2.transport.http.netty.config.Parameter;
@@ -107,6 +110,9 @@ public class Init extends AbstractHTTPAction {
                 throw new BallerinaConnectorException("invalid maxActiveConnections value: " + maxActiveConnections);
             }
             properties.put(Constants.MAX_ACTIVE_CONNECTIONS_PER_POOL, (int) maxActiveConnections);
+            populateResponseCache(connector, options);
+            populateRequestCoalescer(connector, options);
+            populateRetryBudget(connector, options);
         }
 
         HttpClientConnector httpClientConnector =
@@ -119,6 +125,54 @@ public class Init extends AbstractHTTPAction {
         return ballerinaFuture;
     }
 
+    private void populateResponseCache(BConnector connector, BStruct options) {
+        BStruct cacheConfig = (BStruct) options.getRefField(Constants.CACHE_STRUCT_INDEX);
+        if (cacheConfig == null || cacheConfig.getBooleanField(Constants.CACHE_ENABLED_INDEX) == FALSE) {
+            return;
+        }
+        long capacity = cacheConfig.getIntField(Constants.CACHE_CAPACITY_INDEX);
+        long maxEntrySize = cacheConfig.getIntField(Constants.CACHE_MAX_ENTRY_SIZE_INDEX);
+        if (capacity <= 0) {
+            throw new BallerinaConnectorException("invalid cache capacity value: " + capacity);
+        }
+        if (maxEntrySize <= 0 || !isInteger(maxEntrySize)) {
+            throw new BallerinaConnectorException("invalid cache maxEntrySize value: " + maxEntrySize);
+        }
+        boolean shared = cacheConfig.getBooleanField(Constants.CACHE_IS_SHARED_INDEX) == TRUE;
+        connector.setNativeData(Constants.RESPONSE_CACHE, new HttpResponseCache(capacity, maxEntrySize, shared));
+    }
+
+    private void populateRequestCoalescer(BConnector connector, BStruct options) {
+        BStruct coalescing = (BStruct) options.getRefField(Constants.COALESCING_STRUCT_INDEX);
+        if (coalescing == null || coalescing.getBooleanField(Constants.COALESCING_ENABLED_INDEX) == FALSE) {
+            return;
+        }
+        long maxResponseSize = coalescing.getIntField(Constants.COALESCING_MAX_RESPONSE_SIZE_INDEX);
+        if (maxResponseSize < 0 || !isInteger(maxResponseSize)) {
+            throw new BallerinaConnectorException("invalid coalescing maxResponseSize value: " + maxResponseSize);
+        }
+        String keyHeaders = coalescing.getStringField(Constants.COALESCING_KEY_HEADERS_INDEX);
+        String[] keyHeaderNames = StringUtils.isBlank(keyHeaders) ? new String[0] :
+                keyHeaders.trim().split("\\s*,\\s*");
+        connector.setNativeData(Constants.REQUEST_COALESCER, new RequestCoalescer(keyHeaderNames, maxResponseSize));
+    }
+
+    private void populateRetryBudget(BConnector connector, BStruct options) {
+        BStruct retryConfig = (BStruct) options.getRefField(Constants.RETRY_STRUCT_INDEX);
+        if (retryConfig == null || retryConfig.getIntField(Constants.RETRY_COUNT_INDEX) <= 0) {
+            return;
+        }
+        double budgetRatio = retryConfig.getFloatField(Constants.RETRY_BUDGET_RATIO_INDEX);
+        if (budgetRatio < 0 || Double.isNaN(budgetRatio)) {
+            throw new BallerinaConnectorException("invalid retry budgetRatio value: " + budgetRatio);
+        }
+        long minRetriesPerSecond = retryConfig.getIntField(Constants.RETRY_MIN_RETRIES_PER_SECOND_INDEX);
+        if (minRetriesPerSecond < 0 || !isInteger(minRetriesPerSecond)) {
+            throw new BallerinaConnectorException("invalid retry minRetriesPerSecond value: " + minRetriesPerSecond);
+        }
+        connector.setNativeData(Constants.RETRY_BUDGET, new RetryBudget(budgetRatio, minRetriesPerSecond));
+    }
+
     private void populateSenderConfigurationOptions(SenderConfiguration senderConfiguration, BStruct options) {
         //TODO Define default values until we get Anonymous struct (issues #3635)
         ProxyServerConfiguration proxyServerConfiguration = null;
@@ -0,0 +1,232 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import io.netty.handler.codec.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@code CacheControl} holds the directives of the {@code Cache-Control} headers of a request or a response, as
+ * defined in RFC 7234, section 5.2. Directives which are not known are ignored.
+ *
+ * @since 0.95.8
+ */
+public class CacheControl {
+
+    /**
+     * Value of the delta seconds directives which are not present.
+     */
+    public static final long NOT_SET = -1;
+
+    /**
+     * Value of the {@code max-stale} directive when it does not have an argument, i.e. any stale response is
+     * accepted.
+     */
+    public static final long ANY = Long.MAX_VALUE;
+
+    static final String CACHE_CONTROL_HEADER = "Cache-Control";
+    static final String PRAGMA_HEADER = "Pragma";
+
+    private static final CacheControl EMPTY = new CacheControl();
+
+    private boolean noStore;
+    private boolean noCache;
+    private boolean isPrivate;
+    private boolean isPublic;
+    private boolean mustRevalidate;
+    private boolean proxyRevalidate;
+    private boolean onlyIfCached;
+    private long maxAge = NOT_SET;
+    private long sMaxAge = NOT_SET;
+    private long maxStale = NOT_SET;
+    private long minFresh = NOT_SET;
+
+    private CacheControl() {
+    }
+
+    /**
+     * Parse the {@code Cache-Control} headers of a message. A {@code Pragma: no-cache} header is taken as
+     * {@code no-cache} when the message does not have a {@code Cache-Control} header.
+     *
+     * @param headers headers of a request or a response.
+     * @return the directives of the message.
+     */
+    public static CacheControl parse(HttpHeaders headers) {
+        List<String> values = headers.getAll(CACHE_CONTROL_HEADER);
+        if (values.isEmpty()) {
+            String pragma = headers.get(PRAGMA_HEADER);
+            if (pragma != null && pragma.toLowerCase(Locale.ENGLISH).contains("no-cache")) {
+                CacheControl cacheControl = new CacheControl();
+                cacheControl.noCache = true;
+                return cacheControl;
+            }
+            return EMPTY;
+        }
+        CacheControl cacheControl = new CacheControl();
+        for (String value : values) {
+            cacheControl.parseDirectives(value);
+        }
+        return cacheControl;
+    }
+
+    private void parseDirectives(String value) {
+        int length = value.length();
+        int start = 0;
+        while (start < length) {
+            int end = nextDirectiveEnd(value, start);
+            int separator = value.indexOf('=', start);
+            String name;
+            String argument = null;
+            if (separator != -1 && separator < end) {
+                name = value.substring(start, separator).trim();
+                argument = unquote(value.substring(separator + 1, end).trim());
+            } else {
+                name = value.substring(start, end).trim();
+            }
+            setDirective(name.toLowerCase(Locale.ENGLISH), argument);
+            start = end + 1;
+        }
+    }
+
+    private static int nextDirectiveEnd(String value, int start) {
+        boolean quoted = false;
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                return i;
+            }
+        }
+        return value.length();
+    }
+
+    private static String unquote(String argument) {
+        if (argument.length() >= 2 && argument.charAt(0) == '"' && argument.charAt(argument.length() - 1) == '"') {
+            return argument.substring(1, argument.length() - 1);
+        }
+        return argument;
+    }
+
+    private void setDirective(String name, String argument) {
+        switch (name) {
+            case "no-store":
+                noStore = true;
+                break;
+            case "no-cache":
+                // The field names form of no-cache is taken as the unqualified one, which is the stricter of the two
+                noCache = true;
+                break;
+            case "private":
+                isPrivate = true;
+                break;
+            case "public":
+                isPublic = true;
+                break;
+            case "must-revalidate":
+                mustRevalidate = true;
+                break;
+            case "proxy-revalidate":
+                proxyRevalidate = true;
+                break;
+            case "only-if-cached":
+                onlyIfCached = true;
+                break;
+            case "max-age":
+                maxAge = parseDeltaSeconds(argument, 0);
+                break;
+            case "s-maxage":
+                sMaxAge = parseDeltaSeconds(argument, 0);
+                break;
+            case "max-stale":
+                maxStale = argument == null ? ANY : parseDeltaSeconds(argument, NOT_SET);
+                break;
+            case "min-fresh":
+                minFresh = parseDeltaSeconds(argument, NOT_SET);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Parse the argument of a delta seconds directive. Values which do not fit into an int are taken as the largest
+     * int value, as required by RFC 7234, section 1.2.1.
+     */
+    private static long parseDeltaSeconds(String argument, long invalidValue) {
+        if (argument == null || argument.isEmpty()) {
+            return invalidValue;
+        }
+        long seconds = 0;
+        for (int i = 0; i < argument.length(); i++) {
+            char c = argument.charAt(i);
+            if (c < '0' || c > '9') {
+                return invalidValue;
+            }
+            seconds = Math.min(seconds * 10 + (c - '0'), Integer.MAX_VALUE);
+        }
+        return seconds;
+    }
+
+    public boolean isNoStore() {
+        return noStore;
+    }
+
+    public boolean isNoCache() {
+        return noCache;
+    }
+
+    public boolean isPrivate() {
+        return isPrivate;
+    }
+
+    public boolean isPublic() {
+        return isPublic;
+    }
+
+    public boolean isMustRevalidate() {
+        return mustRevalidate;
+    }
+
+    public boolean isProxyRevalidate() {
+        return proxyRevalidate;
+    }
+
+    public boolean isOnlyIfCached() {
+        return onlyIfCached;
+    }
+
+    public long getMaxAge() {
+        return maxAge;
+    }
+
+    public long getSMaxAge() {
+        return sMaxAge;
+    }
+
+    public long getMaxStale() {
+        return maxStale;
+    }
+
+    public long getMinFresh() {
+        return minFresh;
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.ballerinalang.net.http.Constants;
+import org.ballerinalang.net.http.HttpUtil;
+import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code CachedResponse} is a response held by a {@link HttpResponseCache}, along with what is needed to compute its
+ * age and freshness as defined in RFC 7234, section 4.2.
+ * <p>
+ * A cached response is never modified. A new one is created when a stored response is revalidated, hence the
+ * responses served from the cache are not affected by a revalidation which happens at the same time.
+ *
+ * @since 0.95.8
+ */
+public class CachedResponse {
+
+    static final String AGE_HEADER = "Age";
+    static final String DATE_HEADER = "Date";
+    static final String EXPIRES_HEADER = "Expires";
+    static final String ETAG_HEADER = "ETag";
+    static final String LAST_MODIFIED_HEADER = "Last-Modified";
+    static final String VARY_HEADER = "Vary";
+
+    private static final String CONTENT_LENGTH_HEADER = "Content-Length";
+
+    /**
+     * Headers which are meaningful only for a single connection, hence are not stored, see RFC 7230, section 6.1.
+     */
+    private static final String[] HOP_BY_HOP_HEADERS = {
+            Constants.CONNECTION_HEADER, "Keep-Alive", "Proxy-Connection", "Transfer-Encoding", "TE", "Trailer",
+            "Upgrade"
+    };
+
+    /**
+     * Heuristic freshness lifetime is at most a day, so that the cache does not need to warn about it.
+     */
+    private static final long MAX_HEURISTIC_LIFETIME = TimeUnit.DAYS.toMillis(1);
+
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final Map<String, String> varyingHeaders;
+    private final CacheControl cacheControl;
+    private final long requestTime;
+    private final long responseTime;
+    private final long correctedInitialAge;
+    private final long freshnessLifetime;
+
+    private CachedResponse(int statusCode, HttpHeaders headers, byte[] body, Map<String, String> varyingHeaders,
+                           long requestTime, long responseTime, boolean shared) {
+        this.statusCode = statusCode;
+        this.body = body;
+        this.varyingHeaders = varyingHeaders;
+        this.requestTime = requestTime;
+        this.responseTime = responseTime;
+
+        long ageValue = TimeUnit.SECONDS.toMillis(Math.max(0, parseSeconds(headers.get(AGE_HEADER))));
+        headers.remove(AGE_HEADER);
+        // A response without a valid date is taken as generated when it was received, see RFC 7231, section 7.1.1.2
+        long dateValue = parseDate(headers.get(DATE_HEADER));
+        if (dateValue == -1) {
+            dateValue = responseTime;
+        }
+        long apparentAge = Math.max(0, responseTime - dateValue);
+        long responseDelay = responseTime - requestTime;
+        this.correctedInitialAge = Math.max(apparentAge, ageValue + responseDelay);
+
+        this.headers = headers;
+        this.cacheControl = CacheControl.parse(headers);
+        this.freshnessLifetime = computeFreshnessLifetime(dateValue, shared);
+    }
+
+    /**
+     * Create a cached response out of a response received from the network.
+     *
+     * @param statusCode     status code of the response.
+     * @param headers        headers of the response, which are copied.
+     * @param body           body of the response.
+     * @param requestHeaders headers of the request the response was received for.
+     * @param requestTime    time the request was sent, in milliseconds.
+     * @param responseTime   time the response was received, in milliseconds.
+     * @param shared         whether the response is held by a shared cache.
+     * @return the cached response.
+     */
+    public static CachedResponse create(int statusCode, HttpHeaders headers, byte[] body, HttpHeaders requestHeaders,
+                                        long requestTime, long responseTime, boolean shared) {
+        HttpHeaders storedHeaders = new DefaultHttpHeaders().set(headers);
+        for (String header : HOP_BY_HOP_HEADERS) {
+            storedHeaders.remove(header);
+        }
+        return new CachedResponse(statusCode, storedHeaders, body, getVaryingHeaders(headers, requestHeaders),
+                requestTime, responseTime, shared);
+    }
+
+    /**
+     * Create the cached response which results from revalidating this one, where the headers of the
+     * {@code 304 Not Modified} response replace the stored ones, see RFC 7234, section 4.3.4.
+     *
+     * @param notModifiedHeaders headers of the 304 response.
+     * @param requestTime        time the conditional request was sent, in milliseconds.
+     * @param responseTime       time the 304 response was received, in milliseconds.
+     * @param shared             whether the response is held by a shared cache.
+     * @return the revalidated response.
+     */
+    public CachedResponse revalidate(HttpHeaders notModifiedHeaders, long requestTime, long responseTime,
+                                     boolean shared) {
+        HttpHeaders mergedHeaders = new DefaultHttpHeaders().set(headers);
+        for (String name : notModifiedHeaders.names()) {
+            if (!isHopByHopHeader(name) && !CONTENT_LENGTH_HEADER.equalsIgnoreCase(name)) {
+                mergedHeaders.set(name, notModifiedHeaders.getAll(name));
+            }
+        }
+        return new CachedResponse(statusCode, mergedHeaders, body, varyingHeaders, requestTime, responseTime,
+                shared);
+    }
+
+    /**
+     * Create a response message out of this cached response, as if it was received from the network.
+     *
+     * @param now      current time in milliseconds.
+     * @param withBody whether the body is added to the message, which is not the case for a HEAD request.
+     * @return a new response message.
+     */
+    public HTTPCarbonMessage createResponseMessage(long now, boolean withBody) {
+        HTTPCarbonMessage responseMessage = HttpUtil.createHttpCarbonMessage(false);
+        responseMessage.getHeaders().set(headers);
+        responseMessage.setHeader(AGE_HEADER, String.valueOf(TimeUnit.MILLISECONDS.toSeconds(getCurrentAge(now))));
+        responseMessage.setProperty(Constants.HTTP_STATUS_CODE, statusCode);
+        if (withBody && body.length > 0) {
+            responseMessage.addHttpContent(new DefaultLastHttpContent(Unpooled.wrappedBuffer(body)));
+        } else {
+            responseMessage.addHttpContent(LastHttpContent.EMPTY_LAST_CONTENT);
+        }
+        return responseMessage;
+    }
+
+    /**
+     * Current age of the response, see RFC 7234, section 4.2.3.
+     *
+     * @param now current time in milliseconds.
+     * @return age in milliseconds.
+     */
+    public long getCurrentAge(long now) {
+        return correctedInitialAge + Math.max(0, now - responseTime);
+    }
+
+    /**
+     * Freshness lifetime of the response, see RFC 7234, section 4.2.1.
+     *
+     * @return freshness lifetime in milliseconds, which is zero if the response should always be revalidated.
+     */
+    public long getFreshnessLifetime() {
+        return freshnessLifetime;
+    }
+
+    /**
+     * Check whether the response was selected by the same values of the headers nominated by its {@code Vary}
+     * header, as the given request has.
+     *
+     * @param requestHeaders headers of a request.
+     * @return true if the response could be used for the request.
+     */
+    public boolean matches(HttpHeaders requestHeaders) {
+        for (Entry<String, String> varyingHeader : varyingHeaders.entrySet()) {
+            if (!Objects.equals(varyingHeader.getValue(), getJoinedValue(requestHeaders, varyingHeader.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public CacheControl getCacheControl() {
+        return cacheControl;
+    }
+
+    public String getETag() {
+        return headers.get(ETAG_HEADER);
+    }
+
+    public String getLastModified() {
+        return headers.get(LAST_MODIFIED_HEADER);
+    }
+
+    public long getRequestTime() {
+        return requestTime;
+    }
+
+    /**
+     * Approximate number of bytes held by the response.
+     *
+     * @return size in bytes.
+     */
+    public int getSize() {
+        int size = body.length;
+        for (Entry<String, String> header : headers) {
+            size += header.getKey().length() + header.getValue().length();
+        }
+        return size;
+    }
+
+    private long computeFreshnessLifetime(long dateValue, boolean shared) {
+        if (shared && cacheControl.getSMaxAge() != CacheControl.NOT_SET) {
+            return TimeUnit.SECONDS.toMillis(cacheControl.getSMaxAge());
+        }
+        if (cacheControl.getMaxAge() != CacheControl.NOT_SET) {
+            return TimeUnit.SECONDS.toMillis(cacheControl.getMaxAge());
+        }
+        String expires = headers.get(EXPIRES_HEADER);
+        if (expires != null) {
+            // An invalid date, such as 0, means the response has already expired
+            long expiresValue = parseDate(expires);
+            return expiresValue == -1 ? 0 : Math.max(0, expiresValue - dateValue);
+        }
+        long lastModified = parseDate(headers.get(LAST_MODIFIED_HEADER));
+        if (lastModified != -1 && lastModified < dateValue) {
+            // The usual heuristic of RFC 7234, section 4.2.2, a tenth of the time since the last modification
+            return Math.min((dateValue - lastModified) / 10, MAX_HEURISTIC_LIFETIME);
+        }
+        return 0;
+    }
+
+    private static Map<String, String> getVaryingHeaders(HttpHeaders responseHeaders, HttpHeaders requestHeaders) {
+        List<String> varyValues = responseHeaders.getAll(VARY_HEADER);
+        if (varyValues.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> varyingHeaders = new HashMap<>();
+        for (String varyValue : varyValues) {
+            for (String name : varyValue.split(",")) {
+                name = name.trim();
+                if (!name.isEmpty()) {
+                    varyingHeaders.put(name, getJoinedValue(requestHeaders, name));
+                }
+            }
+        }
+        return varyingHeaders;
+    }
+
+    private static String getJoinedValue(HttpHeaders headers, String name) {
+        List<String> values = headers.getAll(name);
+        if (values.isEmpty()) {
+            return null;
+        }
+        return values.size() == 1 ? values.get(0).trim() : String.join(",", values).trim();
+    }
+
+    private static boolean isHopByHopHeader(String name) {
+        for (String header : HOP_BY_HOP_HEADERS) {
+            if (header.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse an HTTP date.
+     *
+     * @param value value of a date header, which may be null.
+     * @return the date in milliseconds, or -1 if the value is not a valid date.
+     */
+    static long parseDate(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static long parseSeconds(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
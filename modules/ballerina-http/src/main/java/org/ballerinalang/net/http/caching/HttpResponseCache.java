@@ -0,0 +1,437 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.http.caching;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import org.ballerinalang.net.http.Constants;
+import org.ballerinalang.net.http.HttpUtil;
+import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code HttpResponseCache} is the response cache of an HTTP client connector, which follows the caching model of
+ * RFC 7234.
+ * <p>
+ * Responses to GET requests are stored when those are allowed to be stored, and could either be reused or be
+ * revalidated later, i.e. those have an explicit expiration time or a validator. A stored response is served without
+ * going to the network, to GET and HEAD requests for the same URL, while it is fresh. Once it is stale, it is
+ * revalidated with a conditional request, and a {@code 304 Not Modified} response updates the stored one. A
+ * successful response to any other method invalidates the response stored for its URL.
+ * <p>
+ * A response is stored only if its length is known upfront and is not more than the maximum entry size, as the body
+ * is read into memory before the response is handed over. The responses are held in memory, and the least recently
+ * used ones are evicted once the sizes of those exceed the capacity of the cache. A shared cache, which is used on
+ * behalf of many users, does not store responses which are private to a user.
+ *
+ * @since 0.95.8
+ */
+public class HttpResponseCache {
+
+    static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String CONTENT_LENGTH_HEADER = "Content-Length";
+    private static final String RANGE_HEADER = "Range";
+
+    private static final String[] CONDITIONAL_HEADERS = {
+            IF_NONE_MATCH_HEADER, IF_MODIFIED_SINCE_HEADER, "If-Match", "If-Unmodified-Since", "If-Range"
+    };
+
+    private static final int NOT_MODIFIED = 304;
+    private static final int GATEWAY_TIMEOUT = 504;
+
+    private final long capacity;
+    private final long maxEntrySize;
+    private final boolean shared;
+    private final Map<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * Create a response cache.
+     *
+     * @param capacity     maximum number of bytes held by the cached responses.
+     * @param maxEntrySize maximum length of the body of a cached response.
+     * @param shared       whether the cache is used on behalf of many users.
+     */
+    public HttpResponseCache(long capacity, long maxEntrySize, boolean shared) {
+        if (capacity <= 0 || maxEntrySize <= 0 || maxEntrySize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("invalid response cache size: capacity " + capacity +
+                    ", maximum entry size " + maxEntrySize);
+        }
+        this.capacity = capacity;
+        this.maxEntrySize = maxEntrySize;
+        this.shared = shared;
+    }
+
+    /**
+     * Find the response stored for a request. Only GET and HEAD requests are looked up, and those which are
+     * conditional, or ask for a range, are left to the origin server.
+     *
+     * @param request outbound request.
+     * @return the stored response, which may need to be revalidated, or null if there is none.
+     */
+    public CachedResponse lookup(HTTPCarbonMessage request) {
+        String method = getMethod(request);
+        if (!Constants.HTTP_METHOD_GET.equals(method) && !Constants.HTTP_METHOD_HEAD.equals(method)) {
+            return null;
+        }
+        HttpHeaders requestHeaders = request.getHeaders();
+        if (isConditional(requestHeaders) || requestHeaders.contains(RANGE_HEADER)) {
+            return null;
+        }
+        if (CacheControl.parse(requestHeaders).isNoStore()) {
+            return null;
+        }
+        CachedResponse cachedResponse;
+        synchronized (this) {
+            cachedResponse = responses.get(getKey(request));
+        }
+        if (cachedResponse == null || !cachedResponse.matches(requestHeaders)) {
+            return null;
+        }
+        return cachedResponse;
+    }
+
+    /**
+     * Check whether a stored response could be served to a request without revalidating it, see RFC 7234, section
+     * 4.2.4 and 5.2.1.
+     *
+     * @param cachedResponse stored response of the request.
+     * @param request        outbound request.
+     * @param now            current time in milliseconds.
+     * @return true if the stored response could be served as it is.
+     */
+    public boolean isServable(CachedResponse cachedResponse, HTTPCarbonMessage request, long now) {
+        CacheControl requestCacheControl = CacheControl.parse(request.getHeaders());
+        CacheControl responseCacheControl = cachedResponse.getCacheControl();
+        if (requestCacheControl.isNoCache() || responseCacheControl.isNoCache()) {
+            return false;
+        }
+        long age = cachedResponse.getCurrentAge(now) / 1000;
+        long freshnessLifetime = cachedResponse.getFreshnessLifetime() / 1000;
+        if (requestCacheControl.getMaxAge() != CacheControl.NOT_SET && age > requestCacheControl.getMaxAge()) {
+            return false;
+        }
+        if (requestCacheControl.getMinFresh() != CacheControl.NOT_SET &&
+                freshnessLifetime - age < requestCacheControl.getMinFresh()) {
+            return false;
+        }
+        if (freshnessLifetime > age) {
+            return true;
+        }
+        if (responseCacheControl.isMustRevalidate() || (shared && responseCacheControl.isProxyRevalidate())) {
+            return false;
+        }
+        long maxStale = requestCacheControl.getMaxStale();
+        return maxStale == CacheControl.ANY ||
+                (maxStale != CacheControl.NOT_SET && age - freshnessLifetime <= maxStale);
+    }
+
+    /**
+     * Check whether a request asks to be served only from the cache, in which case it should not go to the network.
+     *
+     * @param request outbound request.
+     * @return true if the request has the {@code only-if-cached} directive.
+     */
+    public boolean isOnlyIfCached(HTTPCarbonMessage request) {
+        return CacheControl.parse(request.getHeaders()).isOnlyIfCached();
+    }
+
+    /**
+     * Create the response to a request which could not be served from the cache, although it asked to be, see RFC
+     * 7234, section 5.2.1.7.
+     *
+     * @return a {@code 504 Gateway Timeout} response.
+     */
+    public HTTPCarbonMessage createGatewayTimeoutResponse() {
+        return HttpUtil.createErrorMessage("", GATEWAY_TIMEOUT);
+    }
+
+    /**
+     * Add the validators of a stored response to a request, so that the request revalidates the response.
+     *
+     * @param request        outbound request.
+     * @param cachedResponse stored response of the request.
+     * @return true if a validator was added, false if the stored response does not have one.
+     */
+    public boolean addValidators(HTTPCarbonMessage request, CachedResponse cachedResponse) {
+        boolean added = false;
+        if (cachedResponse.getETag() != null) {
+            request.setHeader(IF_NONE_MATCH_HEADER, cachedResponse.getETag());
+            added = true;
+        }
+        if (cachedResponse.getLastModified() != null) {
+            request.setHeader(IF_MODIFIED_SINCE_HEADER, cachedResponse.getLastModified());
+            added = true;
+        }
+        return added;
+    }
+
+    /**
+     * Remove the validators added by {@link #addValidators}, so that the request message does not carry those if it
+     * is sent again.
+     *
+     * @param request outbound request.
+     */
+    public void removeValidators(HTTPCarbonMessage request) {
+        request.removeHeader(IF_NONE_MATCH_HEADER);
+        request.removeHeader(IF_MODIFIED_SINCE_HEADER);
+    }
+
+    /**
+     * Check whether a response is a {@code 304 Not Modified} response.
+     *
+     * @param response inbound response.
+     * @return true if the response confirms that a stored response is still valid.
+     */
+    public boolean isNotModified(HTTPCarbonMessage response) {
+        Object statusCode = response.getProperty(Constants.HTTP_STATUS_CODE);
+        return statusCode instanceof Integer && (Integer) statusCode == NOT_MODIFIED;
+    }
+
+    /**
+     * Update a stored response with a {@code 304 Not Modified} response to its revalidation, and create the
+     * response to be served to the request.
+     *
+     * @param request        outbound request, which revalidated the stored response.
+     * @param cachedResponse stored response of the request.
+     * @param notModified    inbound 304 response.
+     * @param requestTime    time the request was sent, in milliseconds.
+     * @param responseTime   time the 304 response was received, in milliseconds.
+     * @return the response to be served.
+     */
+    public HTTPCarbonMessage revalidate(HTTPCarbonMessage request, CachedResponse cachedResponse,
+                                        HTTPCarbonMessage notModified, long requestTime, long responseTime) {
+        CachedResponse revalidated = cachedResponse.revalidate(notModified.getHeaders(), requestTime, responseTime,
+                shared);
+        String key = getKey(request);
+        synchronized (this) {
+            // The stored response is replaced only if it is the one which was revalidated, not a later one
+            CachedResponse current = responses.get(key);
+            if (current == cachedResponse) {
+                putResponse(key, revalidated);
+            }
+        }
+        return revalidated.createResponseMessage(responseTime,
+                !Constants.HTTP_METHOD_HEAD.equals(getMethod(request)));
+    }
+
+    /**
+     * Invalidate the response stored for the URL of a request with an unsafe method, once the request has
+     * succeeded, see RFC 7234, section 4.4.
+     *
+     * @param request  outbound request.
+     * @param response inbound response.
+     */
+    public void invalidate(HTTPCarbonMessage request, HTTPCarbonMessage response) {
+        String method = getMethod(request);
+        if (Constants.HTTP_METHOD_GET.equals(method) || Constants.HTTP_METHOD_HEAD.equals(method) ||
+                Constants.HTTP_METHOD_OPTIONS.equals(method)) {
+            return;
+        }
+        Object statusCode = response.getProperty(Constants.HTTP_STATUS_CODE);
+        if (!(statusCode instanceof Integer) || (Integer) statusCode < 200 || (Integer) statusCode >= 400) {
+            return;
+        }
+        String key = getKey(request);
+        synchronized (this) {
+            removeResponse(key);
+        }
+    }
+
+    /**
+     * Check whether a response to a request could be stored, see RFC 7234, section 3.
+     *
+     * @param request  outbound request.
+     * @param response inbound response.
+     * @return true if the response could be stored.
+     */
+    public boolean isStorable(HTTPCarbonMessage request, HTTPCarbonMessage response) {
+        if (!Constants.HTTP_METHOD_GET.equals(getMethod(request))) {
+            return false;
+        }
+        Object statusCode = response.getProperty(Constants.HTTP_STATUS_CODE);
+        if (!(statusCode instanceof Integer) || !isCacheableByDefault((Integer) statusCode)) {
+            return false;
+        }
+        HttpHeaders requestHeaders = request.getHeaders();
+        HttpHeaders responseHeaders = response.getHeaders();
+        if (requestHeaders.contains(RANGE_HEADER) || CacheControl.parse(requestHeaders).isNoStore()) {
+            return false;
+        }
+        CacheControl cacheControl = CacheControl.parse(responseHeaders);
+        if (cacheControl.isNoStore()) {
+            return false;
+        }
+        if (shared) {
+            if (cacheControl.isPrivate()) {
+                return false;
+            }
+            if (requestHeaders.contains(AUTHORIZATION_HEADER) && !cacheControl.isPublic() &&
+                    !cacheControl.isMustRevalidate() && cacheControl.getSMaxAge() == CacheControl.NOT_SET) {
+                return false;
+            }
+            // Cookies are specific to a user, hence those are not handed over to the other users of a shared cache
+            if (responseHeaders.contains(Constants.RESPONSE_COOKIE_HEADER)) {
+                return false;
+            }
+        }
+        String vary = responseHeaders.get(CachedResponse.VARY_HEADER);
+        if (vary != null && vary.trim().equals("*")) {
+            return false;
+        }
+        long contentLength = getContentLength(responseHeaders, (Integer) statusCode);
+        if (contentLength < 0 || contentLength > maxEntrySize) {
+            return false;
+        }
+        // A response which could neither be reused nor be revalidated is of no use
+        return cacheControl.getMaxAge() != CacheControl.NOT_SET || cacheControl.getSMaxAge() != CacheControl.NOT_SET
+                || cacheControl.isPublic() || responseHeaders.contains(CachedResponse.EXPIRES_HEADER)
+                || responseHeaders.contains(CachedResponse.ETAG_HEADER)
+                || responseHeaders.contains(CachedResponse.LAST_MODIFIED_HEADER);
+    }
+
+    /**
+     * Read the body of a storable response and store the response. This blocks until the whole body is received,
+     * hence should not be called on a transport thread.
+     *
+     * @param request      outbound request.
+     * @param response     inbound response, which is checked by {@link #isStorable}.
+     * @param requestTime  time the request was sent, in milliseconds.
+     * @param responseTime time the response was received, in milliseconds.
+     * @return the response to be served, with the body which was read.
+     */
+    public HTTPCarbonMessage store(HTTPCarbonMessage request, HTTPCarbonMessage response, long requestTime,
+                                   long responseTime) {
+        HttpHeaders responseHeaders = response.getHeaders();
+        int statusCode = (Integer) response.getProperty(Constants.HTTP_STATUS_CODE);
+        long contentLength = getContentLength(responseHeaders, statusCode);
+        byte[] bodyBytes = HttpUtil.bufferMessageBody(response, (int) contentLength);
+
+        // A response which is shorter than its declared length is incomplete, hence is not stored
+        if (bodyBytes.length == contentLength) {
+            CachedResponse cachedResponse = CachedResponse.create(statusCode, responseHeaders, bodyBytes,
+                    request.getHeaders(), requestTime, responseTime, shared);
+            String key = getKey(request);
+            synchronized (this) {
+                putResponse(key, cachedResponse);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Number of responses held by the cache.
+     *
+     * @return the number of responses.
+     */
+    public synchronized int getResponseCount() {
+        return responses.size();
+    }
+
+    /**
+     * Approximate number of bytes held by the cache.
+     *
+     * @return size in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    private void putResponse(String key, CachedResponse cachedResponse) {
+        removeResponse(key);
+        int responseSize = cachedResponse.getSize() + key.length();
+        if (responseSize > capacity) {
+            return;
+        }
+        responses.put(key, cachedResponse);
+        size += responseSize;
+        Iterator<Map.Entry<String, CachedResponse>> iterator = responses.entrySet().iterator();
+        while (size > capacity && iterator.hasNext()) {
+            // Iteration order of an access ordered map is from the least recently used one
+            Map.Entry<String, CachedResponse> eldest = iterator.next();
+            size -= eldest.getValue().getSize() + eldest.getKey().length();
+            iterator.remove();
+        }
+    }
+
+    private void removeResponse(String key) {
+        CachedResponse removed = responses.remove(key);
+        if (removed != null) {
+            size -= removed.getSize() + key.length();
+        }
+    }
+
+    private static boolean isConditional(HttpHeaders headers) {
+        for (String header : CONDITIONAL_HEADERS) {
+            if (headers.contains(header)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Status codes which are cacheable by default, see RFC 7231, section 6.1.
+     */
+    private static boolean isCacheableByDefault(int statusCode) {
+        switch (statusCode) {
+            case 200:
+            case 203:
+            case 204:
+            case 300:
+            case 301:
+            case 404:
+            case 405:
+            case 410:
+            case 414:
+            case 501:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static long getContentLength(HttpHeaders headers, int statusCode) {
+        if (statusCode == 204) {
+            return 0;
+        }
+        String contentLength = headers.get(CONTENT_LENGTH_HEADER);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String getMethod(HTTPCarbonMessage request) {
+        return (String) request.getProperty(Constants.HTTP_METHOD);
+    }
+
+    private static String getKey(HTTPCarbonMessage request) {
+        return HttpUtil.getOutboundRequestUrl(request);
+    }
+}
@@ -62,6 +62,10 @@ public class Forward extends AbstractNativeFunction {
         HTTPCarbonMessage responseMessage = HttpUtil
                 .getCarbonMsg(inboundResponseStruct, HttpUtil.createHttpCarbonMessage(false));
 
+        if (inboundResponseStruct.getRefField(Constants.RESPONSE_HEADERS_INDEX) != null) {
+            HttpUtil.setHeadersToTransportMessage(responseMessage, inboundResponseStruct);
+        }
+        // Connection header is set once the headers of the struct are in place, so that it is not overwritten
         AnnAttachmentInfo configAnn = context.getServiceInfo().getAnnotationAttachmentInfo(
                 Constants.PROTOCOL_PACKAGE_HTTP, Constants.ANN_NAME_CONFIG);
         if (configAnn != null) {
@@ -77,9 +81,6 @@ public class Forward extends AbstractNativeFunction {
             // default behaviour: keepAlive = true
             responseMessage.setHeader(Constants.CONNECTION_HEADER, Constants.HEADER_VAL_CONNECTION_KEEP_ALIVE);
         }
-        if (inboundResponseStruct.getRefField(Constants.RESPONSE_HEADERS_INDEX) != null) {
-            HttpUtil.setHeadersToTransportMessage(responseMessage, inboundResponseStruct);
-        }
 
         return HttpUtil.prepareResponseAndSend(context, this, requestMessage,
                 responseMessage, inboundResponseStruct);
@@ -96,6 +96,7 @@ public class CreateSessionIfAbsent extends AbstractNativeFunction {
                 session = SessionManager.getInstance().createHTTPSession(path);
             }
             httpCarbonMessage.setProperty(Constants.HTTP_SESSION, session);
+            HttpUtil.detachHeaderMap(requestStruct);
             httpCarbonMessage.removeHeader(Constants.COOKIE_HEADER);
             return new BValue[]{HttpUtil.createSessionStruct(context, session)};
 
@@ -96,6 +96,7 @@ public class GetSession extends AbstractNativeFunction {
                 return new BValue[]{};
             }
             httpCarbonMessage.setProperty(Constants.HTTP_SESSION, session);
+            HttpUtil.detachHeaderMap(requestStruct);
             httpCarbonMessage.removeHeader(Constants.COOKIE_HEADER);
             return new BValue[]{HttpUtil.createSessionStruct(context, session)};
         } catch (IllegalStateException e) {
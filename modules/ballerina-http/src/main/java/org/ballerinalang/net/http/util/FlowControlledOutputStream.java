@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.buffer.UnpooledHeapByteBuf;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * {@code FlowControlledOutputStream} writes a message body into a {@link HTTPCarbonMessage} as a sequence of fixed
+ * size chunks, and blocks the writer while too many of those chunks are yet to be written to the network.
+ * <p>
+ * The transport does not expose the channel of a message, hence the writability of the channel is observed through
+ * the chunks themselves: the transport releases a chunk once it has been written out, so a slow receiver keeps the
+ * writer waiting. Only half of the pending chunks are handed over to the transport at a time; the rest are queued in
+ * the stream, and handed over as the transport releases the chunks it has. The memory held by a message is bounded by
+ * {@code chunkSize * maxPendingChunks}, regardless of the length of the message.
+ * <p>
+ * A writer waits for at most {@code writeTimeoutMillis} without any chunk being written out. If the exchange fails
+ * in the meantime, e.g. as the connection is closed, {@link #cancel(Throwable)} fails the writer at once.
+ *
+ * @since 0.95.8
+ */
+public class FlowControlledOutputStream extends OutputStream {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+
+    public static final int DEFAULT_MAX_PENDING_CHUNKS = 16;
+
+    public static final long DEFAULT_WRITE_TIMEOUT_MILLIS = 15 * 1000;
+
+    private final HTTPCarbonMessage message;
+
+    private final int chunkSize;
+
+    private final int maxPendingChunks;
+
+    private final int maxHandedOverChunks;
+
+    private final long writeTimeoutMillis;
+
+    private final Object lock = new Object();
+
+    // Chunks which are allocated, but not yet released. Guarded by lock.
+    private int pendingChunks;
+
+    // Chunks which are handed over to the transport, but not yet released. Guarded by lock.
+    private int handedOverChunks;
+
+    // Content which waits for the transport to release the chunks it has. Guarded by lock.
+    private final Queue<HttpContent> queuedContent = new ArrayDeque<>();
+
+    // Cause of the failure of the exchange, if it is cancelled. Guarded by lock.
+    private Throwable failure;
+
+    private ByteBuf chunk;
+
+    private boolean closed;
+
+    public FlowControlledOutputStream(HTTPCarbonMessage message) {
+        this(message, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_PENDING_CHUNKS, DEFAULT_WRITE_TIMEOUT_MILLIS);
+    }
+
+    public FlowControlledOutputStream(HTTPCarbonMessage message, int chunkSize, int maxPendingChunks,
+                                      long writeTimeoutMillis) {
+        if (chunkSize <= 0 || maxPendingChunks <= 0 || writeTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("chunk size, pending chunk count and write timeout should be positive");
+        }
+        this.message = message;
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = maxPendingChunks;
+        this.maxHandedOverChunks = Math.max(maxPendingChunks / 2, 1);
+        this.writeTimeoutMillis = writeTimeoutMillis;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.ensureOpen();
+        if (this.chunk == null) {
+            this.chunk = this.newChunk();
+        }
+        this.chunk.writeByte(b);
+        if (!this.chunk.isWritable()) {
+            this.sendChunk();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        this.ensureOpen();
+        while (len > 0) {
+            if (this.chunk == null) {
+                this.chunk = this.newChunk();
+            }
+            int count = Math.min(len, this.chunk.writableBytes());
+            this.chunk.writeBytes(b, off, count);
+            off += count;
+            len -= count;
+            if (!this.chunk.isWritable()) {
+                this.sendChunk();
+            }
+        }
+    }
+
+    /**
+     * Write the remaining content, and mark the end of the message.
+     *
+     * @throws IOException if the exchange is cancelled
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.ensureOpen();
+        this.closed = true;
+        ByteBuf content = this.chunk != null ? this.chunk : Unpooled.EMPTY_BUFFER;
+        this.chunk = null;
+        this.send(new DefaultLastHttpContent(content));
+    }
+
+    /**
+     * Drop the content which is not yet handed over to the transport, e.g. when the serialization of the message
+     * failed. The stream can not be written to afterwards.
+     */
+    public void discard() {
+        this.closed = true;
+        if (this.chunk != null) {
+            this.chunk.release();
+            this.chunk = null;
+        }
+        this.releaseQueuedContent();
+    }
+
+    /**
+     * Fail the exchange of the message, e.g. as its connection is closed. A writer which waits for the content to be
+     * written out fails at once, and so do the writes afterwards. This may be called from any thread.
+     *
+     * @param cause cause of the failure
+     */
+    public void cancel(Throwable cause) {
+        synchronized (this.lock) {
+            if (this.failure == null) {
+                this.failure = cause;
+            }
+            this.lock.notifyAll();
+        }
+        this.releaseQueuedContent();
+    }
+
+    /**
+     * Number of chunks which are allocated, but not yet written to the network.
+     *
+     * @return pending chunk count
+     */
+    public int getPendingChunkCount() {
+        synchronized (this.lock) {
+            return this.pendingChunks;
+        }
+    }
+
+    private void sendChunk() throws IOException {
+        ByteBuf content = this.chunk;
+        this.chunk = null;
+        this.send(new DefaultHttpContent(content));
+    }
+
+    private void send(HttpContent content) throws IOException {
+        synchronized (this.lock) {
+            if (this.failure == null) {
+                // The content is handed over in order, after the content which is queued already
+                this.queuedContent.add(content);
+                this.handOverQueuedContent();
+                return;
+            }
+        }
+        content.release();
+        throw this.failedException();
+    }
+
+    private void handOverQueuedContent() {
+        while (!this.queuedContent.isEmpty() && this.handedOverChunks < this.maxHandedOverChunks) {
+            HttpContent content = this.queuedContent.poll();
+            if (content.content() instanceof Chunk) {
+                ((Chunk) content.content()).handedOver = true;
+                this.handedOverChunks++;
+            }
+            this.message.addHttpContent(content);
+        }
+    }
+
+    private void releaseQueuedContent() {
+        List<HttpContent> contents;
+        synchronized (this.lock) {
+            contents = new ArrayList<>(this.queuedContent);
+            this.queuedContent.clear();
+        }
+        // Released outside the lock, as releasing a chunk reports back to the stream
+        contents.forEach(HttpContent::release);
+    }
+
+    private ByteBuf newChunk() throws IOException {
+        synchronized (this.lock) {
+            long deadline = System.currentTimeMillis() + this.writeTimeoutMillis;
+            while (this.pendingChunks >= this.maxPendingChunks) {
+                if (this.failure != null) {
+                    throw this.failedException();
+                }
+                long now = System.currentTimeMillis();
+                if (now >= deadline) {
+                    throw new IOException("timed out waiting for the message content to be written");
+                }
+                try {
+                    this.lock.wait(deadline - now);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("interrupted while waiting for the message content to be " +
+                            "written");
+                }
+            }
+            if (this.failure != null) {
+                throw this.failedException();
+            }
+            this.pendingChunks++;
+        }
+        return new Chunk(this.chunkSize);
+    }
+
+    private void onChunkReleased(Chunk released) {
+        synchronized (this.lock) {
+            this.pendingChunks--;
+            if (released.handedOver) {
+                this.handedOverChunks--;
+                if (this.failure == null) {
+                    this.handOverQueuedContent();
+                }
+            }
+            this.lock.notifyAll();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        synchronized (this.lock) {
+            if (this.failure != null) {
+                throw this.failedException();
+            }
+        }
+        if (this.closed) {
+            throw new IOException("stream is already closed");
+        }
+    }
+
+    private IOException failedException() {
+        synchronized (this.lock) {
+            return new IOException("message exchange failed: " + this.failure.getMessage(), this.failure);
+        }
+    }
+
+    /**
+     * A chunk of the message which reports back to the stream when it is released by the transport.
+     */
+    private class Chunk extends UnpooledHeapByteBuf {
+
+        // Whether the chunk is owned by the transport. Guarded by the lock of the stream.
+        private boolean handedOver;
+
+        Chunk(int size) {
+            super(UnpooledByteBufAllocator.DEFAULT, size, size);
+        }
+
+        @Override
+        protected void deallocate() {
+            super.deallocate();
+            onChunkReleased(this);
+        }
+    }
+}
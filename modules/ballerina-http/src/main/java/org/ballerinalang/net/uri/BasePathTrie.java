@@ -0,0 +1,172 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+
+package org.ballerinalang.net.uri;
+
+/**
+ * {@code BasePathTrie} holds the base paths of the services of a listener interface, segment by segment, to find the
+ * base path which matches a request path the most specifically.
+ * <p>
+ * Segments are compared case insensitively, in place on the request path, hence a lookup costs time proportional to
+ * the length of the request path regardless of the number of services. The children of a segment are held in an open
+ * addressing hash table which is replaced, rather than modified, when a base path is added, hence lookups do not need
+ * any locking.
+ *
+ * @since 0.95.8
+ */
+public class BasePathTrie {
+
+    private static final String ROOT_PATH = "/";
+
+    private final Segment root = new Segment(ROOT_PATH, 0);
+
+    /**
+     * Add a base path to the trie. Base paths which differ only by case match the same requests, hence the one which
+     * is added first is the one which is found.
+     *
+     * @param basePath sanitized base path, which starts with a slash and does not end with one.
+     */
+    public synchronized void add(String basePath) {
+        Segment segment = root;
+        int start = 1;
+        int length = basePath.length();
+        while (start < length) {
+            int end = basePath.indexOf('/', start);
+            if (end == -1) {
+                end = length;
+            }
+            Segment child = segment.getChild(basePath, start, end);
+            if (child == null) {
+                String token = basePath.substring(start, end);
+                child = new Segment(token, hash(token, 0, token.length()));
+                segment.addChild(child);
+            }
+            segment = child;
+            start = end + 1;
+        }
+        if (segment.basePath == null) {
+            segment.basePath = basePath;
+        }
+    }
+
+    /**
+     * Find the longest base path which matches the leading segments of the given request path.
+     *
+     * @param requestPath decoded path of the request, without the query.
+     * @return the most specific base path, {@code /} if only the root base path matches, or null if none matches.
+     */
+    public String findMostSpecificBasePath(String requestPath) {
+        Segment segment = root;
+        String basePath = root.basePath;
+        int length = requestPath.length();
+        if (length == 0 || requestPath.charAt(0) != '/') {
+            return basePath;
+        }
+        int start = 1;
+        while (start < length) {
+            int end = requestPath.indexOf('/', start);
+            if (end == -1) {
+                end = length;
+            }
+            segment = segment.getChild(requestPath, start, end);
+            if (segment == null) {
+                break;
+            }
+            if (segment.basePath != null) {
+                basePath = segment.basePath;
+            }
+            start = end + 1;
+        }
+        return basePath;
+    }
+
+    private static int hash(String path, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            // Same folding as String#regionMatches(boolean, ...), so that equal segments have equal hashes
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(path.charAt(i)));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A segment of the registered base paths, along with the base path which ends with it if any.
+     */
+    private static class Segment {
+
+        private static final Segment[] NO_CHILDREN = new Segment[0];
+
+        private final String token;
+        private final int hash;
+        private volatile String basePath;
+        private volatile Segment[] children = NO_CHILDREN;
+        private int childCount;
+
+        Segment(String token, int hash) {
+            this.token = token;
+            this.hash = hash;
+        }
+
+        Segment getChild(String path, int start, int end) {
+            Segment[] table = children;
+            if (table.length == 0) {
+                return null;
+            }
+            int length = end - start;
+            int hash = hash(path, start, end);
+            int mask = table.length - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                Segment child = table[i];
+                if (child == null) {
+                    return null;
+                }
+                if (child.hash == hash && child.token.length() == length &&
+                        child.token.regionMatches(true, 0, path, start, length)) {
+                    return child;
+                }
+            }
+        }
+
+        void addChild(Segment child) {
+            Segment[] table = children;
+            // The table is kept at most half full, so that probe sequences stay short
+            int capacity = table.length;
+            if ((childCount + 1) * 2 > capacity) {
+                capacity = Math.max(4, capacity * 2);
+            }
+            Segment[] newTable = new Segment[capacity];
+            for (Segment existing : table) {
+                if (existing != null) {
+                    insert(newTable, existing);
+                }
+            }
+            insert(newTable, child);
+            childCount++;
+            children = newTable;
+        }
+
+        private static void insert(Segment[] table, Segment child) {
+            int mask = table.length - 1;
+            int i = child.hash & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = child;
+        }
+    }
+}
@@ -80,6 +80,10 @@ public abstract class Expression<DataElementType extends DataElement> extends No
     }
 
     protected String decodeValue(String value) {
+        if (value.indexOf('%') == -1) {
+            // Nothing to be decoded, as plus signs are kept as they are
+            return value;
+        }
         try {
             return URLDecoder.decode(value.replaceAll("\\+", "%2B"), "UTF-8");
         } catch (UnsupportedEncodingException e) {
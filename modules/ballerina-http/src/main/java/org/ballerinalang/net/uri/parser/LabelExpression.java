@@ -44,9 +44,9 @@ public class LabelExpression<DataElementType extends DataElement> extends Simple
     }
 
     @Override
-    int match(String uriFragment, Map<String, String> variables) {
-        if (uriFragment.startsWith(String.valueOf(getSeparator()))) {
-            return super.match(uriFragment.substring(1), variables) + 1;
+    int match(String uri, int start, Map<String, String> variables) {
+        if (start < uri.length() && uri.charAt(start) == getSeparator()) {
+            return super.match(uri, start + 1, variables) + 1;
         }
         return 0;
     }
@@ -31,6 +31,7 @@ import java.util.Map;
 public class Literal<DataElementType extends DataElement> extends Node<DataElementType> {
 
     private int tokenLength = 0;
+    private boolean wildcard;
 
     public Literal(DataElementType dataElement, String token) throws URITemplateException {
         super(dataElement, token);
@@ -38,6 +39,7 @@ public class Literal<DataElementType extends DataElement> extends Node<DataEleme
         if (tokenLength == 0) {
             throw new URITemplateException("Invalid literal token with zero length");
         }
+        wildcard = token.endsWith("*");
     }
 
     @Override
@@ -46,33 +48,18 @@ public class Literal<DataElementType extends DataElement> extends Node<DataEleme
     }
 
     @Override
-    int match(String uriFragment, Map<String, String> variables) {
-        if (!token.endsWith("*")) {
-            if (uriFragment.length() < tokenLength) {
+    int match(String uri, int start, Map<String, String> variables) {
+        int fragmentLength = uri.length() - start;
+        if (!wildcard) {
+            if (fragmentLength < tokenLength) {
                 return -1;
             }
-            for (int i = 0; i < tokenLength; i++) {
-                if (token.charAt(i) != uriFragment.charAt(i)) {
-                    if (token.charAt(i) == '*' && i == token.length() - 1) {
-                        return uriFragment.length();
-                    }
-                    return -1;
-                }
-            }
-            return tokenLength;
+            return uri.startsWith(token, start) ? tokenLength : -1;
         } else {
-            if (uriFragment.length() < tokenLength - 1) {
+            if (fragmentLength < tokenLength - 1) {
                 return -1;
             }
-            for (int i = 0; i < tokenLength - 1; i++) {
-                if (token.charAt(i) != uriFragment.charAt(i)) {
-                    if (i == token.length() - 1) {
-                        return uriFragment.length();
-                    }
-                    return -1;
-                }
-            }
-            return uriFragment.length();
+            return uri.regionMatches(start, token, 0, tokenLength - 1) ? fragmentLength : -1;
         }
     }
 
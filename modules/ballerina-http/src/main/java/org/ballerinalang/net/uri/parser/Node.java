@@ -20,8 +20,9 @@ package org.ballerinalang.net.uri.parser;
 
 import org.ballerinalang.net.http.Constants;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -34,7 +35,12 @@ public abstract class Node<DataElementType extends DataElement> {
 
     protected String token;
     protected DataElementType dataElement;
-    protected List<Node<DataElementType>> childNodesList = new LinkedList<>();
+    protected List<Node<DataElementType>> childNodesList = new ArrayList<>();
+    // Literal children grouped by the length of their tokens, the longest first, and the rest of the children in the
+    // order of childNodesList
+    private List<LiteralChildNodes<DataElementType>> literalChildNodes = new ArrayList<>();
+    private List<Node<DataElementType>> otherChildNodes = new ArrayList<>();
+    private BitSet childFirstCharacters = new BitSet();
 
     protected Node(DataElementType dataElement, String token) {
         this.dataElement = dataElement;
@@ -55,64 +61,123 @@ public abstract class Node<DataElementType extends DataElement> {
         }
 
         Collections.sort(childNodesList, (o1, o2) -> getIntValue(o2) - getIntValue(o1));
+        indexChildNodes();
 
         return node;
     }
 
-    public DataElementType matchAll(String uriFragment, Map<String, String> variables, int start) {
-        int matchLength = match(uriFragment, variables);
+    private void indexChildNodes() {
+        literalChildNodes.clear();
+        otherChildNodes.clear();
+        childFirstCharacters.clear();
+        for (Node<DataElementType> childNode : childNodesList) {
+            childFirstCharacters.set(childNode.getFirstCharacter());
+            if (!(childNode instanceof Literal) || childNode.getToken().equals("*")) {
+                otherChildNodes.add(childNode);
+                continue;
+            }
+            int length = childNode.getToken().length();
+            LiteralChildNodes<DataElementType> group = literalChildNodes.isEmpty() ? null :
+                    literalChildNodes.get(literalChildNodes.size() - 1);
+            if (group == null || group.length != length) {
+                group = new LiteralChildNodes<>(length);
+                literalChildNodes.add(group);
+            }
+            group.add(childNode);
+        }
+    }
+
+    /**
+     * Checks whether any of the child nodes starts with the given character.
+     *
+     * @param ch character to be checked.
+     * @return true if a child node starts with the character.
+     */
+    protected boolean isChildFirstCharacter(char ch) {
+        return childFirstCharacters.get(ch);
+    }
+
+    /**
+     * Matches the uri, starting from the given index, against this node and its descendants. The uri is matched in
+     * place, hence no fragments of it are created other than the values of the variables.
+     *
+     * @param uri       uri to be matched.
+     * @param variables map to be populated with the values of the variables in the matched path.
+     * @param start     index of the uri to start matching from.
+     * @return data element of the matched node, or null if there is no match.
+     */
+    public DataElementType matchAll(String uri, Map<String, String> variables, int start) {
+        int matchLength = match(uri, start, variables);
         if (matchLength < 0) {
             return null;
         }
-        if (matchLength == uriFragment.length()) {
+        int fragmentLength = uri.length() - start;
+        if (matchLength == fragmentLength) {
             return dataElement;
         }
-        if (matchLength >= uriFragment.length()) {
+        if (matchLength > fragmentLength) {
             return null;
         }
-        String subUriFragment = nextURIFragment(uriFragment, matchLength);
-        String subPath = nextSubPath(subUriFragment);
+        int next = nextURIFragment(uri, start, matchLength);
 
         DataElementType dataElement;
-        for (Node<DataElementType> childNode : childNodesList) {
-            if (childNode instanceof Literal) {
-                String regex = childNode.getToken();
-                if (regex.equals("*")) {
-                    regex = "." + regex;
-                    if (!subPath.matches(regex)) {
+        if (next < uri.length()) {
+            for (LiteralChildNodes<DataElementType> literals : literalChildNodes) {
+                // Among the literals of the same length, at most one is equal to the next characters of the uri
+                Node<DataElementType> childNode = literals.get(uri, next);
+                if (childNode != null) {
+                    dataElement = childNode.matchAll(uri, variables, next);
+                    if (dataElement != null) {
+                        return dataElement;
+                    }
+                }
+                for (Node<DataElementType> wildcardNode : literals.wildcardNodes) {
+                    if (!isInSegment(uri, next, wildcardNode.getToken())) {
                         continue;
                     }
-                    dataElement = childNode.matchAll(subUriFragment, variables, start + matchLength);
+                    dataElement = wildcardNode.matchAll(uri, variables, next);
                     if (dataElement != null) {
-                        setUriPostFix(variables, subUriFragment);
                         return dataElement;
                     }
-                    continue;
-                }
-                if (!subPath.contains(regex)) {
-                    continue;
                 }
-                dataElement = childNode.matchAll(subUriFragment, variables, start + matchLength);
-                if (dataElement != null) {
-                    return dataElement;
-                }
-                continue;
             }
-            dataElement = childNode.matchAll(subUriFragment, variables, start + matchLength);
+        }
+        for (Node<DataElementType> childNode : otherChildNodes) {
+            dataElement = childNode.matchAll(uri, variables, next);
             if (dataElement != null) {
+                if (childNode instanceof Literal) {
+                    setUriPostFix(variables, uri, next);
+                }
                 return dataElement;
             }
         }
         return null;
     }
 
-    private void setUriPostFix(Map<String, String> variables, String subUriFragment) {
-        variables.putIfAbsent(Constants.REST_URI_POSTFIX, "/" + subUriFragment);
+    private void setUriPostFix(Map<String, String> variables, String uri, int start) {
+        variables.putIfAbsent(Constants.REST_URI_POSTFIX, "/" + uri.substring(start));
+    }
+
+    /**
+     * A literal which ends with a wildcard is only matched when the segment contains it as it is.
+     */
+    private boolean isInSegment(String uri, int start, String token) {
+        int segmentEnd = uri.indexOf('/', start);
+        int index = uri.indexOf(token, start);
+        return index != -1 && (segmentEnd == -1 || index + token.length() <= segmentEnd);
     }
 
     abstract String expand(Map<String, String> variables);
 
-    abstract int match(String uriFragment, Map<String, String> variables);
+    /**
+     * Matches this node against the uri, starting from the given index.
+     *
+     * @param uri       uri to be matched.
+     * @param start     index of the uri to start matching from.
+     * @param variables map to be populated with the values of the variables of this node.
+     * @return number of characters matched, or a negative value if there is no match.
+     */
+    abstract int match(String uri, int start, Map<String, String> variables);
 
     abstract String getToken();
 
@@ -152,29 +217,68 @@ public abstract class Node<DataElementType extends DataElement> {
         }
     }
 
-    private String nextURIFragment(String uri, int matchLength) {
-        String uriFragment = uri;
-        if (uriFragment.startsWith("/")) {
-            uriFragment = uriFragment.substring(matchLength);
-        } else if (uriFragment.contains("/")) {
-            if (uriFragment.charAt(matchLength) == '/') {
-                uriFragment = uriFragment.substring(matchLength + 1);
-            } else {
-                uriFragment = uriFragment.substring(matchLength);
-            }
-        } else {
-            uriFragment = uriFragment.substring(matchLength);
+    private int nextURIFragment(String uri, int start, int matchLength) {
+        int next = start + matchLength;
+        if (uri.charAt(start) != '/' && uri.charAt(next) == '/') {
+            return next + 1;
         }
-        return uriFragment;
+        return next;
     }
 
-    private String nextSubPath(String uriFragment) {
-        String subPath;
-        if (uriFragment.contains("/")) {
-            subPath = uriFragment.substring(0, uriFragment.indexOf("/"));
-        } else {
-            subPath = uriFragment;
+    /**
+     * Literal child nodes which have tokens of the same length. The literals which do not end with a wildcard are held
+     * in an open addressing hash table, hence the one which is equal to a region of the uri is found without
+     * comparing the region against each of them.
+     *
+     * @param <DataElementType> Specific data element created by the user.
+     */
+    private static class LiteralChildNodes<DataElementType extends DataElement> {
+
+        private final int length;
+        private final List<Node<DataElementType>> wildcardNodes = new ArrayList<>();
+        private final List<Node<DataElementType>> nodes = new ArrayList<>();
+        private Node<DataElementType>[] table;
+
+        LiteralChildNodes(int length) {
+            this.length = length;
+        }
+
+        void add(Node<DataElementType> node) {
+            if (node.getToken().endsWith("*")) {
+                wildcardNodes.add(node);
+                return;
+            }
+            nodes.add(node);
+            // The table is kept at most half full, so that probe sequences stay short
+            @SuppressWarnings("unchecked")
+            Node<DataElementType>[] newTable = new Node[Integer.highestOneBit(nodes.size() * 2) * 2];
+            int mask = newTable.length - 1;
+            for (Node<DataElementType> existing : nodes) {
+                int i = existing.getToken().hashCode() & mask;
+                while (newTable[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                newTable[i] = existing;
+            }
+            table = newTable;
+        }
+
+        Node<DataElementType> get(String uri, int start) {
+            if (table == null || uri.length() - start < length) {
+                return null;
+            }
+            // Same as String#hashCode, computed on the region of the uri
+            int hash = 0;
+            for (int i = start; i < start + length; i++) {
+                hash = 31 * hash + uri.charAt(i);
+            }
+            int mask = table.length - 1;
+            for (int i = hash & mask; table[i] != null; i = (i + 1) & mask) {
+                if (uri.startsWith(table[i].getToken(), start)) {
+                    return table[i];
+                }
+            }
+            return null;
         }
-        return subPath;
     }
 }
@@ -19,10 +19,11 @@
 package org.ballerinalang.net.uri.parser;
 
 
+import org.ballerinalang.model.util.StringUtils;
 import org.ballerinalang.net.uri.URITemplateException;
 
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
  * SimpleSplitStringExpression represents path segments that have multiple path params.
@@ -70,33 +71,32 @@ public class SimpleSplitStringExpression<DataElementType extends DataElement> ex
     }
 
     @Override
-    int match(String uriFragment, Map<String, String> variables) {
-        int length = uriFragment.length();
-        for (int i = 0; i < length; i++) {
-            char ch = uriFragment.charAt(i);
+    int match(String uri, int start, Map<String, String> variables) {
+        int length = uri.length();
+        for (int i = start; i < length; i++) {
+            char ch = uri.charAt(i);
             if (isReserved(ch) || isEndCharacter(ch)) {
                 if (ch == getSeparator() && variableList.size() > 0) {
                     continue;
                 }
 
-                if (!setVariables(uriFragment.substring(0, i), variables)) {
+                if (!setVariables(uri.substring(start, i), variables)) {
                     return -1;
                 }
-                return i;
+                return i - start;
             } else if (i == length - 1) {
-                if (!setVariables(uriFragment, variables)) {
+                if (!setVariables(uri.substring(start), variables)) {
                     return -1;
                 }
-                return length;
+                return length - start;
             }
         }
         return 0;
     }
 
     protected boolean setVariables(String expressionValue, Map<String, String> variables) {
-        String separator = Pattern.quote(String.valueOf(getSeparator()));
-        String[] values = expressionValue.split(separator);
-        int length = values.length;
+        List<String> values = StringUtils.split(expressionValue, getSeparator());
+        int length = values.size();
         if (length > variableList.size()) {
             return false;
         }
@@ -104,7 +104,7 @@ public class SimpleSplitStringExpression<DataElementType extends DataElement> ex
         for (int i = 0; i < length; i++) {
             Variable var = variableList.get(i);
             String name = var.getName();
-            String finalValue = decodeValue(values[i]);
+            String finalValue = decodeValue(values.get(i));
             if (variables.containsKey(name) && !finalValue.equals(variables.get(name))) {
                 return false;
             }
@@ -150,12 +150,7 @@ public class SimpleSplitStringExpression<DataElementType extends DataElement> ex
         return false;
     }
 
-    protected boolean isEndCharacter(Character endCharacter) {
-        for (Node childNode : childNodesList) {
-            if (endCharacter == childNode.getFirstCharacter()) {
-                return true;
-            }
-        }
-        return false;
+    protected boolean isEndCharacter(char endCharacter) {
+        return isChildFirstCharacter(endCharacter);
     }
 }
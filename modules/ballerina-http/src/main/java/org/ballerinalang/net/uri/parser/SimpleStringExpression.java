@@ -34,7 +34,7 @@ public class SimpleStringExpression<DataElementType extends DataElement>
         super(dataElement, token);
     }
 
-    protected boolean isEndCharacter(Character endCharacter) {
+    protected boolean isEndCharacter(char endCharacter) {
         return endCharacter == '/';
     }
 }
@@ -23,6 +23,7 @@ import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
 import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.testng.Assert;
@@ -203,6 +204,14 @@ public class ConnectorActionTest {
         Assert.assertEquals(returnInt.intValue(), 30, "invalid value returned");
     }
 
+    @Test(description = "Test a connector level map used by actions invoked from two workers")
+    public void testConnectorMapFromWorkers() {
+        BValue[] returns = BRunUtil.invoke(result, "testConnectorMapFromWorkers");
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2000, "entries put by a worker are lost");
+        Assert.assertTrue(((BMap) returns[1]).isShared(), "map of a connector used from two workers is not shared");
+    }
+
     @Test(description = "Test connectors with errors")
     public void testConnectorNegativeCases() {
         Assert.assertEquals(resultNegative.getErrorCount(), 5);
@@ -19,12 +19,14 @@ package org.ballerinalang.test.connectors.sql;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.util.JsonNode;
 import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BBooleanArray;
 import org.ballerinalang.model.values.BFloat;
 import org.ballerinalang.model.values.BFloatArray;
 import org.ballerinalang.model.values.BIntArray;
 import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStringArray;
 import org.ballerinalang.model.values.BValue;
@@ -162,6 +164,36 @@ public class SQLActionsTest {
         Assert.assertEquals(retValue.stringValue(), expected);
     }
 
+    @Test(groups = "ConnectorTest")
+    public void testRepeatedQueryWithArrayParameters() {
+        BValue[] returns = BRunUtil.invoke(result, "testRepeatedQueryWithArrayParameters");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 1);
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 0);
+        // The first and the last selects expand the array into a single parameter, hence share a statement
+        JsonNode statementCache = ((BJSON) returns[3]).value().get("statementCache");
+        Assert.assertEquals(statementCache.get("queryMisses").longValue(), 2);
+        Assert.assertEquals(statementCache.get("queryHits").longValue(), 1);
+        Assert.assertEquals(statementCache.get("statementMisses").longValue(), 2);
+        Assert.assertEquals(statementCache.get("statementHits").longValue(), 1);
+    }
+
+    @Test(groups = "ConnectorTest")
+    public void testNestedQueryWithCachedStatement() {
+        BValue[] returns = BRunUtil.invoke(result, "testNestedQueryWithCachedStatement");
+        long count = ((BInteger) returns[0]).intValue();
+        Assert.assertTrue(count >= 1);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), count);
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), count);
+        // The statement of the outer select is leased until its result is closed, hence the inner select prepares
+        // its own on the other connection, while the last select reuses either of those
+        JsonNode statementCache = ((BJSON) returns[3]).value().get("statementCache");
+        Assert.assertEquals(statementCache.get("queryMisses").longValue(), 1);
+        Assert.assertEquals(statementCache.get("queryHits").longValue(), 2);
+        Assert.assertEquals(statementCache.get("statementMisses").longValue(), 2);
+        Assert.assertEquals(statementCache.get("statementHits").longValue(), 1);
+    }
+
     @Test(groups = "ConnectorTest")
     public void testBoolArrayofQueryParameters() {
         BValue[] returns = BRunUtil.invoke(result, "testBoolArrayofQueryParameters");
@@ -486,6 +518,14 @@ public class SQLActionsTest {
         BRunUtil.invoke(resultNegative, "testInvalidArrayofQueryParameters");
     }
 
+    @Test(description = "Test select into a struct which has no field for a date column",
+          expectedExceptions = { BLangRuntimeException.class },
+          expectedExceptionsMessageRegExp = ".*message: error in retrieving next value for column: DATE_TYPE: at "
+                  + "index:2:the struct type has no field for the column at index:2.*")
+    public void testSelectWithMissingDateField() {
+        BRunUtil.invoke(resultNegative, "testSelectWithMissingDateField");
+    }
+
     @AfterSuite
     public void cleanup() {
         SQLDBUtils.deleteDirectory(new File(SQLDBUtils.DB_DIRECTORY));
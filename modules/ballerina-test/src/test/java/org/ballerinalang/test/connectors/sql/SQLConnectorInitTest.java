@@ -19,6 +19,9 @@ package org.ballerinalang.test.connectors.sql;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.util.JsonNode;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.test.utils.SQLDBUtils;
@@ -28,6 +31,9 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
 
 /**
  * Test SQL Connector Initialization.
@@ -100,6 +106,87 @@ public class SQLConnectorInitTest {
         Assert.assertEquals(retValue.stringValue(), expected);
     }
 
+    @Test
+    public void testConnectorWithFetchSize() {
+        BValue[] returns = BRunUtil.invoke(result, "testConnectorWithFetchSize");
+        BString retValue = (BString) returns[0];
+        final String expected = "[{\"FIRSTNAME\":\"Peter\"}]";
+        Assert.assertEquals(retValue.stringValue(), expected);
+    }
+
+    @Test
+    public void testResultCacheInvalidation() {
+        BValue[] returns = BRunUtil.invoke(result, "testResultCacheInvalidation");
+        Assert.assertEquals(returns[0].stringValue(), "[{\"FIRSTNAME\":\"Cached\"}]");
+        Assert.assertEquals(returns[1].stringValue(), "[{\"FIRSTNAME\":\"Updated\"}]");
+        // The same value bound as a varchar is cached apart from the integer one
+        JsonNode beforeUpdate = ((BJSON) returns[2]).value().get("resultCache");
+        Assert.assertEquals(beforeUpdate.get("hits").longValue(), 1);
+        Assert.assertEquals(beforeUpdate.get("misses").longValue(), 2);
+        Assert.assertEquals(beforeUpdate.get("hitRatio").doubleValue(), 1.0 / 3, 0.0001);
+        Assert.assertEquals(beforeUpdate.get("entries").longValue(), 2);
+        Assert.assertTrue(beforeUpdate.get("estimatedSize").longValue() > 0);
+        Assert.assertEquals(beforeUpdate.get("invalidations").longValue(), 0);
+
+        JsonNode afterUpdate = ((BJSON) returns[3]).value().get("resultCache");
+        Assert.assertEquals(afterUpdate.get("hits").longValue(), 1);
+        Assert.assertEquals(afterUpdate.get("misses").longValue(), 3);
+        Assert.assertEquals(afterUpdate.get("entries").longValue(), 1);
+        Assert.assertEquals(afterUpdate.get("invalidations").longValue(), 2);
+        Assert.assertEquals(afterUpdate.get("evictions").longValue(), 0);
+    }
+
+    @Test
+    public void testBatchedUpdates() {
+        BValue[] returns = BRunUtil.invoke(result, "testBatchedUpdates");
+        BInteger retValue = (BInteger) returns[0];
+        Assert.assertEquals(retValue.intValue(), 100);
+        JsonNode metrics = ((BJSON) returns[1]).value();
+        long batchCount = metrics.get("updateBatcher").get("batches").longValue();
+        // Each worker waits for its update, hence a batch holds an update of each worker at most. Some of the
+        // updates of the two workers should have been executed together.
+        Assert.assertTrue(batchCount >= 50 && batchCount < 100, "unexpected batch count: " + batchCount);
+        Assert.assertEquals(metrics.get("updateBatcher").get("batchedUpdates").longValue(), 100);
+        Assert.assertEquals(metrics.get("batchSize").get("count").longValue(), batchCount);
+        Assert.assertEquals(metrics.get("batchSize").get("total").longValue(), 100);
+        Assert.assertTrue(metrics.get("batchSize").get("p99").longValue() <= 2);
+        // The statement is executed once per batch rather than once per update
+        long executionCount = 0;
+        for (Iterator<JsonNode> it = metrics.get("executionTime").elements(); it.hasNext();) {
+            JsonNode executionTime = it.next();
+            if (executionTime.get("query").stringValue().startsWith("Insert into Customers")) {
+                executionCount += executionTime.get("count").longValue();
+            }
+        }
+        Assert.assertEquals(executionCount, batchCount);
+    }
+
+    @Test
+    public void testDatasourceMetrics() {
+        BValue[] returns = BRunUtil.invoke(result, "testDatasourceMetrics");
+        JsonNode metrics = ((BJSON) returns[0]).value();
+        Assert.assertEquals(metrics.get("name").stringValue(), "TestMetricsPool");
+        Assert.assertTrue(metrics.get("pool").get("total").longValue() >= 1);
+        Assert.assertEquals(metrics.get("pool").get("active").longValue(), 0);
+        Assert.assertTrue(metrics.get("connectionAcquireTime").get("count").longValue() >= 3);
+        Set<String> queries = new HashSet<>();
+        for (Iterator<JsonNode> it = metrics.get("executionTime").elements(); it.hasNext();) {
+            JsonNode executionTime = it.next();
+            Assert.assertEquals(executionTime.get("count").longValue(), 1);
+            queries.add(executionTime.get("query").stringValue());
+        }
+        Assert.assertTrue(queries.contains("SELECT FirstName from Customers where registrationID = ?"));
+        Assert.assertTrue(queries.contains("Insert into Customers (firstName, registrationID) values (?)"));
+        Assert.assertEquals(metrics.get("fetchedRows").get("count").longValue(), 1);
+        Assert.assertEquals(metrics.get("fetchedRows").get("total").longValue(), 1);
+        Assert.assertEquals(metrics.get("batchSize").get("total").longValue(), 2);
+
+        boolean registered = false;
+        for (Iterator<JsonNode> it = ((BJSON) returns[1]).value().elements(); it.hasNext();) {
+            registered |= "TestMetricsPool".equals(it.next().get("name").stringValue());
+        }
+        Assert.assertTrue(registered, "metrics of the datasource should be registered");
+    }
 
     @AfterSuite
     public void cleanup() {
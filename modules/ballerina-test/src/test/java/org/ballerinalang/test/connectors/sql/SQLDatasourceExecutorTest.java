@@ -0,0 +1,160 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.connectors.sql;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.connector.api.BallerinaConnectorException;
+import org.ballerinalang.connector.api.ConnectorFuture;
+import org.ballerinalang.connector.api.ConnectorFutureListener;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.actions.data.sql.Constants;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLDatasource;
+import org.ballerinalang.nativeimpl.actions.data.sql.client.AbstractSQLAction;
+import org.ballerinalang.test.utils.SQLDBUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test running the database operations of the SQL actions on the executor of the datasource.
+ */
+public class SQLDatasourceExecutorTest {
+
+    private static final String DB_NAME = "TEST_SQL_DATASOURCE_EXECUTOR";
+
+    private SQLDatasource datasource;
+
+    @BeforeClass
+    public void setup() {
+        SQLDBUtils.deleteFiles(new File(SQLDBUtils.DB_DIRECTORY), DB_NAME);
+        SQLDBUtils.initDatabase(SQLDBUtils.DB_DIRECTORY, DB_NAME, "datafiles/sql/SQLTableCreate.sql");
+        datasource = createDatasource();
+    }
+
+    @Test
+    public void testActionCompletesOffCallingThread() throws InterruptedException {
+        Thread callingThread = Thread.currentThread();
+        AtomicReference<Thread> operationThread = new AtomicReference<>();
+        CountDownLatch operationDone = new CountDownLatch(1);
+        ConnectorFuture future = new TestAction(datasource, () -> {
+            operationThread.set(Thread.currentThread());
+            try {
+                operationDone.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }).execute(createNonBlockingContext());
+
+        // The action returns while its operation is still running
+        TestListener listener = new TestListener();
+        future.setConnectorFutureListener(listener);
+        Assert.assertEquals(listener.completed.getCount(), 1, "action should not complete before its operation");
+        operationDone.countDown();
+
+        Assert.assertTrue(listener.completed.await(10, TimeUnit.SECONDS), "action should complete");
+        Assert.assertNull(listener.error);
+        Assert.assertNotSame(operationThread.get(), callingThread);
+        Assert.assertSame(listener.completingThread, operationThread.get(),
+                "future should be completed by the thread which ran the operation");
+    }
+
+    @Test
+    public void testActionAfterCloseFails() throws InterruptedException {
+        SQLDatasource closedDatasource = createDatasource();
+        closedDatasource.closeConnectionPool();
+
+        AtomicBoolean operationRun = new AtomicBoolean();
+        ConnectorFuture future = new TestAction(closedDatasource, () -> operationRun.set(true))
+                .execute(createNonBlockingContext());
+        TestListener listener = new TestListener();
+        future.setConnectorFutureListener(listener);
+
+        Assert.assertTrue(listener.completed.await(10, TimeUnit.SECONDS), "action should not be left waiting");
+        Assert.assertNotNull(listener.error);
+        Assert.assertTrue(listener.error.getCause() instanceof RejectedExecutionException);
+        Assert.assertTrue(listener.error.getMessage().endsWith("is closed"), listener.error.getMessage());
+        Assert.assertFalse(operationRun.get(), "operation should not run once the datasource is closed");
+    }
+
+    @AfterClass
+    public void cleanup() {
+        datasource.closeConnectionPool();
+    }
+
+    private static SQLDatasource createDatasource() {
+        SQLDatasource sqlDatasource = new SQLDatasource();
+        sqlDatasource.init(null, Constants.DBTypes.HSQLDB_FILE, SQLDBUtils.DB_DIRECTORY, 0, "SA", "", DB_NAME);
+        return sqlDatasource;
+    }
+
+    private static Context createNonBlockingContext() {
+        Context context = new Context(null);
+        context.nonBlockingContext = new Context.NonBlockingContext(null, new int[0]);
+        return context;
+    }
+
+    /**
+     * Action which runs the given operation against the datasource.
+     */
+    private static class TestAction extends AbstractSQLAction {
+
+        private final SQLDatasource datasource;
+        private final Runnable operation;
+
+        TestAction(SQLDatasource datasource, Runnable operation) {
+            this.datasource = datasource;
+            this.operation = operation;
+        }
+
+        @Override
+        public ConnectorFuture execute(Context context) {
+            return submit(context, datasource, operation);
+        }
+    }
+
+    private static class TestListener implements ConnectorFutureListener {
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Thread completingThread;
+        private volatile BallerinaConnectorException error;
+
+        @Override
+        public void notifySuccess() {
+            completingThread = Thread.currentThread();
+            completed.countDown();
+        }
+
+        @Override
+        public void notifyReply(BValue... response) {
+        }
+
+        @Override
+        public void notifyFailure(BallerinaConnectorException ex) {
+            error = ex;
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.connectors.sql;
+
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLResultCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Test resolving the tables read and modified by the statements, by which the cached results are invalidated.
+ */
+public class SQLResultCacheTest {
+
+    @Test
+    public void testReadTablesOfJoins() {
+        assertTables(SQLResultCache.getReadTables("SELECT c.firstName, o.total FROM Customers c INNER JOIN Orders o "
+                + "ON c.customerId = o.customerId LEFT OUTER JOIN Payments p ON p.orderId = o.orderId"),
+                "CUSTOMERS", "ORDERS", "PAYMENTS");
+        assertTables(SQLResultCache.getReadTables("select * from Customers, Orders where Customers.id = Orders.id"),
+                "CUSTOMERS", "ORDERS");
+    }
+
+    @Test
+    public void testReadTablesWithAliases() {
+        assertTables(SQLResultCache.getReadTables("SELECT * FROM Customers AS c, Orders AS o WHERE c.id = o.id"),
+                "CUSTOMERS", "ORDERS");
+        assertTables(SQLResultCache.getReadTables("SELECT * FROM Customers c JOIN Orders AS o USING (id) "
+                + "ORDER BY c.id"), "CUSTOMERS", "ORDERS");
+        assertTables(SQLResultCache.getReadTables("SELECT * FROM Customers WHERE id = 1"), "CUSTOMERS");
+    }
+
+    @Test
+    public void testQuotedAndQualifiedTables() {
+        assertTables(SQLResultCache.getReadTables("SELECT * FROM \"Sales\".\"Customers\" JOIN `shop`.`Orders` o "
+                + "ON o.id = 1 JOIN [dbo].[Payments] ON 1 = 1"), "CUSTOMERS", "ORDERS", "PAYMENTS");
+        assertTables(SQLResultCache.getReadTables("SELECT * FROM public.customers"), "CUSTOMERS");
+        assertTables(SQLResultCache.getReadTables("SELECT * FROM \"Order Items\""), "ORDER ITEMS");
+    }
+
+    @Test
+    public void testReadTablesOfSubqueries() {
+        assertTables(SQLResultCache.getReadTables("SELECT * FROM Customers WHERE id IN (SELECT customerId FROM "
+                + "Orders WHERE total > (SELECT avg(amount) FROM Payments))"), "CUSTOMERS", "ORDERS", "PAYMENTS");
+        assertTables(SQLResultCache.getReadTables("SELECT count(*) FROM (SELECT id FROM Customers) AS ids"),
+                "CUSTOMERS");
+    }
+
+    @Test
+    public void testModifiedTables() {
+        assertTables(SQLResultCache.getModifiedTables("INSERT INTO Customers (firstName) VALUES (?)"),
+                "CUSTOMERS");
+        assertTables(SQLResultCache.getModifiedTables("  update sales.Customers set firstName = ? where id = ?"),
+                "CUSTOMERS");
+        assertTables(SQLResultCache.getModifiedTables("DELETE FROM \"Customers\" WHERE id IN (SELECT customerId "
+                + "FROM Orders)"), "CUSTOMERS", "ORDERS");
+        assertTables(SQLResultCache.getModifiedTables("INSERT INTO Archive SELECT * FROM Customers c JOIN Orders o "
+                + "ON c.id = o.customerId"), "ARCHIVE", "CUSTOMERS", "ORDERS");
+        assertTables(SQLResultCache.getModifiedTables("TRUNCATE TABLE `Orders`"), "ORDERS");
+    }
+
+    @Test
+    public void testUnknownModifiedTables() {
+        Assert.assertNull(SQLResultCache.getModifiedTables("CALL InsertPersonData(?, ?)"));
+        Assert.assertNull(SQLResultCache.getModifiedTables("CREATE TABLE Customers (id INTEGER)"));
+        Assert.assertTrue(SQLResultCache.getReadTables("SELECT 1").isEmpty());
+    }
+
+    private static void assertTables(Set<String> tables, String... expected) {
+        Assert.assertEquals(tables, new HashSet<>(Arrays.asList(expected)));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.connectors.sql;
+
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.nativeimpl.actions.data.sql.SQLUpdateBatcher;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Test batching of the updates of a SQL datasource.
+ */
+public class SQLUpdateBatcherTest {
+
+    private static final long LONG_WINDOW_MILLIS = 60 * 1000;
+
+    private ScheduledExecutorService timer;
+
+    @BeforeClass
+    public void setup() {
+        timer = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @Test
+    public void testFullBatchIsExecuted() {
+        SQLUpdateBatcher batcher = new SQLUpdateBatcher(2, LONG_WINDOW_MILLIS, Runnable::run, timer);
+        List<Integer> batchSizes = new ArrayList<>();
+        TestCallback first = new TestCallback();
+        TestCallback second = new TestCallback();
+        batcher.submit("query", new BRefValueArray(), params -> countBatch(batchSizes, params), first);
+        Assert.assertNull(first.updateCount, "update should wait for its batch");
+        batcher.submit("query", new BRefValueArray(), params -> countBatch(batchSizes, params), second);
+
+        Assert.assertEquals(batchSizes.size(), 1);
+        Assert.assertEquals((int) batchSizes.get(0), 2);
+        Assert.assertEquals((int) first.updateCount, 1);
+        Assert.assertEquals((int) second.updateCount, 1);
+        Assert.assertEquals(batcher.getBatchCount(), 1);
+        Assert.assertEquals(batcher.getBatchedUpdateCount(), 2);
+    }
+
+    @Test
+    public void testCloseFlushesPendingBatches() {
+        SQLUpdateBatcher batcher = new SQLUpdateBatcher(8, LONG_WINDOW_MILLIS, Runnable::run, timer);
+        List<Integer> batchSizes = new ArrayList<>();
+        TestCallback pending = new TestCallback();
+        batcher.submit("query", new BRefValueArray(), params -> countBatch(batchSizes, params), pending);
+        batcher.close();
+
+        Assert.assertEquals(batchSizes.size(), 1);
+        Assert.assertEquals((int) pending.updateCount, 1);
+        Assert.assertEquals(batcher.getBatchCount(), 1);
+
+        TestCallback rejected = new TestCallback();
+        batcher.submit("query", new BRefValueArray(), params -> countBatch(batchSizes, params), rejected);
+        Assert.assertNull(rejected.updateCount);
+        Assert.assertTrue(rejected.error instanceof RejectedExecutionException,
+                "update should fail once the batcher is closed");
+        Assert.assertEquals(batchSizes.size(), 1);
+    }
+
+    @Test
+    public void testRejectedBatchFails() {
+        SQLUpdateBatcher batcher = new SQLUpdateBatcher(2, LONG_WINDOW_MILLIS, task -> {
+            throw new RejectedExecutionException("executor is shut down");
+        }, timer);
+        TestCallback first = new TestCallback();
+        TestCallback second = new TestCallback();
+        batcher.submit("query", new BRefValueArray(), params -> new int[params.size()], first);
+        batcher.submit("query", new BRefValueArray(), params -> new int[params.size()], second);
+        Assert.assertTrue(first.error instanceof RejectedExecutionException);
+        Assert.assertTrue(second.error instanceof RejectedExecutionException);
+        Assert.assertEquals(batcher.getBatchCount(), 0);
+    }
+
+    @Test
+    public void testFailedBatchIsRunOneByOne() {
+        SQLUpdateBatcher batcher = new SQLUpdateBatcher(2, LONG_WINDOW_MILLIS, Runnable::run, timer);
+        List<Integer> batchSizes = new ArrayList<>();
+        TestCallback first = new TestCallback();
+        TestCallback second = new TestCallback();
+        SQLUpdateBatcher.BatchRunner runner = params -> {
+            if (params.size() > 1) {
+                throw new SQLException("batch did not return the update count of each update");
+            }
+            return countBatch(batchSizes, params);
+        };
+        batcher.submit("query", new BRefValueArray(), runner, first);
+        batcher.submit("query", new BRefValueArray(), runner, second);
+
+        Assert.assertEquals(batchSizes.size(), 2, "updates should be run one by one");
+        Assert.assertEquals((int) first.updateCount, 1);
+        Assert.assertEquals((int) second.updateCount, 1);
+        Assert.assertEquals(batcher.getBatchCount(), 0);
+    }
+
+    @Test
+    public void testMissingUpdateCountsFail() {
+        SQLUpdateBatcher batcher = new SQLUpdateBatcher(3, LONG_WINDOW_MILLIS, Runnable::run, timer);
+        TestCallback first = new TestCallback();
+        TestCallback second = new TestCallback();
+        TestCallback third = new TestCallback();
+        SQLUpdateBatcher.BatchRunner runner = params -> new int[] { 1, Statement.SUCCESS_NO_INFO };
+        batcher.submit("query", new BRefValueArray(), runner, first);
+        batcher.submit("query", new BRefValueArray(), runner, second);
+        batcher.submit("query", new BRefValueArray(), runner, third);
+
+        Assert.assertEquals((int) first.updateCount, 1);
+        Assert.assertNull(second.updateCount, "unknown update count should not be passed on");
+        Assert.assertTrue(second.error instanceof SQLException);
+        Assert.assertNull(third.updateCount, "update without a count should not be left waiting");
+        Assert.assertTrue(third.error instanceof SQLException);
+    }
+
+    @AfterClass
+    public void cleanup() {
+        timer.shutdownNow();
+    }
+
+    private static int[] countBatch(List<Integer> batchSizes, List<BRefValueArray> params) {
+        batchSizes.add(params.size());
+        int[] counts = new int[params.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 1;
+        }
+        return counts;
+    }
+
+    private static class TestCallback implements SQLUpdateBatcher.UpdateCallback {
+
+        private Integer updateCount;
+        private Throwable error;
+
+        @Override
+        public void onSuccess(int updateCount) {
+            this.updateCount = updateCount;
+        }
+
+        @Override
+        public void onFailure(Throwable error) {
+            this.error = error;
+        }
+    }
+}
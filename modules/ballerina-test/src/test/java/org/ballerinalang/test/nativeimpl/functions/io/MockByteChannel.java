@@ -17,11 +17,9 @@
 
 package org.ballerinalang.test.nativeimpl.functions.io;
 
-import org.ballerinalang.nativeimpl.io.BallerinaIOException;
 import org.ballerinalang.nativeimpl.io.channels.base.Channel;
 
 import java.nio.channels.ByteChannel;
-import java.nio.channels.WritableByteChannel;
 
 /**
  * Mock implementation of byte channel for testing purposes.
@@ -31,12 +29,4 @@ public class MockByteChannel extends Channel {
     public MockByteChannel(ByteChannel channel, int fixedBufferSize) {
         super(channel, fixedBufferSize);
     }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void transfer(int position, int count, WritableByteChannel dstChannel) throws BallerinaIOException {
-        throw new UnsupportedOperationException();
-    }
 }
@@ -19,7 +19,9 @@ package org.ballerinalang.test.nativeimpl.functions.io.bytes;
 
 import org.ballerinalang.nativeimpl.io.BallerinaIOException;
 import org.ballerinalang.nativeimpl.io.IOConstants;
+import org.ballerinalang.nativeimpl.io.channels.FileIOChannel;
 import org.ballerinalang.nativeimpl.io.channels.base.Buffer;
+import org.ballerinalang.nativeimpl.io.channels.base.BufferPool;
 import org.ballerinalang.nativeimpl.io.channels.base.Channel;
 import org.ballerinalang.test.nativeimpl.functions.io.MockByteChannel;
 import org.ballerinalang.test.nativeimpl.functions.io.util.TestUtil;
@@ -27,10 +29,18 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
 /**
  * Defines the unit test to test the functionality of Byte I/O related use cases.
@@ -206,4 +216,139 @@ public class BytesInputOutputBufferTest {
         Assert.assertEquals(numberOfBytesWritten, bytes.length);
     }
 
+    @Test(description = "Read all bytes from a channel whose size is not known")
+    public void readAllBytesInChunks() throws IOException, URISyntaxException {
+        Path path = getResourcePath("datafiles/io/images/ballerina.png");
+        Channel channel = new MockByteChannel(Files.newByteChannel(path), IOConstants.CHANNEL_BUFFER_SIZE);
+        //The first few bytes are read into the buffer of the channel before reading all
+        byte[] firstBytes = channel.read(10);
+        byte[] remainingBytes = channel.readAll();
+        channel.close();
+
+        byte[] expectedBytes = Files.readAllBytes(path);
+        Assert.assertEquals(firstBytes, Arrays.copyOfRange(expectedBytes, 0, 10));
+        Assert.assertEquals(remainingBytes, Arrays.copyOfRange(expectedBytes, 10, expectedBytes.length));
+    }
+
+    @Test(description = "Read a file through memory mapped regions")
+    public void memoryMappedRead() throws IOException, URISyntaxException {
+        Path path = getResourcePath("datafiles/io/images/ballerina.png");
+        byte[] expectedBytes = Files.readAllBytes(path);
+
+        Channel channel = FileIOChannel.createMemoryMapped(FileChannel.open(path, StandardOpenOption.READ),
+                IOConstants.CHANNEL_BUFFER_SIZE);
+        Assert.assertEquals(channel.readAll(), expectedBytes);
+        channel.close();
+
+        channel = FileIOChannel.createMemoryMapped(FileChannel.open(path, StandardOpenOption.READ),
+                IOConstants.CHANNEL_BUFFER_SIZE);
+        ByteBuffer content = ByteBuffer.allocate(expectedBytes.length);
+        byte[] readBytes;
+        do {
+            readBytes = channel.read(10000);
+            content.put(readBytes);
+        } while (readBytes.length != 0);
+        channel.close();
+        Assert.assertEquals(content.array(), expectedBytes);
+    }
+
+    @Test(description = "Transfer bytes from a file to another file")
+    public void transferFileToFile() throws IOException, URISyntaxException {
+        Path path = getResourcePath("datafiles/io/images/ballerina.png");
+        byte[] expectedBytes = Files.readAllBytes(path);
+        Path copyPath = Paths.get(currentDirectoryPath + "ballerinaTransfer.png");
+        int position = 100;
+
+        FileIOChannel channel = new FileIOChannel(FileChannel.open(path, StandardOpenOption.READ), 0);
+        FileChannel writeChannel = FileChannel.open(copyPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        long numberOfBytesTransferred = channel.transfer(position, expectedBytes.length, writeChannel);
+        channel.close();
+        writeChannel.close();
+
+        Assert.assertEquals(numberOfBytesTransferred, expectedBytes.length - position);
+        Assert.assertEquals(Files.readAllBytes(copyPath),
+                Arrays.copyOfRange(expectedBytes, position, expectedBytes.length));
+    }
+
+    @Test(description = "Transfer bytes from a channel which is not a file")
+    public void transferFromByteChannel() throws IOException, URISyntaxException {
+        Path path = getResourcePath("datafiles/io/images/ballerina.png");
+        byte[] expectedBytes = Files.readAllBytes(path);
+        Path copyPath = Paths.get(currentDirectoryPath + "ballerinaTransferCopy.png");
+
+        Channel channel = new MockByteChannel(Files.newByteChannel(path), 0);
+        ByteChannel writeByteChannel = TestUtil.openForWriting(copyPath.toString());
+        long numberOfBytesTransferred = channel.transfer(0, expectedBytes.length,
+                new MockByteChannel(writeByteChannel, 0));
+        channel.close();
+        writeByteChannel.close();
+
+        Assert.assertEquals(numberOfBytesTransferred, expectedBytes.length);
+        Assert.assertEquals(Files.readAllBytes(copyPath), expectedBytes);
+
+        //The destination is not a file either, hence the bytes are copied through a direct buffer
+        channel = new MockByteChannel(Files.newByteChannel(path), 0);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        numberOfBytesTransferred = channel.transfer(0, expectedBytes.length, Channels.newChannel(outputStream));
+        channel.close();
+
+        Assert.assertEquals(numberOfBytesTransferred, expectedBytes.length);
+        Assert.assertEquals(outputStream.toByteArray(), expectedBytes);
+    }
+
+    @Test(description = "Acquire and release buffers from a pool")
+    public void pooledBuffers() {
+        //Size classes of 1 KB, 2 KB and 4 KB, each size class holds 8 KB
+        BufferPool bufferPool = new BufferPool(10, 12, 8 * 1024);
+        ByteBuffer buffer = bufferPool.acquire(100);
+        Assert.assertTrue(buffer.isDirect());
+        Assert.assertEquals(buffer.capacity(), 1024);
+        buffer.put((byte) 1);
+        bufferPool.release(buffer);
+
+        //The released buffer is reused, and is cleared
+        ByteBuffer reusedBuffer = bufferPool.acquire(1024);
+        Assert.assertSame(reusedBuffer, buffer);
+        Assert.assertEquals(reusedBuffer.position(), 0);
+        Assert.assertEquals(bufferPool.getReuseCount(), 1);
+
+        Assert.assertEquals(bufferPool.acquire(3000).capacity(), 4096);
+        //Buffers which exceed the largest size class are not pooled
+        ByteBuffer largeBuffer = bufferPool.acquire(5000);
+        Assert.assertFalse(largeBuffer.isDirect());
+        Assert.assertEquals(largeBuffer.capacity(), 5000);
+
+        //The size class of 4 KB holds 2 buffers only
+        for (int i = 0; i < 3; i++) {
+            bufferPool.release(ByteBuffer.allocateDirect(4096));
+        }
+        long allocationCount = bufferPool.getAllocationCount();
+        for (int i = 0; i < 3; i++) {
+            bufferPool.acquire(4096);
+        }
+        Assert.assertEquals(bufferPool.getAllocationCount(), allocationCount + 1);
+    }
+
+    @Test(description = "Reuse the buffer of a closed channel")
+    public void reuseBufferOfClosedChannel() throws IOException, URISyntaxException {
+        Path path = getResourcePath("datafiles/io/images/ballerina.png");
+        byte[] expectedBytes = Files.readAllBytes(path);
+        BufferPool bufferPool = BufferPool.getInstance();
+
+        Channel channel = new MockByteChannel(Files.newByteChannel(path), IOConstants.CHANNEL_BUFFER_SIZE);
+        Assert.assertEquals(channel.read(10), Arrays.copyOfRange(expectedBytes, 0, 10));
+        channel.close();
+
+        long reuseCount = bufferPool.getReuseCount();
+        channel = new MockByteChannel(Files.newByteChannel(path), IOConstants.CHANNEL_BUFFER_SIZE);
+        Assert.assertEquals(channel.read(10), Arrays.copyOfRange(expectedBytes, 0, 10));
+        Assert.assertEquals(channel.read(20), Arrays.copyOfRange(expectedBytes, 10, 30));
+        channel.close();
+        Assert.assertTrue(bufferPool.getReuseCount() > reuseCount);
+    }
+
+    private Path getResourcePath(String filePath) throws URISyntaxException {
+        return Paths.get(getClass().getClassLoader().getResource(filePath).toURI());
+    }
 }
@@ -29,6 +29,8 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.channels.ByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 /**
  * Tests characters I/O operations.
@@ -182,4 +184,25 @@ public class CharacterInputOutputBufferTest {
         Assert.assertEquals(numberOfBytesWritten, numberOfBytes);
         characterChannel.close();
     }
+
+    @Test(description = "Write characters which exceed the size of the largest pooled buffer, and read them back")
+    public void writeAndReadLongContent() throws IOException, URISyntaxException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 500000; i++) {
+            content.append("aǊ\n");
+        }
+        String text = content.toString();
+        String filePath = currentDirectoryPath + "longContent.txt";
+        ByteChannel byteChannel = TestUtil.openForWriting(filePath);
+        CharacterChannel characterChannel = new CharacterChannel(new MockByteChannel(byteChannel, 0),
+                StandardCharsets.UTF_8.name());
+        int numberOfBytesWritten = characterChannel.write(text, 0);
+        characterChannel.close();
+        Assert.assertEquals(numberOfBytesWritten, text.getBytes(StandardCharsets.UTF_8).length);
+
+        byteChannel = Files.newByteChannel(Paths.get(filePath));
+        characterChannel = new CharacterChannel(new MockByteChannel(byteChannel, 0), StandardCharsets.UTF_8.name());
+        Assert.assertEquals(characterChannel.readAll(), text);
+        characterChannel.close();
+    }
 }
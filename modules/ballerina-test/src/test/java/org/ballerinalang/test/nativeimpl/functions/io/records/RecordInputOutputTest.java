@@ -31,6 +31,9 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.channels.ByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * Tests record I/O functionality.
@@ -126,4 +129,45 @@ public class RecordInputOutputTest {
         recordChannel.write(recordTwoArr);
         recordChannel.close();
     }
+
+    @Test(description = "Read records with multi character separators, which are matched literally")
+    public void readRecordsWithLiteralSeparators() throws IOException {
+        Path path = Paths.get(currentDirectoryPath + "literalSeparators.txt");
+        Files.write(path, "a|b|ǊǊ||c\r\nx|yǊ|\r\nlast".getBytes(StandardCharsets.UTF_8));
+        Channel channel = new MockByteChannel(Files.newByteChannel(path), 0);
+        CharacterChannel characterChannel = new CharacterChannel(channel, StandardCharsets.UTF_8.name());
+        TextRecordChannel recordChannel = new TextRecordChannel(characterChannel, "\r\n", "|");
+
+        Assert.assertEquals(recordChannel.read(), new String[]{"a", "b", "ǊǊ", "", "c"});
+        //Trailing empty fields are omitted
+        Assert.assertEquals(recordChannel.read(), new String[]{"x", "yǊ"});
+        Assert.assertEquals(recordChannel.read(), new String[]{"last"});
+        Assert.assertEquals(recordChannel.read().length, 0);
+        recordChannel.close();
+    }
+
+    @Test(description = "Read records which span multiple reads from the channel")
+    public void readRecordsSpanningMultipleReads() throws IOException {
+        int numberOfFields = 20000;
+        StringBuilder content = new StringBuilder();
+        for (int recordIndex = 0; recordIndex < 3; recordIndex++) {
+            for (int fieldIndex = 0; fieldIndex < numberOfFields; fieldIndex++) {
+                content.append(fieldIndex == 0 ? "" : ",").append("Ǌ").append(recordIndex).append(fieldIndex);
+            }
+            content.append("\n");
+        }
+        Path path = Paths.get(currentDirectoryPath + "longRecords.csv");
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+        Channel channel = new MockByteChannel(Files.newByteChannel(path), 0);
+        CharacterChannel characterChannel = new CharacterChannel(channel, StandardCharsets.UTF_8.name());
+        TextRecordChannel recordChannel = new TextRecordChannel(characterChannel, "\n", ",");
+
+        for (int recordIndex = 0; recordIndex < 3; recordIndex++) {
+            String[] fields = recordChannel.read();
+            Assert.assertEquals(fields.length, numberOfFields);
+            Assert.assertEquals(fields[0], "Ǌ" + recordIndex + 0);
+            Assert.assertEquals(fields[numberOfFields - 1], "Ǌ" + recordIndex + (numberOfFields - 1));
+        }
+        recordChannel.close();
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.net.http;
+
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.ballerinalang.net.http.util.FlowControlledOutputStream;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test chunked writing of outbound messages with flow control.
+ */
+public class FlowControlledOutputStreamTest {
+
+    private static final long WRITE_TIMEOUT_MILLIS = 10 * 1000;
+
+    @Test
+    public void testWriterWaitsForPendingChunks() throws Exception {
+        HTTPCarbonMessage message = createMessage();
+        FlowControlledOutputStream outputStream = new FlowControlledOutputStream(message, 4, 2, WRITE_TIMEOUT_MILLIS);
+        outputStream.write("abcdefgh".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(outputStream.getPendingChunkCount(), 2);
+
+        AtomicReference<Throwable> writeError = new AtomicReference<>();
+        Thread writer = startWriter(outputStream, "ij", writeError);
+        awaitWaiting(writer);
+
+        StringBuilder content = new StringBuilder();
+        HttpContent httpContent;
+        do {
+            httpContent = message.getHttpContent();
+            content.append(httpContent.content().toString(StandardCharsets.UTF_8));
+            httpContent.release();
+        } while (!(httpContent instanceof LastHttpContent));
+
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        Assert.assertFalse(writer.isAlive(), "writer should complete once the chunks are written out");
+        Assert.assertNull(writeError.get());
+        Assert.assertEquals(content.toString(), "abcdefghij");
+        Assert.assertEquals(outputStream.getPendingChunkCount(), 0);
+    }
+
+    @Test
+    public void testCancelFailsWaitingWriter() throws Exception {
+        HTTPCarbonMessage message = createMessage();
+        FlowControlledOutputStream outputStream = new FlowControlledOutputStream(message, 4, 2, WRITE_TIMEOUT_MILLIS);
+        outputStream.write("abcdefgh".getBytes(StandardCharsets.UTF_8));
+
+        AtomicReference<Throwable> writeError = new AtomicReference<>();
+        Thread writer = startWriter(outputStream, "ij", writeError);
+        awaitWaiting(writer);
+        outputStream.cancel(new IOException("connection closed"));
+
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        Assert.assertFalse(writer.isAlive(), "writer should fail at once when the exchange is cancelled");
+        Assert.assertTrue(writeError.get() instanceof IOException);
+        Assert.assertEquals(writeError.get().getMessage(), "message exchange failed: connection closed");
+        // Only the chunk which is handed over to the transport is left
+        Assert.assertEquals(outputStream.getPendingChunkCount(), 1);
+        message.getHttpContent().release();
+        Assert.assertEquals(outputStream.getPendingChunkCount(), 0);
+    }
+
+    @Test
+    public void testDiscardReleasesUnsentContent() throws Exception {
+        HTTPCarbonMessage message = createMessage();
+        FlowControlledOutputStream outputStream = new FlowControlledOutputStream(message, 4, 4, WRITE_TIMEOUT_MILLIS);
+        // Two chunks are handed over to the transport, one is queued and one is being written
+        outputStream.write("abcdefghijklm".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(outputStream.getPendingChunkCount(), 4);
+        outputStream.discard();
+        Assert.assertEquals(outputStream.getPendingChunkCount(), 2);
+
+        Assert.assertEquals(message.getHttpContent().content().toString(StandardCharsets.UTF_8), "abcd");
+        Assert.assertEquals(message.getHttpContent().content().toString(StandardCharsets.UTF_8), "efgh");
+        Assert.assertTrue(message.isEmpty(), "discarded content should not be handed over");
+    }
+
+    private static HTTPCarbonMessage createMessage() {
+        return new HTTPCarbonMessage(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+    }
+
+    private static Thread startWriter(FlowControlledOutputStream outputStream, String content,
+                                      AtomicReference<Throwable> writeError) {
+        Thread writer = new Thread(() -> {
+            try {
+                outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+                outputStream.close();
+            } catch (Throwable e) {
+                writeError.set(e);
+            }
+        });
+        writer.start();
+        return writer;
+    }
+
+    /**
+     * Wait until the writer blocks for the pending chunks to be written out.
+     */
+    private static void awaitWaiting(Thread writer) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (writer.getState() != Thread.State.TIMED_WAITING) {
+            Assert.assertTrue(writer.isAlive(), "writer should wait until a chunk is written out");
+            Assert.assertTrue(System.nanoTime() < deadline, "writer did not wait for the pending chunks");
+            Thread.yield();
+        }
+    }
+}
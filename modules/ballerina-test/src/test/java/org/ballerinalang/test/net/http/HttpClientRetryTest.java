@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.net.http;
+
+import org.ballerinalang.net.http.RetryBudget;
+import org.ballerinalang.net.http.RetryConfig;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test back off and budgeting of the retries of the HTTP client connector.
+ */
+public class HttpClientRetryTest {
+
+    private static final long NOW = 1500000000000L;
+
+    @Test
+    public void testExponentialBackOff() {
+        RetryConfig retryConfig = new RetryConfig(5, 100, 2.0, 500);
+        long[] minWaitIntervals = {100, 200, 400, 500, 500};
+        long[] maxWaitIntervals = {150, 300, 500, 500, 500};
+        for (int i = 0; i < minWaitIntervals.length; i++) {
+            Assert.assertTrue(retryConfig.shouldRetry());
+            long waitInterval = retryConfig.incrementCountAndGetWaitInterval();
+            Assert.assertTrue(waitInterval >= minWaitIntervals[i] && waitInterval <= maxWaitIntervals[i],
+                    "unexpected wait interval: " + waitInterval);
+        }
+        Assert.assertFalse(retryConfig.shouldRetry());
+        Assert.assertEquals(retryConfig.getCurrentCount(), 5);
+    }
+
+    @Test
+    public void testJitterIsAboveInterval() {
+        for (int i = 0; i < 100; i++) {
+            // The maximum wait interval defaults to the interval, which leaves no room for a jitter
+            RetryConfig retryConfig = new RetryConfig(1, 1000);
+            Assert.assertEquals(retryConfig.incrementCountAndGetWaitInterval(), 1000);
+        }
+        for (int i = 0; i < 100; i++) {
+            RetryConfig retryConfig = new RetryConfig(1, 1000, 1.0, 60000);
+            long waitInterval = retryConfig.incrementCountAndGetWaitInterval();
+            Assert.assertTrue(waitInterval >= 1000 && waitInterval <= 1500,
+                    "unexpected wait interval: " + waitInterval);
+        }
+    }
+
+    @Test
+    public void testRetryWithoutInterval() {
+        RetryConfig retryConfig = new RetryConfig(2, 0, 2.0, 500);
+        Assert.assertEquals(retryConfig.incrementCountAndGetWaitInterval(), 0);
+        Assert.assertEquals(retryConfig.incrementCountAndGetWaitInterval(), 0);
+        Assert.assertFalse(retryConfig.shouldRetry());
+        Assert.assertFalse(new RetryConfig().shouldRetry());
+    }
+
+    @Test
+    public void testFailedRequestIsResentOnTimer() throws Exception {
+        RetryConfig retryConfig = new RetryConfig(2, 50, 1.0, 50);
+        CompletableFuture<String> future = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger();
+        Thread testThread = Thread.currentThread();
+        Runnable send = new Runnable() {
+            @Override
+            public void run() {
+                if (attempts.incrementAndGet() == 1) {
+                    // The first attempt fails, hence the request is sent again once the wait interval is over
+                    Assert.assertTrue(retryConfig.scheduleRetry(null, this));
+                } else {
+                    future.complete(Thread.currentThread() == testThread ? "test thread" : "resent");
+                }
+            }
+        };
+        long start = System.nanoTime();
+        send.run();
+        Assert.assertFalse(future.isDone(), "request should not be resent before the wait interval is over");
+        Assert.assertEquals(future.get(10, TimeUnit.SECONDS), "resent");
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+        Assert.assertEquals(attempts.get(), 2);
+        Assert.assertEquals(retryConfig.getCurrentCount(), 1);
+    }
+
+    @Test
+    public void testExhaustedRetriesAreNotScheduled() {
+        AtomicInteger attempts = new AtomicInteger();
+        Assert.assertFalse(new RetryConfig(1, 0, 1.0, 0).scheduleRetry(new RetryBudget(0, 0),
+                attempts::incrementAndGet));
+        Assert.assertFalse(new RetryConfig().scheduleRetry(null, attempts::incrementAndGet));
+        Assert.assertEquals(attempts.get(), 0);
+
+        RetryConfig retryConfig = new RetryConfig(1, 0, 1.0, 0);
+        Assert.assertTrue(retryConfig.scheduleRetry(null, attempts::incrementAndGet));
+        Assert.assertEquals(attempts.get(), 1, "request should be resent at once without a wait interval");
+        Assert.assertFalse(retryConfig.scheduleRetry(null, attempts::incrementAndGet));
+        Assert.assertEquals(attempts.get(), 1);
+    }
+
+    @Test
+    public void testRetryBudget() {
+        RetryBudget retryBudget = new RetryBudget(0.2, 0);
+        Assert.assertFalse(retryBudget.tryWithdraw(NOW));
+        for (int i = 0; i < 10; i++) {
+            retryBudget.deposit(NOW + i);
+        }
+        Assert.assertTrue(retryBudget.tryWithdraw(NOW + 10));
+        Assert.assertTrue(retryBudget.tryWithdraw(NOW + 10));
+        Assert.assertFalse(retryBudget.tryWithdraw(NOW + 10), "retries should not exceed a fifth of the requests");
+        Assert.assertFalse(retryBudget.tryWithdraw(NOW + 10000), "budget should be reset in a new window");
+    }
+
+    @Test
+    public void testMinimumRetries() {
+        RetryBudget retryBudget = new RetryBudget(0, 1);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(retryBudget.tryWithdraw(NOW));
+        }
+        Assert.assertFalse(retryBudget.tryWithdraw(NOW));
+        Assert.assertTrue(retryBudget.tryWithdraw(NOW + 10000));
+    }
+}
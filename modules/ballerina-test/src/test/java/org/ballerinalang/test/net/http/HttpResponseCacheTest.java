@@ -0,0 +1,164 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.net.http;
+
+import org.ballerinalang.net.http.Constants;
+import org.ballerinalang.net.http.caching.CachedResponse;
+import org.ballerinalang.net.http.caching.HttpResponseCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
+
+import static org.ballerinalang.test.services.testutils.HTTPMessageUtils.createRequest;
+import static org.ballerinalang.test.services.testutils.HTTPMessageUtils.createResponse;
+import static org.ballerinalang.test.services.testutils.HTTPMessageUtils.readBody;
+
+/**
+ * Test storing, serving, revalidating and evicting responses of the HTTP client response cache.
+ */
+public class HttpResponseCacheTest {
+
+    private static final long NOW = 1500000000000L;
+
+    @Test
+    public void testFreshResponseIsServed() {
+        HttpResponseCache cache = new HttpResponseCache(1024 * 1024, 1024, true);
+        HTTPCarbonMessage request = createRequest(Constants.HTTP_METHOD_GET, "/hello");
+        HTTPCarbonMessage response = createResponse(200, "Hello", "Cache-Control", "max-age=60");
+        Assert.assertNull(cache.lookup(request));
+        Assert.assertTrue(cache.isStorable(request, response));
+        Assert.assertEquals(readBody(cache.store(request, response, NOW, NOW)), "Hello");
+
+        CachedResponse cachedResponse = cache.lookup(createRequest(Constants.HTTP_METHOD_GET, "/hello"));
+        Assert.assertNotNull(cachedResponse);
+        Assert.assertTrue(cache.isServable(cachedResponse, request, NOW + 30000));
+        Assert.assertFalse(cache.isServable(cachedResponse, request, NOW + 61000));
+
+        HTTPCarbonMessage cachedMessage = cachedResponse.createResponseMessage(NOW + 30000, true);
+        Assert.assertEquals(cachedMessage.getProperty(Constants.HTTP_STATUS_CODE), 200);
+        Assert.assertEquals(cachedMessage.getHeader("Age"), "30");
+        Assert.assertEquals(readBody(cachedMessage), "Hello");
+
+        HTTPCarbonMessage headRequest = createRequest(Constants.HTTP_METHOD_HEAD, "/hello");
+        Assert.assertSame(cache.lookup(headRequest), cachedResponse);
+        Assert.assertNull(cache.lookup(createRequest(Constants.HTTP_METHOD_GET, "/hello?name=ballerina")));
+
+        HTTPCarbonMessage noCacheRequest = createRequest(Constants.HTTP_METHOD_GET, "/hello");
+        noCacheRequest.setHeader("Cache-Control", "no-cache");
+        Assert.assertFalse(cache.isServable(cachedResponse, noCacheRequest, NOW + 30000));
+    }
+
+    @Test
+    public void testStaleResponseIsRevalidated() {
+        HttpResponseCache cache = new HttpResponseCache(1024 * 1024, 1024, true);
+        HTTPCarbonMessage request = createRequest(Constants.HTTP_METHOD_GET, "/hello");
+        readBody(cache.store(request, createResponse(200, "Hello", "Cache-Control", "no-cache", "ETag", "\"v1\""),
+                NOW, NOW));
+
+        CachedResponse cachedResponse = cache.lookup(request);
+        Assert.assertFalse(cache.isServable(cachedResponse, request, NOW));
+        Assert.assertTrue(cache.addValidators(request, cachedResponse));
+        Assert.assertEquals(request.getHeader("If-None-Match"), "\"v1\"");
+
+        HTTPCarbonMessage notModified = createResponse(304, "", "Cache-Control", "max-age=60");
+        Assert.assertTrue(cache.isNotModified(notModified));
+        HTTPCarbonMessage revalidated = cache.revalidate(request, cachedResponse, notModified, NOW + 1000,
+                NOW + 1000);
+        Assert.assertEquals(revalidated.getProperty(Constants.HTTP_STATUS_CODE), 200);
+        Assert.assertEquals(revalidated.getHeader("ETag"), "\"v1\"");
+        Assert.assertEquals(readBody(revalidated), "Hello");
+
+        cache.removeValidators(request);
+        Assert.assertNull(request.getHeader("If-None-Match"));
+        CachedResponse updated = cache.lookup(request);
+        Assert.assertNotSame(updated, cachedResponse);
+        Assert.assertTrue(cache.isServable(updated, request, NOW + 2000));
+    }
+
+    @Test
+    public void testResponsesWhichShouldNotBeStored() {
+        HttpResponseCache sharedCache = new HttpResponseCache(1024 * 1024, 8, true);
+        HttpResponseCache privateCache = new HttpResponseCache(1024 * 1024, 8, false);
+        HTTPCarbonMessage request = createRequest(Constants.HTTP_METHOD_GET, "/hello");
+
+        Assert.assertFalse(sharedCache.isStorable(request, createResponse(200, "Hello", "Cache-Control", "no-store")));
+        Assert.assertFalse(sharedCache.isStorable(request, createResponse(200, "Hello")));
+        Assert.assertFalse(sharedCache.isStorable(request, createResponse(500, "Hello", "Cache-Control",
+                "max-age=60")));
+        Assert.assertFalse(sharedCache.isStorable(request, createResponse(200, "Hello", "Cache-Control", "max-age=60",
+                "Vary", "*")));
+        Assert.assertFalse(sharedCache.isStorable(request, createResponse(200, "Hello, World",
+                "Cache-Control", "max-age=60")));
+        Assert.assertFalse(sharedCache.isStorable(request, createResponse(200, "Hello", "Cache-Control",
+                "private, max-age=60")));
+        Assert.assertTrue(privateCache.isStorable(request, createResponse(200, "Hello", "Cache-Control",
+                "private, max-age=60")));
+        Assert.assertFalse(sharedCache.isStorable(createRequest(Constants.HTTP_METHOD_POST, "/hello"),
+                createResponse(200, "Hello", "Cache-Control", "max-age=60")));
+    }
+
+    @Test
+    public void testUnsafeRequestInvalidatesResponse() {
+        HttpResponseCache cache = new HttpResponseCache(1024 * 1024, 1024, true);
+        HTTPCarbonMessage request = createRequest(Constants.HTTP_METHOD_GET, "/hello");
+        readBody(cache.store(request, createResponse(200, "Hello", "Cache-Control", "max-age=60"), NOW, NOW));
+
+        cache.invalidate(createRequest(Constants.HTTP_METHOD_POST, "/hello"), createResponse(500, ""));
+        Assert.assertNotNull(cache.lookup(request));
+        cache.invalidate(createRequest(Constants.HTTP_METHOD_PUT, "/hello"), createResponse(204, ""));
+        Assert.assertNull(cache.lookup(request));
+        Assert.assertEquals(cache.getSize(), 0);
+    }
+
+    @Test
+    public void testVaryingResponse() {
+        HttpResponseCache cache = new HttpResponseCache(1024 * 1024, 1024, true);
+        HTTPCarbonMessage request = createRequest(Constants.HTTP_METHOD_GET, "/hello");
+        request.setHeader("Accept-Language", "en");
+        readBody(cache.store(request, createResponse(200, "Hello", "Cache-Control", "max-age=60",
+                "Vary", "Accept-Language"), NOW, NOW));
+
+        HTTPCarbonMessage sameLanguage = createRequest(Constants.HTTP_METHOD_GET, "/hello");
+        sameLanguage.setHeader("Accept-Language", "en");
+        Assert.assertNotNull(cache.lookup(sameLanguage));
+        HTTPCarbonMessage otherLanguage = createRequest(Constants.HTTP_METHOD_GET, "/hello");
+        otherLanguage.setHeader("Accept-Language", "fr");
+        Assert.assertNull(cache.lookup(otherLanguage));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResponseIsEvicted() {
+        HttpResponseCache cache = new HttpResponseCache(300, 1024, true);
+        HTTPCarbonMessage first = createRequest(Constants.HTTP_METHOD_GET, "/first");
+        HTTPCarbonMessage second = createRequest(Constants.HTTP_METHOD_GET, "/second");
+        HTTPCarbonMessage third = createRequest(Constants.HTTP_METHOD_GET, "/third");
+        String body = new String(new char[80]).replace('\0', 'a');
+        readBody(cache.store(first, createResponse(200, body, "Cache-Control", "max-age=60"), NOW, NOW));
+        readBody(cache.store(second, createResponse(200, body, "Cache-Control", "max-age=60"), NOW, NOW));
+        Assert.assertEquals(cache.getResponseCount(), 2);
+
+        Assert.assertNotNull(cache.lookup(first));
+        readBody(cache.store(third, createResponse(200, body, "Cache-Control", "max-age=60"), NOW, NOW));
+        Assert.assertEquals(cache.getResponseCount(), 2);
+        Assert.assertNotNull(cache.lookup(first));
+        Assert.assertNull(cache.lookup(second));
+        Assert.assertNotNull(cache.lookup(third));
+        Assert.assertTrue(cache.getSize() <= 300);
+    }
+}
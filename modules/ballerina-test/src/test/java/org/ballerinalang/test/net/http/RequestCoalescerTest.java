@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.net.http;
+
+import org.ballerinalang.net.http.Constants;
+import org.ballerinalang.net.http.RequestCoalescer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.ballerinalang.test.services.testutils.HTTPMessageUtils.createRequest;
+import static org.ballerinalang.test.services.testutils.HTTPMessageUtils.createResponse;
+import static org.ballerinalang.test.services.testutils.HTTPMessageUtils.readBody;
+
+/**
+ * Test coalescing of identical outbound requests.
+ */
+public class RequestCoalescerTest {
+
+    private static final String[] KEY_HEADERS = {"Accept", "Authorization"};
+
+    @Test
+    public void testIdenticalRequestsFollowLeader() {
+        RequestCoalescer coalescer = new RequestCoalescer(KEY_HEADERS, 1024);
+        String key = coalescer.getKey(createRequest(Constants.HTTP_METHOD_GET, "/hello", "Accept", "text/plain"),
+                false);
+        TestFollower leader = new TestFollower();
+        TestFollower first = new TestFollower();
+        TestFollower second = new TestFollower();
+        Assert.assertFalse(coalescer.join(key, leader));
+        Assert.assertTrue(coalescer.join(key, first));
+        Assert.assertTrue(coalescer.join(key, second));
+        Assert.assertEquals(coalescer.getCoalescedRequestCount(), 2);
+
+        List<RequestCoalescer.Follower> followers = coalescer.land(key);
+        Assert.assertEquals(followers, Arrays.asList(first, second));
+        Assert.assertTrue(coalescer.land(key).isEmpty());
+        Assert.assertFalse(coalescer.join(key, new TestFollower()), "a new flight should start once landed");
+
+        HTTPCarbonMessage request = createRequest(Constants.HTTP_METHOD_GET, "/hello");
+        HTTPCarbonMessage response = createResponse(200, "Hello", "Content-Type", "text/plain");
+        Assert.assertTrue(coalescer.isReplicable(request, response));
+        coalescer.replicate(response, followers);
+        Assert.assertEquals(readBody(response), "Hello");
+        for (TestFollower follower : Arrays.asList(first, second)) {
+            Assert.assertEquals(follower.responses.size(), 1);
+            HTTPCarbonMessage replica = follower.responses.get(0);
+            Assert.assertEquals(replica.getProperty(Constants.HTTP_STATUS_CODE), 200);
+            Assert.assertEquals(replica.getHeader("Content-Type"), "text/plain");
+            Assert.assertEquals(readBody(replica), "Hello");
+        }
+    }
+
+    @Test
+    public void testRequestKeys() {
+        RequestCoalescer coalescer = new RequestCoalescer(KEY_HEADERS, 1024);
+        String key = coalescer.getKey(createRequest(Constants.HTTP_METHOD_GET, "/hello", "Accept", "text/plain",
+                "User-Agent", "ballerina"), false);
+        Assert.assertEquals(coalescer.getKey(createRequest(Constants.HTTP_METHOD_GET, "/hello", "Accept",
+                "text/plain", "User-Agent", "curl"), false), key);
+        Assert.assertNotEquals(coalescer.getKey(createRequest(Constants.HTTP_METHOD_GET, "/hello", "Accept",
+                "application/json"), false), key);
+        Assert.assertNotEquals(coalescer.getKey(createRequest(Constants.HTTP_METHOD_GET, "/hello", "Accept",
+                "text/plain", "Authorization", "Basic YWxpY2U6"), false), key);
+        Assert.assertNotEquals(coalescer.getKey(createRequest(Constants.HTTP_METHOD_HEAD, "/hello", "Accept",
+                "text/plain"), false), key);
+        Assert.assertNotEquals(coalescer.getKey(createRequest(Constants.HTTP_METHOD_GET, "/hello?name=ballerina",
+                "Accept", "text/plain"), false), key);
+
+        Assert.assertNull(coalescer.getKey(createRequest(Constants.HTTP_METHOD_POST, "/hello"), false));
+        Assert.assertNull(coalescer.getKey(createRequest(Constants.HTTP_METHOD_GET, "/hello"), true));
+        Assert.assertNull(coalescer.getKey(createRequest(Constants.HTTP_METHOD_GET, "/hello", "If-None-Match",
+                "\"v1\""), false));
+        Assert.assertNull(coalescer.getKey(createRequest(Constants.HTTP_METHOD_GET, "/hello", "Range",
+                "bytes=0-10"), false));
+    }
+
+    @Test
+    public void testLongResponseIsNotReplicated() {
+        RequestCoalescer coalescer = new RequestCoalescer(KEY_HEADERS, 4);
+        HTTPCarbonMessage request = createRequest(Constants.HTTP_METHOD_GET, "/hello");
+        Assert.assertFalse(coalescer.isReplicable(request, createResponse(200, "Hello")));
+        Assert.assertTrue(coalescer.isReplicable(request, createResponse(200, "Hi")));
+        Assert.assertTrue(coalescer.isReplicable(createRequest(Constants.HTTP_METHOD_HEAD, "/hello"),
+                createResponse(200, "Hello")));
+
+        HTTPCarbonMessage chunked = createResponse(200, "Hi");
+        chunked.removeHeader("Content-Length");
+        Assert.assertFalse(coalescer.isReplicable(request, chunked));
+    }
+
+    private static class TestFollower implements RequestCoalescer.Follower {
+
+        private final List<HTTPCarbonMessage> responses = new ArrayList<>();
+
+        @Override
+        public void onResponse(HTTPCarbonMessage response) {
+            responses.add(response);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            Assert.fail("unexpected failure: " + throwable.getMessage());
+        }
+
+        @Override
+        public void onDetached() {
+            Assert.fail("unexpected detachment");
+        }
+    }
+}
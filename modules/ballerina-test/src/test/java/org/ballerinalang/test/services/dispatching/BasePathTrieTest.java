@@ -0,0 +1,59 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.services.dispatching;
+
+import org.ballerinalang.net.uri.BasePathTrie;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for finding the most specific base path of a request path.
+ */
+public class BasePathTrieTest {
+
+    @Test(description = "Test finding the longest base path which matches the leading segments of the path")
+    public void testMostSpecificBasePath() {
+        BasePathTrie basePaths = new BasePathTrie();
+        basePaths.add("/hello");
+        basePaths.add("/hello/world");
+        basePaths.add("/echo");
+        for (int i = 0; i < 300; i++) {
+            basePaths.add("/service" + i);
+        }
+
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/hello"), "/hello");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/hello/"), "/hello");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/hello/world/foo"), "/hello/world");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/hello/worlds"), "/hello");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/HELLO/World"), "/hello/world");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/service299/resource"), "/service299");
+        Assert.assertNull(basePaths.findMostSpecificBasePath("/echoes"));
+        Assert.assertNull(basePaths.findMostSpecificBasePath("/foo/hello"));
+    }
+
+    @Test(description = "Test falling back to the root base path when no other base path matches")
+    public void testRootBasePath() {
+        BasePathTrie basePaths = new BasePathTrie();
+        basePaths.add("/hello");
+        basePaths.add("/");
+
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/"), "/");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/foo/hello"), "/");
+        Assert.assertEquals(basePaths.findMostSpecificBasePath("/hello/foo"), "/hello");
+    }
+}
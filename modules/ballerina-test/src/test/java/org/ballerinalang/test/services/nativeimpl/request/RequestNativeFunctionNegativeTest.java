@@ -17,6 +17,8 @@
  */
 package org.ballerinalang.test.services.nativeimpl.request;
 
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import org.ballerinalang.launcher.util.BAssertUtil;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
@@ -29,11 +31,14 @@ import org.ballerinalang.net.http.Constants;
 import org.ballerinalang.net.http.HttpUtil;
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
 import org.ballerinalang.runtime.message.StringDataSource;
+import org.ballerinalang.test.services.testutils.HTTPMessageUtils;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Test cases for ballerina.net.http.request negative native functions.
  */
@@ -113,6 +118,24 @@ public class RequestNativeFunctionNegativeTest {
         Assert.assertTrue(error.contains("unrecognized token 'ballerina'"));
     }
 
+    @Test(description = "Test method with a malformed json payload")
+    public void testGetJsonPayloadWithMalformedPayload() {
+        BStruct request = BCompileUtil.createAndGetStruct(result.getProgFile(), protocolPackageHttp, requestStruct);
+        HTTPCarbonMessage cMsg = HTTPMessageUtils.createRequest("POST", "/");
+        cMsg.addHttpContent(new DefaultLastHttpContent(
+                Unpooled.wrappedBuffer("{\"a\": [1, 2}".getBytes(StandardCharsets.UTF_8))));
+        HttpUtil.addCarbonMsg(request, cMsg);
+        BValue[] inputArg = {request};
+        String error = null;
+        try {
+            BRunUtil.invoke(result, "testGetJsonPayload", inputArg);
+        } catch (Throwable e) {
+            error = e.getMessage();
+        }
+        Assert.assertTrue(error.contains("Error while retrieving json payload from message: failed to create json: "
+                + "invalid JSON document: expected , or ]"), error);
+    }
+
     @Test
     public void testGetProperty() {
         BStruct request = BCompileUtil.createAndGetStruct(result.getProgFile(), protocolPackageHttp, requestStruct);
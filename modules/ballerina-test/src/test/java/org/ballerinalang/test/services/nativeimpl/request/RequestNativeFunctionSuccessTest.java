@@ -33,6 +33,7 @@ import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXMLItem;
 import org.ballerinalang.net.http.Constants;
 import org.ballerinalang.net.http.HttpUtil;
+import org.ballerinalang.net.http.InboundHeaderMap;
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
 import org.ballerinalang.runtime.message.BlobDataSource;
 import org.ballerinalang.runtime.message.StringDataSource;
@@ -501,6 +502,28 @@ public class RequestNativeFunctionSuccessTest {
                 .get(range)).get(0)).getStringField(0), rangeValue);
     }
 
+    @Test(description = "Test inbound request headers are converted only when those are accessed")
+    public void testInboundHeaderMap() {
+        BStruct request = BCompileUtil.createAndGetStruct(result.getProgFile(), protocolPackageHttp, requestStruct);
+        HTTPTestRequest cMsg = MessageUtils.generateHTTPMessage("", Constants.HTTP_METHOD_GET);
+        cMsg.setHeader(Constants.CONTENT_TYPE, "text/plain; charset=UTF-8");
+
+        HttpUtil.setHeaderValueStructType(BCompileUtil.createAndGetStruct(result.getProgFile(),
+                protocolPackageHttp, headerStruct));
+        HttpUtil.populateInboundRequest(request, cMsg);
+
+        InboundHeaderMap headers = (InboundHeaderMap) request.getRefField(Constants.REQUEST_HEADERS_INDEX);
+        Assert.assertTrue(headers.isViewOf(cMsg.getHeaders()));
+        BStruct contentType = (BStruct) ((BRefValueArray) headers.get(Constants.CONTENT_TYPE)).get(0);
+        Assert.assertFalse(headers.isViewOf(cMsg.getHeaders()));
+        Assert.assertEquals(contentType.getStringField(Constants.HEADER_VALUE_INDEX), "text/plain");
+        Assert.assertEquals(((BMap) contentType.getRefField(Constants.HEADER_PARAM_INDEX)).get("charset")
+                .stringValue(), "UTF-8");
+
+        cMsg.removeHeader(Constants.CONTENT_TYPE);
+        Assert.assertTrue(headers.hasKey(Constants.CONTENT_TYPE));
+    }
+
     @Test(description = "Test SetHeader function within a service")
     public void testServiceSetHeader() {
         String key = "lang";
@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.services.testutils;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.ballerinalang.net.http.Constants;
+import org.wso2.transport.http.netty.message.HTTPCarbonMessage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Creates and reads the transport messages of the HTTP client connector, i.e. the outbound requests and the
+ * responses to those.
+ *
+ * @since 0.95.8
+ */
+public class HTTPMessageUtils {
+
+    /**
+     * Create an outbound request to localhost:9090.
+     *
+     * @param method  HTTP method
+     * @param path    request path
+     * @param headers names and values of the request headers, one after the other
+     * @return request message
+     */
+    public static HTTPCarbonMessage createRequest(String method, String path, String... headers) {
+        HTTPCarbonMessage request = new HTTPCarbonMessage(
+                new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.valueOf(method), path));
+        request.setProperty(Constants.HTTP_METHOD, method);
+        request.setProperty(Constants.PROTOCOL, Constants.PROTOCOL_HTTP);
+        request.setProperty(org.wso2.transport.http.netty.common.Constants.HOST, "localhost");
+        request.setProperty(Constants.PORT, 9090);
+        request.setProperty(Constants.TO, path);
+        for (int i = 0; i < headers.length; i += 2) {
+            request.setHeader(headers[i], headers[i + 1]);
+        }
+        return request;
+    }
+
+    /**
+     * Create a response with the given body, along with its content length.
+     *
+     * @param statusCode HTTP status code
+     * @param body       response body
+     * @param headers    names and values of the response headers, one after the other
+     * @return response message
+     */
+    public static HTTPCarbonMessage createResponse(int statusCode, String body, String... headers) {
+        HTTPCarbonMessage response = new HTTPCarbonMessage(
+                new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.valueOf(statusCode)));
+        response.setProperty(Constants.HTTP_STATUS_CODE, statusCode);
+        for (int i = 0; i < headers.length; i += 2) {
+            response.setHeader(headers[i], headers[i + 1]);
+        }
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        response.setHeader("Content-Length", String.valueOf(content.length));
+        response.addHttpContent(new DefaultLastHttpContent(Unpooled.wrappedBuffer(content)));
+        return response;
+    }
+
+    /**
+     * Read the whole body of a message, releasing its content.
+     *
+     * @param message request or response
+     * @return message body
+     */
+    public static String readBody(HTTPCarbonMessage message) {
+        StringBuilder body = new StringBuilder();
+        HttpContent httpContent;
+        do {
+            httpContent = message.getHttpContent();
+            body.append(httpContent.content().toString(StandardCharsets.UTF_8));
+            httpContent.release();
+        } while (!(httpContent instanceof LastHttpContent));
+        return body.toString();
+    }
+}
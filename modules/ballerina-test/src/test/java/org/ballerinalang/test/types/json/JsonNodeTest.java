@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.json;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.ballerinalang.model.util.JsonNode;
+import org.ballerinalang.model.util.JsonNode.Type;
+import org.ballerinalang.model.util.JsonParser;
+import org.ballerinalang.runtime.message.ChunkedByteBufOutput;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Test class for the compact storage of {@link JsonNode}.
+ */
+public class JsonNodeTest {
+
+    @Test(description = "Test arrays of numbers, which are stored as primitive arrays")
+    public void testNumericArrays() {
+        JsonNode ints = JsonParser.parse("[1, 2, 3]");
+        Assert.assertEquals(ints.size(), 3);
+        Assert.assertTrue(ints.get(1).isLong());
+        Assert.assertEquals(ints.get(1).longValue(), 2);
+
+        JsonNode floats = JsonParser.parse("[1.5, 2.5]");
+        Assert.assertTrue(floats.get(0).isDouble());
+        Assert.assertEquals(floats.get(0).doubleValue(), 1.5);
+
+        // Adding an element of another type keeps the existing elements
+        ints.set(0, new JsonNode(0.5));
+        ints.add("four");
+        floats.add(3L);
+        Assert.assertEquals(ints.toString(), "[0.5,2,3,\"four\"]");
+        Assert.assertEquals(floats.toString(), "[1.5,2.5,3]");
+        Assert.assertEquals(JsonParser.parse("[1, 2.0, null, true]").toString(), "[1,2.0,null,true]");
+    }
+
+    @Test(description = "Test objects, which switch to an indexed lookup when they grow")
+    public void testObjectFields() {
+        JsonNode object = new JsonNode(Type.OBJECT);
+        for (int i = 0; i < 40; i++) {
+            object.set("f" + i, i);
+        }
+        object.set("f3", "three");
+        object.remove("f0");
+        object.remove("unknown");
+
+        Assert.assertEquals(object.get("f3").stringValue(), "three");
+        Assert.assertEquals(object.get("f39").longValue(), 39);
+        Assert.assertNull(object.get("f0"));
+        Assert.assertEquals(object.size(), 0);
+
+        Iterator<String> fieldNames = object.fieldNames();
+        Assert.assertEquals(fieldNames.next(), "f1");
+        Assert.assertEquals(fieldNames.next(), "f2");
+        Assert.assertEquals(fieldNames.next(), "f3");
+
+        JsonNode parsed = JsonParser.parse("{\"a\": 1, \"b\": {\"c\": [true]}, \"a\": 2, \"d\": null}");
+        Assert.assertEquals(parsed.toString(), "{\"a\":2,\"b\":{\"c\":[true]},\"d\":null}");
+        Assert.assertTrue(parsed.has("d"));
+        Assert.assertTrue(parsed.get("d").isNull());
+    }
+
+    @Test(description = "Test serializing a node directly into buffers")
+    public void testSerializeToBuffer() {
+        JsonNode node = JsonParser.parse("{\"ids\": [1, -20, 9223372036854775807, -9223372036854775808], "
+                + "\"ratios\": [1.5, -0.25], \"mixed\": [1, \"x\", null, {\"ok\": false}], \"empty\": {}}");
+        node.set("text", "q\"\\\n\t\u0001\u00e9\u4e2d\ud83d\ude00");
+        String expected = "{\"ids\":[1,-20,9223372036854775807,-9223372036854775808],\"ratios\":[1.5,-0.25],"
+                + "\"mixed\":[1,\"x\",null,{\"ok\":false}],\"empty\":{},"
+                + "\"text\":\"q\\\"\\\\\\n\\t\\u0001\u00e9\u4e2d\ud83d\ude00\"}";
+
+        Assert.assertEquals(serialize(node, ChunkedByteBufOutput.DEFAULT_CHUNK_SIZE, new ArrayList<>()), expected);
+    }
+
+    @Test(description = "Test that a large node is serialized into chunks of a bounded size")
+    public void testSerializeToChunks() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            json.append(i > 0 ? ", " : "").append("{\"id\": ").append(i).append(", \"tags\": [\"a\", \"b\"]}");
+        }
+        JsonNode node = JsonParser.parse(json.append("]").toString());
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        Assert.assertEquals(serialize(node, 256, chunkSizes), node.toString());
+        Assert.assertTrue(chunkSizes.size() > 100, "expected the node to be split, chunks: " + chunkSizes.size());
+        for (int size : chunkSizes) {
+            // a chunk is handed over once it fills up, after the element being written
+            Assert.assertTrue(size >= 256 && size < 256 + 64, "unexpected chunk size: " + size);
+        }
+    }
+
+    @Test(description = "Test that the buffer and the stream serializers give the same output for escaped strings")
+    public void testSerializersAgree() {
+        JsonNode node = JsonParser.parse("{\"a\\\"b\": \"x\\\"y\", \"list\": [\"\\\\\", \"/\"]}");
+        node.set("ctrl\n", "\b\f\n\r\t\u0001\u001f\"");
+        String expected = "{\"a\\\"b\":\"x\\\"y\",\"list\":[\"\\\\\",\"/\"],"
+                + "\"ctrl\\n\":\"\\b\\f\\n\\r\\t\\u0001\\u001f\\\"\"}";
+
+        Assert.assertEquals(serialize(node, ChunkedByteBufOutput.DEFAULT_CHUNK_SIZE, new ArrayList<>()), expected);
+        Assert.assertEquals(node.toString(), expected);
+    }
+
+    private static String serialize(JsonNode node, int chunkSize, List<Integer> chunkSizes) {
+        StringBuilder content = new StringBuilder();
+        ChunkedByteBufOutput output = new ChunkedByteBufOutput(UnpooledByteBufAllocator.DEFAULT, chunkSize, chunk -> {
+            chunkSizes.add(chunk.readableBytes());
+            content.append(chunk.toString(StandardCharsets.UTF_8));
+            chunk.release();
+        });
+        node.serialize(output);
+        ByteBuf last = output.finish();
+        content.append(last.toString(StandardCharsets.UTF_8));
+        last.release();
+        return content.toString();
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.json;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.util.JSONUtils;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.message.ChunkedByteBufOutput;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for json values which are lazily built from their raw content.
+ */
+public class LazyJSONTest {
+
+    private static final String ORDER = "{\"id\": 1001, \"customer\": {\"name\": \"Jane\", \"tags\": [\"a\", \"b\"]}, "
+            + "\"items\": [{\"sku\": \"x-1\", \"quantity\": 2, \"price\": 10.5}, "
+            + "{\"sku\": \"y-2\", \"quantity\": 3, \"price\": 4.25}], \"note\": null}";
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile("test-src/types/jsontype/lazy-json.bal");
+    }
+
+    @Test(description = "Test accessing fields of a lazy json without building the json object model")
+    public void testFieldAccess() {
+        BJSON json = createLazyJSON(ORDER);
+        BValue[] returns = BRunUtil.invoke(compileResult, "getOrderDetails", new BValue[]{json});
+        Assert.assertEquals(returns[0].stringValue(), "Jane");
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 3);
+        Assert.assertEquals(((BFloat) returns[2]).floatValue(), 4.25);
+        Assert.assertTrue(json.isLazy());
+
+        Assert.assertTrue(JSONUtils.hasElement(json, "note"));
+        Assert.assertNull(JSONUtils.getElement(json, "note"));
+        Assert.assertNull(JSONUtils.getElement(json, "unknown"));
+        Assert.assertEquals(JSONUtils.getJSONArrayLength(JSONUtils.getElement(json, "items")), 2);
+        Assert.assertTrue(json.isLazy());
+    }
+
+    @Test(description = "Test modifying a lazy json through one of its nested values")
+    public void testNestedUpdate() {
+        BJSON json = createLazyJSON(ORDER);
+        BValue[] returns = BRunUtil.invoke(compileResult, "updateNestedItem", new BValue[]{json});
+        Assert.assertFalse(json.isLazy());
+        Assert.assertEquals(returns[0].stringValue(), "{\"id\":1001,\"customer\":{\"name\":\"Jane\",\"tags\":[\"a\","
+                + "\"b\"]},\"items\":[{\"sku\":\"x-1\",\"quantity\":5,\"price\":10.5},{\"sku\":\"y-2\",\"quantity\":3,"
+                + "\"price\":4.25}],\"note\":null,\"status\":\"processed\"}");
+    }
+
+    @Test(description = "Test that a nested value which was modified on its own is kept when the parent is built")
+    public void testMaterializedMemberIsKept() {
+        BJSON json = createLazyJSON(ORDER);
+        BJSON customer = JSONUtils.getElement(json, "customer");
+        JSONUtils.setElement(customer, "name", new BJSON("\"John\""));
+        Assert.assertTrue(json.isLazy());
+        Assert.assertFalse(customer.isLazy());
+
+        Assert.assertEquals(JSONUtils.getElement(json, "customer").stringValue(),
+                "{\"name\":\"John\",\"tags\":[\"a\",\"b\"]}");
+        Assert.assertEquals(json.value().get("customer").get("name").stringValue(), "John");
+        Assert.assertSame(json.value().get("customer"), customer.value());
+    }
+
+    @Test(description = "Test writing an unmodified lazy json as it was received")
+    public void testPassThroughSerialization() {
+        BJSON json = createLazyJSON(ORDER);
+        JSONUtils.getElement(json, "customer");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.serializeData(out);
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), ORDER);
+
+        // The raw content is copied into chunks of the given size
+        List<String> chunks = new ArrayList<>();
+        ChunkedByteBufOutput output = new ChunkedByteBufOutput(UnpooledByteBufAllocator.DEFAULT, 32, chunk -> {
+            chunks.add(chunk.toString(StandardCharsets.UTF_8));
+            chunk.release();
+        });
+        json.serializeChunked(output);
+        ByteBuf last = output.finish();
+        chunks.add(last.toString(StandardCharsets.UTF_8));
+        last.release();
+        Assert.assertEquals(String.join("", chunks), ORDER);
+        Assert.assertEquals(chunks.size(), (ORDER.length() + 31) / 32);
+        Assert.assertEquals(chunks.get(0).length(), 32);
+        Assert.assertTrue(json.isLazy());
+    }
+
+    @Test(description = "Test escaped field names and scalar documents")
+    public void testEscapesAndScalars() {
+        BJSON json = createLazyJSON("{\"a\\u0062c\": \"x\\\"y\", \"d\": [1, 2.5, true]}");
+        Assert.assertEquals(JSONUtils.getElement(json, "abc").value().stringValue(), "x\"y");
+        Assert.assertEquals(JSONUtils.getArrayElement(JSONUtils.getElement(json, "d"), 1).value().doubleValue(), 2.5);
+
+        BJSON scalar = createLazyJSON(" \"text\" ");
+        Assert.assertFalse(scalar.isLazy());
+        Assert.assertSame(scalar.getType(), BTypes.typeString);
+        Assert.assertEquals(scalar.stringValue(), "text");
+    }
+
+    @Test(description = "Test creating a lazy json with a malformed part which is never accessed",
+          expectedExceptions = BallerinaException.class,
+          expectedExceptionsMessageRegExp = "failed to create json: invalid JSON document: expected , or } at "
+                  + "offset: 14")
+    public void testMalformedContent() {
+        createLazyJSON("{\"a\": {\"b\": 1 \"c\": 2}, \"d\": 3}");
+    }
+
+    @Test(description = "Test creating a lazy json with content after the document",
+          expectedExceptions = BallerinaException.class,
+          expectedExceptionsMessageRegExp = "failed to create json: invalid JSON document: unexpected content after "
+                  + "the document at offset: 11")
+    public void testTrailingContent() {
+        createLazyJSON("{\"a\": [1]} x");
+    }
+
+    @Test(description = "Test that malformed structures are rejected up front")
+    public void testMalformedStructures() {
+        String[] documents = {"{\"a\": 1", "[1, 2,]", "{\"a\" 1}", "{\"a\": \"b}", "[1, {\"a\": [2}]", "{1: 2}",
+                "[1, 2]]", "{\"a\": 1,}", "[true false]", "{\"a\": #}"};
+        for (String document : documents) {
+            try {
+                createLazyJSON(document);
+                Assert.fail("malformed json is accepted: " + document);
+            } catch (BallerinaException e) {
+                Assert.assertTrue(e.getMessage().startsWith("failed to create json: invalid JSON document: "),
+                        e.getMessage());
+            }
+        }
+        Assert.assertEquals(createLazyJSON(" [[], {}, [{\"a\": [-1.5e3]}], \"]}\"] ").getLazySize(), 4);
+    }
+
+    @Test(description = "Test accessing a lazy json from more than one thread")
+    public void testConcurrentAccess() throws Exception {
+        BJSON json = createLazyJSON(ORDER);
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<BJSON>> customers = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                customers.add(executor.submit(() -> {
+                    start.await();
+                    BJSON customer = JSONUtils.getElement(json, "customer");
+                    Assert.assertEquals(JSONUtils.getArrayElement(JSONUtils.getElement(customer, "tags"), 1)
+                            .value().asText(), "b");
+                    return customer;
+                }));
+            }
+            start.countDown();
+            BJSON customer = customers.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<BJSON> other : customers) {
+                Assert.assertSame(other.get(10, TimeUnit.SECONDS), customer);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertSame(json.value().get("customer"), JSONUtils.getElement(json, "customer").value());
+    }
+
+    @Test(expectedExceptions = BallerinaException.class,
+          expectedExceptionsMessageRegExp = "failed to create json: empty JSON document")
+    public void testEmptyContent() {
+        createLazyJSON("  ");
+    }
+
+    private static BJSON createLazyJSON(String content) {
+        return new BJSON(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -23,7 +23,9 @@ import org.ballerinalang.launcher.util.CompileResult;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
 import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXMLItem;
 
@@ -251,4 +253,61 @@ public class BMapValueTest {
         BValue[] returnVals = BRunUtil.invoke(programFile, "testMapSynchronization", new BValue[0]);
         Assert.assertEquals(((BInteger) returnVals[0]).intValue(), 2000);
         }
+
+    @Test(description = "Testing that a map is lock-free until it is shared, and behaves the same afterwards")
+    public void testSharedBMap() {
+        BMap<String, BRefType> inner = new BMap<>();
+        inner.put("x", new BInteger(1));
+        BMap<String, BRefType> map = new BMap<>();
+        map.put("a", new BString("foo"));
+        map.put("inner", inner);
+        Assert.assertFalse(map.isShared());
+        Assert.assertFalse(inner.isShared());
+
+        BMap.share(map);
+        Assert.assertTrue(map.isShared());
+        Assert.assertTrue(inner.isShared());
+
+        BMap<String, BRefType> added = new BMap<>();
+        map.put("b", added);
+        Assert.assertTrue(added.isShared());
+        Assert.assertEquals(map.size(), 3);
+        Assert.assertTrue(map.hasKey("b"));
+        Assert.assertEquals(map.get("a").stringValue(), "foo");
+        Assert.assertEquals(map.keySet().toArray(), new String[]{"a", "inner", "b"});
+
+        map.remove("a");
+        Assert.assertEquals(map.size(), 2);
+        Assert.assertFalse(map.hasKey("a"));
+        Assert.assertEquals(map.stringValue(), "{\"inner\":{\"x\":1}, \"b\":{}}");
+    }
+
+    @Test(description = "Testing that maps stored into a shared struct or array are shared",
+            dependsOnMethods = "testGrammar")
+    public void testStoreIntoSharedContainers() {
+        BValue[] returnVals = BRunUtil.invoke(programFile, "testStoreIntoSharedContainers", new BValue[0]);
+        BStruct holder = (BStruct) returnVals[0];
+        Assert.assertTrue(holder.isShared());
+        Assert.assertTrue(((BMap) holder.getRefField(0)).isShared());
+        BRefValueArray maps = (BRefValueArray) returnVals[1];
+        Assert.assertTrue(maps.isShared());
+        Assert.assertTrue(((BMap) maps.get(0)).isShared());
+    }
+
+    @Test(description = "Testing that a shared array is not walked again when shared once more")
+    public void testShareMarksContainers() {
+        BRefValueArray array = new BRefValueArray();
+        BMap<String, BRefType> first = new BMap<>();
+        array.add(0, first);
+        BMap.share(array);
+        Assert.assertTrue(array.isShared());
+        Assert.assertTrue(first.isShared());
+        Assert.assertFalse(array.markShared());
+
+        // Stores into a shared array are shared by the VM, hence sharing the array again does not reach this one
+        BMap<String, BRefType> second = new BMap<>();
+        array.add(1, second);
+        BMap.share(array);
+        Assert.assertFalse(second.isShared());
+    }
 }
@@ -16,6 +16,8 @@
  */
 package org.ballerinalang.test.vm;
 
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.StackFramePool;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
@@ -51,5 +53,17 @@ public class DynamicControlStackTest {
         Assert.assertEquals(vals.length, 1);
         Assert.assertEquals(((BInteger) vals[0]).intValue(), 50125000);
     }
+
+    @Test
+    public void stackFrameReuseTest() {
+        Context context = new Context(result.getProgFile());
+        BValue[] vals = BRunUtil.invoke(result, "f1", new BValue[0], context);
+        Assert.assertEquals(((BInteger) vals[0]).intValue(), 50025000);
+
+        // f1 calls f2 -> f3 -> f4 10000 times, but only one frame per function should ever be allocated.
+        StackFramePool framePool = context.getControlStack().getFramePool();
+        Assert.assertEquals(framePool.getAllocatedFrameCount(), 3);
+        Assert.assertEquals(framePool.getReusedFrameCount(), 29997);
+    }
     
 }
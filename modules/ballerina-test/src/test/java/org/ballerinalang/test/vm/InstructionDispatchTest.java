@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.Constants;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the linked instruction dispatch mode of the BVM against the interpreter.
+ */
+public class InstructionDispatchTest {
+
+    private static final String SOURCE_FILE = "test-src/vm/instruction-dispatch-test.bal";
+
+    private CompileResult interpreterResult;
+    private CompileResult linkedResult;
+
+    @BeforeClass
+    public void setup() {
+        this.interpreterResult = BCompileUtil.compile(SOURCE_FILE);
+        Assert.assertEquals(interpreterResult.getErrorCount(), 0);
+
+        System.setProperty(Constants.SYSTEM_PROP_VM_DISPATCH, Constants.VM_DISPATCH_LINKED);
+        try {
+            this.linkedResult = BCompileUtil.compile(SOURCE_FILE);
+        } finally {
+            System.clearProperty(Constants.SYSTEM_PROP_VM_DISPATCH);
+        }
+        Assert.assertEquals(linkedResult.getErrorCount(), 0);
+        Assert.assertNotNull(linkedResult.getProgFile().getEntryPackage().getLinkedInstructions());
+        Assert.assertNull(interpreterResult.getProgFile().getEntryPackage().getLinkedInstructions());
+    }
+
+    @Test
+    public void testArithmetic() {
+        BValue[] args = {new BInteger(10000)};
+        assertSameResults(BRunUtil.invoke(interpreterResult, "arithmetic", args),
+                BRunUtil.invoke(linkedResult, "arithmetic", args));
+    }
+
+    @Test
+    public void testFieldAccess() {
+        BValue[] args = {new BInteger(10000)};
+        assertSameResults(BRunUtil.invoke(interpreterResult, "fieldAccess", args),
+                BRunUtil.invoke(linkedResult, "fieldAccess", args));
+    }
+
+    @Test
+    public void testFunctionCalls() {
+        BValue[] args = {new BInteger(20)};
+        BValue[] returns = BRunUtil.invoke(linkedResult, "fib", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 6765);
+        assertSameResults(BRunUtil.invoke(interpreterResult, "fib", args), returns);
+    }
+
+    @Test
+    public void testErrorFallback() {
+        BValue[] args = {new BInteger(10)};
+        BValue[] returns = BRunUtil.invoke(linkedResult, "divideByZero", args);
+        Assert.assertTrue(returns[0].stringValue().contains("by zero"));
+        assertSameResults(BRunUtil.invoke(interpreterResult, "divideByZero", args), returns);
+    }
+
+    private void assertSameResults(BValue[] expected, BValue[] actual) {
+        Assert.assertEquals(actual.length, expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(actual[i].stringValue(), expected[i].stringValue());
+        }
+    }
+}
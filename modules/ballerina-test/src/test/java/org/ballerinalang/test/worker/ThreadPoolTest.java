@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
+import org.ballerinalang.runtime.threadpool.InstrumentedThreadPoolExecutor;
+import org.ballerinalang.runtime.threadpool.LatencyHistogram;
+import org.ballerinalang.runtime.threadpool.ThreadPoolConfig;
+import org.ballerinalang.runtime.threadpool.ThreadPoolMetricsListener;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test cases for the configurable, instrumented thread pools.
+ */
+public class ThreadPoolTest {
+
+    private static final String POOL = "test";
+    private static final String PREFIX = ThreadPoolConfig.CONFIG_INSTANCE_PREFIX + POOL + ".";
+
+    @Test(description = "Test the default thread pool configuration")
+    public void testDefaultConfig() {
+        ThreadPoolConfig config = ThreadPoolConfig.load(POOL, 7);
+        Assert.assertEquals(config.getCoreSize(), 7);
+        Assert.assertEquals(config.getMaxSize(), 7);
+    }
+
+    @Test(description = "Test thread pool configuration through system properties")
+    public void testConfigThroughSystemProperties() {
+        System.setProperty(PREFIX + ThreadPoolConfig.CORE_SIZE, "2");
+        System.setProperty(PREFIX + ThreadPoolConfig.MAX_SIZE, "4");
+        System.setProperty(PREFIX + ThreadPoolConfig.QUEUE, "bounded");
+        System.setProperty(PREFIX + ThreadPoolConfig.QUEUE_CAPACITY, "8");
+        ThreadPoolConfig config = ThreadPoolConfig.load(POOL, 100);
+        Assert.assertEquals(config.getCoreSize(), 2);
+        Assert.assertEquals(config.getMaxSize(), 4);
+
+        InstrumentedThreadPoolExecutor pool = new InstrumentedThreadPoolExecutor(config,
+                new BLangThreadFactory("test-pool"), Collections.emptyList());
+        try {
+            Assert.assertEquals(pool.getCorePoolSize(), 2);
+            Assert.assertEquals(pool.getMaximumPoolSize(), 4);
+            Assert.assertEquals(pool.getQueue().remainingCapacity(), 8);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test(description = "Test invalid thread pool configuration",
+          expectedExceptions = BallerinaException.class,
+          expectedExceptionsMessageRegExp = "invalid queue type 'priority' for thread pool 'test'")
+    public void testInvalidQueueType() {
+        System.setProperty(PREFIX + ThreadPoolConfig.QUEUE, "priority");
+        ThreadPoolConfig.load(POOL, 1);
+    }
+
+    @Test(description = "Test thread pool metrics")
+    public void testMetrics() throws InterruptedException {
+        System.setProperty(PREFIX + ThreadPoolConfig.QUEUE, "synchronous");
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ThreadPoolMetricsListener listener = new ThreadPoolMetricsListener() {
+            @Override
+            public void taskCompleted(InstrumentedThreadPoolExecutor pool, long queuedNanos, long executionNanos) {
+                completed.incrementAndGet();
+            }
+
+            @Override
+            public void taskRejected(InstrumentedThreadPoolExecutor pool) {
+                rejected.incrementAndGet();
+            }
+        };
+        InstrumentedThreadPoolExecutor pool = new InstrumentedThreadPoolExecutor(ThreadPoolConfig.load(POOL, 1),
+                new BLangThreadFactory("test-pool"), Collections.singletonList(listener));
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(1);
+            pool.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    // Ignore.
+                }
+                done.countDown();
+            });
+            try {
+                pool.execute(() -> { });
+                Assert.fail("task should have been rejected by the saturated pool");
+            } catch (RejectedExecutionException e) {
+                // Expected.
+            }
+            release.countDown();
+            Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+            pool.shutdown();
+            Assert.assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+            Assert.assertEquals(pool.getRejectedTaskCount(), 1);
+            Assert.assertEquals(rejected.get(), 1);
+            Assert.assertEquals(completed.get(), 1);
+            Assert.assertEquals(pool.getExecutionLatency().getCount(), 1);
+            Assert.assertEquals(pool.getQueueLatency().getCount(), 1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test(description = "Test latency histogram percentiles")
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(3));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.getPercentileMicros(50), 4);
+        Assert.assertEquals(histogram.getPercentileMicros(100), 1024);
+    }
+
+    @AfterMethod
+    public void clearProperties() {
+        System.clearProperty(PREFIX + ThreadPoolConfig.CORE_SIZE);
+        System.clearProperty(PREFIX + ThreadPoolConfig.MAX_SIZE);
+        System.clearProperty(PREFIX + ThreadPoolConfig.QUEUE);
+        System.clearProperty(PREFIX + ThreadPoolConfig.QUEUE_CAPACITY);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.Constants;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for workers, worker interactions and fork-join under the suspending worker scheduler.
+ */
+public class WorkerSchedulerTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        System.setProperty(Constants.SYSTEM_PROP_VM_SCHEDULER, Constants.VM_SCHEDULER_SUSPENDING);
+        result = BCompileUtil.compile("test-src/workers/suspending-scheduler.bal");
+    }
+
+    @Test(description = "Test fork-join with worker interactions, repeated")
+    public void testForkJoinInLoop() {
+        BValue[] args = {new BInteger(1000)};
+        BValue[] returns = BRunUtil.invoke(result, "forkJoinInLoop", args);
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 999000);
+    }
+
+    @Test(description = "Test fork-join inside a worker of a fork-join")
+    public void testNestedForkJoin() {
+        BValue[] returns = BRunUtil.invoke(result, "nestedForkJoin", new BValue[0]);
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 30);
+    }
+
+    @Test(description = "Test workers exchanging messages")
+    public void testPingPong() {
+        BValue[] args = {new BInteger(500)};
+        BValue[] returns = BRunUtil.invoke(result, "pingPong", args);
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 125250);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        System.clearProperty(Constants.SYSTEM_PROP_VM_SCHEDULER);
+    }
+}
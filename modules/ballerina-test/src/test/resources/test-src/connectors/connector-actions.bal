@@ -182,4 +182,41 @@ function testPassConnectorAsActionParameter() (int) {
     }
     Foo foo = create Foo("abc", 20);
     return bar.getAgeFromFoo(foo);
-}
\ No newline at end of file
+}
+
+connector MapConnector () {
+    map entries = {};
+
+    action put (string key, string value) {
+        entries[key] = value;
+    }
+
+    action getEntries () (map) {
+        return entries;
+    }
+}
+
+function testConnectorMapFromWorkers () (int, map) {
+    endpoint<MapConnector> ep {
+        create MapConnector();
+    }
+    fork {
+        worker w1 {
+            int i = 0;
+            while (i < 1000) {
+                ep.put("a" + i, "foo" + i);
+                i = i + 1;
+            }
+        }
+        worker w2 {
+            int j = 0;
+            while (j < 1000) {
+                ep.put("b" + j, "bar" + j);
+                j = j + 1;
+            }
+        }
+    } join (all) (map results) {
+        map entries = ep.getEntries();
+        return lengthof entries, entries;
+    }
+}
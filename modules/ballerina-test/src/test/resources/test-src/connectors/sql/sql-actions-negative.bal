@@ -107,3 +107,25 @@ function testInvalidArrayofQueryParameters () (string value) {
     }
     return;
 }
+
+struct ResultRowId {
+    int ROW_ID;
+}
+
+function testSelectWithMissingDateField () (int rowId) {
+    endpoint<sql:ClientConnector> testDB {}
+    try {
+        sql:ClientConnector con = create sql:ClientConnector(sql:DB.HSQLDB_FILE, "./target/tempdb/",
+                                                   0, "TEST_SQL_CONNECTOR", "SA", "", {maximumPoolSize:1});
+        bind con with testDB;
+        datatable dt = testDB.select("SELECT row_id, date_type from DateTimeTypes where row_id = 1", null,
+                                     typeof ResultRowId);
+        while (dt.hasNext()) {
+            var rs, _ = (ResultRowId)dt.getNext();
+            rowId = rs.ROW_ID;
+        }
+    } finally {
+        testDB.close();
+    }
+    return;
+}
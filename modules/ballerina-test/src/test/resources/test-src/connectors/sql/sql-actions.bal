@@ -782,4 +782,73 @@ function testCloseConnectionPool () (int count) {
     }
     testDB.close();
     return;
-}
\ No newline at end of file
+}
+
+function testRepeatedQueryWithArrayParameters () (int count1, int count2, int count3, json metrics) {
+    endpoint<sql:ClientConnector> testDB {
+        create sql:ClientConnector(sql:DB.HSQLDB_FILE, "./target/tempdb/",
+                                                            0, "TEST_SQL_CONNECTOR", "SA", "", {maximumPoolSize:1});
+    }
+    string query = "SELECT count(*) as countval from Customers where registrationID in (?) and lastName = ?";
+    sql:Parameter lastNamePara = {sqlType:sql:Type.VARCHAR, value:"Stuart"};
+
+    int[] ids1 = [1];
+    sql:Parameter idPara1 = {sqlType:sql:Type.INTEGER, value:ids1};
+    sql:Parameter[] parameters = [idPara1, lastNamePara];
+    datatable dt = testDB.select (query, parameters, typeof ResultCount);
+    while (dt.hasNext()) {
+        var rs, err = (ResultCount) dt.getNext();
+        count1 = rs.COUNTVAL;
+    }
+
+    int[] ids2 = [3, 2, 1];
+    sql:Parameter idPara2 = {sqlType:sql:Type.INTEGER, value:ids2};
+    parameters = [idPara2, lastNamePara];
+    dt = testDB.select (query, parameters, typeof ResultCount);
+    while (dt.hasNext()) {
+        var rs, err = (ResultCount) dt.getNext();
+        count2 = rs.COUNTVAL;
+    }
+
+    int[] ids3 = [2];
+    sql:Parameter idPara3 = {sqlType:sql:Type.INTEGER, value:ids3};
+    parameters = [idPara3, lastNamePara];
+    dt = testDB.select (query, parameters, typeof ResultCount);
+    while (dt.hasNext()) {
+        var rs, err = (ResultCount) dt.getNext();
+        count3 = rs.COUNTVAL;
+    }
+    metrics = testDB.getMetrics();
+    testDB.close ();
+    return;
+}
+
+function testNestedQueryWithCachedStatement () (int outerCount, int innerCount, int lastCount, json metrics) {
+    endpoint<sql:ClientConnector> testDB {
+        create sql:ClientConnector(sql:DB.HSQLDB_FILE, "./target/tempdb/",
+                                                            0, "TEST_SQL_CONNECTOR", "SA", "", {maximumPoolSize:2});
+    }
+    string query = "SELECT count(*) as countval from Customers where lastName = ?";
+    sql:Parameter lastNamePara = {sqlType:sql:Type.VARCHAR, value:"Stuart"};
+    sql:Parameter[] parameters = [lastNamePara];
+
+    datatable dt = testDB.select (query, parameters, typeof ResultCount);
+    while (dt.hasNext()) {
+        var rs, err = (ResultCount) dt.getNext();
+        outerCount = rs.COUNTVAL;
+        datatable innerDt = testDB.select (query, parameters, typeof ResultCount);
+        while (innerDt.hasNext()) {
+            var innerRs, innerErr = (ResultCount) innerDt.getNext();
+            innerCount = innerRs.COUNTVAL;
+        }
+    }
+
+    dt = testDB.select (query, parameters, typeof ResultCount);
+    while (dt.hasNext()) {
+        var rs, err = (ResultCount) dt.getNext();
+        lastCount = rs.COUNTVAL;
+    }
+    metrics = testDB.getMetrics();
+    testDB.close ();
+    return;
+}
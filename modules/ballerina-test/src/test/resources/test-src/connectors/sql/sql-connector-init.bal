@@ -88,3 +88,114 @@ function testConnectorWithDataSourceClassURLPriority () (string firstName) {
     firstName = j.toString();
     return;
 }
+
+function testConnectorWithFetchSize () (string firstName) {
+    endpoint<sql:ClientConnector> testDB {}
+    sql:ConnectionProperties properties = {url:"jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR_INIT",
+                                              fetchSize:1};
+    bind create sql:ClientConnector(sql:DB.GENERIC, "", 0, "", "SA", "", properties) with testDB;
+    datatable dt = testDB.select("SELECT  FirstName from Customers where registrationID = 1", null, null);
+    var j, _ = <json>dt;
+    firstName = j.toString();
+    testDB.close();
+    return;
+}
+
+function testResultCacheInvalidation () (string beforeUpdate, string afterUpdate, json beforeMetrics,
+                                         json afterMetrics) {
+    endpoint<sql:ClientConnector> testDB {}
+    sql:ConnectionProperties properties = {url:"jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR_INIT",
+                                              resultCacheSize:10, resultCacheTTL:60000};
+    bind create sql:ClientConnector(sql:DB.GENERIC, "", 0, "", "SA", "", properties) with testDB;
+    _ = testDB.update("Insert into Customers (firstName, registrationID) values ('Cached', 60)", null);
+
+    string query = "SELECT FirstName from Customers where registrationID = ?";
+    sql:Parameter para1 = {sqlType:sql:Type.INTEGER, value:60};
+    sql:Parameter[] parameters = [para1];
+    datatable dt = testDB.select(query, parameters, null);
+    var j, _ = <json>dt;
+    dt = testDB.select(query, parameters, null);
+    j, _ = <json>dt;
+    beforeUpdate = j.toString();
+    sql:Parameter para2 = {sqlType:sql:Type.VARCHAR, value:60};
+    sql:Parameter[] varcharParameters = [para2];
+    dt = testDB.select(query, varcharParameters, null);
+    j, _ = <json>dt;
+    beforeMetrics = testDB.getMetrics();
+
+    _ = testDB.update("Update Customers set firstName = 'Updated' where registrationID = 60", null);
+    dt = testDB.select(query, parameters, null);
+    j, _ = <json>dt;
+    afterUpdate = j.toString();
+    afterMetrics = testDB.getMetrics();
+    testDB.close();
+    return;
+}
+
+struct ResultCount {
+    int COUNTVAL;
+}
+
+function testBatchedUpdates () (int count, json metrics) {
+    endpoint<sql:ClientConnector> testDB {}
+    sql:ConnectionProperties properties = {url:"jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR_INIT",
+                                              maximumPoolSize:2, updateBatchSize:8, updateBatchWindow:10};
+    bind create sql:ClientConnector(sql:DB.GENERIC, "", 0, "", "SA", "", properties) with testDB;
+    string query = "Insert into Customers (firstName, registrationID) values (?, ?)";
+
+    fork {
+        worker w1 {
+            int i = 0;
+            while (i < 50) {
+                sql:Parameter para1 = {sqlType:sql:Type.VARCHAR, value:"Batch1"};
+                sql:Parameter para2 = {sqlType:sql:Type.INTEGER, value:50};
+                sql:Parameter[] parameters = [para1, para2];
+                int updateCount = testDB.update(query, parameters);
+                i = i + updateCount;
+            }
+        }
+        worker w2 {
+            int j = 0;
+            while (j < 50) {
+                sql:Parameter para1 = {sqlType:sql:Type.VARCHAR, value:"Batch2"};
+                sql:Parameter para2 = {sqlType:sql:Type.INTEGER, value:50};
+                sql:Parameter[] parameters = [para1, para2];
+                int updateCount = testDB.update(query, parameters);
+                j = j + updateCount;
+            }
+        }
+    } join (all) (map results) {
+        datatable dt = testDB.select("SELECT count(*) as countval from Customers where registrationID = 50", null,
+                                     typeof ResultCount);
+        while (dt.hasNext()) {
+            var rs, _ = (ResultCount)dt.getNext();
+            count = rs.COUNTVAL;
+        }
+        metrics = testDB.getMetrics();
+        testDB.close();
+        return;
+    }
+}
+
+function testDatasourceMetrics () (json metrics, json allMetrics) {
+    endpoint<sql:ClientConnector> testDB {}
+    sql:ConnectionProperties properties = {url:"jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR_INIT",
+                                              poolName:"TestMetricsPool"};
+    bind create sql:ClientConnector(sql:DB.GENERIC, "", 0, "", "SA", "", properties) with testDB;
+    sql:Parameter para1 = {sqlType:sql:Type.INTEGER, value:1};
+    sql:Parameter[] parameters = [para1];
+    datatable dt = testDB.select("SELECT FirstName from Customers where registrationID = ?", parameters, null);
+    var j, _ = <json>dt;
+
+    sql:Parameter para2 = {sqlType:sql:Type.VARCHAR, value:"Metrics1"};
+    sql:Parameter[] parameters1 = [para2];
+    sql:Parameter para3 = {sqlType:sql:Type.VARCHAR, value:"Metrics2"};
+    sql:Parameter[] parameters2 = [para3];
+    sql:Parameter[][] batchParameters = [parameters1, parameters2];
+    _ = testDB.batchUpdate("Insert into Customers (firstName, registrationID) values (?, 70)", batchParameters);
+
+    metrics = testDB.getMetrics();
+    allMetrics = sql:getDatasourceMetrics();
+    testDB.close();
+    return;
+}
@@ -0,0 +1,16 @@
+function getOrderDetails (json payload) (string, int, float) {
+    string customer;
+    int quantity;
+    float price;
+    customer, _ = (string)payload.customer.name;
+    quantity, _ = (int)payload.items[1].quantity;
+    price, _ = (float)payload.items[1].price;
+    return customer, quantity, price;
+}
+
+function updateNestedItem (json payload) (json) {
+    json item = payload.items[0];
+    item.quantity = 5;
+    payload.status = "processed";
+    return payload;
+}
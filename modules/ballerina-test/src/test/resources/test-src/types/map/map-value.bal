@@ -102,3 +102,19 @@ function testMapSynchronization()(int)
         return lengthof m;
     }
 }
+
+struct MapHolder {
+    map m;
+}
+
+MapHolder sharedHolder;
+map[] sharedMaps;
+
+function testStoreIntoSharedContainers()(MapHolder, map[])
+{
+    sharedHolder = {};
+    sharedHolder.m = {"a":"foo"};
+    sharedMaps = [];
+    sharedMaps[0] = {"b":"bar"};
+    return sharedHolder, sharedMaps;
+}
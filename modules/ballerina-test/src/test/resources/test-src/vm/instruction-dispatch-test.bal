@@ -0,0 +1,50 @@
+struct Point {
+    int x;
+    int y;
+    float weight;
+    string name;
+    boolean visited;
+}
+
+function arithmetic (int count) (int, float) {
+    int i = 0;
+    int iSum = 0;
+    float fSum = 0.0;
+    while (i < count) {
+        iSum = iSum + (i * 3) - (i / 2) + (i % 7);
+        fSum = fSum + (i * 1.5) / 2.0 - 0.25;
+        i = i + 1;
+    }
+    return iSum, fSum;
+}
+
+function fieldAccess (int count) (int, float, string, boolean) {
+    Point p = {x:0, y:0, weight:0.0, name:"p", visited:false};
+    int i = 0;
+    while (i < count) {
+        p.x = p.x + 1;
+        p.y = p.y + p.x;
+        p.weight = p.weight + 0.5;
+        p.visited = !p.visited;
+        i = i + 1;
+    }
+    p.name = p.name + "-moved";
+    return p.y, p.weight, p.name, p.visited;
+}
+
+function fib (int n) (int) {
+    if (n < 2) {
+        return n;
+    }
+    return fib(n - 1) + fib(n - 2);
+}
+
+function divideByZero (int a) (string) {
+    try {
+        int b = 0;
+        int c = a / b;
+    } catch (error e) {
+        return e.msg;
+    }
+    return "no error";
+}
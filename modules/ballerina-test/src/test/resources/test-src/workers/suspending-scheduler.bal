@@ -0,0 +1,96 @@
+function forkJoinInLoop (int count) (int) {
+    int sum = 0;
+    int i = 0;
+    while (i < count) {
+        fork {
+            worker w1 {
+                int a = i;
+                a -> w2;
+                int b = 0;
+                b <- w2;
+                b -> fork;
+            }
+            worker w2 {
+                int a = 0;
+                a <- w1;
+                int b = a * 2;
+                b -> w1;
+            }
+        } join (all) (map results) {
+            any[] w1Results;
+            int b;
+            w1Results, _ = (any[]) results["w1"];
+            b, _ = (int) w1Results[0];
+            sum = sum + b;
+        } timeout (60) (map results) {
+            sum = -1;
+        }
+        i = i + 1;
+    }
+    return sum;
+}
+
+function nestedForkJoin () (int) {
+    int result = 0;
+    fork {
+        worker outer {
+            int x = 0;
+            fork {
+                worker inner1 {
+                    int a = 10;
+                    a -> fork;
+                }
+                worker inner2 {
+                    int b = 20;
+                    b -> fork;
+                }
+            } join (all) (map innerResults) {
+                any[] r1;
+                any[] r2;
+                int a;
+                int b;
+                r1, _ = (any[]) innerResults["inner1"];
+                r2, _ = (any[]) innerResults["inner2"];
+                a, _ = (int) r1[0];
+                b, _ = (int) r2[0];
+                x = a + b;
+            } timeout (60) (map innerResults) {
+                x = -1;
+            }
+            x -> fork;
+        }
+    } join (all) (map results) {
+        any[] outerResults;
+        outerResults, _ = (any[]) results["outer"];
+        result, _ = (int) outerResults[0];
+    } timeout (60) (map results) {
+        result = -1;
+    }
+    return result;
+}
+
+function pingPong (int count) (int) {
+    worker default {
+        int i = 0;
+        int total = 0;
+        while (i < count) {
+            i -> pong;
+            int reply = 0;
+            reply <- pong;
+            total = total + reply;
+            i = i + 1;
+        }
+        return total;
+    }
+
+    worker pong {
+        int j = 0;
+        while (j < count) {
+            int value = 0;
+            value <- default;
+            value = value + 1;
+            value -> default;
+            j = j + 1;
+        }
+    }
+}